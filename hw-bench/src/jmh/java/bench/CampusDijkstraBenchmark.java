@@ -0,0 +1,139 @@
+package bench;
+
+import graph.Graph;
+import graph.WeightedGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import pathfinder.AStar;
+import pathfinder.BidirectionalDijkstra;
+import pathfinder.CampusMap;
+import pathfinder.ContractionHierarchy;
+import pathfinder.Dijkstra;
+import pathfinder.EuclideanHeuristic;
+import pathfinder.LandmarkHeuristic;
+import pathfinder.datastructures.Point;
+import pathfinder.fixtures.GraphFixtures;
+import pathfinder.parser.CampusBuilding;
+import pathfinder.parser.CampusPathsParser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of finding the shortest path between every ordered pair of buildings in campus_buildings.csv, through
+ * CampusMap, through each overload of Dijkstra.dijkstra, through A* with the calibrated Euclidean heuristic and with
+ * 16 landmarks, through bidirectional Dijkstra, and through a contraction hierarchy. One operation is the whole set of pairs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class CampusDijkstraBenchmark {
+
+    private CampusMap map;
+
+    private List<String> shortNames;
+
+    private List<Point> buildings;
+
+    private Graph<Point, Double> graph;
+
+    private WeightedGraph<Point> weighted;
+
+    private EuclideanHeuristic heuristic;
+
+    private LandmarkHeuristic landmarks;
+
+    private ContractionHierarchy<Point> hierarchy;
+
+    @Setup
+    public void setUp() {
+        map = new CampusMap();
+        shortNames = new ArrayList<>();
+        buildings = new ArrayList<>();
+        for (CampusBuilding building : CampusPathsParser.parseCampusBuildings("campus_buildings.csv")) {
+            shortNames.add(building.getShortName());
+            buildings.add(new Point(building.getX(), building.getY()));
+        }
+        graph = GraphFixtures.campusGraph();
+        weighted = WeightedGraph.of(graph);
+        heuristic = EuclideanHeuristic.calibrated(weighted);
+        landmarks = LandmarkHeuristic.select(weighted, 16);
+        hierarchy = ContractionHierarchy.of(weighted);
+    }
+
+    @Benchmark
+    public void campusMapAllPairs(Blackhole blackhole) {
+        for (String start : shortNames) {
+            for (String end : shortNames) {
+                blackhole.consume(map.findShortestPath(start, end));
+            }
+        }
+    }
+
+    @Benchmark
+    public void labeledGraphAllPairs(Blackhole blackhole) {
+        for (Point start : buildings) {
+            for (Point end : buildings) {
+                blackhole.consume(Dijkstra.dijkstra(graph, start, end));
+            }
+        }
+    }
+
+    @Benchmark
+    public void weightedGraphAllPairs(Blackhole blackhole) {
+        for (Point start : buildings) {
+            for (Point end : buildings) {
+                blackhole.consume(Dijkstra.dijkstra(weighted, start, end));
+            }
+        }
+    }
+
+    @Benchmark
+    public void aStarAllPairs(Blackhole blackhole) {
+        for (Point start : buildings) {
+            for (Point end : buildings) {
+                blackhole.consume(AStar.aStar(weighted, start, end, heuristic));
+            }
+        }
+    }
+
+    @Benchmark
+    public void landmarkAStarAllPairs(Blackhole blackhole) {
+        for (Point start : buildings) {
+            for (Point end : buildings) {
+                blackhole.consume(AStar.aStar(weighted, start, end, landmarks));
+            }
+        }
+    }
+
+    @Benchmark
+    public void bidirectionalAllPairs(Blackhole blackhole) {
+        for (Point start : buildings) {
+            for (Point end : buildings) {
+                blackhole.consume(BidirectionalDijkstra.dijkstra(weighted, weighted, start, end));
+            }
+        }
+    }
+
+    @Benchmark
+    public void contractionHierarchyAllPairs(Blackhole blackhole) {
+        for (Point start : buildings) {
+            for (Point end : buildings) {
+                blackhole.consume(hierarchy.shortestPath(start, end));
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package bench;
+
+import graph.WeightedGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import pathfinder.CampusMap;
+import pathfinder.datastructures.Point;
+import pathfinder.fixtures.GraphFixtures;
+import pathfinder.parser.CampusGraphFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of loading the campus map: building a CampusMap from the CSV files, and loading the same graph from a
+ * binary campus graph file.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class CampusMapBenchmark {
+
+    private Path file;
+
+    @Setup
+    public void setUp() throws IOException {
+        file = Files.createTempFile("campus", ".graph");
+        CampusGraphFile.write(GraphFixtures.campusGraph(), file);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public CampusMap construct() {
+        return new CampusMap();
+    }
+
+    @Benchmark
+    public WeightedGraph<Point> loadBinaryFile() throws IOException {
+        return CampusGraphFile.read(file);
+    }
+}
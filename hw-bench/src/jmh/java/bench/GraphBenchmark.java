@@ -0,0 +1,59 @@
+package bench;
+
+import graph.Graph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of building a Graph with addEdge and of walking it with childrenOf, on synthetic grids 1 to 100 times
+ * the size of the campus graph. At 1000 times the campus graph a Graph of boxed nodes and edges needs several
+ * gigabytes of heap, so that scale is only measured on the primitive graphs in SyntheticDijkstraBenchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class GraphBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int scale;
+
+    private SyntheticGraph grid;
+
+    private Graph<Integer, Double> graph;
+
+    @Setup
+    public void setUp() {
+        grid = SyntheticGraph.grid(scale, 331);
+        graph = grid.toGraph();
+    }
+
+    @Benchmark
+    public Graph<Integer, Double> addEdge() {
+        return grid.toGraph();
+    }
+
+    @Benchmark
+    public double childrenOfIteration() {
+        double total = 0;
+        for (Integer node : graph.listNodes()) {
+            for (Graph.DirectedLabeledEdge<Integer, Double> edge : graph.childrenOf(node)) {
+                total += edge.getLabel();
+            }
+        }
+        return total;
+    }
+}
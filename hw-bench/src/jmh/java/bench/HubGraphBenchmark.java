@@ -0,0 +1,100 @@
+package bench;
+
+import graph.Graph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of loading and probing a Graph with a single hub node joined to every other node by an edge each way,
+ * with 1,000 to 100,000 edges out of the hub. Each benchmark touches every edge of the hub once, so its score grows
+ * tenfold from one degree to the next only if addEdge and containsEdge take constant time whatever the degree of the
+ * parent, and a hundredfold if they scan the edges of the parent.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class HubGraphBenchmark {
+
+    private static final String HUB = "hub";
+
+    @Param({"1000", "10000", "100000"})
+    public int degree;
+
+    private String[] spokes;
+
+    private String[] labels;
+
+    private Graph<String, String> graph;
+
+    @Setup
+    public void setUp() {
+        spokes = new String[degree];
+        labels = new String[degree + 1];
+        for (int i = 0; i < degree; i++) {
+            spokes[i] = "n" + i;
+            labels[i] = "e" + i;
+        }
+        labels[degree] = "e" + degree;
+        graph = load();
+    }
+
+    // Returns a new graph holding the hub and an edge each way between it and every spoke
+    private Graph<String, String> load() {
+        Graph<String, String> hub = new Graph<>();
+        hub.addNode(HUB);
+        for (String spoke : spokes) {
+            hub.addNode(spoke);
+        }
+        for (int i = 0; i < degree; i++) {
+            hub.addEdge(HUB, spokes[i], labels[i]);
+            hub.addEdge(spokes[i], HUB, labels[i]);
+        }
+        return hub;
+    }
+
+    /**
+     * Loads the whole hub graph.
+     */
+    @Benchmark
+    public Graph<String, String> loadHub() {
+        return load();
+    }
+
+    /**
+     * Adds every edge out of the hub again, which finds each one already present.
+     */
+    @Benchmark
+    public Graph<String, String> addExistingEdge() {
+        for (int i = 0; i < degree; i++) {
+            graph.addEdge(HUB, spokes[i], labels[i]);
+        }
+        return graph;
+    }
+
+    /**
+     * Looks up every edge out of the hub, and as many edges with a label it does not have.
+     */
+    @Benchmark
+    public int containsEdge() {
+        int found = 0;
+        for (int i = 0; i < degree; i++) {
+            found += graph.containsEdge(HUB, spokes[i], labels[i]) ? 1 : 0;
+            found += graph.containsEdge(HUB, spokes[i], labels[i + 1]) ? 1 : 0;
+        }
+        return found;
+    }
+}
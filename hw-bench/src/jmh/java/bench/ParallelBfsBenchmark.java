@@ -0,0 +1,58 @@
+package bench;
+
+import graph.FrozenGraph;
+import graph.ParallelBfs;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of a whole-graph hop-distance sweep with ParallelBfs on synthetic grids 10 and 100 times the size of the
+ * campus graph, on fork-join pools of different sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ParallelBfsBenchmark {
+
+    @Param({"10", "100"})
+    public int scale;
+
+    @Param({"1", "4", "16"})
+    public int threads;
+
+    private FrozenGraph<Integer, Double> graph;
+
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setUp() {
+        graph = SyntheticGraph.grid(scale, 331).toGraph().freeze();
+        pool = new ForkJoinPool(threads);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public int[] hopDistances() {
+        return ParallelBfs.hopDistances(graph, 0, pool);
+    }
+}
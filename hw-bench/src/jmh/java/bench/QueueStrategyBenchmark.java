@@ -0,0 +1,108 @@
+package bench;
+
+import graph.WeightedGraph;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import pathfinder.Dijkstra;
+import pathfinder.QueueStrategy;
+import pathfinder.SearchStatistics;
+import pathfinder.fixtures.GraphFixtures;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of Dijkstra.dijkstra with each QueueStrategy, between a fixed set of random node pairs of the campus
+ * graph and of primitive weighted grids 10 and 100 times its size. The score is the average time of one query, and
+ * the settledNodes and relaxedEdges counters report the average work of one query, which is the same for every
+ * strategy up to ties between equal costs, so the scores compare the queues alone.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class QueueStrategyBenchmark {
+
+    private static final int QUERIES = 64;
+
+    @Param({"campus", "10", "100"})
+    public String graphName;
+
+    @Param({"BINARY_HEAP", "FOUR_ARY_HEAP", "PAIRING_HEAP"})
+    public QueueStrategy strategy;
+
+    private WeightedGraph<?> graph;
+
+    private final int[] sources = new int[QUERIES];
+
+    private final int[] targets = new int[QUERIES];
+
+    /**
+     * The average work of the queries of one iteration.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Work {
+
+        private final SearchStatistics statistics = new SearchStatistics();
+
+        private long queries;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            statistics.reset();
+            queries = 0;
+        }
+
+        public double settledNodes() {
+            return queries == 0 ? 0 : statistics.getSettledNodes() / (double) queries;
+        }
+
+        public double relaxedEdges() {
+            return queries == 0 ? 0 : statistics.getRelaxedEdges() / (double) queries;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        if (graphName.equals("campus")) {
+            graph = WeightedGraph.of(GraphFixtures.campusGraph());
+        } else {
+            graph = SyntheticGraph.grid(Integer.parseInt(graphName), 335).toWeightedGraph();
+        }
+        Random random = new Random(336);
+        for (int i = 0; i < QUERIES; i++) {
+            sources[i] = random.nextInt(graph.size());
+            targets[i] = random.nextInt(graph.size());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public void randomPairs(Work work, Blackhole blackhole) {
+        for (int i = 0; i < QUERIES; i++) {
+            blackhole.consume(search(graph, sources[i], targets[i], work.statistics));
+        }
+        work.queries += QUERIES;
+    }
+
+    // Searches between the nodes with the given ids, capturing the type of the node
+    private <T> Object search(WeightedGraph<T> graph, int source, int target, SearchStatistics statistics) {
+        return Dijkstra.dijkstra(graph, graph.nodeOf(source), graph.nodeOf(target), strategy, statistics);
+    }
+}
@@ -0,0 +1,69 @@
+package bench;
+
+import graph.IndexedWeightedGraph;
+import graph.OffHeapGraph;
+import graph.WeightedGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import pathfinder.Dijkstra;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of Dijkstra.dijkstra on primitive weighted grids 10 to 1000 times the size of the campus graph, between
+ * a fixed set of random node pairs, with the edges stored on the heap in a WeightedGraph or off the heap in an
+ * OffHeapGraph. The score is the average time of one query.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class SyntheticDijkstraBenchmark {
+
+    private static final int QUERIES = 16;
+
+    @Param({"10", "100", "1000"})
+    public int scale;
+
+    @Param({"heap", "offHeap"})
+    public String storage;
+
+    private IndexedWeightedGraph<Integer> graph;
+
+    private final Integer[] sources = new Integer[QUERIES];
+
+    private final Integer[] targets = new Integer[QUERIES];
+
+    @Setup
+    public void setUp() {
+        WeightedGraph<Integer> weighted = SyntheticGraph.grid(scale, 331).toWeightedGraph();
+        graph = storage.equals("offHeap") ? new OffHeapGraph<>(weighted) : weighted;
+        Random random = new Random(332);
+        for (int i = 0; i < QUERIES; i++) {
+            sources[i] = random.nextInt(graph.size());
+            targets[i] = random.nextInt(graph.size());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public void randomPairs(Blackhole blackhole) {
+        for (int i = 0; i < QUERIES; i++) {
+            blackhole.consume(Dijkstra.dijkstra(graph, sources[i], targets[i]));
+        }
+    }
+}
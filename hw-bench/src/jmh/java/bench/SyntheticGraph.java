@@ -0,0 +1,120 @@
+package bench;
+
+import graph.Graph;
+import graph.WeightedGraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * This class represents a synthetic road-like graph used by the benchmarks: a square grid in which every node has a
+ * two-way edge to its right and lower neighbours, weighted by a random length in [1, 2). A grid at scale k holds about
+ * k times as many nodes as the campus graph, and its edges are kept in flat arrays so that building a graph from it
+ * measures the graph and not the generator.
+ */
+final class SyntheticGraph {
+
+    // The number of nodes in the campus graph built from campus_paths.csv
+    static final int CAMPUS_NODES = 2067;
+
+    final int nodes;
+
+    final int[] parents;
+
+    final int[] children;
+
+    final double[] weights;
+
+    private SyntheticGraph(int nodes, int[] parents, int[] children, double[] weights) {
+        this.nodes = nodes;
+        this.parents = parents;
+        this.children = children;
+        this.weights = weights;
+    }
+
+    /**
+     * Returns a grid with about scale times as many nodes as the campus graph
+     *
+     * @param scale the size of the grid relative to the campus graph
+     * @param seed the seed of the random edge weights
+     * @return a grid whose nodes are numbered 0, 1, 2, ... row by row
+     */
+    static SyntheticGraph grid(int scale, long seed) {
+        int side = (int) Math.round(Math.sqrt((double) CAMPUS_NODES * scale));
+        int edges = 4 * side * (side - 1);
+        int[] parents = new int[edges];
+        int[] children = new int[edges];
+        double[] weights = new double[edges];
+        Random random = new Random(seed);
+        int edge = 0;
+        for (int row = 0; row < side; row++) {
+            for (int col = 0; col < side; col++) {
+                int node = row * side + col;
+                if (col + 1 < side) {
+                    edge = addTwoWay(parents, children, weights, edge, node, node + 1, 1 + random.nextDouble());
+                }
+                if (row + 1 < side) {
+                    edge = addTwoWay(parents, children, weights, edge, node, node + side, 1 + random.nextDouble());
+                }
+            }
+        }
+        return new SyntheticGraph(side * side, parents, children, weights);
+    }
+
+    private static int addTwoWay(int[] parents, int[] children, double[] weights, int edge, int a, int b,
+                                 double weight) {
+        parents[edge] = a;
+        children[edge] = b;
+        weights[edge] = weight;
+        parents[edge + 1] = b;
+        children[edge + 1] = a;
+        weights[edge + 1] = weight;
+        return edge + 2;
+    }
+
+    /**
+     * Returns a mutable graph holding this grid, built one addNode and addEdge call at a time
+     *
+     * @return a graph whose nodes are the boxed node numbers of this grid
+     */
+    Graph<Integer, Double> toGraph() {
+        Graph<Integer, Double> graph = new Graph<>();
+        for (int node = 0; node < nodes; node++) {
+            graph.addNode(node);
+        }
+        for (int edge = 0; edge < parents.length; edge++) {
+            graph.addEdge(parents[edge], children[edge], weights[edge]);
+        }
+        return graph;
+    }
+
+    /**
+     * Returns a primitive weighted graph holding this grid, in which every node has its node number as its id
+     *
+     * @return a primitive weighted graph holding this grid
+     */
+    WeightedGraph<Integer> toWeightedGraph() {
+        int[] offsets = new int[nodes + 1];
+        for (int parent : parents) {
+            offsets[parent + 1]++;
+        }
+        for (int node = 0; node < nodes; node++) {
+            offsets[node + 1] += offsets[node];
+        }
+        int[] next = Arrays.copyOf(offsets, nodes);
+        int[] targets = new int[parents.length];
+        double[] packedWeights = new double[parents.length];
+        for (int edge = 0; edge < parents.length; edge++) {
+            int slot = next[parents[edge]]++;
+            targets[slot] = children[edge];
+            packedWeights[slot] = weights[edge];
+        }
+        List<Integer> nodeList = new ArrayList<>(nodes);
+        for (int node = 0; node < nodes; node++) {
+            nodeList.add(node);
+        }
+        return WeightedGraph.fromArrays(nodeList, offsets, targets, packedWeights);
+    }
+}
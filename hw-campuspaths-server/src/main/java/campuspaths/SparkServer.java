@@ -13,11 +13,13 @@ package campuspaths;
 
 import campuspaths.utils.CORSFilter;
 import com.google.gson.Gson;
+import graph.GraphMetrics;
 import pathfinder.CampusMap;
 import pathfinder.datastructures.Path;
 import pathfinder.datastructures.Point;
 import spark.Spark;
 
+import java.nio.file.Paths;
 import java.util.Map;
 
 public class SparkServer {
@@ -30,7 +32,12 @@ public class SparkServer {
         // comes from a different server.
         // You should leave these two lines at the very beginning of main().
 
-        CampusMap campusMap = new CampusMap();
+        // Publish the graph operation counters over JMX, so that they can be watched with jconsole while serving
+        GraphMetrics.registerMBean();
+        // Keep the landmark tables of the campus map in the file named by the campuspaths.landmarkFile property, which
+        // runSpark sets to a file in the build directory, so that later starts load them instead of picking them again
+        String landmarkFile = System.getProperty("campuspaths.landmarkFile");
+        CampusMap campusMap = landmarkFile == null ? new CampusMap() : new CampusMap(Paths.get(landmarkFile));
 
         Spark.get("/buildings", (req, resp) -> {
             Map<String, String> buildings = campusMap.buildingNames();
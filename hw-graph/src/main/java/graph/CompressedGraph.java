@@ -0,0 +1,408 @@
+package graph;
+
+import java.util.*;
+
+/**
+ * This class represents an immutable directed graph with primitive weights whose edges are stored in a compressed
+ * byte encoding, for keeping several large graphs in memory at once or writing them out compactly. Every node is
+ * assigned a dense integer id in the range [0, size()). The outgoing edges of each node are sorted by target id, and
+ * each target is stored as the varint-packed gap from the previous one, so the edges of a graph whose neighbors have
+ * nearby ids take one or two bytes each. Every weight is rounded to a multiple of a fixed quantum and stored as a
+ * varint count of quanta.
+ *
+ * Edges are not numbered, so the neighbors of a node are read with forEachEdge, which decodes them on the fly without
+ * allocating. The weight of every edge read back differs from the weight encoded by at most half the quantum.
+ *
+ * The encoding of the node with id i is its out-degree d followed by d pairs of a target gap and a weight, each an
+ * unsigned LEB128 varint. The first gap is the zigzag-encoded signed difference between the first target and i, and
+ * every later gap is the non-negative difference between a target and the one before it.
+ */
+public final class CompressedGraph<T> {
+
+    private static final boolean DEBUG = false;
+
+    // RI: index != null, offsets != null, data != null, quantum > 0 and finite, and offsets.length == index.size() + 1,
+    //      and offsets[0] == 0, and offsets[index.size()] == data.length, and data[offsets[i], offsets[i + 1]) is a
+    //      well-formed encoding of the edges of node i whose targets are valid node ids in non-decreasing order, and
+    //      edgeCount is the total out-degree of all the nodes
+    // AF(this) = a graph with the nodes in this.index, in which the node with id i is this.index.nodeOf(i), and the
+    //              node with id i has an outgoing edge to every target decoded from data[offsets[i], offsets[i + 1]),
+    //              weighted by its decoded count of quanta times this.quantum
+    private final NodeIndex<T> index;
+
+    private final int[] offsets;
+
+    private final byte[] data;
+
+    private final int edgeCount;
+
+    private final double quantum;
+
+    // Creates a new compressed graph from the given ids and encoding, which must satisfy the RI
+    private CompressedGraph(NodeIndex<T> index, int[] offsets, byte[] data, int edgeCount, double quantum) {
+        this.index = index;
+        this.offsets = offsets;
+        this.data = data;
+        this.edgeCount = edgeCount;
+        this.quantum = quantum;
+        checkRep();
+    }
+
+    /**
+     * Returns a compressed copy of the given graph, with the same nodes and ids, in which every weight is rounded to
+     * the nearest multiple of the given quantum
+     *
+     * @spec.requires graph != null
+     *
+     * @param graph the graph to compress
+     * @param quantum the precision that the weights are kept to
+     * @param <T> the type of the nodes
+     * @return a compressed graph holding the nodes and edges of graph
+     * @throws IllegalArgumentException if quantum is not positive and finite, or some weight of graph is negative, not
+     *                                  finite, or more than 2^32 - 1 quanta
+     */
+    public static <T> CompressedGraph<T> of(IndexedWeightedGraph<T> graph, double quantum) {
+        checkQuantum(quantum);
+        int n = graph.size();
+        NodeIndex<T> index = new NodeIndex<>(n);
+        for (int id = 0; id < n; id++) {
+            index.intern(graph.nodeOf(id));
+        }
+        int[] offsets = new int[n + 1];
+        // Most gaps and weights of a graph with local ids fit in a byte or two
+        Encoder encoder = new Encoder(3 * graph.edgeCount() + n);
+        long[] order = new long[16];
+        for (int id = 0; id < n; id++) {
+            offsets[id] = encoder.size;
+            int start = graph.edgeStart(id);
+            int degree = graph.outDegree(id);
+            if (order.length < degree) {
+                order = new long[degree];
+            }
+            // Sort the edges by target, breaking ties by position, by sorting the targets packed with the positions
+            for (int i = 0; i < degree; i++) {
+                order[i] = ((long) graph.targetAt(start + i) << 32) | i;
+            }
+            Arrays.sort(order, 0, degree);
+            encoder.write(degree);
+            int previous = id;
+            for (int i = 0; i < degree; i++) {
+                int target = (int) (order[i] >>> 32);
+                int gap = target - previous;
+                encoder.write(i == 0 ? (gap << 1) ^ (gap >> 31) : gap);
+                encoder.write(quantize(graph.weightAt(start + (int) order[i]), quantum));
+                previous = target;
+            }
+        }
+        offsets[n] = encoder.size;
+        return new CompressedGraph<>(index, offsets, Arrays.copyOf(encoder.bytes, encoder.size), graph.edgeCount(),
+                                     quantum);
+    }
+
+    /**
+     * Returns a compressed copy of the given graph, with the same nodes and ids, in which every weight is rounded to
+     * the nearest multiple of the given quantum
+     *
+     * @spec.requires graph != null
+     *
+     * @param graph the graph to compress
+     * @param quantum the precision that the weights are kept to
+     * @param <T> the type of the nodes
+     * @return a compressed graph holding the nodes and edges currently in graph
+     * @throws IllegalArgumentException if quantum is not positive and finite, or some label of graph is negative, not
+     *                                  finite, or more than 2^32 - 1 quanta
+     */
+    public static <T> CompressedGraph<T> of(LabeledGraph<T, Double> graph, double quantum) {
+        return of(WeightedGraph.of(graph), quantum);
+    }
+
+    /**
+     * Returns a compressed graph holding the given nodes and an edge encoding returned by {@link #encoding()}. The
+     * encoding is used as it is rather than copied.
+     *
+     * @spec.requires nodes != null and encoding != null
+     *
+     * @param nodes the nodes of the graph, in which the node at position i gets the id i
+     * @param encoding the encoded edges of every node, which must not be modified after this call
+     * @param quantum the quantum that the weights were encoded with
+     * @param <T> the type of the nodes
+     * @return a compressed graph with the given nodes and the edges decoded from encoding
+     * @throws IllegalArgumentException if nodes contains null or duplicate nodes, quantum is not positive and finite,
+     *                                  or encoding is not a well-formed encoding of the edges of nodes.size() nodes
+     */
+    public static <T> CompressedGraph<T> fromEncoding(List<? extends T> nodes, byte[] encoding, double quantum) {
+        checkQuantum(quantum);
+        NodeIndex<T> index = new NodeIndex<>(nodes.size());
+        for (T node : nodes) {
+            if (node == null || index.contains(node)) {
+                throw new IllegalArgumentException("Null or duplicate node " + node);
+            }
+            index.intern(node);
+        }
+        int n = nodes.size();
+        int[] offsets = new int[n + 1];
+        long edges = 0;
+        int pos = 0;
+        for (int id = 0; id < n; id++) {
+            offsets[id] = pos;
+            long read = checkedVarint(encoding, pos);
+            long degree = read >>> 32;
+            pos = (int) read;
+            long target = id;
+            for (long i = 0; i < degree; i++) {
+                read = checkedVarint(encoding, pos);
+                long gap = read >>> 32;
+                target += i == 0 ? (gap >>> 1) ^ -(gap & 1) : gap;
+                if (target < 0 || target >= n) {
+                    throw new IllegalArgumentException("Edge of node " + id + " to no node at byte " + pos);
+                }
+                pos = (int) checkedVarint(encoding, (int) read);
+            }
+            edges += degree;
+            if (edges > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Too many edges in encoding");
+            }
+        }
+        if (pos != encoding.length) {
+            throw new IllegalArgumentException("Trailing bytes after the edges of " + n + " nodes");
+        }
+        offsets[n] = pos;
+        return new CompressedGraph<>(index, offsets, encoding, (int) edges, quantum);
+    }
+
+    /**
+     * Returns the number of nodes in this graph
+     *
+     * @return the total number of nodes in this graph
+     */
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * Returns the number of edges in this graph
+     *
+     * @return the total number of edges in this graph
+     */
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * Returns whether this graph contains the given node
+     *
+     * @spec.requires node != null
+     *
+     * @param node the node of the specified type to be checked if it is in this graph
+     * @return true if this graph contains the node, false otherwise
+     */
+    public boolean containsNode(T node) {
+        return index.contains(node);
+    }
+
+    /**
+     * Returns the dense id of the given node
+     *
+     * @spec.requires node != null
+     *
+     * @param node the node of the specified type to look up
+     * @return the id of the node in the range [0, size()), or -1 if the node is not in this graph
+     */
+    public int idOf(T node) {
+        return index.idOf(node);
+    }
+
+    /**
+     * Returns the node with the given id
+     *
+     * @param id the id of the node
+     * @return the node with the given id
+     * @throws IllegalArgumentException if id is not in the range [0, size())
+     */
+    public T nodeOf(int id) {
+        return index.nodeOf(id);
+    }
+
+    /**
+     * Returns the number of outgoing edges of the node with the given id
+     *
+     * @param id the id of the parent node
+     * @return the number of outgoing edges of the node
+     * @throws IllegalArgumentException if id is not in the range [0, size())
+     */
+    public int outDegree(int id) {
+        checkId(id);
+        return (int) (readVarint(data, offsets[id]) >>> 32);
+    }
+
+    /**
+     * Decodes the outgoing edges of the node with the given id, calling back the visitor once for every edge in
+     * increasing order of target id
+     *
+     * @spec.requires visitor != null
+     *
+     * @param id the id of the parent node
+     * @param visitor the visitor to call back with the target id and the weight of every edge
+     * @throws IllegalArgumentException if id is not in the range [0, size())
+     */
+    public void forEachEdge(int id, WeightedEdgeVisitor visitor) {
+        checkId(id);
+        long read = readVarint(data, offsets[id]);
+        int degree = (int) (read >>> 32);
+        int target = id;
+        for (int i = 0; i < degree; i++) {
+            read = readVarint(data, (int) read);
+            int gap = (int) (read >>> 32);
+            target += i == 0 ? (gap >>> 1) ^ -(gap & 1) : gap;
+            read = readVarint(data, (int) read);
+            visitor.visit(target, (read >>> 32) * quantum);
+        }
+    }
+
+    /**
+     * Returns the quantum that the weights of this graph are multiples of
+     *
+     * @return the precision that the weights are kept to
+     */
+    public double quantum() {
+        return quantum;
+    }
+
+    /**
+     * Returns the encoded edges of this graph, which {@link #fromEncoding(List, byte[], double)} turns back into this
+     * graph given the nodes in order of id and the quantum
+     *
+     * @return a new array holding the encoded edges of every node in order of id
+     */
+    public byte[] encoding() {
+        return data.clone();
+    }
+
+    /**
+     * Returns an estimate of the number of bytes of heap that the edges of this graph occupy, which counts the
+     * encoded edges and the byte offset of every node but not the nodes themselves
+     *
+     * @return the size in bytes of the arrays holding the edges of this graph
+     */
+    public long compressedBytes() {
+        return data.length + 4L * offsets.length;
+    }
+
+    /**
+     * Returns a primitive weighted graph with the same nodes, ids and decoded edges as this graph, for running
+     * algorithms that need random access to the edges
+     *
+     * @return a primitive weighted graph holding the nodes and edges of this graph, with the outgoing edges of every
+     *          node in increasing order of target id
+     */
+    public WeightedGraph<T> decompress() {
+        int n = size();
+        List<T> nodes = new ArrayList<>(n);
+        int[] edgeOffsets = new int[n + 1];
+        int[] targets = new int[edgeCount];
+        double[] weights = new double[edgeCount];
+        int[] next = {0};
+        for (int id = 0; id < n; id++) {
+            nodes.add(nodeOf(id));
+            edgeOffsets[id] = next[0];
+            forEachEdge(id, (target, weight) -> {
+                targets[next[0]] = target;
+                weights[next[0]] = weight;
+                next[0]++;
+            });
+        }
+        edgeOffsets[n] = edgeCount;
+        return WeightedGraph.fromArrays(nodes, edgeOffsets, targets, weights);
+    }
+
+    // Returns the given weight as a number of quanta
+    private static long quantize(double weight, double quantum) {
+        double quanta = Math.rint(weight / quantum);
+        if (!(quanta >= 0 && quanta <= 0xFFFFFFFFL)) {
+            throw new IllegalArgumentException("Weight " + weight + " cannot be encoded in quanta of " + quantum);
+        }
+        return (long) quanta;
+    }
+
+    private static void checkQuantum(double quantum) {
+        if (!(quantum > 0 && quantum < Double.POSITIVE_INFINITY)) {
+            throw new IllegalArgumentException("Invalid quantum " + quantum);
+        }
+    }
+
+    // Reads the varint starting at data[pos], and returns its unsigned 32-bit value in the high half of the result and
+    // the position just past it in the low half
+    private static long readVarint(byte[] data, int pos) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = data[pos++];
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return ((long) value << 32) | pos;
+    }
+
+    // Reads the varint starting at data[pos] like readVarint, but fails on a varint that is truncated or longer than
+    // five bytes instead of trusting the encoding
+    private static long checkedVarint(byte[] data, int pos) {
+        int end = pos;
+        while (end < data.length && data[end] < 0) {
+            end++;
+        }
+        if (end >= data.length || end - pos >= 5) {
+            throw new IllegalArgumentException("Malformed varint at byte " + pos);
+        }
+        return readVarint(data, pos);
+    }
+
+    private void checkId(int id) {
+        if (id < 0 || id >= index.size()) {
+            throw new IllegalArgumentException("No node with id " + id);
+        }
+    }
+
+    private void checkRep() {
+        assert index != null && offsets != null && data != null;
+        assert quantum > 0 && quantum < Double.POSITIVE_INFINITY;
+        assert offsets.length == index.size() + 1 && offsets[0] == 0 && offsets[index.size()] == data.length;
+        if (DEBUG) {
+            long edges = 0;
+            for (int id = 0; id < index.size(); id++) {
+                int[] previous = {0};
+                forEachEdge(id, (target, weight) -> {
+                    assert target >= previous[0] && target < index.size();
+                    previous[0] = target;
+                });
+                edges += outDegree(id);
+            }
+            assert edges == edgeCount;
+        }
+    }
+
+    // A growable byte buffer that appends unsigned LEB128 varints
+    private static final class Encoder {
+
+        private byte[] bytes;
+
+        private int size;
+
+        Encoder(int capacity) {
+            bytes = new byte[Math.max(capacity, 16)];
+        }
+
+        // Appends the low 32 bits of value as an unsigned varint
+        void write(long value) {
+            if (bytes.length - size < 5) {
+                bytes = Arrays.copyOf(bytes, Math.max(2 * bytes.length, size + 5));
+            }
+            value &= 0xFFFFFFFFL;
+            while (value >= 0x80) {
+                bytes[size++] = (byte) (value | 0x80);
+                value >>>= 7;
+            }
+            bytes[size++] = (byte) value;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package graph;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * This class represents a mutable directed labeled graph that can be read and modified by many threads at once.
+ * Between a pair of nodes, there could be zero, one, or multiple labeled edges, and no two nodes share the same data.
+ * Reads never block: containsNode, containsEdge and childrenOf only perform lock-free lookups in concurrent hash tables,
+ * while addNode and addEdge lock a single bin of one table. The sets returned by listNodes and childrenOf are live
+ * views that are weakly consistent, so iterating them never throws ConcurrentModificationException and reflects some
+ * of the nodes and edges added during the iteration.
+ */
+public class ConcurrentGraph<T, E> implements LabeledGraph<T, E> {
+
+    private static final boolean DEBUG = false;
+
+    // RI: graph != null, and every node in the graph are not null, and every edge in the graph has non-null child
+    //      and label, and the graph must contain a node if the node appears in the edge
+    // AF(this) = a graph with a set of nodes this.graph.keySet(), with each of the node "node" having a set of outgoing
+    //              edges this.graph.get(node)
+    //
+    // A node is always published before any edge pointing to it, and nothing is ever removed, so a reader that sees
+    // an edge is guaranteed to also see its child node.
+    private final ConcurrentMap<T, Set<Graph.DirectedLabeledEdge<T, E>>> graph;
+
+    /**
+     * Creates a new empty concurrent directed labeled graph
+     *
+     * @spec.effects creates a new empty directed labeled graph
+     */
+    public ConcurrentGraph() {
+        graph = new ConcurrentHashMap<>();
+        checkRep();
+    }
+
+    /**
+     * Adds a new node to the directed labeled graph if the node is not already present in the graph. Safe to call
+     * from any thread.
+     *
+     * @spec.requires node != null
+     * @spec.modifies this
+     * @spec.effects adds a new node to the graph if it is not already in the graph, otherwise there is no effects.
+     *
+     * @param node the node of the specified type to be added to the graph
+     */
+    public void addNode(T node) {
+        graph.computeIfAbsent(node, n -> ConcurrentHashMap.newKeySet());
+        checkRep();
+    }
+
+    /**
+     * Adds a new directed edge to the directed labeled graph from the given parent node to the given child node with
+     * the given label. Safe to call from any thread.
+     *
+     * @spec.requires parent != null and child != null and label != null
+     * @spec.modifies this
+     * @spec.effects adds a directed edge from the parent node to the child node with the given label if the graph does
+     *              not already contain the edge, otherwise there is no effects.
+     *
+     * @param parent the parent node of the specified type
+     * @param child the child node of the specified type
+     * @param label the label on the edge of the specified type
+     * @throws IllegalArgumentException if the graph does not contain either parent or child node
+     */
+    public void addEdge(T parent, T child, E label) {
+        Set<Graph.DirectedLabeledEdge<T, E>> edges = graph.get(parent);
+        if (edges == null || !graph.containsKey(child)) {
+            throw new IllegalArgumentException();
+        }
+        edges.add(new Graph.DirectedLabeledEdge<T, E>(child, label));
+        checkRep();
+    }
+
+    @Override
+    public Set<T> listNodes() {
+        checkRep();
+        return Collections.unmodifiableSet(graph.keySet());
+    }
+
+    @Override
+    public Set<Graph.DirectedLabeledEdge<T, E>> childrenOf(T parent) {
+        checkRep();
+        Set<Graph.DirectedLabeledEdge<T, E>> edges = graph.get(parent);
+        if (edges == null) {
+            throw new IllegalArgumentException();
+        }
+        return Collections.unmodifiableSet(edges);
+    }
+
+    @Override
+    public boolean containsNode(T node) {
+        checkRep();
+        return graph.containsKey(node);
+    }
+
+    @Override
+    public boolean containsEdge(T parent, T child, E label) {
+        checkRep();
+        Set<Graph.DirectedLabeledEdge<T, E>> edges = graph.get(parent);
+        if (edges == null || !graph.containsKey(child)) {
+            throw new IllegalArgumentException();
+        }
+        return edges.contains(new Graph.DirectedLabeledEdge<T, E>(child, label));
+    }
+
+    @Override
+    public int size() {
+        checkRep();
+        return graph.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        checkRep();
+        return graph.isEmpty();
+    }
+
+    private void checkRep() {
+        assert graph != null;
+        if (DEBUG) {
+            for (T node : graph.keySet()) {
+                assert node != null;
+                for (Graph.DirectedLabeledEdge<T, E> edge : graph.get(node)) {
+                    assert edge.getChild() != null;
+                    assert edge.getLabel() != null;
+                    assert graph.containsKey(edge.getChild());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package graph;
+
+import java.util.*;
+
+/**
+ * This class represents the condensation of a directed graph: the directed acyclic graph with one node for every
+ * strongly connected component of the graph, and an edge from one component to another whenever some edge of the
+ * graph leads from a node of the first to a node of the second. Components are numbered 0, 1, 2, ... in topological
+ * order, so every edge of the condensation leads from a smaller component id to a larger one.
+ *
+ * The components are found by an iterative version of Tarjan's algorithm over a CSR snapshot of the graph. It keeps
+ * its own call stack in an int array instead of recursing, so it runs in O(V + E) time on graphs of millions of nodes
+ * without overflowing the thread stack, and it allocates only a fixed number of arrays indexed by node id.
+ */
+public final class Condensation<T> {
+
+    private static final boolean DEBUG = false;
+
+    // RI: graph != null, componentOf != null, memberOffsets != null, members != null, successorOffsets != null,
+    //      successors != null, cyclic != null, and componentOf.length == members.length == graph.size(), and
+    //      memberOffsets.length == successorOffsets.length == cyclic.length + 1, and members[memberOffsets[c],
+    //      memberOffsets[c + 1]) are exactly the node ids with componentOf[id] == c, and every successor of c is
+    //      greater than c and appears once
+    // AF(this) = the condensation of this.graph, whose component c holds the nodes with ids
+    //              this.members[this.memberOffsets[c], this.memberOffsets[c + 1]) and has an edge to every component
+    //              this.successors[this.successorOffsets[c], this.successorOffsets[c + 1]), and is on a cycle of
+    //              this.graph if and only if this.cyclic[c]
+    private final FrozenGraph<T, ?> graph;
+
+    private final int[] componentOf;
+
+    private final int[] memberOffsets;
+
+    private final int[] members;
+
+    private final int[] successorOffsets;
+
+    private final int[] successors;
+
+    private final boolean[] cyclic;
+
+    // Finds the strongly connected components of the given snapshot and builds its condensation
+    private Condensation(FrozenGraph<T, ?> graph) {
+        this.graph = graph;
+        int n = graph.size();
+        int[] tarjan = tarjan(graph);
+        int count = 0;
+        for (int component : tarjan) {
+            count = Math.max(count, component + 1);
+        }
+        // Tarjan's algorithm completes a component only after every component reachable from it, so reversing the
+        // order of completion numbers the components in topological order
+        componentOf = new int[n];
+        memberOffsets = new int[count + 1];
+        for (int id = 0; id < n; id++) {
+            componentOf[id] = count - 1 - tarjan[id];
+            memberOffsets[componentOf[id] + 1]++;
+        }
+        for (int c = 0; c < count; c++) {
+            memberOffsets[c + 1] += memberOffsets[c];
+        }
+        members = new int[n];
+        int[] next = Arrays.copyOf(memberOffsets, count);
+        for (int id = 0; id < n; id++) {
+            members[next[componentOf[id]]++] = id;
+        }
+
+        successorOffsets = new int[count + 1];
+        cyclic = new boolean[count];
+        int[] edges = new int[16];
+        int edgeCount = 0;
+        // lastSource[d] is the last component that an edge to component d was recorded for
+        int[] lastSource = new int[count];
+        Arrays.fill(lastSource, -1);
+        for (int c = 0; c < count; c++) {
+            successorOffsets[c] = edgeCount;
+            cyclic[c] = memberOffsets[c + 1] - memberOffsets[c] > 1;
+            for (int m = memberOffsets[c]; m < memberOffsets[c + 1]; m++) {
+                int node = members[m];
+                for (int edge = graph.edgeStart(node); edge < graph.edgeEnd(node); edge++) {
+                    int child = graph.childAt(edge);
+                    int d = componentOf[child];
+                    if (child == node) {
+                        cyclic[c] = true;
+                    } else if (d != c && lastSource[d] != c) {
+                        lastSource[d] = c;
+                        if (edgeCount == edges.length) {
+                            edges = Arrays.copyOf(edges, 2 * edgeCount);
+                        }
+                        edges[edgeCount++] = d;
+                    }
+                }
+            }
+        }
+        successorOffsets[count] = edgeCount;
+        successors = Arrays.copyOf(edges, edgeCount);
+        checkRep();
+    }
+
+    /**
+     * Returns the condensation of the given snapshot
+     *
+     * @spec.requires graph != null
+     *
+     * @param graph the snapshot to condense
+     * @param <T> the type of the nodes
+     * @return the condensation of graph
+     */
+    public static <T> Condensation<T> of(FrozenGraph<T, ?> graph) {
+        return new Condensation<>(graph);
+    }
+
+    /**
+     * Returns the condensation of the given graph
+     *
+     * @spec.requires graph != null
+     *
+     * @param graph the graph to condense
+     * @param <T> the type of the nodes
+     * @return the condensation of the nodes and edges currently in graph
+     */
+    public static <T> Condensation<T> of(LabeledGraph<T, ?> graph) {
+        return new Condensation<>(FrozenGraph.of(graph));
+    }
+
+    // Returns the component of every node id, numbered in the order Tarjan's algorithm completes the components
+    private static int[] tarjan(FrozenGraph<?, ?> graph) {
+        int n = graph.size();
+        // order[v] is the discovery index of v, or -1 if v has not been discovered; low[v] is the smallest discovery
+        // index reachable from v through the nodes still on the component stack
+        int[] order = new int[n];
+        Arrays.fill(order, -1);
+        int[] low = new int[n];
+        int[] component = new int[n];
+        Arrays.fill(component, -1);
+        // A discovered node is on the component stack exactly when it has no component yet
+        int[] stack = new int[n];
+        int stackSize = 0;
+        // The simulated call stack, and the next edge to explore of every node on it
+        int[] calls = new int[n];
+        int[] cursor = new int[n];
+        int callsSize = 0;
+        int discovered = 0;
+        int components = 0;
+
+        for (int root = 0; root < n; root++) {
+            if (order[root] != -1) {
+                continue;
+            }
+            order[root] = low[root] = discovered++;
+            stack[stackSize++] = root;
+            cursor[root] = graph.edgeStart(root);
+            calls[callsSize++] = root;
+            while (callsSize > 0) {
+                int v = calls[callsSize - 1];
+                if (cursor[v] < graph.edgeEnd(v)) {
+                    int w = graph.childAt(cursor[v]++);
+                    if (order[w] == -1) {
+                        order[w] = low[w] = discovered++;
+                        stack[stackSize++] = w;
+                        cursor[w] = graph.edgeStart(w);
+                        calls[callsSize++] = w;
+                    } else if (component[w] == -1) {
+                        low[v] = Math.min(low[v], order[w]);
+                    }
+                } else {
+                    callsSize--;
+                    if (low[v] == order[v]) {
+                        int w;
+                        do {
+                            w = stack[--stackSize];
+                            component[w] = components;
+                        } while (w != v);
+                        components++;
+                    }
+                    if (callsSize > 0) {
+                        int u = calls[callsSize - 1];
+                        low[u] = Math.min(low[u], low[v]);
+                    }
+                }
+            }
+        }
+        return component;
+    }
+
+    /**
+     * Returns the number of strongly connected components
+     *
+     * @return the number of nodes of the condensation
+     */
+    public int componentCount() {
+        return cyclic.length;
+    }
+
+    /**
+     * Returns the strongly connected component of the given node
+     *
+     * @spec.requires node != null
+     *
+     * @param node a node of the graph
+     * @return the id of the component holding node
+     * @throws IllegalArgumentException if the node is not in the graph
+     */
+    public int componentOf(T node) {
+        int id = graph.idOf(node);
+        if (id == -1) {
+            throw new IllegalArgumentException();
+        }
+        return componentOf[id];
+    }
+
+    /**
+     * Returns the nodes of the given component
+     *
+     * @param component the id of the component
+     * @return an unmodifiable list of the nodes in the component, ordered by their ids in the graph
+     * @throws IllegalArgumentException if component is not in the range [0, componentCount())
+     */
+    public List<T> members(int component) {
+        checkComponent(component);
+        List<T> nodes = new ArrayList<>(memberOffsets[component + 1] - memberOffsets[component]);
+        for (int m = memberOffsets[component]; m < memberOffsets[component + 1]; m++) {
+            nodes.add(graph.nodeOf(members[m]));
+        }
+        return Collections.unmodifiableList(nodes);
+    }
+
+    /**
+     * Returns the components that the given component has an edge to in the condensation
+     *
+     * @param component the id of the component
+     * @return a new array holding the id of every component that some edge leads to from the given component, each
+     *          once and each greater than component
+     * @throws IllegalArgumentException if component is not in the range [0, componentCount())
+     */
+    public int[] successors(int component) {
+        checkComponent(component);
+        return Arrays.copyOfRange(successors, successorOffsets[component], successorOffsets[component + 1]);
+    }
+
+    /**
+     * Returns whether the given component lies on a cycle of the graph, that is whether it holds more than one node
+     * or its only node has an edge to itself
+     *
+     * @param component the id of the component
+     * @return true if the nodes of the component lie on a cycle, false otherwise
+     * @throws IllegalArgumentException if component is not in the range [0, componentCount())
+     */
+    public boolean isCyclic(int component) {
+        checkComponent(component);
+        return cyclic[component];
+    }
+
+    /**
+     * Returns every cycle of the graph, as the nodes of the components that lie on a cycle
+     *
+     * @return an unmodifiable list, in increasing order of component id, of the members of every cyclic component
+     */
+    public List<List<T>> cycles() {
+        List<List<T>> cycles = new ArrayList<>();
+        for (int c = 0; c < cyclic.length; c++) {
+            if (cyclic[c]) {
+                cycles.add(members(c));
+            }
+        }
+        return Collections.unmodifiableList(cycles);
+    }
+
+    private void checkComponent(int component) {
+        if (component < 0 || component >= cyclic.length) {
+            throw new IllegalArgumentException("No component with id " + component);
+        }
+    }
+
+    private void checkRep() {
+        assert graph != null && componentOf != null && members != null && cyclic != null;
+        assert memberOffsets != null && successorOffsets != null && successors != null;
+        assert componentOf.length == graph.size() && members.length == graph.size();
+        assert memberOffsets.length == cyclic.length + 1 && successorOffsets.length == cyclic.length + 1;
+        if (DEBUG) {
+            for (int c = 0; c < cyclic.length; c++) {
+                for (int m = memberOffsets[c]; m < memberOffsets[c + 1]; m++) {
+                    assert componentOf[members[m]] == c;
+                }
+                for (int s = successorOffsets[c]; s < successorOffsets[c + 1]; s++) {
+                    assert successors[s] > c;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package graph;
+
+import java.util.*;
+
+/**
+ * This class represents a mutable index of the connected components of a graph that only grows. Nodes and the edges
+ * between them are added one at a time, and the index answers whether two nodes are connected, ignoring the direction
+ * of the edges, in near-constant amortized time. It is a disjoint-set forest over the dense ids of the nodes, with
+ * union by size and path halving, so every operation takes amortized time proportional to the inverse Ackermann
+ * function of the number of nodes. For a graph whose edges all come in both directions, such as a map of two-way
+ * paths, two nodes are connected exactly when each can be reached from the other.
+ *
+ * An index can follow a mutable graph by being added as one of its listeners, after which it adds every node and edge
+ * added to the graph.
+ */
+public final class ConnectivityIndex<T> implements GraphListener<T, Object> {
+
+    private static final boolean DEBUG = false;
+
+    // RI: index != null, parent != null, componentSize != null, and parent.length == componentSize.length >=
+    //      index.size(), and every parent[id] is a valid node id, and following parent from any node ends at a root,
+    //      that is a node with parent[root] == root, and componentSize[root] is the number of nodes whose root is root,
+    //      and components is the number of roots
+    // AF(this) = a partition of the nodes in this.index into components, in which two nodes are in the same component
+    //              if and only if following this.parent from each ends at the same root
+    private final NodeIndex<T> index;
+
+    private int[] parent;
+
+    private int[] componentSize;
+
+    private int components;
+
+    /**
+     * Creates a new empty connectivity index
+     *
+     * @spec.effects creates a new connectivity index with no nodes
+     */
+    public ConnectivityIndex() {
+        index = new NodeIndex<>();
+        parent = new int[16];
+        componentSize = new int[16];
+        components = 0;
+        checkRep();
+    }
+
+    /**
+     * Adds a new node in a component of its own to this index if the node is not already present
+     *
+     * @spec.requires node != null
+     * @spec.modifies this
+     * @spec.effects adds node to this index in a new component if it is not already in this index, otherwise there is
+     *              no effects.
+     *
+     * @param node the node to add
+     */
+    public void addNode(T node) {
+        if (!index.contains(node)) {
+            addId(index.intern(node));
+        }
+        checkRep();
+    }
+
+    /**
+     * Records an edge between the given nodes, merging their components if they are in different components
+     *
+     * @spec.requires a != null and b != null
+     * @spec.modifies this
+     * @spec.effects merges the components of a and b
+     *
+     * @param a one end of the edge
+     * @param b the other end of the edge
+     * @return true if the components of a and b were different and have been merged, false otherwise
+     * @throws IllegalArgumentException if either node is not in this index
+     */
+    public boolean union(T a, T b) {
+        boolean merged = unionIds(checkedId(a), checkedId(b));
+        checkRep();
+        return merged;
+    }
+
+    /**
+     * Adds the nodes and edges added to a graph that this index listens to, adding the ends of every edge that are not
+     * already in this index
+     *
+     * @spec.requires events != null
+     * @spec.modifies this
+     * @spec.effects adds every node added by events, and merges the components of the ends of every edge added by
+     *              events
+     *
+     * @param events the changes made to the graph
+     */
+    @Override
+    public void graphChanged(List<GraphEvent<T, Object>> events) {
+        for (GraphEvent<T, Object> event : events) {
+            if (event.getKind() == GraphEvent.Kind.NODE_ADDED) {
+                addNode(event.getNode());
+            } else {
+                addNode(event.getNode());
+                addNode(event.getChild());
+                union(event.getNode(), event.getChild());
+            }
+        }
+    }
+
+    /**
+     * Returns whether the given nodes are in the same component
+     *
+     * @spec.requires a != null and b != null
+     *
+     * @param a a node of this index
+     * @param b another node of this index
+     * @return true if a and b are connected by a chain of edges, ignoring their direction, false otherwise
+     * @throws IllegalArgumentException if either node is not in this index
+     */
+    public boolean connected(T a, T b) {
+        return connectedIds(checkedId(a), checkedId(b));
+    }
+
+    /**
+     * Returns an identifier of the component of the given node. Two nodes have the same identifier if and only if they
+     * are in the same component, until the next call to union.
+     *
+     * @spec.requires node != null
+     *
+     * @param node a node of this index
+     * @return the identifier of the component of node
+     * @throws IllegalArgumentException if the node is not in this index
+     */
+    public int componentOf(T node) {
+        return find(checkedId(node));
+    }
+
+    /**
+     * Returns the number of nodes in the component of the given node
+     *
+     * @spec.requires node != null
+     *
+     * @param node a node of this index
+     * @return the number of nodes connected to node, including node itself
+     * @throws IllegalArgumentException if the node is not in this index
+     */
+    public int componentSize(T node) {
+        return componentSize[find(checkedId(node))];
+    }
+
+    /**
+     * Returns the number of components in this index
+     *
+     * @return the number of components, which is the number of nodes if no two nodes have been connected
+     */
+    public int componentCount() {
+        return components;
+    }
+
+    /**
+     * Returns the number of nodes in this index
+     *
+     * @return the total number of nodes in this index
+     */
+    public int size() {
+        return index.size();
+    }
+
+    // Adds the node with the given id, which must be the next unused id, in a component of its own
+    private void addId(int id) {
+        if (id == parent.length) {
+            parent = Arrays.copyOf(parent, 2 * parent.length);
+            componentSize = Arrays.copyOf(componentSize, 2 * componentSize.length);
+        }
+        parent[id] = id;
+        componentSize[id] = 1;
+        components++;
+    }
+
+    // Merges the components of the nodes with the given ids, and returns whether they were different. A graph whose
+    // nodes were added to this index in the order of their ids in the graph may pass its own ids.
+    boolean unionIds(int a, int b) {
+        int rootA = find(a);
+        int rootB = find(b);
+        if (rootA == rootB) {
+            return false;
+        }
+        // Hang the smaller tree under the larger one, which keeps every tree O(log n) deep
+        if (componentSize[rootA] < componentSize[rootB]) {
+            int swap = rootA;
+            rootA = rootB;
+            rootB = swap;
+        }
+        parent[rootB] = rootA;
+        componentSize[rootA] += componentSize[rootB];
+        components--;
+        return true;
+    }
+
+    // Returns whether the nodes with the given ids are in the same component
+    boolean connectedIds(int a, int b) {
+        return find(a) == find(b);
+    }
+
+    // Returns the root of the tree holding the node with the given id, halving the path to it on the way
+    private int find(int id) {
+        while (parent[id] != id) {
+            parent[id] = parent[parent[id]];
+            id = parent[id];
+        }
+        return id;
+    }
+
+    private int checkedId(T node) {
+        int id = index.idOf(node);
+        if (id == -1) {
+            throw new IllegalArgumentException();
+        }
+        return id;
+    }
+
+    private void checkRep() {
+        assert index != null;
+        assert parent != null && componentSize != null;
+        assert parent.length == componentSize.length && parent.length >= index.size();
+        if (DEBUG) {
+            int roots = 0;
+            for (int id = 0; id < index.size(); id++) {
+                assert parent[id] >= 0 && parent[id] < index.size();
+                if (parent[id] == id) {
+                    roots++;
+                }
+            }
+            assert roots == components;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package graph;
+
+import java.util.*;
+
+/**
+ * This class represents an immutable summary of the out-degrees of the nodes of a directed graph: the histogram of
+ * how many nodes have each out-degree, and the minimum, maximum and mean out-degree derived from it.
+ */
+public final class DegreeStatistics {
+
+    // RI: counts != null, and counts.length >= 1, and every counts[d] >= 0, and counts[counts.length - 1] > 0 unless
+    //      counts.length == 1, and nodeCount == sum of counts[d], and edgeCount == sum of d * counts[d]
+    // AF(this) = the out-degree histogram of a graph with this.nodeCount nodes and this.edgeCount edges, in which
+    //              this.counts[d] nodes have out-degree d
+    private final int[] counts;
+
+    private final int nodeCount;
+
+    private final long edgeCount;
+
+    /**
+     * Creates a new summary of the given out-degree histogram
+     *
+     * @spec.requires counts != null and counts.length >= 1, and every counts[d] >= 0, and
+     *              counts[counts.length - 1] > 0 unless counts.length == 1
+     * @spec.effects creates a new summary in which counts[d] nodes have out-degree d
+     *
+     * @param counts the number of nodes with each out-degree, which must not be modified after this call
+     */
+    DegreeStatistics(int[] counts) {
+        this.counts = counts;
+        int nodes = 0;
+        long edges = 0;
+        for (int degree = 0; degree < counts.length; degree++) {
+            nodes += counts[degree];
+            edges += (long) degree * counts[degree];
+        }
+        nodeCount = nodes;
+        edgeCount = edges;
+        checkRep();
+    }
+
+    /**
+     * Returns the number of nodes summarized
+     *
+     * @return the total number of nodes
+     */
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Returns the number of edges summarized, which is the sum of the out-degrees of all the nodes
+     *
+     * @return the total number of edges
+     */
+    public long edgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * Returns the smallest out-degree of any node
+     *
+     * @return the smallest out-degree, or 0 if there are no nodes
+     */
+    public int minDegree() {
+        for (int degree = 0; degree < counts.length; degree++) {
+            if (counts[degree] > 0) {
+                return degree;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Returns the largest out-degree of any node
+     *
+     * @return the largest out-degree, or 0 if there are no nodes
+     */
+    public int maxDegree() {
+        return counts.length - 1;
+    }
+
+    /**
+     * Returns the mean out-degree of the nodes
+     *
+     * @return the number of edges divided by the number of nodes, or 0 if there are no nodes
+     */
+    public double meanDegree() {
+        return nodeCount == 0 ? 0 : (double) edgeCount / nodeCount;
+    }
+
+    /**
+     * Returns the number of nodes with the given out-degree
+     *
+     * @param degree the out-degree to look up
+     * @return the number of nodes with exactly that out-degree, which is 0 for a negative degree
+     */
+    public int nodesWithDegree(int degree) {
+        return degree < 0 || degree >= counts.length ? 0 : counts[degree];
+    }
+
+    /**
+     * Returns the out-degree histogram
+     *
+     * @return an unmodifiable map, in increasing order of out-degree, from every out-degree that some node has to the
+     *          number of nodes with that out-degree
+     */
+    public SortedMap<Integer, Integer> histogram() {
+        SortedMap<Integer, Integer> histogram = new TreeMap<>();
+        for (int degree = 0; degree < counts.length; degree++) {
+            if (counts[degree] > 0) {
+                histogram.put(degree, counts[degree]);
+            }
+        }
+        return Collections.unmodifiableSortedMap(histogram);
+    }
+
+    @Override
+    public String toString() {
+        return "DegreeStatistics{nodes=" + nodeCount + ", edges=" + edgeCount + ", min=" + minDegree() + ", max="
+               + maxDegree() + ", mean=" + meanDegree() + "}";
+    }
+
+    private void checkRep() {
+        assert counts != null && counts.length >= 1;
+        assert counts.length == 1 || counts[counts.length - 1] > 0;
+        assert nodeCount >= 0 && edgeCount >= 0;
+    }
+}
@@ -0,0 +1,19 @@
+package graph;
+
+/**
+ * An EdgePredicate decides whether a directed labeled edge, given by its parent node, child node and label, is kept by
+ * a filter over a graph.
+ */
+@FunctionalInterface
+public interface EdgePredicate<T, E> {
+
+    /**
+     * Tests one edge
+     *
+     * @param parent the node that the edge comes from
+     * @param child the node that the edge is pointing to
+     * @param label the label of the edge
+     * @return true if the edge is kept, false otherwise
+     */
+    boolean test(T parent, T child, E label);
+}
@@ -0,0 +1,17 @@
+package graph;
+
+/**
+ * An EdgeVisitor is called back once for every edge scanned by an id-based adjacency iteration, with the dense id of
+ * the child node and the label of the edge.
+ */
+@FunctionalInterface
+public interface EdgeVisitor<E> {
+
+    /**
+     * Visits one edge
+     *
+     * @param childId the id of the node that the edge is pointing to
+     * @param label the label of the edge
+     */
+    void visit(int childId, E label);
+}
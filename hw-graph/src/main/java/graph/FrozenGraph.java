@@ -0,0 +1,264 @@
+package graph;
+
+import java.util.*;
+
+/**
+ * This class represents an immutable snapshot of a directed labeled graph stored in compressed sparse row (CSR) form.
+ * Every node is assigned a dense integer id in the range [0, size()), and the outgoing edges of the node with id i are
+ * stored contiguously in packed child id and label arrays, from edgeStart(i) (inclusive) to edgeEnd(i) (exclusive).
+ * Such a snapshot cannot be modified, but scanning the children of a node walks two flat arrays instead of a hash set.
+ */
+public final class FrozenGraph<T, E> {
+
+    private static final boolean DEBUG = false;
+
+    // RI: index != null, offsets != null, children != null, labels != null, and
+    //      offsets.length == index.size() + 1, and offsets[0] == 0, and offsets is non-decreasing, and
+    //      offsets[index.size()] == children.length == labels.length, and every children[e] is a valid node id, and
+    //      every labels[e] is not null
+    // AF(this) = a graph with the nodes in this.index, in which the node with id i is this.index.nodeOf(i), and the node
+    //              with id i has an outgoing edge to the node with id this.children[e] labeled this.labels[e] for every
+    //              this.offsets[i] <= e < this.offsets[i + 1]
+    private final NodeIndex<T> index;
+
+    private final int[] offsets;
+
+    private final int[] children;
+
+    private final Object[] labels;
+
+    /**
+     * Creates a new CSR snapshot of the given id-indexed adjacency lists
+     *
+     * @spec.requires index != null and adjacency != null and adjacency.size() == index.size(), and every edge in
+     *              adjacency.get(i) is held by a graph in which the ids of the nodes are the ids in index
+     * @spec.effects creates a new immutable snapshot holding the nodes of index and the edges of adjacency
+     *
+     * @param index the ids of the nodes, which must not be modified after this call
+     * @param adjacency the outgoing edges of every node, indexed by the id of the node
+     */
+    FrozenGraph(NodeIndex<T> index, List<Set<Graph.DirectedLabeledEdge<T, E>>> adjacency) {
+        this.index = index;
+        int edgeCount = 0;
+        for (Set<Graph.DirectedLabeledEdge<T, E>> edges : adjacency) {
+            edgeCount += edges.size();
+        }
+        offsets = new int[index.size() + 1];
+        children = new int[edgeCount];
+        labels = new Object[edgeCount];
+        int edge = 0;
+        for (int id = 0; id < index.size(); id++) {
+            offsets[id] = edge;
+            for (Graph.DirectedLabeledEdge<T, E> child : adjacency.get(id)) {
+                children[edge] = child.getChildId();
+                labels[edge] = child.getLabel();
+                edge++;
+            }
+        }
+        offsets[index.size()] = edge;
+        checkRep();
+    }
+
+    /**
+     * Returns a CSR snapshot of the given graph. Snapshots of a Graph keep its node ids; the nodes of any other graph
+     * are numbered in the order listNodes() returns them.
+     *
+     * @spec.requires graph != null
+     *
+     * @param graph the graph to take a snapshot of
+     * @param <T> the type of the nodes
+     * @param <E> the type of the edge labels
+     * @return an immutable snapshot holding the nodes and edges currently in graph
+     */
+    public static <T, E> FrozenGraph<T, E> of(LabeledGraph<T, E> graph) {
+        if (graph instanceof Graph) {
+            return ((Graph<T, E>) graph).freeze();
+        }
+        NodeIndex<T> index = new NodeIndex<>();
+        for (T node : graph.listNodes()) {
+            index.intern(node);
+        }
+        List<Set<Graph.DirectedLabeledEdge<T, E>>> adjacency = new ArrayList<>(index.size());
+        for (T node : index.nodes()) {
+            Set<Graph.DirectedLabeledEdge<T, E>> edges = new HashSet<>();
+            for (Graph.DirectedLabeledEdge<T, E> edge : graph.childrenOf(node)) {
+                edges.add(new Graph.DirectedLabeledEdge<>(edge.getChild(), edge.getLabel(),
+                                                          index.idOf(edge.getChild())));
+            }
+            adjacency.add(edges);
+        }
+        return new FrozenGraph<>(index, adjacency);
+    }
+
+    /**
+     * Returns the number of nodes in this snapshot
+     *
+     * @return the total number of nodes in this snapshot
+     */
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * Returns the number of edges in this snapshot
+     *
+     * @return the total number of edges in this snapshot
+     */
+    public int edgeCount() {
+        return children.length;
+    }
+
+    /**
+     * Returns whether this snapshot contains the given node
+     *
+     * @spec.requires node != null
+     *
+     * @param node the node of the specified type to be checked if it is in this snapshot
+     * @return true if this snapshot contains the node, false otherwise
+     */
+    public boolean containsNode(T node) {
+        return index.contains(node);
+    }
+
+    /**
+     * Returns the dense id of the given node
+     *
+     * @spec.requires node != null
+     *
+     * @param node the node of the specified type to look up
+     * @return the id of the node in the range [0, size()), or -1 if the node is not in this snapshot
+     */
+    public int idOf(T node) {
+        return index.idOf(node);
+    }
+
+    /**
+     * Returns the node with the given id
+     *
+     * @param id the id of the node
+     * @return the node with the given id
+     * @throws IllegalArgumentException if id is not in the range [0, size())
+     */
+    public T nodeOf(int id) {
+        return index.nodeOf(id);
+    }
+
+    /**
+     * Returns all the nodes in this snapshot, ordered by id
+     *
+     * @return an unmodifiable list whose i-th element is the node with id i
+     */
+    public List<T> listNodes() {
+        return index.nodes();
+    }
+
+    // Returns the ids of the nodes in this snapshot, which must not be modified
+    NodeIndex<T> index() {
+        return index;
+    }
+
+    /**
+     * Returns the index of the first outgoing edge of the node with the given id in the packed edge arrays
+     *
+     * @param id the id of the parent node
+     * @return the index of the first outgoing edge of the node
+     * @throws IllegalArgumentException if id is not in the range [0, size())
+     */
+    public int edgeStart(int id) {
+        checkId(id);
+        return offsets[id];
+    }
+
+    /**
+     * Returns the index one past the last outgoing edge of the node with the given id in the packed edge arrays
+     *
+     * @param id the id of the parent node
+     * @return the index one past the last outgoing edge of the node
+     * @throws IllegalArgumentException if id is not in the range [0, size())
+     */
+    public int edgeEnd(int id) {
+        checkId(id);
+        return offsets[id + 1];
+    }
+
+    /**
+     * Returns the number of outgoing edges of the node with the given id
+     *
+     * @param id the id of the parent node
+     * @return the number of outgoing edges of the node
+     * @throws IllegalArgumentException if id is not in the range [0, size())
+     */
+    public int outDegree(int id) {
+        checkId(id);
+        return offsets[id + 1] - offsets[id];
+    }
+
+    /**
+     * Returns the id of the child node of the edge at the given index
+     *
+     * @spec.requires 0 <= edge < edgeCount()
+     *
+     * @param edge the index of the edge in the packed edge arrays
+     * @return the id of the node that the edge is pointing to
+     */
+    public int childAt(int edge) {
+        return children[edge];
+    }
+
+    /**
+     * Returns the label of the edge at the given index
+     *
+     * @spec.requires 0 <= edge < edgeCount()
+     *
+     * @param edge the index of the edge in the packed edge arrays
+     * @return the label of the edge
+     */
+    @SuppressWarnings("unchecked")
+    public E labelAt(int edge) {
+        return (E) labels[edge];
+    }
+
+    /**
+     * Returns all the directed labeled edges of a given parent node in this snapshot. The edges are created on each
+     * call, so the id-based accessors should be preferred in performance sensitive code.
+     *
+     * @spec.requires parent != null
+     *
+     * @param parent the parent node of the specified type
+     * @return an unmodifiable set of directed labeled edges, each containing the label of the edge and the child node
+     * @throws IllegalArgumentException if the given parent node is not in this snapshot
+     */
+    public Set<Graph.DirectedLabeledEdge<T, E>> childrenOf(T parent) {
+        int id = idOf(parent);
+        if (id == -1) {
+            throw new IllegalArgumentException();
+        }
+        Set<Graph.DirectedLabeledEdge<T, E>> edges = new HashSet<>();
+        for (int edge = offsets[id]; edge < offsets[id + 1]; edge++) {
+            edges.add(new Graph.DirectedLabeledEdge<>(index.nodeOf(children[edge]), labelAt(edge)));
+        }
+        return Collections.unmodifiableSet(edges);
+    }
+
+    private void checkId(int id) {
+        if (id < 0 || id >= index.size()) {
+            throw new IllegalArgumentException("No node with id " + id);
+        }
+    }
+
+    private void checkRep() {
+        assert index != null;
+        assert offsets != null && children != null && labels != null;
+        assert offsets.length == index.size() + 1;
+        assert offsets[index.size()] == children.length && children.length == labels.length;
+        if (DEBUG) {
+            for (int id = 0; id < index.size(); id++) {
+                assert offsets[id] <= offsets[id + 1];
+            }
+            for (int edge = 0; edge < children.length; edge++) {
+                assert children[edge] >= 0 && children[edge] < index.size();
+                assert labels[edge] != null;
+            }
+        }
+    }
+}
@@ -1,23 +1,78 @@
 package graph;
 
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * This class represents a mutable directed labeled graph composed of nodes and edges. Between a pair of nodes, there
  * could be zero, one, or multiple labeled edges. Besides, no two nodes share the same data.
+ *
+ * Every node and edge added to the graph is reported to the {@link GraphListener}s of the graph, in batches, so that
+ * indexes derived from the graph can follow it without being rebuilt. The calls to the main operations of every graph,
+ * and optionally the time they take, are counted in {@link GraphMetrics}.
  */
-public class Graph<T, E> {
+public class Graph<T, E> implements LabeledGraph<T, E> {
 
     private static final boolean DEBUG = false;
 
+    // The process-wide operation counters, published over JMX
+    private static final GraphMetrics METRICS = GraphMetrics.get();
+
+    // Approximate sizes in bytes of the objects making up the graph on a 64-bit JVM with compressed references: a
+    // 12-byte object header, 4-byte references and every object padded to a multiple of 8 bytes
+    private static final int HASH_MAP_BYTES = 48;
+
+    private static final int HASH_MAP_NODE_BYTES = 32;
+
+    private static final int HASH_SET_BYTES = 16;
+
+    private static final int ARRAY_LIST_BYTES = 24;
+
+    private static final int INTEGER_BYTES = 16;
+
+    private static final int EDGE_BYTES = 24;
+
     // RI: graph != null, and every node in the graph are not null, and every edge in the graph has non-null child
-    //      and label, and the graph must contain a node if the node appears in the edge, and size >= 0
+    //      and label, and the graph must contain a node if the node appears in the edge, and size >= 0, and
+    //      index != null, and adjacency != null, and index holds exactly the nodes in graph, and
+    //      adjacency.get(index.idOf(node)) == graph.get(node) for every node in the graph, and every edge in the graph
+    //      has childId == index.idOf(child), and if parents != null then parents.size() == size and, for every node,
+    //      parents.get(index.idOf(node)) holds exactly one edge (parent, label, index.idOf(parent)) for every edge
+    //      (node, label) in graph.get(parent), and edgeCount is the total number of edges in graph, and if
+    //      connectivity != null then it holds every node with the same id as in index, and two nodes are connected in
+    //      it exactly when they are joined by a chain of edges in graph, ignoring direction, and listeners != null,
+    //      and pendingEvents != null, and batchDepth >= 0, and pendingEvents is empty if listeners is empty
     // AF(this) = a graph with a set of nodes this.graph.keySet(), with each of the node "node" having a set of outgoing
     //              edges this.graph.get(node) and the total number of nodes this.size
     private Map<T, Set<DirectedLabeledEdge<T, E>>> graph;
 
     private int size;
 
+    private int edgeCount;
+
+    // Dense ids of the nodes, and the outgoing edges of every node indexed by its id
+    private NodeIndex<T> index;
+
+    private List<Set<DirectedLabeledEdge<T, E>>> adjacency;
+
+    // The incoming edges of every node indexed by its id, each reversed so that its child is the parent node, or null
+    // until parentsOf is first called
+    private List<Set<DirectedLabeledEdge<T, E>>> parents;
+
+    // The connected components of the graph, or null until connected is first called
+    private ConnectivityIndex<T> connectivity;
+
+    // The listeners notified of every change, the changes not yet delivered to them, and the number of calls to batch
+    // in progress, while which no change is delivered
+    private List<GraphListener<? super T, ? super E>> listeners;
+
+    private List<GraphEvent<T, E>> pendingEvents;
+
+    private int batchDepth;
+
     /**
      * Creates a new empty directed labeled graph
      *
@@ -26,6 +81,29 @@ public class Graph<T, E> {
     public Graph() {
         graph = new HashMap<>();
         size = 0;
+        index = new NodeIndex<>();
+        adjacency = new ArrayList<>();
+        listeners = new ArrayList<>();
+        pendingEvents = new ArrayList<>();
+        checkRep();
+    }
+
+    /**
+     * Creates a new empty directed labeled graph with room for the given number of nodes, so that adding that many
+     * nodes never rehashes or copies its tables
+     *
+     * @spec.effects creates a new empty directed labeled graph
+     *
+     * @param expectedNodes the number of nodes expected to be added to the graph
+     * @throws IllegalArgumentException if expectedNodes is negative
+     */
+    public Graph(int expectedNodes) {
+        index = new NodeIndex<>(expectedNodes);
+        graph = new HashMap<>((int) (expectedNodes / 0.75f) + 1);
+        size = 0;
+        adjacency = new ArrayList<>(expectedNodes);
+        listeners = new ArrayList<>();
+        pendingEvents = new ArrayList<>();
         checkRep();
     }
 
@@ -39,11 +117,52 @@ public class Graph<T, E> {
      * @param node the node of the specified type to be added to the graph
      */
     public void addNode(T node) {
+        long start = METRICS.begin(GraphMetrics.Operation.ADD_NODE, 1);
+        putNode(node);
+        checkRep();
+        METRICS.end(GraphMetrics.Operation.ADD_NODE, start);
+        deliverEvents();
+    }
+
+    /**
+     * Adds every node in the given collection that is not already present to the directed labeled graph. The
+     * representation is checked once for the whole collection rather than once per node.
+     *
+     * @spec.requires nodes != null and every node in nodes is not null
+     * @spec.modifies this
+     * @spec.effects adds every node in nodes that is not already in the graph, in the iteration order of nodes
+     *
+     * @param nodes the nodes of the specified type to be added to the graph
+     */
+    public void addNodes(Collection<? extends T> nodes) {
+        long start = METRICS.begin(GraphMetrics.Operation.ADD_NODE, nodes.size());
+        checkRep();
+        for (T node : nodes) {
+            putNode(node);
+        }
+        checkRep();
+        METRICS.end(GraphMetrics.Operation.ADD_NODE, start);
+        deliverEvents();
+    }
+
+    // Adds the given node to the graph if it is not already present, without checking the representation
+    private void putNode(T node) {
         if (!graph.containsKey(node)) {
-            graph.put(node, new HashSet<>());
+            Set<DirectedLabeledEdge<T, E>> edges = new HashSet<>();
+            graph.put(node, edges);
+            index.intern(node);
+            adjacency.add(edges);
+            if (parents != null) {
+                parents.add(new HashSet<>());
+            }
+            if (connectivity != null) {
+                connectivity.addNode(node);
+            }
+            if (!listeners.isEmpty()) {
+                pendingEvents.add(GraphEvent.nodeAdded(node));
+            }
             size++;
         }
-        checkRep();
     }
 
     /**
@@ -61,11 +180,153 @@ public class Graph<T, E> {
      * @throws IllegalArgumentException if the graph does not contain either parent or child node
      */
     public void addEdge(T parent, T child, E label) {
-        if (!containsEdge(parent, child, label)) {
-            DirectedLabeledEdge<T, E> edge = new DirectedLabeledEdge<T, E>(child, label);
-            graph.get(parent).add(edge);
+        long start = METRICS.begin(GraphMetrics.Operation.ADD_EDGE, 1);
+        checkRep();
+        int parentId = index.idOf(parent);
+        int childId = index.idOf(child);
+        if (parentId == -1 || childId == -1) {
+            throw new IllegalArgumentException();
         }
+        putEdge(parentId, parent, childId, child, label);
         checkRep();
+        METRICS.end(GraphMetrics.Operation.ADD_EDGE, start);
+        deliverEvents();
+    }
+
+    /**
+     * Adds a directed labeled edge to the directed labeled graph for every element of the given collection, reading
+     * the parent node, the child node and the label of each edge from its element. Every edge is validated before any
+     * is added, and the representation is checked once for the whole collection rather than once per edge.
+     *
+     * @spec.requires edges != null and parent != null and child != null and label != null, and the functions return
+     *              a non-null value for every element of edges
+     * @spec.modifies this
+     * @spec.effects adds a directed edge from parent.apply(s) to child.apply(s) with the label label.apply(s) for every
+     *              element s of edges, unless the graph already contains that edge
+     *
+     * @param edges the elements describing the edges to be added
+     * @param parent the function that returns the parent node of the edge described by an element
+     * @param child the function that returns the child node of the edge described by an element
+     * @param label the function that returns the label of the edge described by an element
+     * @param <S> the type of the elements describing the edges
+     * @throws IllegalArgumentException if the graph does not contain the parent or the child node of any edge, in
+     *                                  which case no edge is added
+     */
+    public <S> void addEdges(Collection<? extends S> edges, Function<? super S, ? extends T> parent,
+                             Function<? super S, ? extends T> child, Function<? super S, ? extends E> label) {
+        long start = METRICS.begin(GraphMetrics.Operation.ADD_EDGE, edges.size());
+        checkRep();
+        int[] parentIds = new int[edges.size()];
+        int[] childIds = new int[edges.size()];
+        int i = 0;
+        for (S s : edges) {
+            parentIds[i] = index.idOf(parent.apply(s));
+            childIds[i] = index.idOf(child.apply(s));
+            if (parentIds[i] == -1 || childIds[i] == -1) {
+                throw new IllegalArgumentException();
+            }
+            i++;
+        }
+        i = 0;
+        for (S s : edges) {
+            putEdge(parentIds[i], index.nodeOf(parentIds[i]), childIds[i], index.nodeOf(childIds[i]), label.apply(s));
+            i++;
+        }
+        checkRep();
+        METRICS.end(GraphMetrics.Operation.ADD_EDGE, start);
+        deliverEvents();
+    }
+
+    // Adds the given edge between two nodes of the graph, without checking the representation
+    private void putEdge(int parentId, T parent, int childId, T child, E label) {
+        // The edge set hashes on the child and the label, so adding an edge that is already present has no effect
+        if (adjacency.get(parentId).add(new DirectedLabeledEdge<T, E>(child, label, childId))) {
+            edgeCount++;
+            if (parents != null) {
+                parents.get(childId).add(new DirectedLabeledEdge<T, E>(parent, label, parentId));
+            }
+            if (connectivity != null) {
+                connectivity.unionIds(parentId, childId);
+            }
+            if (!listeners.isEmpty()) {
+                pendingEvents.add(GraphEvent.edgeAdded(parent, child, label));
+            }
+        }
+    }
+
+    /**
+     * Makes the given changes to the directed labeled graph as one batch, so that the listeners of the graph are
+     * notified of all of them at once when the changes are complete rather than once per mutator called. Batches may
+     * be nested, in which case the changes are delivered when the outermost batch completes.
+     *
+     * @spec.requires updates != null
+     * @spec.modifies this
+     * @spec.effects applies updates to this graph, and then notifies every listener of the changes made by updates
+     *
+     * @param updates the function making the changes, which is passed this graph
+     */
+    public void batch(Consumer<? super Graph<T, E>> updates) {
+        batchDepth++;
+        try {
+            updates.accept(this);
+        } finally {
+            // The changes made before a failure have taken effect, so they are delivered all the same
+            batchDepth--;
+            deliverEvents();
+        }
+    }
+
+    /**
+     * Adds a listener to be notified of every later change made to the directed labeled graph. The listener is not
+     * told about the nodes and edges already in the graph.
+     *
+     * @spec.requires listener != null
+     * @spec.modifies this
+     * @spec.effects adds listener to the listeners of this graph
+     *
+     * @param listener the listener to notify of the changes
+     */
+    public void addListener(GraphListener<? super T, ? super E> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes the given listener from the directed labeled graph, so that it is no longer notified of changes
+     *
+     * @spec.requires listener != null
+     * @spec.modifies this
+     * @spec.effects removes listener from the listeners of this graph if it is one of them
+     *
+     * @param listener the listener to remove
+     * @return true if the listener was a listener of this graph, false otherwise
+     */
+    public boolean removeListener(GraphListener<? super T, ? super E> listener) {
+        boolean removed = listeners.remove(listener);
+        if (listeners.isEmpty()) {
+            pendingEvents.clear();
+        }
+        return removed;
+    }
+
+    // Delivers the pending changes to every listener as one batch, unless a batch is in progress. A listener that
+    // changes the graph causes a batch of its own to be delivered to every listener before this one completes.
+    private void deliverEvents() {
+        if (batchDepth > 0 || pendingEvents.isEmpty()) {
+            return;
+        }
+        List<GraphEvent<T, E>> events = Collections.unmodifiableList(new ArrayList<>(pendingEvents));
+        pendingEvents.clear();
+        for (GraphListener<? super T, ? super E> listener : new ArrayList<>(listeners)) {
+            deliver(listener, events);
+        }
+    }
+
+    // Delivers the given events to a listener of nodes and labels of supertypes of theirs. Events are immutable, so
+    // every event about nodes of T and labels of E is also one about nodes and labels of any of their supertypes.
+    @SuppressWarnings("unchecked")
+    private static <T, E> void deliver(GraphListener<T, E> listener,
+                                       List<? extends GraphEvent<? extends T, ? extends E>> events) {
+        listener.graphChanged((List<GraphEvent<T, E>>) (List<?>) events);
     }
 
     /**
@@ -73,6 +334,7 @@ public class Graph<T, E> {
      *
      * @return a set of all nodes that are currently in this graph
      */
+    @Override
     public Set<T> listNodes() {
         checkRep();
         return graph.keySet();
@@ -88,12 +350,90 @@ public class Graph<T, E> {
      * @return a set of directed labeled edges, each containing the label of the edge and the child node
      * @throws IllegalArgumentException if the given parent node is not in the graph
      */
+    @Override
     public Set<DirectedLabeledEdge<T, E>> childrenOf(T parent) {
+        long start = METRICS.begin(GraphMetrics.Operation.CHILDREN_OF, 1);
         checkRep();
         if (!containsNode(parent)) {
             throw new IllegalArgumentException();
         }
-        return graph.get(parent);
+        Set<DirectedLabeledEdge<T, E>> children = graph.get(parent);
+        METRICS.scanned(children.size());
+        METRICS.end(GraphMetrics.Operation.CHILDREN_OF, start);
+        return children;
+    }
+
+    /**
+     * Returns all the directed labeled edges pointing to a given child node in the directed labeled graph. Each edge is
+     * reversed: its child is the parent node the edge comes from, and its label is the label of the edge.
+     *
+     * The incoming edges are kept in a reverse index that is built in O(V + E) time by the first call to this method
+     * and then kept up to date by addEdge, so every later call takes O(1) time and graphs that never ask for their
+     * parents pay nothing for the index.
+     *
+     * @spec.requires child != null
+     *
+     * @param child the child node of the specified type
+     * @return an unmodifiable set of reversed edges, each containing the label of the edge and the parent node
+     * @throws IllegalArgumentException if the given child node is not in the graph
+     */
+    public Set<DirectedLabeledEdge<T, E>> parentsOf(T child) {
+        checkRep();
+        int childId = index.idOf(child);
+        if (childId == -1) {
+            throw new IllegalArgumentException();
+        }
+        if (parents == null) {
+            parents = new ArrayList<>(size);
+            for (int id = 0; id < size; id++) {
+                parents.add(new HashSet<>());
+            }
+            for (int parentId = 0; parentId < size; parentId++) {
+                T parent = index.nodeOf(parentId);
+                for (DirectedLabeledEdge<T, E> edge : adjacency.get(parentId)) {
+                    parents.get(edge.childId).add(new DirectedLabeledEdge<T, E>(parent, edge.label, parentId));
+                }
+            }
+            checkRep();
+        }
+        return Collections.unmodifiableSet(parents.get(childId));
+    }
+
+    /**
+     * Returns whether the given nodes are joined by a chain of edges in the directed labeled graph, ignoring the
+     * direction of the edges. When every edge of the graph comes with an edge in the opposite direction, this is
+     * exactly whether one node can be reached from the other.
+     *
+     * The answer comes from a connectivity index that is built in O(V + E) time by the first call to this method and
+     * then kept up to date by addNode and addEdge, so every later call takes near-constant time.
+     *
+     * @spec.requires a != null and b != null
+     *
+     * @param a a node of the graph
+     * @param b another node of the graph
+     * @return true if a and b are in the same connected component of the graph, false otherwise
+     * @throws IllegalArgumentException if the graph does not contain either node
+     */
+    public boolean connected(T a, T b) {
+        checkRep();
+        int idA = index.idOf(a);
+        int idB = index.idOf(b);
+        if (idA == -1 || idB == -1) {
+            throw new IllegalArgumentException();
+        }
+        if (connectivity == null) {
+            connectivity = new ConnectivityIndex<>();
+            for (int id = 0; id < size; id++) {
+                connectivity.addNode(index.nodeOf(id));
+            }
+            for (int id = 0; id < size; id++) {
+                for (DirectedLabeledEdge<T, E> edge : adjacency.get(id)) {
+                    connectivity.unionIds(id, edge.childId);
+                }
+            }
+            checkRep();
+        }
+        return connectivity.connectedIds(idA, idB);
     }
 
     /**
@@ -104,6 +444,7 @@ public class Graph<T, E> {
      * @param node the node of the specified type to be checked if it is in the graph
      * @return true if the graph contains the node, false otherwise
      */
+    @Override
     public boolean containsNode(T node) {
         checkRep();
         return graph.containsKey(node);
@@ -120,19 +461,16 @@ public class Graph<T, E> {
      * @return true if the graph contains the edge, false otherwise
      * @throws IllegalArgumentException if the graph does not contain either parent or child node
      */
+    @Override
     public boolean containsEdge(T parent, T child, E label) {
+        long start = METRICS.begin(GraphMetrics.Operation.CONTAINS_EDGE, 1);
         checkRep();
         if (!containsNode(parent) || !containsNode(child)) {
             throw new IllegalArgumentException();
         }
-        Set<DirectedLabeledEdge<T, E>> edges = graph.get(parent);
-        DirectedLabeledEdge<T, E> newEdge = new DirectedLabeledEdge<T, E>(child, label);
-        for (DirectedLabeledEdge<T, E> edge : edges) {
-            if (newEdge.equals(edge)) {
-                return true;
-            }
-        }
-        return false;
+        boolean contains = graph.get(parent).contains(new DirectedLabeledEdge<T, E>(child, label));
+        METRICS.end(GraphMetrics.Operation.CONTAINS_EDGE, start);
+        return contains;
     }
 
     /**
@@ -150,36 +488,297 @@ public class Graph<T, E> {
      *
      * @return the total number of nodes in the graph
      */
+    @Override
     public int size() {
         checkRep();
         return size;
     }
 
+    /**
+     * Returns the number of edges in the directed labeled graph
+     *
+     * @return the total number of edges in the graph
+     */
+    public int edgeCount() {
+        checkRep();
+        return edgeCount;
+    }
+
+    /**
+     * Returns statistics on the out-degrees of the nodes in the directed labeled graph
+     *
+     * @return a summary of how many nodes have each out-degree
+     */
+    public DegreeStatistics degreeStatistics() {
+        checkRep();
+        int maxDegree = 0;
+        for (Set<DirectedLabeledEdge<T, E>> edges : adjacency) {
+            maxDegree = Math.max(maxDegree, edges.size());
+        }
+        int[] counts = new int[maxDegree + 1];
+        for (Set<DirectedLabeledEdge<T, E>> edges : adjacency) {
+            counts[edges.size()]++;
+        }
+        return new DegreeStatistics(counts);
+    }
+
+    /**
+     * Returns an estimate of the heap memory held by the directed labeled graph: the node map, the id index, the edge
+     * sets and the DirectedLabeledEdge objects in them, and the reverse index if parentsOf has been called. The nodes
+     * and labels themselves are not counted, since they belong to the client and may be shared with other structures.
+     * The estimate assumes a 64-bit JVM with compressed references and hash tables grown by insertion, so it is only
+     * accurate to within the slack of those tables.
+     *
+     * @return the estimated number of bytes of heap memory held by the graph
+     */
+    public long estimateMemoryBytes() {
+        checkRep();
+        // The node map, and the node index with its list of nodes, its map of boxed ids, and the adjacency list
+        long bytes = hashMapBytes(size) + ARRAY_LIST_BYTES + arrayBytes(size) + hashMapBytes(size)
+                     + (long) size * INTEGER_BYTES + ARRAY_LIST_BYTES + arrayBytes(size);
+        bytes += edgeSetsBytes(adjacency);
+        if (parents != null) {
+            bytes += ARRAY_LIST_BYTES + arrayBytes(size) + edgeSetsBytes(parents);
+        }
+        return bytes;
+    }
+
+    // Returns the estimated bytes held by the given edge sets and the edges in them
+    private static <T, E> long edgeSetsBytes(List<Set<DirectedLabeledEdge<T, E>>> edgeSets) {
+        long bytes = 0;
+        for (Set<DirectedLabeledEdge<T, E>> edges : edgeSets) {
+            bytes += HASH_SET_BYTES + hashMapBytes(edges.size()) + (long) edges.size() * EDGE_BYTES;
+        }
+        return bytes;
+    }
+
+    // Returns the estimated bytes held by a HashMap with the given number of entries, not counting keys and values
+    private static long hashMapBytes(int entries) {
+        if (entries == 0) {
+            // An empty map allocates its table lazily
+            return HASH_MAP_BYTES;
+        }
+        int capacity = Math.max(16, Integer.highestOneBit((int) Math.ceil(entries / 0.75) - 1) << 1);
+        return HASH_MAP_BYTES + arrayBytes(capacity) + (long) entries * HASH_MAP_NODE_BYTES;
+    }
+
+    // Returns the bytes held by an array of the given number of references
+    private static long arrayBytes(int length) {
+        return (16 + 4L * length + 7) & ~7L;
+    }
+
     /**
      * Returns if the directed labeled graph is empty
      *
      * @return true if the graph is empty, false otherwise
      */
+    @Override
     public boolean isEmpty() {
         checkRep();
         return size == 0;
     }
 
+    /**
+     * Returns the dense id of the given node. Nodes are numbered 0, 1, 2, ... in the order they were added, and the id
+     * of a node never changes.
+     *
+     * @spec.requires node != null
+     *
+     * @param node the node of the specified type to look up
+     * @return the id of the node in the range [0, size()), or -1 if the node is not in the graph
+     */
+    public int idOf(T node) {
+        checkRep();
+        return index.idOf(node);
+    }
+
+    /**
+     * Returns the node with the given dense id
+     *
+     * @param id the id of the node
+     * @return the node with the given id
+     * @throws IllegalArgumentException if id is not in the range [0, size())
+     */
+    public T nodeOf(int id) {
+        checkRep();
+        return index.nodeOf(id);
+    }
+
+    /**
+     * Calls the visitor once for every outgoing edge of the node with the given id, passing the id of the child node
+     * and the label of the edge. Neither the parent nor the children are hashed, so algorithms that keep their state
+     * in arrays indexed by id can walk the graph without any map lookups.
+     *
+     * @spec.requires visitor != null
+     *
+     * @param parentId the id of the parent node
+     * @param visitor the visitor called for every outgoing edge of the parent node
+     * @throws IllegalArgumentException if parentId is not in the range [0, size())
+     */
+    public void forEachChild(int parentId, EdgeVisitor<? super E> visitor) {
+        long start = METRICS.begin(GraphMetrics.Operation.CHILDREN_OF, 1);
+        checkRep();
+        if (parentId < 0 || parentId >= size) {
+            throw new IllegalArgumentException("No node with id " + parentId);
+        }
+        Set<DirectedLabeledEdge<T, E>> children = adjacency.get(parentId);
+        for (DirectedLabeledEdge<T, E> edge : children) {
+            visitor.visit(edge.childId, edge.label);
+        }
+        METRICS.scanned(children.size());
+        METRICS.end(GraphMetrics.Operation.CHILDREN_OF, start);
+    }
+
+    /**
+     * Returns an immutable compressed sparse row snapshot of the directed labeled graph. Every node has the same id in
+     * the snapshot as in this graph. Later changes to this graph are not reflected in the snapshot.
+     *
+     * @return an immutable snapshot holding the nodes and edges currently in this graph
+     */
+    public FrozenGraph<T, E> freeze() {
+        checkRep();
+        return new FrozenGraph<>(new NodeIndex<>(index), adjacency);
+    }
+
+    /**
+     * Returns a lazy breadth-first traversal of the nodes reachable from the given start node, beginning with the
+     * start node itself. The children of a node are only looked up when the stream reaches it, so a stream that is cut
+     * short by findFirst, anyMatch or limit never visits the rest of the graph. The visited nodes are marked in a bit
+     * set indexed by node id. A parallel stream splits the traversal into batches of nodes that are consumed
+     * concurrently. The graph must not be modified while the stream is being consumed.
+     *
+     * @spec.requires start != null
+     *
+     * @param start the node to start the traversal from
+     * @return a stream of every node reachable from start, each exactly once, in breadth-first order
+     * @throws IllegalArgumentException if the given start node is not in the graph
+     */
+    public Stream<T> bfs(T start) {
+        return traverse(start, false);
+    }
+
+    /**
+     * Returns a lazy depth-first traversal of the nodes reachable from the given start node, in preorder and
+     * beginning with the start node itself. Like bfs, the stream only looks up the children of the nodes it reaches,
+     * and the graph must not be modified while the stream is being consumed.
+     *
+     * @spec.requires start != null
+     *
+     * @param start the node to start the traversal from
+     * @return a stream of every node reachable from start, each exactly once, in depth-first preorder
+     * @throws IllegalArgumentException if the given start node is not in the graph
+     */
+    public Stream<T> dfs(T start) {
+        return traverse(start, true);
+    }
+
+    private Stream<T> traverse(T start, boolean depthFirst) {
+        checkRep();
+        int startId = index.idOf(start);
+        if (startId == -1) {
+            throw new IllegalArgumentException();
+        }
+        return StreamSupport.stream(new Traversal(startId, depthFirst), false);
+    }
+
+    // A traversal of the graph that expands one node per call to tryAdvance. Breadth-first traversals keep a queue of
+    // ids in pending[head, tail) and mark nodes as they are queued; depth-first traversals keep a stack of ids in
+    // pending[0, tail) and mark nodes as they are popped, so a node may be on the stack more than once.
+    private final class Traversal extends Spliterators.AbstractSpliterator<T> {
+
+        private final boolean depthFirst;
+
+        private final BitSet visited = new BitSet();
+
+        private int[] pending = new int[16];
+
+        private int head;
+
+        private int tail;
+
+        Traversal(int startId, boolean depthFirst) {
+            // The number of nodes bounds the number of nodes reached, which sizes the batches of a parallel stream
+            super(size, Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL);
+            this.depthFirst = depthFirst;
+            if (!depthFirst) {
+                visited.set(startId);
+            }
+            push(startId);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            while (head < tail) {
+                int id = depthFirst ? pending[--tail] : pending[head++];
+                if (depthFirst) {
+                    if (visited.get(id)) {
+                        continue;
+                    }
+                    visited.set(id);
+                }
+                for (DirectedLabeledEdge<T, E> edge : adjacency.get(id)) {
+                    if (!visited.get(edge.childId)) {
+                        if (!depthFirst) {
+                            visited.set(edge.childId);
+                        }
+                        push(edge.childId);
+                    }
+                }
+                action.accept(index.nodeOf(id));
+                return true;
+            }
+            return false;
+        }
+
+        private void push(int id) {
+            if (tail == pending.length) {
+                if (head > 0) {
+                    // Reclaim the space of the ids already taken off the front of the queue
+                    System.arraycopy(pending, head, pending, 0, tail - head);
+                    tail -= head;
+                    head = 0;
+                } else {
+                    pending = Arrays.copyOf(pending, 2 * pending.length);
+                }
+            }
+            pending[tail++] = id;
+        }
+    }
+
     private void checkRep() {
+        long start = METRICS.begin(GraphMetrics.Operation.CHECK_REP, 1);
         assert graph != null;
         assert size >= 0;
+        assert index != null && adjacency != null;
+        assert index.size() == size && adjacency.size() == size;
+        assert parents == null || parents.size() == size;
+        assert connectivity == null || connectivity.size() == size;
+        assert edgeCount >= 0;
+        assert listeners != null && pendingEvents != null && batchDepth >= 0;
+        assert !listeners.isEmpty() || pendingEvents.isEmpty();
         if (DEBUG) {
+            int edges = 0;
             for (T node : graph.keySet()) {
                 assert node != null;
+                edges += graph.get(node).size();
                 for (DirectedLabeledEdge<T, E> edge : graph.get(node)) {
                     T child = edge.getChild();
                     E label = edge.getLabel();
                     assert child != null;
                     assert label != null;
                     assert graph.containsKey(child);
+                    assert edge.childId == index.idOf(child);
+                }
+                assert adjacency.get(index.idOf(node)) == graph.get(node);
+                if (parents != null) {
+                    for (DirectedLabeledEdge<T, E> edge : graph.get(node)) {
+                        assert parents.get(edge.childId).contains(new DirectedLabeledEdge<T, E>(node, edge.label));
+                    }
                 }
             }
+            assert edges == edgeCount;
         }
+        METRICS.end(GraphMetrics.Operation.CHECK_REP, start);
     }
 
     /**
@@ -194,6 +793,10 @@ public class Graph<T, E> {
 
         private E label;
 
+        // The dense id of child in the graph holding this edge, or -1 if this edge is not held by a graph. It is not
+        // part of the abstract value of the edge.
+        private final int childId;
+
         /**
          * Creates a new directed labeled edge
          *
@@ -204,8 +807,19 @@ public class Graph<T, E> {
          * @param label the label of the specified type of the edge
          */
         public DirectedLabeledEdge(T child, E label) {
+            this(child, label, -1);
+        }
+
+        // Creates a new directed labeled edge held by a graph in which child has the id childId
+        DirectedLabeledEdge(T child, E label, int childId) {
             this.child = child;
             this.label = label;
+            this.childId = childId;
+        }
+
+        // Returns the dense id of the child node in the graph holding this edge, or -1 if no graph holds this edge
+        int getChildId() {
+            return childId;
         }
 
         /**
@@ -252,7 +866,7 @@ public class Graph<T, E> {
         @Override
         public int hashCode() {
             checkRep();
-            return this.child.hashCode() + this.label.hashCode();
+            return 31 * this.child.hashCode() + this.label.hashCode();
         }
 
         private void checkRep() {
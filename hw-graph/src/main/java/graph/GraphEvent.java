@@ -0,0 +1,134 @@
+package graph;
+
+import java.util.Objects;
+
+/**
+ * This class represents an immutable record of one change made to a mutable graph: either a node or a directed labeled
+ * edge was added. Events are delivered to the {@link GraphListener}s of the graph in the order the changes were made.
+ */
+public final class GraphEvent<T, E> {
+
+    /**
+     * The kinds of change that an event can record
+     */
+    public enum Kind {
+        /** A node that was not in the graph has been added */
+        NODE_ADDED,
+        /** An edge that was not in the graph has been added */
+        EDGE_ADDED
+    }
+
+    // RI: kind != null, node != null, and child == null and label == null if kind == NODE_ADDED, and child != null and
+    //      label != null if kind == EDGE_ADDED
+    // AF(this) = the addition of the node this.node if this.kind == NODE_ADDED, or the addition of an edge from
+    //              this.node to this.child labeled this.label if this.kind == EDGE_ADDED
+    private final Kind kind;
+
+    private final T node;
+
+    private final T child;
+
+    private final E label;
+
+    private GraphEvent(Kind kind, T node, T child, E label) {
+        this.kind = kind;
+        this.node = node;
+        this.child = child;
+        this.label = label;
+        checkRep();
+    }
+
+    /**
+     * Returns an event recording that the given node was added
+     *
+     * @spec.requires node != null
+     *
+     * @param node the node that was added
+     * @param <T> the type of the nodes
+     * @param <E> the type of the labels
+     * @return an event of kind NODE_ADDED for node
+     */
+    public static <T, E> GraphEvent<T, E> nodeAdded(T node) {
+        return new GraphEvent<>(Kind.NODE_ADDED, node, null, null);
+    }
+
+    /**
+     * Returns an event recording that the given edge was added
+     *
+     * @spec.requires parent != null and child != null and label != null
+     *
+     * @param parent the parent node of the edge
+     * @param child the child node of the edge
+     * @param label the label of the edge
+     * @param <T> the type of the nodes
+     * @param <E> the type of the labels
+     * @return an event of kind EDGE_ADDED for the edge from parent to child labeled label
+     */
+    public static <T, E> GraphEvent<T, E> edgeAdded(T parent, T child, E label) {
+        return new GraphEvent<>(Kind.EDGE_ADDED, parent, child, label);
+    }
+
+    /**
+     * Returns the kind of change this event records
+     *
+     * @return the kind of this event
+     */
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Returns the node that was added, or the parent node of the edge that was added
+     *
+     * @return the node this event is about
+     */
+    public T getNode() {
+        return node;
+    }
+
+    /**
+     * Returns the child node of the edge that was added
+     *
+     * @return the child node of the edge, or null if this event records the addition of a node
+     */
+    public T getChild() {
+        return child;
+    }
+
+    /**
+     * Returns the label of the edge that was added
+     *
+     * @return the label of the edge, or null if this event records the addition of a node
+     */
+    public E getLabel() {
+        return label;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof GraphEvent<?, ?>)) {
+            return false;
+        }
+        GraphEvent<?, ?> other = (GraphEvent<?, ?>) obj;
+        return kind == other.kind && node.equals(other.node) && Objects.equals(child, other.child)
+               && Objects.equals(label, other.label);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(kind, node, child, label);
+    }
+
+    @Override
+    public String toString() {
+        if (kind == Kind.NODE_ADDED) {
+            return kind + "(" + node + ")";
+        }
+        return kind + "(" + node + " -> " + child + ", " + label + ")";
+    }
+
+    private void checkRep() {
+        assert kind != null && node != null;
+        assert kind == Kind.NODE_ADDED ? child == null && label == null : child != null && label != null;
+    }
+}
@@ -0,0 +1,21 @@
+package graph;
+
+import java.util.List;
+
+/**
+ * A GraphListener is notified of the changes made to a mutable graph it has been added to, so that indexes derived
+ * from the graph can be updated incrementally instead of being rebuilt. Changes are delivered in batches: every call
+ * to a mutator of the graph delivers the changes it made as one batch once it returns, and the mutators called inside
+ * {@link Graph#batch} deliver all their changes together as a single batch.
+ */
+@FunctionalInterface
+public interface GraphListener<T, E> {
+
+    /**
+     * Called once for every batch of changes made to the graph
+     *
+     * @param events the changes of the batch in the order they were made, as an unmodifiable list holding at least one
+     *               event and only changes that took effect
+     */
+    void graphChanged(List<GraphEvent<T, E>> events);
+}
@@ -0,0 +1,195 @@
+package graph;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class holds the process-wide operation counters of {@link Graph}: how many times each instrumented operation
+ * has been called, how many edges the adjacency queries have scanned, and, while timing is enabled, how much time the
+ * operations and their rep checks have taken. Every counter is a LongAdder, so threads updating different graphs at
+ * once do not contend on a shared cache line. The counters are published over JMX under {@link #OBJECT_NAME} once
+ * {@link #registerMBean()} has been called.
+ */
+public final class GraphMetrics implements GraphMetricsMBean {
+
+    /**
+     * The name that the counters are registered under in the platform MBean server
+     */
+    public static final String OBJECT_NAME = "graph:type=GraphMetrics";
+
+    // The value returned by begin when the operation is not being timed
+    static final long NOT_TIMED = Long.MIN_VALUE;
+
+    private static final GraphMetrics INSTANCE = new GraphMetrics();
+
+    /**
+     * The operations of Graph that are counted
+     */
+    enum Operation {
+        ADD_NODE, ADD_EDGE, CONTAINS_EDGE, CHILDREN_OF, CHECK_REP
+    }
+
+    // RI: calls != null, nanos != null, edgesScanned != null, and calls.length == nanos.length ==
+    //      Operation.values().length, and every element of calls and nanos is not null
+    // AF(this) = the counters of every operation op, called this.calls[op.ordinal()] times for a total timed
+    //              duration of this.nanos[op.ordinal()] nanoseconds, and this.edgesScanned edges scanned
+    private final LongAdder[] calls;
+
+    private final LongAdder[] nanos;
+
+    private final LongAdder edgesScanned;
+
+    private volatile boolean timingEnabled;
+
+    private GraphMetrics() {
+        int operations = Operation.values().length;
+        calls = new LongAdder[operations];
+        nanos = new LongAdder[operations];
+        for (int op = 0; op < operations; op++) {
+            calls[op] = new LongAdder();
+            nanos[op] = new LongAdder();
+        }
+        edgesScanned = new LongAdder();
+        checkRep();
+    }
+
+    /**
+     * Returns the counters shared by every graph in the JVM
+     *
+     * @return the process-wide graph metrics
+     */
+    public static GraphMetrics get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Registers the counters in the platform MBean server under {@link #OBJECT_NAME}, so that they can be read with
+     * any JMX client such as jconsole. Calling this method again once they are registered has no effect.
+     *
+     * @throws IllegalStateException if the counters cannot be registered
+     */
+    public static void registerMBean() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(INSTANCE, name);
+            }
+        } catch (InstanceAlreadyExistsException e) {
+            // Another thread registered the counters first
+        } catch (MalformedObjectNameException e) {
+            throw new AssertionError(e);
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register the graph metrics", e);
+        }
+    }
+
+    // Counts count calls of the given operation, and returns the time it starts at if timing is enabled, or NOT_TIMED
+    long begin(Operation op, int count) {
+        calls[op.ordinal()].add(count);
+        return timingEnabled ? System.nanoTime() : NOT_TIMED;
+    }
+
+    // Adds the time since the given start, returned by begin, to the time spent in the given operation
+    void end(Operation op, long start) {
+        if (start != NOT_TIMED) {
+            nanos[op.ordinal()].add(System.nanoTime() - start);
+        }
+    }
+
+    // Counts the given number of edges scanned by an adjacency query
+    void scanned(int edges) {
+        edgesScanned.add(edges);
+    }
+
+    @Override
+    public long getAddNodeCalls() {
+        return calls[Operation.ADD_NODE.ordinal()].sum();
+    }
+
+    @Override
+    public long getAddNodeNanos() {
+        return nanos[Operation.ADD_NODE.ordinal()].sum();
+    }
+
+    @Override
+    public long getAddEdgeCalls() {
+        return calls[Operation.ADD_EDGE.ordinal()].sum();
+    }
+
+    @Override
+    public long getAddEdgeNanos() {
+        return nanos[Operation.ADD_EDGE.ordinal()].sum();
+    }
+
+    @Override
+    public long getContainsEdgeCalls() {
+        return calls[Operation.CONTAINS_EDGE.ordinal()].sum();
+    }
+
+    @Override
+    public long getContainsEdgeNanos() {
+        return nanos[Operation.CONTAINS_EDGE.ordinal()].sum();
+    }
+
+    @Override
+    public long getChildrenOfCalls() {
+        return calls[Operation.CHILDREN_OF.ordinal()].sum();
+    }
+
+    @Override
+    public long getChildrenOfNanos() {
+        return nanos[Operation.CHILDREN_OF.ordinal()].sum();
+    }
+
+    @Override
+    public long getEdgesScanned() {
+        return edgesScanned.sum();
+    }
+
+    @Override
+    public long getCheckRepCalls() {
+        return calls[Operation.CHECK_REP.ordinal()].sum();
+    }
+
+    @Override
+    public long getCheckRepNanos() {
+        return nanos[Operation.CHECK_REP.ordinal()].sum();
+    }
+
+    @Override
+    public boolean isTimingEnabled() {
+        return timingEnabled;
+    }
+
+    @Override
+    public void setTimingEnabled(boolean enabled) {
+        timingEnabled = enabled;
+    }
+
+    @Override
+    public void reset() {
+        for (int op = 0; op < calls.length; op++) {
+            calls[op].reset();
+            nanos[op].reset();
+        }
+        edgesScanned.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "GraphMetrics{addNode=" + getAddNodeCalls() + ", addEdge=" + getAddEdgeCalls() + ", containsEdge="
+               + getContainsEdgeCalls() + ", childrenOf=" + getChildrenOfCalls() + ", edgesScanned="
+               + getEdgesScanned() + ", checkRep=" + getCheckRepCalls() + "}";
+    }
+
+    private void checkRep() {
+        assert calls != null && nanos != null && edgesScanned != null;
+        assert calls.length == Operation.values().length && nanos.length == calls.length;
+    }
+}
@@ -0,0 +1,106 @@
+package graph;
+
+/**
+ * The management interface through which {@link GraphMetrics} publishes the operation counters of every
+ * {@link Graph} in the JVM over JMX. Times are in nanoseconds and are only accumulated while timing is enabled.
+ */
+public interface GraphMetricsMBean {
+
+    /**
+     * Returns the number of nodes requested to be added through addNode and addNodes
+     *
+     * @return the number of nodes requested to be added, whether or not they were already present
+     */
+    long getAddNodeCalls();
+
+    /**
+     * Returns the time spent in addNode and addNodes, including the rep checks they run
+     *
+     * @return the total time in nanoseconds
+     */
+    long getAddNodeNanos();
+
+    /**
+     * Returns the number of edges requested to be added through addEdge and addEdges
+     *
+     * @return the number of edges requested to be added, whether or not they were already present
+     */
+    long getAddEdgeCalls();
+
+    /**
+     * Returns the time spent in addEdge and addEdges, including the rep checks they run
+     *
+     * @return the total time in nanoseconds
+     */
+    long getAddEdgeNanos();
+
+    /**
+     * Returns the number of calls to containsEdge
+     *
+     * @return the number of calls to containsEdge
+     */
+    long getContainsEdgeCalls();
+
+    /**
+     * Returns the time spent in containsEdge, including the rep checks it runs
+     *
+     * @return the total time in nanoseconds
+     */
+    long getContainsEdgeNanos();
+
+    /**
+     * Returns the number of calls to childrenOf and forEachChild
+     *
+     * @return the number of calls to childrenOf and forEachChild
+     */
+    long getChildrenOfCalls();
+
+    /**
+     * Returns the time spent in childrenOf and forEachChild, including the rep checks they run and the visitors called
+     * by forEachChild, but not the time the callers of childrenOf spend iterating over the returned edges
+     *
+     * @return the total time in nanoseconds
+     */
+    long getChildrenOfNanos();
+
+    /**
+     * Returns the number of outgoing edges returned by childrenOf and visited by forEachChild
+     *
+     * @return the number of edges scanned
+     */
+    long getEdgesScanned();
+
+    /**
+     * Returns the number of rep checks run by the public methods of every graph
+     *
+     * @return the number of calls to checkRep
+     */
+    long getCheckRepCalls();
+
+    /**
+     * Returns the time spent checking the representation of every graph
+     *
+     * @return the total time in nanoseconds
+     */
+    long getCheckRepNanos();
+
+    /**
+     * Returns whether the time spent in the operations is being measured
+     *
+     * @return true if timing is enabled, false otherwise
+     */
+    boolean isTimingEnabled();
+
+    /**
+     * Turns the measurement of the time spent in the operations on or off. Counting calls is always on, but reading
+     * the clock twice per call is not free, so timing is off until it is turned on.
+     *
+     * @param enabled true to measure time, false to stop measuring it
+     */
+    void setTimingEnabled(boolean enabled);
+
+    /**
+     * Resets every counter and time to zero
+     */
+    void reset();
+}
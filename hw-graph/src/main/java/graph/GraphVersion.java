@@ -0,0 +1,198 @@
+package graph;
+
+import java.util.*;
+
+/**
+ * This class represents one immutable version of a directed labeled graph. Between a pair of nodes, there could be
+ * zero, one, or multiple labeled edges, and no two nodes share the same data. withNode and withEdge never modify a
+ * version; they return a new version that shares all of its structure with this one except the path to the changed
+ * node in a persistent hash trie and the edge set of that node. A reader that holds a version therefore sees exactly
+ * the same graph for as long as it holds it, no matter how many newer versions are created meanwhile.
+ */
+public final class GraphVersion<T, E> implements LabeledGraph<T, E> {
+
+    private static final boolean DEBUG = false;
+
+    private static final GraphVersion<?, ?> EMPTY = new GraphVersion<>(PersistentMap.empty(), 0);
+
+    // RI: graph != null, and every edge set in the graph is unmodifiable, and every edge in the graph has non-null
+    //      child and label, and the graph must contain a node if the node appears in the edge, and revision >= 0
+    // AF(this) = a graph with a set of nodes this.graph's keys, with each of the node "node" having a set of outgoing
+    //              edges this.graph.get(node), that was derived from the empty graph by this.revision changes
+    private final PersistentMap<T, Set<Graph.DirectedLabeledEdge<T, E>>> graph;
+
+    private final long revision;
+
+    private GraphVersion(PersistentMap<T, Set<Graph.DirectedLabeledEdge<T, E>>> graph, long revision) {
+        this.graph = graph;
+        this.revision = revision;
+        checkRep();
+    }
+
+    /**
+     * Returns the version of the empty graph
+     *
+     * @param <T> the type of the nodes
+     * @param <E> the type of the edge labels
+     * @return a version with no nodes and revision 0
+     */
+    @SuppressWarnings("unchecked")
+    public static <T, E> GraphVersion<T, E> empty() {
+        return (GraphVersion<T, E>) EMPTY;
+    }
+
+    /**
+     * Returns a version holding the same nodes and edges as the given graph, with revision 0
+     *
+     * @spec.requires graph != null
+     *
+     * @param graph the graph to copy
+     * @param <T> the type of the nodes
+     * @param <E> the type of the edge labels
+     * @return a version holding the nodes and edges currently in graph
+     */
+    public static <T, E> GraphVersion<T, E> of(LabeledGraph<T, E> graph) {
+        PersistentMap<T, Set<Graph.DirectedLabeledEdge<T, E>>> copy = PersistentMap.empty();
+        for (T node : graph.listNodes()) {
+            copy = copy.put(node, Collections.unmodifiableSet(new HashSet<>(graph.childrenOf(node))));
+        }
+        return new GraphVersion<>(copy, 0);
+    }
+
+    /**
+     * Returns the number of changes that led from the empty graph (or the graph it was copied from) to this version
+     *
+     * @return the revision number of this version
+     */
+    public long revision() {
+        return revision;
+    }
+
+    /**
+     * Returns a version that also contains the given node
+     *
+     * @spec.requires node != null
+     *
+     * @param node the node of the specified type to be added
+     * @return this version if it already contains the node, otherwise a new version with the node added
+     */
+    public GraphVersion<T, E> withNode(T node) {
+        checkRep();
+        if (graph.containsKey(node)) {
+            return this;
+        }
+        return new GraphVersion<>(graph.put(node, Collections.emptySet()), revision + 1);
+    }
+
+    /**
+     * Returns a version that also contains a directed edge from the given parent node to the given child node with
+     * the given label
+     *
+     * @spec.requires parent != null and child != null and label != null
+     *
+     * @param parent the parent node of the specified type
+     * @param child the child node of the specified type
+     * @param label the label on the edge of the specified type
+     * @return this version if it already contains the edge, otherwise a new version with the edge added
+     * @throws IllegalArgumentException if this version does not contain either parent or child node
+     */
+    public GraphVersion<T, E> withEdge(T parent, T child, E label) {
+        checkRep();
+        Set<Graph.DirectedLabeledEdge<T, E>> edges = graph.get(parent);
+        if (edges == null || !graph.containsKey(child)) {
+            throw new IllegalArgumentException();
+        }
+        Graph.DirectedLabeledEdge<T, E> edge = new Graph.DirectedLabeledEdge<>(child, label);
+        if (edges.contains(edge)) {
+            return this;
+        }
+        Set<Graph.DirectedLabeledEdge<T, E>> newEdges = new HashSet<>(edges);
+        newEdges.add(edge);
+        return new GraphVersion<>(graph.put(parent, Collections.unmodifiableSet(newEdges)), revision + 1);
+    }
+
+    @Override
+    public Set<T> listNodes() {
+        checkRep();
+        return new AbstractSet<T>() {
+            @Override
+            public Iterator<T> iterator() {
+                Iterator<Map.Entry<T, Set<Graph.DirectedLabeledEdge<T, E>>>> entries = graph.iterator();
+                return new Iterator<T>() {
+                    @Override
+                    public boolean hasNext() {
+                        return entries.hasNext();
+                    }
+
+                    @Override
+                    public T next() {
+                        return entries.next().getKey();
+                    }
+                };
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return o != null && graph.containsKey(o);
+            }
+
+            @Override
+            public int size() {
+                return graph.size();
+            }
+        };
+    }
+
+    @Override
+    public Set<Graph.DirectedLabeledEdge<T, E>> childrenOf(T parent) {
+        checkRep();
+        Set<Graph.DirectedLabeledEdge<T, E>> edges = graph.get(parent);
+        if (edges == null) {
+            throw new IllegalArgumentException();
+        }
+        return edges;
+    }
+
+    @Override
+    public boolean containsNode(T node) {
+        checkRep();
+        return graph.containsKey(node);
+    }
+
+    @Override
+    public boolean containsEdge(T parent, T child, E label) {
+        checkRep();
+        Set<Graph.DirectedLabeledEdge<T, E>> edges = graph.get(parent);
+        if (edges == null || !graph.containsKey(child)) {
+            throw new IllegalArgumentException();
+        }
+        return edges.contains(new Graph.DirectedLabeledEdge<>(child, label));
+    }
+
+    @Override
+    public int size() {
+        checkRep();
+        return graph.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        checkRep();
+        return graph.size() == 0;
+    }
+
+    private void checkRep() {
+        assert graph != null;
+        assert revision >= 0;
+        if (DEBUG) {
+            for (Map.Entry<T, Set<Graph.DirectedLabeledEdge<T, E>>> entry : graph) {
+                assert entry.getKey() != null;
+                for (Graph.DirectedLabeledEdge<T, E> edge : entry.getValue()) {
+                    assert edge.getChild() != null;
+                    assert edge.getLabel() != null;
+                    assert graph.containsKey(edge.getChild());
+                }
+            }
+        }
+    }
+}
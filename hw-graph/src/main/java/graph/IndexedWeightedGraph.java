@@ -0,0 +1,100 @@
+package graph;
+
+/**
+ * An IndexedWeightedGraph is a read-only directed graph whose edges are weighted by primitive doubles and whose nodes
+ * are assigned dense integer ids in the range [0, size()). The outgoing edges of the node with id i are numbered
+ * contiguously from edgeStart(i) (inclusive) to edgeEnd(i) (exclusive). Shortest path algorithms should depend on
+ * this interface, so that they run unchanged whether the edges are stored on or off the heap.
+ */
+public interface IndexedWeightedGraph<T> {
+
+    /**
+     * Returns the number of nodes in this graph
+     *
+     * @return the total number of nodes in this graph
+     */
+    int size();
+
+    /**
+     * Returns the number of edges in this graph
+     *
+     * @return the total number of edges in this graph
+     */
+    int edgeCount();
+
+    /**
+     * Returns whether this graph contains the given node
+     *
+     * @spec.requires node != null
+     *
+     * @param node the node of the specified type to be checked if it is in this graph
+     * @return true if this graph contains the node, false otherwise
+     */
+    boolean containsNode(T node);
+
+    /**
+     * Returns the dense id of the given node
+     *
+     * @spec.requires node != null
+     *
+     * @param node the node of the specified type to look up
+     * @return the id of the node in the range [0, size()), or -1 if the node is not in this graph
+     */
+    int idOf(T node);
+
+    /**
+     * Returns the node with the given id
+     *
+     * @param id the id of the node
+     * @return the node with the given id
+     * @throws IllegalArgumentException if id is not in the range [0, size())
+     */
+    T nodeOf(int id);
+
+    /**
+     * Returns the index of the first outgoing edge of the node with the given id
+     *
+     * @param id the id of the parent node
+     * @return the index of the first outgoing edge of the node
+     * @throws IllegalArgumentException if id is not in the range [0, size())
+     */
+    int edgeStart(int id);
+
+    /**
+     * Returns the index one past the last outgoing edge of the node with the given id
+     *
+     * @param id the id of the parent node
+     * @return the index one past the last outgoing edge of the node
+     * @throws IllegalArgumentException if id is not in the range [0, size())
+     */
+    int edgeEnd(int id);
+
+    /**
+     * Returns the number of outgoing edges of the node with the given id
+     *
+     * @param id the id of the parent node
+     * @return the number of outgoing edges of the node
+     * @throws IllegalArgumentException if id is not in the range [0, size())
+     */
+    int outDegree(int id);
+
+    /**
+     * Returns the id of the node that the edge at the given index is pointing to
+     *
+     * @spec.requires 0 <= edge < edgeCount()
+     *
+     * @param edge the index of the edge
+     * @return the id of the target node of the edge
+     */
+    int targetAt(int edge);
+
+    /**
+     * Returns the weight of the edge at the given index
+     *
+     * @spec.requires 0 <= edge < edgeCount()
+     *
+     * @param edge the index of the edge
+     * @return the weight of the edge
+     */
+    double weightAt(int edge);
+}
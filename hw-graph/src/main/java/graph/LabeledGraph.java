@@ -0,0 +1,67 @@
+package graph;
+
+import java.util.Set;
+
+/**
+ * A LabeledGraph is a read-only view of a directed labeled graph composed of nodes and edges. Between a pair of nodes,
+ * there could be zero, one, or multiple labeled edges, and no two nodes share the same data. Algorithms that only read
+ * a graph should depend on this interface, so that they run unchanged on every graph implementation.
+ */
+public interface LabeledGraph<T, E> {
+
+    /**
+     * Returns all the nodes that are currently in the directed labeled graph
+     *
+     * @return a set of all nodes that are currently in this graph
+     */
+    Set<T> listNodes();
+
+    /**
+     * Returns all the directed labeled edges of a given parent node in the directed labeled graph, each edge containing
+     * information of the label of the edge and the child node
+     *
+     * @spec.requires parent != null
+     *
+     * @param parent the parent node of the specified type
+     * @return a set of directed labeled edges, each containing the label of the edge and the child node
+     * @throws IllegalArgumentException if the given parent node is not in the graph
+     */
+    Set<Graph.DirectedLabeledEdge<T, E>> childrenOf(T parent);
+
+    /**
+     * Returns whether the directed labeled graph contains the given node
+     *
+     * @spec.requires node != null
+     *
+     * @param node the node of the specified type to be checked if it is in the graph
+     * @return true if the graph contains the node, false otherwise
+     */
+    boolean containsNode(T node);
+
+    /**
+     * Returns whether the directed labeled graph contains the given edge
+     *
+     * @spec.requires parent != null, child != null, and label != null
+     *
+     * @param parent the parent node of the specified type
+     * @param child the child node of the specified type
+     * @param label the edge label of the specified type
+     * @return true if the graph contains the edge, false otherwise
+     * @throws IllegalArgumentException if the graph does not contain either parent or child node
+     */
+    boolean containsEdge(T parent, T child, E label);
+
+    /**
+     * Returns the size or the number of nodes in the directed labeled graph.
+     *
+     * @return the total number of nodes in the graph
+     */
+    int size();
+
+    /**
+     * Returns if the directed labeled graph is empty
+     *
+     * @return true if the graph is empty, false otherwise
+     */
+    boolean isEmpty();
+}
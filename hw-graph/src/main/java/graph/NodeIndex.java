@@ -0,0 +1,154 @@
+package graph;
+
+import java.util.*;
+
+/**
+ * This class represents a mutable dictionary that interns node objects as dense integer ids. The first node interned
+ * gets id 0, the next new node gets id 1, and so on, so the ids of n interned nodes are exactly [0, n). Algorithms can
+ * then keep per-node state in flat arrays indexed by id instead of hash maps keyed by node. Nodes are never removed,
+ * so the id of a node never changes once assigned.
+ */
+public final class NodeIndex<T> {
+
+    private static final boolean DEBUG = false;
+
+    // RI: nodes != null, ids != null, nodes.size() == ids.size(), every node in nodes is not null, and
+    //      ids.get(nodes.get(i)) == i for every 0 <= i < nodes.size()
+    // AF(this) = a dictionary in which the node this.nodes.get(i) has the id i
+    private final List<T> nodes;
+
+    private final Map<T, Integer> ids;
+
+    /**
+     * Creates a new empty node index
+     *
+     * @spec.effects creates a new node index with no nodes
+     */
+    public NodeIndex() {
+        nodes = new ArrayList<>();
+        ids = new HashMap<>();
+        checkRep();
+    }
+
+    /**
+     * Creates a new empty node index with room for the given number of nodes, so that interning that many nodes never
+     * resizes its tables
+     *
+     * @spec.effects creates a new node index with no nodes
+     *
+     * @param expectedSize the number of nodes expected to be interned
+     * @throws IllegalArgumentException if expectedSize is negative
+     */
+    public NodeIndex(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Negative expected size " + expectedSize);
+        }
+        nodes = new ArrayList<>(expectedSize);
+        ids = new HashMap<>((int) (expectedSize / 0.75f) + 1);
+        checkRep();
+    }
+
+    /**
+     * Creates a new node index holding the same nodes and ids as the given index
+     *
+     * @spec.requires other != null
+     * @spec.effects creates a new node index that is a copy of other
+     *
+     * @param other the node index to copy
+     */
+    public NodeIndex(NodeIndex<T> other) {
+        nodes = new ArrayList<>(other.nodes);
+        ids = new HashMap<>(other.ids);
+        checkRep();
+    }
+
+    /**
+     * Returns the id of the given node, assigning it the next unused id if it is not already in this index
+     *
+     * @spec.requires node != null
+     * @spec.modifies this
+     * @spec.effects adds the node with id size() if it is not already in this index, otherwise there is no effects.
+     *
+     * @param node the node to intern
+     * @return the id of the node
+     */
+    public int intern(T node) {
+        Integer id = ids.get(node);
+        if (id == null) {
+            id = nodes.size();
+            ids.put(node, id);
+            nodes.add(node);
+            checkRep();
+        }
+        return id;
+    }
+
+    /**
+     * Returns the id of the given node
+     *
+     * @spec.requires node != null
+     *
+     * @param node the node to look up
+     * @return the id of the node, or -1 if the node is not in this index
+     */
+    public int idOf(T node) {
+        Integer id = ids.get(node);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Returns the node with the given id
+     *
+     * @param id the id of the node
+     * @return the node with the given id
+     * @throws IllegalArgumentException if id is not in the range [0, size())
+     */
+    public T nodeOf(int id) {
+        if (id < 0 || id >= nodes.size()) {
+            throw new IllegalArgumentException("No node with id " + id);
+        }
+        return nodes.get(id);
+    }
+
+    /**
+     * Returns whether this index contains the given node
+     *
+     * @spec.requires node != null
+     *
+     * @param node the node to look up
+     * @return true if the node has been interned, false otherwise
+     */
+    public boolean contains(T node) {
+        return ids.containsKey(node);
+    }
+
+    /**
+     * Returns the number of nodes in this index, which is also the smallest unused id
+     *
+     * @return the number of nodes in this index
+     */
+    public int size() {
+        return nodes.size();
+    }
+
+    /**
+     * Returns all the nodes in this index, ordered by id
+     *
+     * @return an unmodifiable list view whose i-th element is the node with id i
+     */
+    public List<T> nodes() {
+        return Collections.unmodifiableList(nodes);
+    }
+
+    private void checkRep() {
+        assert nodes != null;
+        assert ids != null;
+        assert nodes.size() == ids.size();
+        if (DEBUG) {
+            for (int id = 0; id < nodes.size(); id++) {
+                assert nodes.get(id) != null;
+                assert ids.get(nodes.get(id)) == id;
+            }
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package graph;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+
+/**
+ * This class represents an immutable directed graph with primitive double weights whose edges are stored off the Java
+ * heap. The edge offsets, target ids and weights live in direct buffers, so a graph with tens of millions of edges
+ * adds only a handful of objects for the garbage collector to trace. Only the nodes themselves stay on the heap, in an
+ * index that maps every node to its id; the edges refer to nodes by id alone.
+ *
+ * Like WeightedGraph, every node is assigned a dense integer id in the range [0, size()) and the outgoing edges of the
+ * node with id i are numbered contiguously from edgeStart(i) (inclusive) to edgeEnd(i) (exclusive). Reading edges
+ * never changes the position of a buffer, so an off-heap graph may be read by many threads at once.
+ */
+public final class OffHeapGraph<T> implements IndexedWeightedGraph<T> {
+
+    private static final boolean DEBUG = false;
+
+    // RI: index != null, offsets != null, targets != null, weights != null, and offsets, targets and weights are
+    //      direct, and offsets.capacity() == index.size() + 1, and offsets.get(0) == 0, and offsets is non-decreasing,
+    //      and offsets.get(index.size()) == targets.capacity() == weights.capacity(), and every targets.get(e) is a
+    //      valid node id
+    // AF(this) = a graph with the nodes in this.index, in which the node with id i is this.index.nodeOf(i), and the node
+    //              with id i has an outgoing edge to the node with id this.targets.get(e) weighted this.weights.get(e)
+    //              for every this.offsets.get(i) <= e < this.offsets.get(i + 1)
+    private final NodeIndex<T> index;
+
+    private final IntBuffer offsets;
+
+    private final IntBuffer targets;
+
+    private final DoubleBuffer weights;
+
+    /**
+     * Creates a new off-heap graph holding the same nodes, ids and edges as the given graph
+     *
+     * @spec.requires graph != null
+     * @spec.effects creates a new off-heap graph with the nodes and edges of graph
+     *
+     * @param graph the graph whose nodes and edges are copied off the heap
+     * @throws IllegalArgumentException if graph has too many edges to fit in a direct buffer
+     */
+    public OffHeapGraph(IndexedWeightedGraph<T> graph) {
+        int nodes = graph.size();
+        int edges = graph.edgeCount();
+        if ((long) edges * Double.BYTES > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many edges to store off the heap: " + edges);
+        }
+        index = new NodeIndex<>(nodes);
+        for (int id = 0; id < nodes; id++) {
+            index.intern(graph.nodeOf(id));
+        }
+        offsets = allocate(nodes + 1, Integer.BYTES).asIntBuffer();
+        targets = allocate(edges, Integer.BYTES).asIntBuffer();
+        weights = allocate(edges, Double.BYTES).asDoubleBuffer();
+        for (int id = 0; id < nodes; id++) {
+            offsets.put(id, graph.edgeStart(id));
+        }
+        offsets.put(nodes, edges);
+        for (int edge = 0; edge < edges; edge++) {
+            targets.put(edge, graph.targetAt(edge));
+            weights.put(edge, graph.weightAt(edge));
+        }
+        checkRep();
+    }
+
+    /**
+     * Returns an off-heap snapshot of the given graph
+     *
+     * @spec.requires graph != null
+     *
+     * @param graph the graph whose Double labels become the edge weights
+     * @param <T> the type of the nodes
+     * @return an off-heap graph holding the nodes and edges currently in graph
+     * @throws IllegalArgumentException if graph has too many edges to fit in a direct buffer
+     */
+    public static <T> OffHeapGraph<T> of(LabeledGraph<T, Double> graph) {
+        return new OffHeapGraph<>(WeightedGraph.of(graph));
+    }
+
+    // Returns a direct buffer in native byte order with room for the given number of elements of the given size
+    private static ByteBuffer allocate(int elements, int bytes) {
+        return ByteBuffer.allocateDirect(elements * bytes).order(ByteOrder.nativeOrder());
+    }
+
+    @Override
+    public int size() {
+        return index.size();
+    }
+
+    @Override
+    public int edgeCount() {
+        return targets.capacity();
+    }
+
+    @Override
+    public boolean containsNode(T node) {
+        return index.contains(node);
+    }
+
+    @Override
+    public int idOf(T node) {
+        return index.idOf(node);
+    }
+
+    @Override
+    public T nodeOf(int id) {
+        return index.nodeOf(id);
+    }
+
+    @Override
+    public int edgeStart(int id) {
+        checkId(id);
+        return offsets.get(id);
+    }
+
+    @Override
+    public int edgeEnd(int id) {
+        checkId(id);
+        return offsets.get(id + 1);
+    }
+
+    @Override
+    public int outDegree(int id) {
+        checkId(id);
+        return offsets.get(id + 1) - offsets.get(id);
+    }
+
+    @Override
+    public int targetAt(int edge) {
+        return targets.get(edge);
+    }
+
+    @Override
+    public double weightAt(int edge) {
+        return weights.get(edge);
+    }
+
+    /**
+     * Returns the number of bytes of direct memory held by the edges of this graph
+     *
+     * @return the total capacity in bytes of the off-heap buffers
+     */
+    public long offHeapBytes() {
+        return (long) offsets.capacity() * Integer.BYTES + (long) targets.capacity() * Integer.BYTES
+               + (long) weights.capacity() * Double.BYTES;
+    }
+
+    private void checkId(int id) {
+        if (id < 0 || id >= index.size()) {
+            throw new IllegalArgumentException("No node with id " + id);
+        }
+    }
+
+    private void checkRep() {
+        assert index != null;
+        assert offsets != null && targets != null && weights != null;
+        assert offsets.isDirect() && targets.isDirect() && weights.isDirect();
+        assert offsets.capacity() == index.size() + 1;
+        assert offsets.get(index.size()) == targets.capacity() && targets.capacity() == weights.capacity();
+        if (DEBUG) {
+            for (int id = 0; id < index.size(); id++) {
+                assert offsets.get(id) <= offsets.get(id + 1);
+            }
+            for (int edge = 0; edge < targets.capacity(); edge++) {
+                assert targets.get(edge) >= 0 && targets.get(edge) < index.size();
+            }
+        }
+    }
+}
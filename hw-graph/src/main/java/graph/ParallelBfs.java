@@ -0,0 +1,183 @@
+package graph;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * This class provides a parallel level-synchronous breadth-first search over immutable CSR snapshots. Each level of
+ * the search splits the current frontier into ranges that are expanded concurrently by fork-join tasks, and a node is
+ * claimed for the next frontier by atomically setting its bit in a visited bitmap indexed by node id, so every node
+ * joins exactly one frontier no matter how many threads reach it at once.
+ */
+public final class ParallelBfs {
+
+    // The largest range of frontier nodes that a task expands by itself instead of splitting it further
+    private static final int GRAIN = 512;
+
+    private ParallelBfs() {
+    }
+
+    /**
+     * Returns the number of edges on a shortest path from the given source node to every node of the given snapshot,
+     * searching on the common fork-join pool
+     *
+     * @spec.requires graph != null and source != null
+     *
+     * @param graph the snapshot to search
+     * @param source the node to start the search from
+     * @param <T> the type of the nodes
+     * @return an array whose i-th element is the hop distance from source to the node with id i, or -1 if that node
+     *          cannot be reached from source
+     * @throws IllegalArgumentException if the source node is not in the snapshot
+     */
+    public static <T> int[] hopDistances(FrozenGraph<T, ?> graph, T source) {
+        return hopDistances(graph, source, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Returns the number of edges on a shortest path from the given source node to every node of the given snapshot,
+     * searching on the given fork-join pool
+     *
+     * @spec.requires graph != null and source != null and pool != null
+     *
+     * @param graph the snapshot to search
+     * @param source the node to start the search from
+     * @param pool the pool whose threads expand the frontiers
+     * @param <T> the type of the nodes
+     * @return an array whose i-th element is the hop distance from source to the node with id i, or -1 if that node
+     *          cannot be reached from source
+     * @throws IllegalArgumentException if the source node is not in the snapshot
+     */
+    public static <T> int[] hopDistances(FrozenGraph<T, ?> graph, T source, ForkJoinPool pool) {
+        int sourceId = graph.idOf(source);
+        if (sourceId == -1) {
+            throw new IllegalArgumentException();
+        }
+        int n = graph.size();
+        int[] distances = new int[n];
+        Arrays.fill(distances, -1);
+        AtomicLongArray visited = new AtomicLongArray((n + 63) >>> 6);
+        trySetVisited(visited, sourceId);
+        distances[sourceId] = 0;
+
+        int[] frontier = {sourceId};
+        int frontierSize = 1;
+        int[] next = new int[n];
+        for (int level = 1; frontierSize > 0; level++) {
+            AtomicInteger nextSize = new AtomicInteger();
+            Expand expand = new Expand(graph, visited, distances, level, frontier, 0, frontierSize, next, nextSize);
+            if (frontierSize <= GRAIN) {
+                // A small frontier is cheaper to expand on this thread than to hand to the pool
+                expand.compute();
+            } else {
+                pool.invoke(expand);
+            }
+            int[] expanded = next;
+            next = frontier.length == n ? frontier : new int[n];
+            frontier = expanded;
+            frontierSize = nextSize.get();
+        }
+        return distances;
+    }
+
+    /**
+     * Returns whether the given target node can be reached from the given source node of the given snapshot,
+     * searching on the common fork-join pool
+     *
+     * @spec.requires graph != null and source != null and target != null
+     *
+     * @param graph the snapshot to search
+     * @param source the node to start the search from
+     * @param target the node to look for
+     * @param <T> the type of the nodes
+     * @return true if there is a path from source to target, false otherwise
+     * @throws IllegalArgumentException if the source or the target node is not in the snapshot
+     */
+    public static <T> boolean isReachable(FrozenGraph<T, ?> graph, T source, T target) {
+        int targetId = graph.idOf(target);
+        if (targetId == -1) {
+            throw new IllegalArgumentException();
+        }
+        return hopDistances(graph, source)[targetId] != -1;
+    }
+
+    // Sets the bit of the given node in the visited bitmap, and returns whether this call is the one that set it
+    private static boolean trySetVisited(AtomicLongArray visited, int id) {
+        int word = id >>> 6;
+        long mask = 1L << id;
+        long bits = visited.get(word);
+        while ((bits & mask) == 0) {
+            if (visited.compareAndSet(word, bits, bits | mask)) {
+                return true;
+            }
+            bits = visited.get(word);
+        }
+        return false;
+    }
+
+    // Expands frontier[from, to) into the next frontier, splitting the range in half until it is at most GRAIN nodes
+    private static final class Expand extends RecursiveAction {
+
+        private final FrozenGraph<?, ?> graph;
+
+        private final AtomicLongArray visited;
+
+        private final int[] distances;
+
+        private final int level;
+
+        private final int[] frontier;
+
+        private final int from;
+
+        private final int to;
+
+        private final int[] next;
+
+        private final AtomicInteger nextSize;
+
+        Expand(FrozenGraph<?, ?> graph, AtomicLongArray visited, int[] distances, int level, int[] frontier, int from,
+               int to, int[] next, AtomicInteger nextSize) {
+            this.graph = graph;
+            this.visited = visited;
+            this.distances = distances;
+            this.level = level;
+            this.frontier = frontier;
+            this.from = from;
+            this.to = to;
+            this.next = next;
+            this.nextSize = nextSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > GRAIN) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new Expand(graph, visited, distances, level, frontier, from, mid, next, nextSize),
+                          new Expand(graph, visited, distances, level, frontier, mid, to, next, nextSize));
+                return;
+            }
+            // Collect the claimed nodes locally, then reserve one block of the next frontier for all of them
+            int[] claimed = new int[16];
+            int count = 0;
+            for (int i = from; i < to; i++) {
+                int parent = frontier[i];
+                for (int edge = graph.edgeStart(parent); edge < graph.edgeEnd(parent); edge++) {
+                    int child = graph.childAt(edge);
+                    if (trySetVisited(visited, child)) {
+                        distances[child] = level;
+                        if (count == claimed.length) {
+                            claimed = Arrays.copyOf(claimed, 2 * count);
+                        }
+                        claimed[count++] = child;
+                    }
+                }
+            }
+            int start = nextSize.getAndAdd(count);
+            System.arraycopy(claimed, 0, next, start, count);
+        }
+    }
+}
@@ -0,0 +1,320 @@
+package graph;
+
+import java.util.*;
+
+/**
+ * This class represents an immutable map implemented as a hash array mapped trie. put never modifies a map; it
+ * returns a new map that shares every subtree of the trie except the O(log32 n) nodes on the path to the changed key,
+ * so keeping many versions of a large map costs little more memory than keeping one.
+ */
+final class PersistentMap<K, V> implements Iterable<Map.Entry<K, V>> {
+
+    // RI: size >= 0, and root == null if and only if size == 0, and no key or value in the trie is null, and no two
+    //      entries in the trie have equal keys, and every entry is in the slot selected by its spread hash
+    // AF(this) = the map holding every (key, value) entry stored in the trie under this.root
+
+    private static final PersistentMap<?, ?> EMPTY = new PersistentMap<>(null, 0);
+
+    // The number of hash bits consumed at each level of the trie
+    private static final int BITS = 5;
+
+    private final Node root;
+
+    private final int size;
+
+    private PersistentMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Returns the empty map
+     *
+     * @param <K> the type of the keys
+     * @param <V> the type of the values
+     * @return a map with no entries
+     */
+    @SuppressWarnings("unchecked")
+    static <K, V> PersistentMap<K, V> empty() {
+        return (PersistentMap<K, V>) EMPTY;
+    }
+
+    /**
+     * Returns the number of entries in this map
+     *
+     * @return the number of entries in this map
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the value mapped to the given key
+     *
+     * @spec.requires key != null
+     *
+     * @param key the key to look up
+     * @return the value mapped to the key, or null if this map does not contain the key
+     */
+    @SuppressWarnings("unchecked")
+    V get(Object key) {
+        return root == null ? null : (V) root.get(key, spread(key.hashCode()), 0);
+    }
+
+    /**
+     * Returns whether this map contains the given key
+     *
+     * @spec.requires key != null
+     *
+     * @param key the key to look up
+     * @return true if this map contains the key, false otherwise
+     */
+    boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Returns a map with the same entries as this map, except that the given key is mapped to the given value
+     *
+     * @spec.requires key != null and value != null
+     *
+     * @param key the key to map
+     * @param value the value to map the key to
+     * @return a map that maps key to value and agrees with this map on every other key, which is this map itself if
+     *          it already maps key to value
+     */
+    PersistentMap<K, V> put(K key, V value) {
+        boolean[] added = new boolean[1];
+        int hash = spread(key.hashCode());
+        Node newRoot = root == null ? BitmapNode.EMPTY.put(key, hash, value, 0, added)
+                                    : root.put(key, hash, value, 0, added);
+        if (newRoot == root) {
+            return this;
+        }
+        return new PersistentMap<>(newRoot, added[0] ? size + 1 : size);
+    }
+
+    /**
+     * Returns an iterator over the entries of this map, in no particular order
+     *
+     * @return an iterator over the entries of this map that does not support remove
+     */
+    @Override
+    public Iterator<Map.Entry<K, V>> iterator() {
+        return new EntryIterator<>(root);
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    // A node of the trie. Its slots hold pairs: slots[2i] is a key and slots[2i + 1] its value, or slots[2i] is null
+    // and slots[2i + 1] is the sub-node holding every entry whose hash selects that slot.
+    private abstract static class Node {
+
+        abstract Object[] slots();
+
+        abstract Object get(Object key, int hash, int shift);
+
+        abstract Node put(Object key, int hash, Object value, int shift, boolean[] added);
+    }
+
+    // An inner node with up to 32 slots, of which only the slots whose bit is set in bitmap are stored
+    private static final class BitmapNode extends Node {
+
+        static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+        private final int bitmap;
+
+        private final Object[] slots;
+
+        BitmapNode(int bitmap, Object[] slots) {
+            this.bitmap = bitmap;
+            this.slots = slots;
+        }
+
+        @Override
+        Object[] slots() {
+            return slots;
+        }
+
+        @Override
+        Object get(Object key, int hash, int shift) {
+            int bit = 1 << ((hash >>> shift) & 31);
+            if ((bitmap & bit) == 0) {
+                return null;
+            }
+            int i = 2 * Integer.bitCount(bitmap & (bit - 1));
+            Object k = slots[i];
+            if (k == null) {
+                return ((Node) slots[i + 1]).get(key, hash, shift + BITS);
+            }
+            return key.equals(k) ? slots[i + 1] : null;
+        }
+
+        @Override
+        Node put(Object key, int hash, Object value, int shift, boolean[] added) {
+            int bit = 1 << ((hash >>> shift) & 31);
+            int i = 2 * Integer.bitCount(bitmap & (bit - 1));
+            if ((bitmap & bit) == 0) {
+                Object[] newSlots = new Object[slots.length + 2];
+                System.arraycopy(slots, 0, newSlots, 0, i);
+                newSlots[i] = key;
+                newSlots[i + 1] = value;
+                System.arraycopy(slots, i, newSlots, i + 2, slots.length - i);
+                added[0] = true;
+                return new BitmapNode(bitmap | bit, newSlots);
+            }
+            Object k = slots[i];
+            Object v = slots[i + 1];
+            Object newSlot;
+            if (k == null) {
+                Node sub = ((Node) v).put(key, hash, value, shift + BITS, added);
+                if (sub == v) {
+                    return this;
+                }
+                newSlot = sub;
+            } else if (key.equals(k)) {
+                if (value == v) {
+                    return this;
+                }
+                Object[] newSlots = slots.clone();
+                newSlots[i + 1] = value;
+                return new BitmapNode(bitmap, newSlots);
+            } else {
+                newSlot = merge(k, spread(k.hashCode()), v, key, hash, value, shift + BITS);
+                added[0] = true;
+            }
+            Object[] newSlots = slots.clone();
+            newSlots[i] = null;
+            newSlots[i + 1] = newSlot;
+            return new BitmapNode(bitmap, newSlots);
+        }
+
+        // Returns a node at the given shift holding two entries with different keys
+        private static Node merge(Object k1, int h1, Object v1, Object k2, int h2, Object v2, int shift) {
+            if (h1 == h2) {
+                return new CollisionNode(h1, new Object[] {k1, v1, k2, v2});
+            }
+            boolean[] added = new boolean[1];
+            return EMPTY.put(k1, h1, v1, shift, added).put(k2, h2, v2, shift, added);
+        }
+    }
+
+    // A leaf holding entries whose keys have exactly the same spread hash
+    private static final class CollisionNode extends Node {
+
+        private final int hash;
+
+        private final Object[] slots;
+
+        CollisionNode(int hash, Object[] slots) {
+            this.hash = hash;
+            this.slots = slots;
+        }
+
+        @Override
+        Object[] slots() {
+            return slots;
+        }
+
+        @Override
+        Object get(Object key, int hash, int shift) {
+            if (hash != this.hash) {
+                return null;
+            }
+            for (int i = 0; i < slots.length; i += 2) {
+                if (key.equals(slots[i])) {
+                    return slots[i + 1];
+                }
+            }
+            return null;
+        }
+
+        @Override
+        Node put(Object key, int hash, Object value, int shift, boolean[] added) {
+            if (hash != this.hash) {
+                // Move this leaf one level down under a new inner node, which then separates the two hashes
+                BitmapNode parent = new BitmapNode(1 << ((this.hash >>> shift) & 31), new Object[] {null, this});
+                return parent.put(key, hash, value, shift, added);
+            }
+            for (int i = 0; i < slots.length; i += 2) {
+                if (key.equals(slots[i])) {
+                    if (value == slots[i + 1]) {
+                        return this;
+                    }
+                    Object[] newSlots = slots.clone();
+                    newSlots[i + 1] = value;
+                    return new CollisionNode(hash, newSlots);
+                }
+            }
+            Object[] newSlots = Arrays.copyOf(slots, slots.length + 2);
+            newSlots[slots.length] = key;
+            newSlots[slots.length + 1] = value;
+            added[0] = true;
+            return new CollisionNode(hash, newSlots);
+        }
+    }
+
+    // Walks the trie depth first with an explicit stack of slot arrays
+    private static final class EntryIterator<K, V> implements Iterator<Map.Entry<K, V>> {
+
+        // 32 hash bits take at most 7 inner levels, plus one collision leaf
+        private final Object[][] stack = new Object[8][];
+
+        private final int[] positions = new int[8];
+
+        private int depth;
+
+        private Map.Entry<K, V> next;
+
+        EntryIterator(Node root) {
+            depth = -1;
+            if (root != null) {
+                push(root);
+            }
+            next = advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Map.Entry<K, V> next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            Map.Entry<K, V> entry = next;
+            next = advance();
+            return entry;
+        }
+
+        private void push(Node node) {
+            depth++;
+            stack[depth] = node.slots();
+            positions[depth] = 0;
+        }
+
+        @SuppressWarnings("unchecked")
+        private Map.Entry<K, V> advance() {
+            while (depth >= 0) {
+                Object[] slots = stack[depth];
+                int i = positions[depth];
+                if (i >= slots.length) {
+                    stack[depth] = null;
+                    depth--;
+                    continue;
+                }
+                positions[depth] = i + 2;
+                if (slots[i] == null) {
+                    push((Node) slots[i + 1]);
+                } else {
+                    return new AbstractMap.SimpleImmutableEntry<>((K) slots[i], (V) slots[i + 1]);
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package graph;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * This class represents a read-only view of the subgraph of a directed labeled graph made of the nodes accepted by a
+ * node predicate and the edges accepted by an edge predicate whose ends are both accepted nodes. The view copies
+ * nothing: its node and edge sets are filtered on the fly from the sets of the underlying graph, so it costs O(1) to
+ * create however large the graph is, and it reflects later changes to the graph and to whatever the predicates read.
+ *
+ * Since the nodes are filtered lazily, size() takes time linear in the number of nodes of the underlying graph, while
+ * containsNode and childrenOf take the time of the underlying method plus that of the predicates.
+ */
+public final class SubgraphView<T, E> implements LabeledGraph<T, E> {
+
+    // RI: graph != null, nodeFilter != null, edgeFilter != null
+    // AF(this) = the subgraph of this.graph holding every node n of this.graph with this.nodeFilter.test(n), and every
+    //              edge (p, c, l) of this.graph between two such nodes with this.edgeFilter.test(p, c, l)
+    private final LabeledGraph<T, E> graph;
+
+    private final Predicate<? super T> nodeFilter;
+
+    private final EdgePredicate<? super T, ? super E> edgeFilter;
+
+    private SubgraphView(LabeledGraph<T, E> graph, Predicate<? super T> nodeFilter,
+                         EdgePredicate<? super T, ? super E> edgeFilter) {
+        this.graph = graph;
+        this.nodeFilter = nodeFilter;
+        this.edgeFilter = edgeFilter;
+        checkRep();
+    }
+
+    /**
+     * Returns a view of the subgraph of the given graph made of the accepted nodes and the accepted edges between them
+     *
+     * @spec.requires graph != null and nodeFilter != null and edgeFilter != null, and the predicates do not modify
+     *              graph
+     *
+     * @param graph the underlying graph
+     * @param nodeFilter the predicate accepting the nodes of the view
+     * @param edgeFilter the predicate accepting the edges of the view
+     * @param <T> the type of the nodes
+     * @param <E> the type of the labels
+     * @return a view of the nodes of graph accepted by nodeFilter and the edges of graph between them accepted by
+     *          edgeFilter
+     */
+    public static <T, E> SubgraphView<T, E> of(LabeledGraph<T, E> graph, Predicate<? super T> nodeFilter,
+                                               EdgePredicate<? super T, ? super E> edgeFilter) {
+        return new SubgraphView<>(graph, nodeFilter, edgeFilter);
+    }
+
+    /**
+     * Returns a view of the subgraph of the given graph induced by the accepted nodes, which holds every edge between
+     * two accepted nodes
+     *
+     * @spec.requires graph != null and nodeFilter != null, and nodeFilter does not modify graph
+     *
+     * @param graph the underlying graph
+     * @param nodeFilter the predicate accepting the nodes of the view
+     * @param <T> the type of the nodes
+     * @param <E> the type of the labels
+     * @return a view of the nodes of graph accepted by nodeFilter and all the edges of graph between them
+     */
+    public static <T, E> SubgraphView<T, E> induced(LabeledGraph<T, E> graph, Predicate<? super T> nodeFilter) {
+        return new SubgraphView<>(graph, nodeFilter, (parent, child, label) -> true);
+    }
+
+    /**
+     * Returns a view of every node of the given graph and the accepted edges between them
+     *
+     * @spec.requires graph != null and edgeFilter != null, and edgeFilter does not modify graph
+     *
+     * @param graph the underlying graph
+     * @param edgeFilter the predicate accepting the edges of the view
+     * @param <T> the type of the nodes
+     * @param <E> the type of the labels
+     * @return a view of all the nodes of graph and the edges of graph accepted by edgeFilter
+     */
+    public static <T, E> SubgraphView<T, E> withEdges(LabeledGraph<T, E> graph,
+                                                      EdgePredicate<? super T, ? super E> edgeFilter) {
+        return new SubgraphView<>(graph, node -> true, edgeFilter);
+    }
+
+    /**
+     * Returns all the nodes that are currently in the view
+     *
+     * @return an unmodifiable set view of the accepted nodes of the underlying graph
+     */
+    @Override
+    public Set<T> listNodes() {
+        return new FilteredSet<>(graph.listNodes(), nodeFilter);
+    }
+
+    /**
+     * Returns all the directed labeled edges of a given parent node in the view
+     *
+     * @spec.requires parent != null
+     *
+     * @param parent the parent node of the specified type
+     * @return an unmodifiable set view of the edges of parent in the underlying graph that are in the view
+     * @throws IllegalArgumentException if the given parent node is not in the view
+     */
+    @Override
+    public Set<Graph.DirectedLabeledEdge<T, E>> childrenOf(T parent) {
+        if (!containsNode(parent)) {
+            throw new IllegalArgumentException();
+        }
+        return new FilteredSet<>(graph.childrenOf(parent), edge -> nodeFilter.test(edge.getChild())
+                                                                   && edgeFilter.test(parent, edge.getChild(),
+                                                                                      edge.getLabel()));
+    }
+
+    /**
+     * Returns whether the view contains the given node
+     *
+     * @spec.requires node != null
+     *
+     * @param node the node of the specified type to be checked if it is in the view
+     * @return true if the underlying graph contains the node and the node is accepted, false otherwise
+     */
+    @Override
+    public boolean containsNode(T node) {
+        return graph.containsNode(node) && nodeFilter.test(node);
+    }
+
+    /**
+     * Returns whether the view contains the given edge
+     *
+     * @spec.requires parent != null, child != null, and label != null
+     *
+     * @param parent the parent node of the specified type
+     * @param child the child node of the specified type
+     * @param label the edge label of the specified type
+     * @return true if the underlying graph contains the edge and the edge is accepted, false otherwise
+     * @throws IllegalArgumentException if the view does not contain either parent or child node
+     */
+    @Override
+    public boolean containsEdge(T parent, T child, E label) {
+        if (!containsNode(parent) || !containsNode(child)) {
+            throw new IllegalArgumentException();
+        }
+        return graph.containsEdge(parent, child, label) && edgeFilter.test(parent, child, label);
+    }
+
+    /**
+     * Returns the number of nodes in the view, which is counted by testing every node of the underlying graph
+     *
+     * @return the total number of accepted nodes
+     */
+    @Override
+    public int size() {
+        return listNodes().size();
+    }
+
+    /**
+     * Returns if the view is empty
+     *
+     * @return true if no node of the underlying graph is accepted, false otherwise
+     */
+    @Override
+    public boolean isEmpty() {
+        return !listNodes().iterator().hasNext();
+    }
+
+    private void checkRep() {
+        assert graph != null && nodeFilter != null && edgeFilter != null;
+    }
+
+    /**
+     * An unmodifiable view of the elements of a set that are accepted by a predicate
+     */
+    private static class FilteredSet<X> extends AbstractSet<X> {
+
+        private final Set<X> elements;
+
+        private final Predicate<? super X> filter;
+
+        FilteredSet(Set<X> elements, Predicate<? super X> filter) {
+            this.elements = elements;
+            this.filter = filter;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean contains(Object o) {
+            // The cast is safe once the underlying set has confirmed that o is one of its elements
+            return elements.contains(o) && filter.test((X) o);
+        }
+
+        @Override
+        public int size() {
+            int count = 0;
+            for (X element : elements) {
+                if (filter.test(element)) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        @Override
+        public Iterator<X> iterator() {
+            Iterator<X> it = elements.iterator();
+            return new Iterator<X>() {
+
+                private X next;
+
+                private boolean hasNext = advance();
+
+                // Moves next to the next accepted element, and returns whether there is one
+                private boolean advance() {
+                    while (it.hasNext()) {
+                        X element = it.next();
+                        if (filter.test(element)) {
+                            next = element;
+                            return true;
+                        }
+                    }
+                    next = null;
+                    return false;
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return hasNext;
+                }
+
+                @Override
+                public X next() {
+                    if (!hasNext) {
+                        throw new NoSuchElementException();
+                    }
+                    X element = next;
+                    hasNext = advance();
+                    return element;
+                }
+            };
+        }
+    }
+}
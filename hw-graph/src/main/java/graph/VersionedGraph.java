@@ -0,0 +1,99 @@
+package graph;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/**
+ * This class represents a directed labeled graph that changes by publishing new immutable versions (multi-version
+ * concurrency control). Readers pin the current version by calling current() and keep using that GraphVersion for as
+ * long as they need a consistent graph, for example for the whole of one shortest path search. Writers derive a new
+ * version from the current one with GraphVersion.withNode and withEdge, which share structure with the old version,
+ * and publish it with a single atomic compare-and-set. Neither readers nor writers ever take a lock.
+ *
+ * A VersionedGraph only references its current version, so an old version becomes garbage, and is reclaimed by the
+ * garbage collector, as soon as the last reader that pinned it drops its reference.
+ */
+public class VersionedGraph<T, E> {
+
+    // RI: current != null and current.get() != null
+    // AF(this) = the graph current.get(), which is the version most recently published
+    private final AtomicReference<GraphVersion<T, E>> current;
+
+    /**
+     * Creates a new versioned graph whose current version is the empty graph
+     *
+     * @spec.effects creates a new versioned graph holding the empty graph
+     */
+    public VersionedGraph() {
+        this(GraphVersion.empty());
+    }
+
+    /**
+     * Creates a new versioned graph with the given current version
+     *
+     * @spec.requires initial != null
+     * @spec.effects creates a new versioned graph whose current version is initial
+     *
+     * @param initial the first current version
+     */
+    public VersionedGraph(GraphVersion<T, E> initial) {
+        current = new AtomicReference<>(initial);
+        checkRep();
+    }
+
+    /**
+     * Returns the current version of the graph. The returned version never changes, so a reader can pin it for the
+     * duration of a query. Safe to call from any thread.
+     *
+     * @return the version most recently published
+     */
+    public GraphVersion<T, E> current() {
+        checkRep();
+        return current.get();
+    }
+
+    /**
+     * Publishes the given version as the current version if the current version is still the expected one. Safe to
+     * call from any thread.
+     *
+     * @spec.requires expected != null and next != null
+     * @spec.modifies this
+     * @spec.effects makes next the current version if the current version is expected, otherwise there is no effects.
+     *
+     * @param expected the version that next was derived from
+     * @param next the version to publish
+     * @return true if next was published, false if another version was published since expected
+     */
+    public boolean publish(GraphVersion<T, E> expected, GraphVersion<T, E> next) {
+        boolean published = current.compareAndSet(expected, next);
+        checkRep();
+        return published;
+    }
+
+    /**
+     * Applies the given edit to the current version and publishes the result, retrying with the newer current version
+     * whenever another writer publishes first. Safe to call from any thread.
+     *
+     * @spec.requires edit != null, and edit has no side effects, since it may be called more than once
+     * @spec.modifies this
+     * @spec.effects makes edit.apply(v) the current version, where v was the current version at that moment
+     *
+     * @param edit the function deriving the new version from the current one
+     * @return the version that was published
+     */
+    public GraphVersion<T, E> update(UnaryOperator<GraphVersion<T, E>> edit) {
+        while (true) {
+            GraphVersion<T, E> expected = current.get();
+            GraphVersion<T, E> next = edit.apply(expected);
+            if (current.compareAndSet(expected, next)) {
+                checkRep();
+                return next;
+            }
+        }
+    }
+
+    private void checkRep() {
+        assert current != null;
+        assert current.get() != null;
+    }
+}
@@ -0,0 +1,17 @@
+package graph;
+
+/**
+ * A WeightedEdgeVisitor is called back once for every edge decoded by an id-based adjacency iteration over a graph
+ * with primitive weights, with the dense id of the target node and the weight of the edge.
+ */
+@FunctionalInterface
+public interface WeightedEdgeVisitor {
+
+    /**
+     * Visits one edge
+     *
+     * @param targetId the id of the node that the edge is pointing to
+     * @param weight the weight of the edge
+     */
+    void visit(int targetId, double weight);
+}
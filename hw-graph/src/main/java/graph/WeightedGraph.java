@@ -0,0 +1,292 @@
+package graph;
+
+import java.util.*;
+
+/**
+ * This class represents an immutable directed graph whose edges are weighted by primitive doubles. Like FrozenGraph,
+ * every node is assigned a dense integer id in the range [0, size()) and the outgoing edges of the node with id i are
+ * stored contiguously from edgeStart(i) (inclusive) to edgeEnd(i) (exclusive), but the weights are kept in a double
+ * array so that reading them never unboxes a Double.
+ */
+public final class WeightedGraph<T> implements IndexedWeightedGraph<T> {
+
+    private static final boolean DEBUG = false;
+
+    // RI: index != null, offsets != null, targets != null, weights != null, and
+    //      offsets.length == index.size() + 1, and offsets[0] == 0, and offsets is non-decreasing, and
+    //      offsets[index.size()] == targets.length == weights.length, and every targets[e] is a valid node id
+    // AF(this) = a graph with the nodes in this.index, in which the node with id i is this.index.nodeOf(i), and the node
+    //              with id i has an outgoing edge to the node with id this.targets[e] weighted this.weights[e] for every
+    //              this.offsets[i] <= e < this.offsets[i + 1]
+    private final NodeIndex<T> index;
+
+    private final int[] offsets;
+
+    private final int[] targets;
+
+    private final double[] weights;
+
+    /**
+     * Creates a new primitive weighted graph holding the same nodes, ids and edges as the given snapshot
+     *
+     * @spec.requires frozen != null
+     * @spec.effects creates a new primitive weighted graph with the nodes and edges of frozen
+     *
+     * @param frozen the snapshot whose Double labels become the edge weights
+     */
+    public WeightedGraph(FrozenGraph<T, Double> frozen) {
+        index = frozen.index();
+        offsets = new int[index.size() + 1];
+        targets = new int[frozen.edgeCount()];
+        weights = new double[frozen.edgeCount()];
+        for (int id = 0; id < index.size(); id++) {
+            offsets[id] = frozen.edgeStart(id);
+        }
+        offsets[index.size()] = frozen.edgeCount();
+        for (int edge = 0; edge < targets.length; edge++) {
+            targets[edge] = frozen.childAt(edge);
+            weights[edge] = frozen.labelAt(edge);
+        }
+        checkRep();
+    }
+
+    // Creates a new primitive weighted graph from the given ids and packed edge arrays, which must satisfy the RI
+    private WeightedGraph(NodeIndex<T> index, int[] offsets, int[] targets, double[] weights) {
+        this.index = index;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        checkRep();
+    }
+
+    /**
+     * Returns a primitive weighted graph holding the given nodes and packed edge arrays, in the layout returned by
+     * edgeStart, edgeEnd, targetAt and weightAt. The arrays are used as they are rather than copied, so a graph read
+     * from a file can be built without touching a single edge twice.
+     *
+     * @spec.requires nodes != null and offsets != null and targets != null and weights != null
+     *
+     * @param nodes the nodes of the graph, in which the node at position i gets the id i
+     * @param offsets the index of the first outgoing edge of every node, followed by the number of edges, which must
+     *                not be modified after this call
+     * @param targets the id of the target node of every edge, which must not be modified after this call
+     * @param weights the weight of every edge, which must not be modified after this call
+     * @param <T> the type of the nodes
+     * @return a primitive weighted graph in which the node with id i has an outgoing edge to the node with id
+     *          targets[e] weighted weights[e] for every offsets[i] <= e < offsets[i + 1]
+     * @throws IllegalArgumentException if nodes contains null or duplicate nodes, or the arrays do not describe the
+     *                                  edges of nodes.size() nodes
+     */
+    public static <T> WeightedGraph<T> fromArrays(List<? extends T> nodes, int[] offsets, int[] targets,
+                                                  double[] weights) {
+        NodeIndex<T> index = new NodeIndex<>(nodes.size());
+        for (T node : nodes) {
+            if (node == null || index.contains(node)) {
+                throw new IllegalArgumentException("Null or duplicate node " + node);
+            }
+            index.intern(node);
+        }
+        if (offsets.length != nodes.size() + 1 || offsets[0] != 0 || offsets[nodes.size()] != targets.length
+                || targets.length != weights.length) {
+            throw new IllegalArgumentException("Edge arrays do not match " + nodes.size() + " nodes");
+        }
+        for (int id = 0; id < nodes.size(); id++) {
+            if (offsets[id] > offsets[id + 1]) {
+                throw new IllegalArgumentException("Decreasing edge offset at node " + id);
+            }
+        }
+        for (int target : targets) {
+            if (target < 0 || target >= nodes.size()) {
+                throw new IllegalArgumentException("No node with id " + target);
+            }
+        }
+        return new WeightedGraph<>(index, offsets, targets, weights);
+    }
+
+    /**
+     * Returns a primitive weighted snapshot of the given graph
+     *
+     * @spec.requires graph != null
+     *
+     * @param graph the graph whose Double labels become the edge weights
+     * @param <T> the type of the nodes
+     * @return a primitive weighted graph holding the nodes and edges currently in graph
+     */
+    public static <T> WeightedGraph<T> of(LabeledGraph<T, Double> graph) {
+        return new WeightedGraph<>(FrozenGraph.of(graph));
+    }
+
+    /**
+     * Returns the number of nodes in this graph
+     *
+     * @return the total number of nodes in this graph
+     */
+    @Override
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * Returns the number of edges in this graph
+     *
+     * @return the total number of edges in this graph
+     */
+    @Override
+    public int edgeCount() {
+        return targets.length;
+    }
+
+    /**
+     * Returns whether this graph contains the given node
+     *
+     * @spec.requires node != null
+     *
+     * @param node the node of the specified type to be checked if it is in this graph
+     * @return true if this graph contains the node, false otherwise
+     */
+    @Override
+    public boolean containsNode(T node) {
+        return index.contains(node);
+    }
+
+    /**
+     * Returns the dense id of the given node
+     *
+     * @spec.requires node != null
+     *
+     * @param node the node of the specified type to look up
+     * @return the id of the node in the range [0, size()), or -1 if the node is not in this graph
+     */
+    @Override
+    public int idOf(T node) {
+        return index.idOf(node);
+    }
+
+    /**
+     * Returns the node with the given id
+     *
+     * @param id the id of the node
+     * @return the node with the given id
+     * @throws IllegalArgumentException if id is not in the range [0, size())
+     */
+    @Override
+    public T nodeOf(int id) {
+        return index.nodeOf(id);
+    }
+
+    /**
+     * Returns the index of the first outgoing edge of the node with the given id in the packed edge arrays
+     *
+     * @param id the id of the parent node
+     * @return the index of the first outgoing edge of the node
+     * @throws IllegalArgumentException if id is not in the range [0, size())
+     */
+    @Override
+    public int edgeStart(int id) {
+        checkId(id);
+        return offsets[id];
+    }
+
+    /**
+     * Returns the index one past the last outgoing edge of the node with the given id in the packed edge arrays
+     *
+     * @param id the id of the parent node
+     * @return the index one past the last outgoing edge of the node
+     * @throws IllegalArgumentException if id is not in the range [0, size())
+     */
+    @Override
+    public int edgeEnd(int id) {
+        checkId(id);
+        return offsets[id + 1];
+    }
+
+    /**
+     * Returns the number of outgoing edges of the node with the given id
+     *
+     * @param id the id of the parent node
+     * @return the number of outgoing edges of the node
+     * @throws IllegalArgumentException if id is not in the range [0, size())
+     */
+    @Override
+    public int outDegree(int id) {
+        checkId(id);
+        return offsets[id + 1] - offsets[id];
+    }
+
+    /**
+     * Returns the id of the node that the edge at the given index is pointing to
+     *
+     * @spec.requires 0 <= edge < edgeCount()
+     *
+     * @param edge the index of the edge in the packed edge arrays
+     * @return the id of the target node of the edge
+     */
+    @Override
+    public int targetAt(int edge) {
+        return targets[edge];
+    }
+
+    /**
+     * Returns the weight of the edge at the given index
+     *
+     * @spec.requires 0 <= edge < edgeCount()
+     *
+     * @param edge the index of the edge in the packed edge arrays
+     * @return the weight of the edge
+     */
+    @Override
+    public double weightAt(int edge) {
+        return weights[edge];
+    }
+
+    /**
+     * Returns the reverse of this graph, which has the same nodes and ids and an edge from v to u weighted w for every
+     * edge from u to v weighted w of this graph. It is the reverse adjacency that a backward search from a destination
+     * follows, built in O(V + E) time.
+     *
+     * @return a new primitive weighted graph holding the edges of this graph reversed, with the incoming edges of every
+     *          node in increasing order of parent id
+     */
+    public WeightedGraph<T> reverse() {
+        int n = index.size();
+        int[] reverseOffsets = new int[n + 1];
+        for (int target : targets) {
+            reverseOffsets[target + 1]++;
+        }
+        for (int id = 0; id < n; id++) {
+            reverseOffsets[id + 1] += reverseOffsets[id];
+        }
+        int[] next = Arrays.copyOf(reverseOffsets, n);
+        int[] reverseTargets = new int[targets.length];
+        double[] reverseWeights = new double[weights.length];
+        for (int id = 0; id < n; id++) {
+            for (int edge = offsets[id]; edge < offsets[id + 1]; edge++) {
+                int slot = next[targets[edge]]++;
+                reverseTargets[slot] = id;
+                reverseWeights[slot] = weights[edge];
+            }
+        }
+        return new WeightedGraph<>(index, reverseOffsets, reverseTargets, reverseWeights);
+    }
+
+    private void checkId(int id) {
+        if (id < 0 || id >= index.size()) {
+            throw new IllegalArgumentException("No node with id " + id);
+        }
+    }
+
+    private void checkRep() {
+        assert index != null;
+        assert offsets != null && targets != null && weights != null;
+        assert offsets.length == index.size() + 1;
+        assert offsets[index.size()] == targets.length && targets.length == weights.length;
+        if (DEBUG) {
+            for (int id = 0; id < index.size(); id++) {
+                assert offsets[id] <= offsets[id + 1];
+            }
+            for (int target : targets) {
+                assert target >= 0 && target < index.size();
+            }
+        }
+    }
+}
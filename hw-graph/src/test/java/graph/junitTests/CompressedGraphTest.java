@@ -0,0 +1,183 @@
+package graph.junitTests;
+
+import graph.CompressedGraph;
+import graph.Graph;
+import graph.WeightedGraph;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * CompressedGraphTest is a test of the CompressedGraph class
+ */
+public class CompressedGraphTest {
+
+    @Rule public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    private static final double EPSILON = Math.pow(10.0D, -9.0D);
+
+    private static Graph<String, Double> createGraph() {
+        Graph<String, Double> graph = new Graph<String, Double>();
+        graph.addNode("n1");
+        graph.addNode("n2");
+        graph.addNode("n3");
+        graph.addEdge("n3", "n2", 0.5);
+        graph.addEdge("n3", "n1", 2.0);
+        graph.addEdge("n3", "n3", 3.0);
+        graph.addEdge("n1", "n3", 2.5);
+        graph.addEdge("n1", "n2", 1.0);
+        return graph;
+    }
+
+    // Returns the decoded edges of the node with the given id as a list of "target:weight" strings
+    private static List<String> edgesOf(CompressedGraph<String> graph, int id) {
+        List<String> edges = new ArrayList<>();
+        graph.forEachEdge(id, (target, weight) -> edges.add(graph.nodeOf(target) + ":" + weight));
+        return edges;
+    }
+
+    @Test
+    public void testEmptyGraph() {
+        CompressedGraph<String> compressed = CompressedGraph.of(new Graph<String, Double>(), 0.5);
+
+        assertEquals(0, compressed.size());
+        assertEquals(0, compressed.edgeCount());
+        assertEquals(0, compressed.encoding().length);
+    }
+
+    @Test
+    public void testDecodesEdgesInOrderOfTarget() {
+        CompressedGraph<String> compressed = CompressedGraph.of(createGraph(), 0.5);
+
+        assertEquals(3, compressed.size());
+        assertEquals(5, compressed.edgeCount());
+        assertEquals(Arrays.asList("n2:1.0", "n3:2.5"), edgesOf(compressed, compressed.idOf("n1")));
+        assertEquals(Collections.emptyList(), edgesOf(compressed, compressed.idOf("n2")));
+        assertEquals(Arrays.asList("n1:2.0", "n2:0.5", "n3:3.0"), edgesOf(compressed, compressed.idOf("n3")));
+        assertEquals(3, compressed.outDegree(compressed.idOf("n3")));
+    }
+
+    @Test
+    public void testWeightsRoundedToQuantum() {
+        Graph<String, Double> graph = new Graph<>();
+        graph.addNode("a");
+        graph.addNode("b");
+        graph.addEdge("a", "b", 1.26);
+        graph.addEdge("b", "a", 0.04);
+        CompressedGraph<String> compressed = CompressedGraph.of(graph, 0.1);
+
+        double[] weights = new double[2];
+        compressed.forEachEdge(0, (target, weight) -> weights[0] = weight);
+        compressed.forEachEdge(1, (target, weight) -> weights[1] = weight);
+
+        assertEquals(0.1, compressed.quantum(), 0);
+        assertEquals(1.3, weights[0], EPSILON);
+        assertEquals(0.0, weights[1], EPSILON);
+    }
+
+    @Test
+    public void testDecompressMatchesWeightedGraph() {
+        Graph<Integer, Double> graph = new Graph<>();
+        Random random = new Random(17);
+        for (int i = 0; i < 500; i++) {
+            graph.addNode(i);
+        }
+        for (int i = 0; i < 3000; i++) {
+            graph.addEdge(random.nextInt(500), random.nextInt(500), random.nextInt(1000) / 8.0);
+        }
+        WeightedGraph<Integer> weighted = WeightedGraph.of(graph);
+        WeightedGraph<Integer> decompressed = CompressedGraph.of(weighted, 0.125).decompress();
+
+        assertEquals(weighted.size(), decompressed.size());
+        assertEquals(weighted.edgeCount(), decompressed.edgeCount());
+        for (int id = 0; id < weighted.size(); id++) {
+            assertEquals(weighted.nodeOf(id), decompressed.nodeOf(id));
+            List<String> expected = new ArrayList<>();
+            for (int edge = weighted.edgeStart(id); edge < weighted.edgeEnd(id); edge++) {
+                expected.add(weighted.targetAt(edge) + ":" + weighted.weightAt(edge));
+            }
+            List<String> actual = new ArrayList<>();
+            for (int edge = decompressed.edgeStart(id); edge < decompressed.edgeEnd(id); edge++) {
+                actual.add(decompressed.targetAt(edge) + ":" + decompressed.weightAt(edge));
+            }
+            Collections.sort(expected);
+            Collections.sort(actual);
+            assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    public void testSmallerThanWeightedGraph() {
+        // A grid whose neighbors have nearby ids, like a map parsed in order
+        int side = 100;
+        Graph<Integer, Double> graph = new Graph<>();
+        for (int i = 0; i < side * side; i++) {
+            graph.addNode(i);
+        }
+        for (int i = 0; i < side * side; i++) {
+            if (i % side != side - 1) {
+                graph.addEdge(i, i + 1, 10.0 + i % 7);
+                graph.addEdge(i + 1, i, 10.0 + i % 7);
+            }
+            if (i + side < side * side) {
+                graph.addEdge(i, i + side, 20.0 + i % 5);
+                graph.addEdge(i + side, i, 20.0 + i % 5);
+            }
+        }
+        CompressedGraph<Integer> compressed = CompressedGraph.of(graph, 0.01);
+        long weightedBytes = 4L * (side * side + 1) + 12L * compressed.edgeCount();
+
+        assertTrue(compressed.compressedBytes() * 2 < weightedBytes);
+        assertTrue(compressed.compressedBytes() * 10 < graph.estimateMemoryBytes());
+    }
+
+    @Test
+    public void testEncodingRoundTrip() {
+        CompressedGraph<String> compressed = CompressedGraph.of(createGraph(), 0.5);
+        List<String> nodes = Arrays.asList(compressed.nodeOf(0), compressed.nodeOf(1), compressed.nodeOf(2));
+        CompressedGraph<String> copy = CompressedGraph.fromEncoding(nodes, compressed.encoding(), 0.5);
+
+        assertEquals(compressed.edgeCount(), copy.edgeCount());
+        for (int id = 0; id < nodes.size(); id++) {
+            assertEquals(edgesOf(compressed, id), edgesOf(copy, id));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTruncatedEncoding() {
+        CompressedGraph<String> compressed = CompressedGraph.of(createGraph(), 0.5);
+        byte[] encoding = compressed.encoding();
+
+        CompressedGraph.fromEncoding(Arrays.asList("n1", "n2", "n3"), Arrays.copyOf(encoding, encoding.length - 1),
+                                     0.5);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEncodingWithEdgeToMissingNode() {
+        // One node with one edge to the node with id 0 + 5
+        CompressedGraph.fromEncoding(Collections.singletonList("n1"), new byte[] {1, 10, 1}, 1.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeWeight() {
+        Graph<String, Double> graph = new Graph<>();
+        graph.addNode("a");
+        graph.addEdge("a", "a", -1.0);
+
+        CompressedGraph.of(graph, 1.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidQuantum() {
+        CompressedGraph.of(createGraph(), 0.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testForEachEdgeOfMissingId() {
+        CompressedGraph.of(createGraph(), 0.5).forEachEdge(3, (target, weight) -> { });
+    }
+}
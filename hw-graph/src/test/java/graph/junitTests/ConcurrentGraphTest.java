@@ -0,0 +1,169 @@
+package graph.junitTests;
+
+import graph.ConcurrentGraph;
+import graph.Graph;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/**
+ * ConcurrentGraphTest is a test of the ConcurrentGraph class
+ */
+public class ConcurrentGraphTest {
+
+    @Rule public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    @Test
+    public void testEmptyGraph() {
+        ConcurrentGraph<String, String> graph = new ConcurrentGraph<String, String>();
+
+        assertTrue(graph.isEmpty());
+        assertEquals(0, graph.size());
+        assertFalse(graph.containsNode("n1"));
+    }
+
+    @Test
+    public void testAddNodesAndEdges() {
+        ConcurrentGraph<String, String> graph = new ConcurrentGraph<String, String>();
+        graph.addNode("n1");
+        graph.addNode("n2");
+        graph.addNode("n1");
+        graph.addEdge("n1", "n2", "e1");
+        graph.addEdge("n1", "n2", "e1");
+        graph.addEdge("n1", "n1", "e2");
+
+        assertEquals(2, graph.size());
+        assertEquals(2, graph.childrenOf("n1").size());
+        assertTrue(graph.containsEdge("n1", "n2", "e1"));
+        assertTrue(graph.containsEdge("n1", "n1", "e2"));
+        assertFalse(graph.containsEdge("n2", "n1", "e1"));
+        assertTrue(graph.childrenOf("n2").isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAddEdgeWithChildNotInGraph() {
+        ConcurrentGraph<String, String> graph = new ConcurrentGraph<String, String>();
+        graph.addNode("n1");
+
+        graph.addEdge("n1", "n2", "e1");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testChildrenOfParentNotInGraph() {
+        new ConcurrentGraph<String, String>().childrenOf("n1");
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testChildrenOfIsUnmodifiable() {
+        ConcurrentGraph<String, String> graph = new ConcurrentGraph<String, String>();
+        graph.addNode("n1");
+
+        graph.childrenOf("n1").add(new Graph.DirectedLabeledEdge<String, String>("n1", "e1"));
+    }
+
+    // Eight readers walk the graph while one writer grows a chain 0 -> 1 -> ... with a shortcut i -> i / 2 on every
+    // node. Readers must never see an edge to a missing node, a shrinking graph, or a node that loses an edge.
+    @Test
+    public void testManyReadersOneWriter() throws InterruptedException {
+        ConcurrentGraph<Integer, Integer> graph = new ConcurrentGraph<Integer, Integer>();
+        int nodes = 20000;
+        AtomicBoolean done = new AtomicBoolean(false);
+        AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+
+        Thread writer = new Thread(() -> {
+            try {
+                graph.addNode(0);
+                for (int i = 1; i < nodes; i++) {
+                    graph.addNode(i);
+                    graph.addEdge(i - 1, i, 1);
+                    graph.addEdge(i, i / 2, 2);
+                }
+            } catch (Throwable t) {
+                failure.compareAndSet(null, t);
+            } finally {
+                done.set(true);
+            }
+        });
+        List<Thread> readers = new ArrayList<Thread>();
+        for (int r = 0; r < 8; r++) {
+            readers.add(new Thread(() -> {
+                try {
+                    int lastSize = 0;
+                    while (!done.get()) {
+                        int size = graph.size();
+                        assertTrue(size >= lastSize);
+                        lastSize = size;
+                        for (int node = Math.max(0, size - 200); node < size; node++) {
+                            if (!graph.containsNode(node)) {
+                                continue;
+                            }
+                            for (Graph.DirectedLabeledEdge<Integer, Integer> edge : graph.childrenOf(node)) {
+                                assertTrue(graph.containsNode(edge.getChild()));
+                                assertTrue(graph.containsEdge(node, edge.getChild(), edge.getLabel()));
+                            }
+                        }
+                    }
+                } catch (Throwable t) {
+                    failure.compareAndSet(null, t);
+                }
+            }));
+        }
+        for (Thread reader : readers) {
+            reader.start();
+        }
+        writer.start();
+        writer.join();
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        assertNull(failure.get());
+        assertEquals(nodes, graph.size());
+        for (int i = 1; i < nodes; i++) {
+            assertTrue(graph.containsEdge(i - 1, i, 1));
+            assertTrue(graph.containsEdge(i, i / 2, 2));
+        }
+    }
+
+    // Four writers add the same nodes and edges at the same time, which must leave exactly one copy of each.
+    @Test
+    public void testConcurrentWriters() throws InterruptedException {
+        ConcurrentGraph<Integer, Integer> graph = new ConcurrentGraph<Integer, Integer>();
+        int nodes = 5000;
+        AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+        List<Thread> writers = new ArrayList<Thread>();
+        for (int w = 0; w < 4; w++) {
+            writers.add(new Thread(() -> {
+                try {
+                    for (int i = 0; i < nodes; i++) {
+                        graph.addNode(i);
+                        graph.addEdge(i, i / 3, i % 7);
+                    }
+                } catch (Throwable t) {
+                    failure.compareAndSet(null, t);
+                }
+            }));
+        }
+        for (Thread writer : writers) {
+            writer.start();
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+
+        assertNull(failure.get());
+        assertEquals(nodes, graph.size());
+        int edges = 0;
+        for (int i = 0; i < nodes; i++) {
+            edges += graph.childrenOf(i).size();
+        }
+        assertEquals(nodes, edges);
+    }
+}
@@ -0,0 +1,149 @@
+package graph.junitTests;
+
+import graph.Condensation;
+import graph.Graph;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Queue;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * CondensationTest is a test of the Condensation class
+ */
+public class CondensationTest {
+
+    @Rule public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    // Returns whether target can be reached from source by a plain breadth-first search
+    private static boolean reaches(Graph<Integer, String> graph, int source, int target) {
+        boolean[] seen = new boolean[graph.size()];
+        Queue<Integer> queue = new ArrayDeque<>();
+        seen[source] = true;
+        queue.add(source);
+        while (!queue.isEmpty()) {
+            int node = queue.remove();
+            if (node == target) {
+                return true;
+            }
+            for (Graph.DirectedLabeledEdge<Integer, String> edge : graph.childrenOf(node)) {
+                if (!seen[edge.getChild()]) {
+                    seen[edge.getChild()] = true;
+                    queue.add(edge.getChild());
+                }
+            }
+        }
+        return false;
+    }
+
+    @Test
+    public void testEmptyGraph() {
+        Condensation<String> condensation = Condensation.of(new Graph<String, String>());
+
+        assertEquals(0, condensation.componentCount());
+        assertTrue(condensation.cycles().isEmpty());
+    }
+
+    @Test
+    public void testComponentsAndDag() {
+        Graph<String, String> graph = new Graph<String, String>();
+        graph.addNodes(Arrays.asList("a", "b", "c", "d", "e"));
+        graph.addEdge("a", "b", "ab");
+        graph.addEdge("b", "a", "ba");
+        graph.addEdge("b", "c", "bc");
+        graph.addEdge("a", "c", "ac");
+        graph.addEdge("c", "d", "cd");
+        graph.addEdge("d", "c", "dc");
+        graph.addEdge("e", "e", "ee");
+        Condensation<String> condensation = Condensation.of(graph);
+
+        assertEquals(3, condensation.componentCount());
+        int ab = condensation.componentOf("a");
+        int cd = condensation.componentOf("c");
+        int e = condensation.componentOf("e");
+        assertEquals(ab, condensation.componentOf("b"));
+        assertEquals(cd, condensation.componentOf("d"));
+        assertTrue(ab < cd);
+        assertEquals(Arrays.asList("a", "b"), condensation.members(ab));
+        assertArrayEquals(new int[] {cd}, condensation.successors(ab));
+        assertArrayEquals(new int[0], condensation.successors(cd));
+        assertArrayEquals(new int[0], condensation.successors(e));
+        assertTrue(condensation.isCyclic(e));
+        assertEquals(3, condensation.cycles().size());
+    }
+
+    @Test
+    public void testAcyclicGraph() {
+        Graph<String, String> graph = new Graph<String, String>();
+        graph.addNodes(Arrays.asList("a", "b", "c"));
+        graph.addEdge("c", "b", "cb");
+        graph.addEdge("b", "a", "ba");
+        Condensation<String> condensation = Condensation.of(graph);
+
+        assertEquals(3, condensation.componentCount());
+        assertEquals(Collections.emptyList(), condensation.cycles());
+        assertEquals(0, condensation.componentOf("c"));
+        assertEquals(1, condensation.componentOf("b"));
+        assertEquals(2, condensation.componentOf("a"));
+    }
+
+    @Test
+    public void testMatchesMutualReachability() {
+        Random random = new Random(331);
+        for (int trial = 0; trial < 5; trial++) {
+            Graph<Integer, String> graph = new Graph<Integer, String>();
+            for (int i = 0; i < 80; i++) {
+                graph.addNode(i);
+            }
+            for (int i = 0; i < 120; i++) {
+                graph.addEdge(random.nextInt(80), random.nextInt(80), "e");
+            }
+            Condensation<Integer> condensation = Condensation.of(graph);
+            for (int a = 0; a < 80; a++) {
+                for (int b = 0; b < 80; b++) {
+                    boolean strong = reaches(graph, a, b) && reaches(graph, b, a);
+                    assertEquals(strong, condensation.componentOf(a) == condensation.componentOf(b));
+                    if (reaches(graph, a, b) && !strong) {
+                        assertTrue(condensation.componentOf(a) < condensation.componentOf(b));
+                    }
+                }
+            }
+            for (int c = 0; c < condensation.componentCount(); c++) {
+                Set<Integer> successors = new HashSet<>();
+                for (int successor : condensation.successors(c)) {
+                    assertTrue(successor > c);
+                    assertTrue(successors.add(successor));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testLongCycleDoesNotOverflow() {
+        int n = 300000;
+        Graph<Integer, String> ring = new Graph<Integer, String>(n);
+        for (int i = 0; i < n; i++) {
+            ring.addNode(i);
+        }
+        for (int i = 0; i < n; i++) {
+            ring.addEdge(i, (i + 1) % n, "next");
+        }
+        Condensation<Integer> condensation = Condensation.of(ring);
+
+        assertEquals(1, condensation.componentCount());
+        assertEquals(n, condensation.members(0).size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testComponentOfNodeNotInGraph() {
+        Condensation.of(new Graph<String, String>()).componentOf("a");
+    }
+}
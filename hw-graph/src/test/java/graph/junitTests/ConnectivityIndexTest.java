@@ -0,0 +1,111 @@
+package graph.junitTests;
+
+import graph.ConnectivityIndex;
+import graph.Graph;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * ConnectivityIndexTest is a test of the ConnectivityIndex class
+ */
+public class ConnectivityIndexTest {
+
+    @Rule public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    @Test
+    public void testNewNodesAreSeparate() {
+        ConnectivityIndex<String> index = new ConnectivityIndex<>();
+        index.addNode("n1");
+        index.addNode("n2");
+        index.addNode("n1");
+
+        assertEquals(2, index.size());
+        assertEquals(2, index.componentCount());
+        assertTrue(index.connected("n1", "n1"));
+        assertFalse(index.connected("n1", "n2"));
+        assertEquals(1, index.componentSize("n1"));
+    }
+
+    @Test
+    public void testUnion() {
+        ConnectivityIndex<String> index = new ConnectivityIndex<>();
+        for (String node : new String[] {"n1", "n2", "n3", "n4", "n5"}) {
+            index.addNode(node);
+        }
+
+        assertTrue(index.union("n1", "n2"));
+        assertTrue(index.union("n3", "n4"));
+        assertFalse(index.union("n2", "n1"));
+        assertTrue(index.union("n2", "n4"));
+
+        assertEquals(2, index.componentCount());
+        assertTrue(index.connected("n1", "n3"));
+        assertFalse(index.connected("n1", "n5"));
+        assertEquals(4, index.componentSize("n4"));
+        assertEquals(index.componentOf("n1"), index.componentOf("n4"));
+        assertNotEquals(index.componentOf("n1"), index.componentOf("n5"));
+    }
+
+    @Test
+    public void testMatchesLabelPropagation() {
+        Random random = new Random(331);
+        int n = 5000;
+        ConnectivityIndex<Integer> index = new ConnectivityIndex<>();
+        int[] label = new int[n];
+        for (int i = 0; i < n; i++) {
+            index.addNode(i);
+            label[i] = i;
+        }
+        for (int edge = 0; edge < 3000; edge++) {
+            int a = random.nextInt(n);
+            int b = random.nextInt(n);
+            index.union(a, b);
+            // Merge the labels of the two components the slow way
+            int from = label[b];
+            int to = label[a];
+            for (int i = 0; i < n; i++) {
+                if (label[i] == from) {
+                    label[i] = to;
+                }
+            }
+        }
+        for (int i = 0; i < 2000; i++) {
+            int a = random.nextInt(n);
+            int b = random.nextInt(n);
+            assertEquals(label[a] == label[b], index.connected(a, b));
+        }
+    }
+
+    @Test
+    public void testFollowsGraphAsListener() {
+        Graph<String, Double> graph = new Graph<>();
+        graph.addNode("n0");
+        ConnectivityIndex<String> index = new ConnectivityIndex<>();
+        graph.addListener(index);
+        graph.addNode("n1");
+        graph.addNode("n2");
+        graph.addNode("n3");
+        graph.batch(g -> {
+            g.addEdge("n1", "n2", 1.0);
+            g.addEdge("n0", "n3", 1.0);
+        });
+
+        assertEquals(4, index.size());
+        assertTrue(index.connected("n1", "n2"));
+        assertTrue(index.connected("n3", "n0"));
+        assertFalse(index.connected("n1", "n3"));
+        assertEquals(2, index.componentCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnionNodeNotInIndex() {
+        ConnectivityIndex<String> index = new ConnectivityIndex<>();
+        index.addNode("n1");
+        index.union("n1", "n2");
+    }
+}
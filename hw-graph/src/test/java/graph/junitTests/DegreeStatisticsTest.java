@@ -0,0 +1,75 @@
+package graph.junitTests;
+
+import graph.DegreeStatistics;
+import graph.Graph;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.Arrays;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import static org.junit.Assert.*;
+
+/**
+ * DegreeStatisticsTest is a test of the DegreeStatistics class
+ */
+public class DegreeStatisticsTest {
+
+    @Rule public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    @Test
+    public void testEmptyGraph() {
+        DegreeStatistics stats = new Graph<String, String>().degreeStatistics();
+
+        assertEquals(0, stats.nodeCount());
+        assertEquals(0, stats.edgeCount());
+        assertEquals(0, stats.minDegree());
+        assertEquals(0, stats.maxDegree());
+        assertEquals(0, stats.meanDegree(), 0);
+        assertTrue(stats.histogram().isEmpty());
+    }
+
+    @Test
+    public void testDegrees() {
+        Graph<String, String> graph = new Graph<String, String>();
+        graph.addNodes(Arrays.asList("n1", "n2", "n3", "n4"));
+        graph.addEdge("n1", "n2", "e1");
+        graph.addEdge("n1", "n3", "e2");
+        graph.addEdge("n1", "n4", "e3");
+        graph.addEdge("n2", "n1", "e4");
+        graph.addEdge("n3", "n1", "e5");
+        DegreeStatistics stats = graph.degreeStatistics();
+
+        assertEquals(4, stats.nodeCount());
+        assertEquals(5, stats.edgeCount());
+        assertEquals(0, stats.minDegree());
+        assertEquals(3, stats.maxDegree());
+        assertEquals(1.25, stats.meanDegree(), 1e-9);
+        assertEquals(1, stats.nodesWithDegree(0));
+        assertEquals(2, stats.nodesWithDegree(1));
+        assertEquals(0, stats.nodesWithDegree(2));
+        assertEquals(1, stats.nodesWithDegree(3));
+        assertEquals(0, stats.nodesWithDegree(4));
+        assertEquals(0, stats.nodesWithDegree(-1));
+
+        SortedMap<Integer, Integer> expected = new TreeMap<>();
+        expected.put(0, 1);
+        expected.put(1, 2);
+        expected.put(3, 1);
+        assertEquals(expected, stats.histogram());
+    }
+
+    @Test
+    public void testMinDegreeWithoutLeaves() {
+        Graph<String, String> graph = new Graph<String, String>();
+        graph.addNodes(Arrays.asList("n1", "n2"));
+        graph.addEdge("n1", "n2", "e1");
+        graph.addEdge("n1", "n1", "e2");
+        graph.addEdge("n2", "n1", "e3");
+
+        assertEquals(1, graph.degreeStatistics().minDegree());
+        assertEquals(graph.edgeCount(), graph.degreeStatistics().edgeCount());
+    }
+}
@@ -0,0 +1,117 @@
+package graph.junitTests;
+
+import graph.FrozenGraph;
+import graph.Graph;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * FrozenGraphTest is a test of the FrozenGraph class
+ */
+public class FrozenGraphTest {
+
+    @Rule public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    private static Graph<String, String> createGraph() {
+        Graph<String, String> graph = new Graph<String, String>();
+        graph.addNode("n1");
+        graph.addNode("n2");
+        graph.addNode("n3");
+        graph.addEdge("n1", "n2", "e1");
+        graph.addEdge("n1", "n3", "e2");
+        graph.addEdge("n3", "n2", "e3");
+        graph.addEdge("n3", "n3", "e4");
+        return graph;
+    }
+
+    @Test
+    public void testFreezeEmptyGraph() {
+        FrozenGraph<String, String> frozen = new Graph<String, String>().freeze();
+
+        assertEquals(0, frozen.size());
+        assertEquals(0, frozen.edgeCount());
+        assertFalse(frozen.containsNode("n1"));
+        assertEquals(-1, frozen.idOf("n1"));
+    }
+
+    @Test
+    public void testFreezeSizeAndEdgeCount() {
+        FrozenGraph<String, String> frozen = createGraph().freeze();
+
+        assertEquals(3, frozen.size());
+        assertEquals(4, frozen.edgeCount());
+    }
+
+    @Test
+    public void testIdsAreDense() {
+        FrozenGraph<String, String> frozen = createGraph().freeze();
+
+        for (int id = 0; id < frozen.size(); id++) {
+            assertEquals(id, frozen.idOf(frozen.nodeOf(id)));
+            assertEquals(frozen.nodeOf(id), frozen.listNodes().get(id));
+        }
+    }
+
+    @Test
+    public void testIdsMatchGraph() {
+        Graph<String, String> graph = createGraph();
+        FrozenGraph<String, String> frozen = graph.freeze();
+
+        for (String node : graph.listNodes()) {
+            assertEquals(graph.idOf(node), frozen.idOf(node));
+        }
+    }
+
+    @Test
+    public void testPackedEdgesMatchGraph() {
+        Graph<String, String> graph = createGraph();
+        FrozenGraph<String, String> frozen = graph.freeze();
+
+        for (String node : graph.listNodes()) {
+            int id = frozen.idOf(node);
+            assertEquals(graph.childrenOf(node).size(), frozen.outDegree(id));
+            for (int edge = frozen.edgeStart(id); edge < frozen.edgeEnd(id); edge++) {
+                String child = frozen.nodeOf(frozen.childAt(edge));
+                assertTrue(graph.containsEdge(node, child, frozen.labelAt(edge)));
+            }
+        }
+    }
+
+    @Test
+    public void testChildrenOf() {
+        Graph<String, String> graph = createGraph();
+        FrozenGraph<String, String> frozen = graph.freeze();
+
+        Set<Graph.DirectedLabeledEdge<String, String>> children = frozen.childrenOf("n3");
+        assertEquals(graph.childrenOf("n3"), children);
+        assertTrue(frozen.childrenOf("n2").isEmpty());
+    }
+
+    @Test
+    public void testSnapshotIgnoresLaterChanges() {
+        Graph<String, String> graph = createGraph();
+        FrozenGraph<String, String> frozen = graph.freeze();
+        graph.addNode("n4");
+        graph.addEdge("n2", "n4", "e5");
+
+        assertEquals(3, frozen.size());
+        assertEquals(4, frozen.edgeCount());
+        assertFalse(frozen.containsNode("n4"));
+        assertEquals(0, frozen.outDegree(frozen.idOf("n2")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testChildrenOfNodeNotInSnapshot() {
+        createGraph().freeze().childrenOf("n4");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNodeOfInvalidId() {
+        createGraph().freeze().nodeOf(3);
+    }
+}
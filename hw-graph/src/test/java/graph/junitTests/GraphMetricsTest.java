@@ -0,0 +1,100 @@
+package graph.junitTests;
+
+import graph.Graph;
+import graph.GraphMetrics;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import javax.management.Attribute;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * GraphMetricsTest is a test of the GraphMetrics class
+ */
+public class GraphMetricsTest {
+
+    @Rule public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    private static final GraphMetrics METRICS = GraphMetrics.get();
+
+    @After
+    public void disableTiming() {
+        METRICS.setTimingEnabled(false);
+    }
+
+    @Test
+    public void testCountsCalls() {
+        Graph<String, String> graph = new Graph<String, String>();
+        long addNode = METRICS.getAddNodeCalls();
+        long addEdge = METRICS.getAddEdgeCalls();
+        long containsEdge = METRICS.getContainsEdgeCalls();
+        long childrenOf = METRICS.getChildrenOfCalls();
+        long scanned = METRICS.getEdgesScanned();
+        long checkRep = METRICS.getCheckRepCalls();
+        graph.addNode("n1");
+        graph.addNodes(Arrays.asList("n2", "n3"));
+        graph.addEdge("n1", "n2", "e1");
+        graph.addEdge("n1", "n3", "e2");
+        graph.containsEdge("n1", "n2", "e1");
+        graph.childrenOf("n1");
+        graph.forEachChild(graph.idOf("n1"), (child, label) -> { });
+
+        assertEquals(3, METRICS.getAddNodeCalls() - addNode);
+        assertEquals(2, METRICS.getAddEdgeCalls() - addEdge);
+        assertEquals(1, METRICS.getContainsEdgeCalls() - containsEdge);
+        assertEquals(2, METRICS.getChildrenOfCalls() - childrenOf);
+        assertEquals(4, METRICS.getEdgesScanned() - scanned);
+        assertTrue(METRICS.getCheckRepCalls() - checkRep >= 7);
+    }
+
+    @Test
+    public void testTimesOnlyWhileEnabled() {
+        METRICS.setTimingEnabled(false);
+        Graph<Integer, Integer> graph = new Graph<Integer, Integer>();
+        long before = METRICS.getAddNodeNanos();
+        for (int i = 0; i < 100; i++) {
+            graph.addNode(i);
+        }
+        assertEquals(before, METRICS.getAddNodeNanos());
+
+        METRICS.setTimingEnabled(true);
+        assertTrue(METRICS.isTimingEnabled());
+        for (int i = 100; i < 10000; i++) {
+            graph.addNode(i);
+        }
+        assertTrue(METRICS.getAddNodeNanos() > before);
+        assertTrue(METRICS.getCheckRepNanos() > 0);
+    }
+
+    @Test
+    public void testReset() {
+        new Graph<String, String>().addNode("n1");
+        METRICS.reset();
+
+        assertEquals(0, METRICS.getAddNodeCalls());
+        assertEquals(0, METRICS.getEdgesScanned());
+        assertEquals(0, METRICS.getCheckRepNanos());
+    }
+
+    @Test
+    public void testRegisteredMBean() throws JMException {
+        GraphMetrics.registerMBean();
+        GraphMetrics.registerMBean();
+        new Graph<String, String>().addNode("n1");
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(GraphMetrics.OBJECT_NAME);
+
+        assertTrue(server.isRegistered(name));
+        assertEquals(METRICS.getAddNodeCalls(), server.getAttribute(name, "AddNodeCalls"));
+        server.setAttribute(name, new Attribute("TimingEnabled", true));
+        assertTrue(METRICS.isTimingEnabled());
+    }
+}
@@ -1,11 +1,19 @@
 package graph.junitTests;
 
 import graph.Graph;
+import graph.GraphEvent;
+import graph.GraphListener;
 import org.junit.Test;
 import org.junit.Rule;
 import org.junit.rules.Timeout;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.junit.Assert.*;
 
@@ -226,6 +234,274 @@ public class GraphTest {
         }
     }
 
+    @Test
+    public void testIdsInInsertionOrder() {
+        Graph<String, String> graph = new Graph<String, String>();
+        graph.addNode("n1");
+        graph.addNode("n2");
+        graph.addNode("n1");
+        graph.addNode("n3");
+
+        assertEquals(0, graph.idOf("n1"));
+        assertEquals(1, graph.idOf("n2"));
+        assertEquals(2, graph.idOf("n3"));
+        assertEquals(-1, graph.idOf("n4"));
+        assertEquals("n3", graph.nodeOf(2));
+    }
+
+    @Test
+    public void testForEachChild() {
+        Graph<String, String> graph = new Graph<String, String>();
+        graph.addNode("n1");
+        graph.addNode("n2");
+        graph.addNode("n3");
+        graph.addEdge("n1", "n2", "e1");
+        graph.addEdge("n1", "n3", "e2");
+        graph.addEdge("n1", "n1", "e3");
+
+        Set<String> visited = new HashSet<String>();
+        graph.forEachChild(graph.idOf("n1"), (childId, label) -> {
+            assertTrue(graph.containsEdge("n1", graph.nodeOf(childId), label));
+            visited.add(label);
+        });
+        assertEquals(3, visited.size());
+        graph.forEachChild(graph.idOf("n2"), (childId, label) -> fail());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testForEachChildInvalidId() {
+        Graph<String, String> graph = new Graph<String, String>();
+        graph.addNode("n1");
+
+        graph.forEachChild(1, (childId, label) -> fail());
+    }
+
+    @Test
+    public void testParentsOf() {
+        Graph<String, String> graph = new Graph<String, String>();
+        graph.addNode("n1");
+        graph.addNode("n2");
+        graph.addNode("n3");
+        graph.addEdge("n1", "n2", "e1");
+        graph.addEdge("n3", "n2", "e2");
+        graph.addEdge("n2", "n2", "e3");
+
+        Set<Graph.DirectedLabeledEdge<String, String>> expected = new HashSet<>();
+        expected.add(new Graph.DirectedLabeledEdge<>("n1", "e1"));
+        expected.add(new Graph.DirectedLabeledEdge<>("n3", "e2"));
+        expected.add(new Graph.DirectedLabeledEdge<>("n2", "e3"));
+        assertEquals(expected, graph.parentsOf("n2"));
+        assertTrue(graph.parentsOf("n1").isEmpty());
+    }
+
+    @Test
+    public void testParentsOfKeptUpToDate() {
+        Graph<String, String> graph = new Graph<String, String>();
+        graph.addNode("n1");
+        graph.addNode("n2");
+        graph.addEdge("n1", "n2", "e1");
+        Set<Graph.DirectedLabeledEdge<String, String>> parents = graph.parentsOf("n2");
+
+        graph.addNode("n3");
+        graph.addEdge("n3", "n2", "e2");
+        graph.addEdge("n3", "n2", "e2");
+        graph.addEdge("n2", "n3", "e3");
+
+        assertEquals(2, parents.size());
+        assertTrue(parents.contains(new Graph.DirectedLabeledEdge<>("n3", "e2")));
+        assertEquals(Collections.singleton(new Graph.DirectedLabeledEdge<>("n2", "e3")), graph.parentsOf("n3"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParentsOfNodeNotInGraph() {
+        new Graph<String, String>().parentsOf("n1");
+    }
+
+    @Test
+    public void testAddNodes() {
+        Graph<String, String> graph = new Graph<String, String>(3);
+        graph.addNode("n1");
+        graph.addNodes(Arrays.asList("n2", "n1", "n3", "n2"));
+
+        assertEquals(3, graph.size());
+        assertEquals(0, graph.idOf("n1"));
+        assertEquals(1, graph.idOf("n2"));
+        assertEquals(2, graph.idOf("n3"));
+    }
+
+    @Test
+    public void testAddEdges() {
+        Graph<String, String> graph = new Graph<String, String>();
+        graph.addNodes(Arrays.asList("n1", "n2", "n3"));
+        List<String[]> edges = Arrays.asList(new String[] {"n1", "n2", "e1"}, new String[] {"n2", "n3", "e2"},
+                                             new String[] {"n1", "n2", "e1"}, new String[] {"n3", "n3", "e3"});
+        graph.addEdges(edges, e -> e[0], e -> e[1], e -> e[2]);
+
+        assertTrue(graph.containsEdge("n1", "n2", "e1"));
+        assertTrue(graph.containsEdge("n2", "n3", "e2"));
+        assertTrue(graph.containsEdge("n3", "n3", "e3"));
+        assertEquals(1, graph.childrenOf("n1").size());
+        assertEquals(2, graph.parentsOf("n3").size());
+    }
+
+    @Test
+    public void testAddEdgesWithMissingNodeAddsNothing() {
+        Graph<String, String> graph = new Graph<String, String>();
+        graph.addNodes(Arrays.asList("n1", "n2"));
+        List<String[]> edges = Arrays.asList(new String[] {"n1", "n2", "e1"}, new String[] {"n2", "n3", "e2"});
+
+        try {
+            graph.addEdges(edges, e -> e[0], e -> e[1], e -> e[2]);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(graph.childrenOf("n1").isEmpty());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeExpectedNodes() {
+        new Graph<String, String>(-1);
+    }
+
+    @Test
+    public void testEdgeCount() {
+        Graph<String, String> graph = new Graph<String, String>();
+        assertEquals(0, graph.edgeCount());
+        graph.addNodes(Arrays.asList("n1", "n2"));
+        graph.addEdge("n1", "n2", "e1");
+        graph.addEdge("n1", "n2", "e1");
+        graph.addEdge("n1", "n2", "e2");
+        graph.addEdge("n2", "n2", "e1");
+
+        assertEquals(3, graph.edgeCount());
+    }
+
+    @Test
+    public void testEstimateMemoryBytesGrowsWithEdges() {
+        Graph<String, String> graph = new Graph<String, String>();
+        long empty = graph.estimateMemoryBytes();
+        graph.addNodes(Arrays.asList("n1", "n2"));
+        long nodes = graph.estimateMemoryBytes();
+        graph.addEdge("n1", "n2", "e1");
+        long edges = graph.estimateMemoryBytes();
+        graph.parentsOf("n2");
+
+        assertTrue(empty > 0);
+        assertTrue(nodes > empty);
+        assertTrue(edges > nodes);
+        assertTrue(graph.estimateMemoryBytes() > edges);
+    }
+
+    private static Graph<String, String> createTree() {
+        Graph<String, String> tree = new Graph<String, String>();
+        tree.addNodes(Arrays.asList("a", "b", "c", "d", "e", "f"));
+        tree.addEdge("a", "b", "ab");
+        tree.addEdge("a", "c", "ac");
+        tree.addEdge("b", "d", "bd");
+        tree.addEdge("c", "e", "ce");
+        tree.addEdge("e", "a", "ea");
+        return tree;
+    }
+
+    @Test
+    public void testBfsOrder() {
+        List<String> order = createTree().bfs("a").collect(Collectors.toList());
+
+        assertEquals(5, order.size());
+        assertEquals("a", order.get(0));
+        assertEquals(new HashSet<>(Arrays.asList("b", "c")), new HashSet<>(order.subList(1, 3)));
+        assertEquals(new HashSet<>(Arrays.asList("d", "e")), new HashSet<>(order.subList(3, 5)));
+    }
+
+    @Test
+    public void testDfsPreorder() {
+        List<String> order = createTree().dfs("a").collect(Collectors.toList());
+
+        assertEquals(5, order.size());
+        assertEquals("a", order.get(0));
+        assertEquals(order.indexOf("b") + 1, order.indexOf("d"));
+        assertEquals(order.indexOf("c") + 1, order.indexOf("e"));
+    }
+
+    @Test
+    public void testTraversalFromLeaf() {
+        assertEquals(Arrays.asList("d"), createTree().bfs("d").collect(Collectors.toList()));
+        assertEquals(Arrays.asList("f"), createTree().dfs("f").collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testTraversalShortCircuits() {
+        Graph<Integer, String> chain = new Graph<Integer, String>();
+        for (int i = 0; i < 100000; i++) {
+            chain.addNode(i);
+        }
+        for (int i = 0; i + 1 < 100000; i++) {
+            chain.addEdge(i, i + 1, "next");
+        }
+
+        assertEquals(Arrays.asList(0, 1, 2), chain.bfs(0).limit(3).collect(Collectors.toList()));
+        assertEquals(Integer.valueOf(50), chain.dfs(0).filter(i -> i >= 50).findFirst().get());
+        assertEquals(100000, chain.dfs(0).count());
+    }
+
+    @Test
+    public void testParallelBfs() {
+        Graph<Integer, String> grid = new Graph<Integer, String>();
+        int side = 100;
+        for (int i = 0; i < side * side; i++) {
+            grid.addNode(i);
+        }
+        for (int i = 0; i < side * side; i++) {
+            if (i % side + 1 < side) {
+                grid.addEdge(i, i + 1, "right");
+            }
+            if (i + side < side * side) {
+                grid.addEdge(i, i + side, "down");
+            }
+        }
+
+        Set<Integer> reached = grid.bfs(0).parallel().collect(Collectors.toSet());
+        assertEquals(side * side, reached.size());
+        assertEquals(side * (side - 1), grid.bfs(side).parallel().filter(i -> i >= side).count());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBfsNodeNotInGraph() {
+        createTree().bfs("g");
+    }
+
+    @Test
+    public void testConnected() {
+        Graph<String, String> graph = new Graph<String, String>();
+        graph.addNodes(Arrays.asList("n1", "n2", "n3", "n4"));
+        graph.addEdge("n1", "n2", "e1");
+        graph.addEdge("n3", "n2", "e2");
+
+        assertTrue(graph.connected("n1", "n3"));
+        assertTrue(graph.connected("n3", "n1"));
+        assertFalse(graph.connected("n1", "n4"));
+    }
+
+    @Test
+    public void testConnectedKeptUpToDate() {
+        Graph<String, String> graph = new Graph<String, String>();
+        graph.addNodes(Arrays.asList("n1", "n2"));
+        assertFalse(graph.connected("n1", "n2"));
+
+        graph.addNode("n3");
+        graph.addEdge("n1", "n3", "e1");
+        assertFalse(graph.connected("n1", "n2"));
+        graph.addEdges(Arrays.asList("e2"), e -> "n2", e -> "n3", e -> e);
+        assertTrue(graph.connected("n1", "n2"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConnectedNodeNotInGraph() {
+        Graph<String, String> graph = new Graph<String, String>();
+        graph.addNode("n1");
+        graph.connected("n1", "n2");
+    }
+
     @Test
     public void testDirectedLabeledEdge() {
         Graph<String, String> graph = new Graph<String, String>();
@@ -284,4 +560,100 @@ public class GraphTest {
         assertTrue(e5.hashCode() == e6.hashCode());
         assertTrue(e7.hashCode() == e8.hashCode());
     }
+
+    // Returns a graph of the given nodes whose listener appends every batch it is notified of to batches
+    private static Graph<String, String> listenedGraph(List<List<GraphEvent<String, String>>> batches,
+                                                       String... nodes) {
+        Graph<String, String> graph = new Graph<String, String>();
+        for (String node : nodes) {
+            graph.addNode(node);
+        }
+        graph.addListener(batches::add);
+        return graph;
+    }
+
+    @Test
+    public void testListenerNotifiedOncePerMutator() {
+        List<List<GraphEvent<String, String>>> batches = new ArrayList<>();
+        Graph<String, String> graph = listenedGraph(batches, "n1");
+        graph.addNode("n2");
+        graph.addEdge("n1", "n2", "e1");
+        graph.addNodes(Arrays.asList("n3", "n4"));
+
+        assertEquals(Arrays.asList(
+                Collections.singletonList(GraphEvent.nodeAdded("n2")),
+                Collections.singletonList(GraphEvent.edgeAdded("n1", "n2", "e1")),
+                Arrays.asList(GraphEvent.nodeAdded("n3"), GraphEvent.nodeAdded("n4"))), batches);
+    }
+
+    @Test
+    public void testListenerNotNotifiedOfChangesWithoutEffect() {
+        List<List<GraphEvent<String, String>>> batches = new ArrayList<>();
+        Graph<String, String> graph = listenedGraph(batches, "n1", "n2");
+        graph.addEdge("n1", "n2", "e1");
+        batches.clear();
+        graph.addNode("n1");
+        graph.addEdge("n1", "n2", "e1");
+        graph.addNodes(Arrays.asList("n1", "n2"));
+
+        assertEquals(Collections.emptyList(), batches);
+    }
+
+    @Test
+    public void testBatchDeliversChangesTogether() {
+        List<List<GraphEvent<String, String>>> batches = new ArrayList<>();
+        Graph<String, String> graph = listenedGraph(batches);
+        graph.batch(g -> {
+            g.addNode("n1");
+            g.addNode("n2");
+            g.batch(inner -> inner.addEdge("n1", "n2", "e1"));
+            assertEquals(Collections.emptyList(), batches);
+            g.addEdge("n2", "n1", "e2");
+        });
+
+        assertEquals(Collections.singletonList(Arrays.asList(GraphEvent.nodeAdded("n1"), GraphEvent.nodeAdded("n2"),
+                                                             GraphEvent.edgeAdded("n1", "n2", "e1"),
+                                                             GraphEvent.edgeAdded("n2", "n1", "e2"))), batches);
+    }
+
+    @Test
+    public void testBatchDeliversChangesBeforeFailure() {
+        List<List<GraphEvent<String, String>>> batches = new ArrayList<>();
+        Graph<String, String> graph = listenedGraph(batches);
+        try {
+            graph.batch(g -> {
+                g.addNode("n1");
+                g.addEdge("n1", "n2", "e1");
+            });
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals(Collections.singletonList(Collections.singletonList(GraphEvent.nodeAdded("n1"))), batches);
+        }
+    }
+
+    @Test
+    public void testFailedAddEdgesNotifiesNothing() {
+        List<List<GraphEvent<String, String>>> batches = new ArrayList<>();
+        Graph<String, String> graph = listenedGraph(batches, "n1", "n2");
+        try {
+            graph.addEdges(Arrays.asList("n1", "n3"), s -> "n1", s -> s, s -> "e");
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals(Collections.emptyList(), batches);
+        }
+    }
+
+    @Test
+    public void testRemovedListenerNotNotified() {
+        List<Integer> sizes = new ArrayList<>();
+        GraphListener<String, String> listener = events -> sizes.add(events.size());
+        Graph<String, String> graph = new Graph<String, String>();
+        graph.addListener(listener);
+        graph.addNode("n1");
+
+        assertTrue(graph.removeListener(listener));
+        assertFalse(graph.removeListener(listener));
+        graph.addNode("n2");
+        assertEquals(Collections.singletonList(1), sizes);
+    }
 }
@@ -0,0 +1,68 @@
+package graph.junitTests;
+
+import graph.NodeIndex;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import static org.junit.Assert.*;
+
+/**
+ * NodeIndexTest is a test of the NodeIndex class
+ */
+public class NodeIndexTest {
+
+    @Rule public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    @Test
+    public void testEmptyIndex() {
+        NodeIndex<String> index = new NodeIndex<String>();
+
+        assertEquals(0, index.size());
+        assertEquals(-1, index.idOf("n1"));
+        assertFalse(index.contains("n1"));
+    }
+
+    @Test
+    public void testInternAssignsDenseIds() {
+        NodeIndex<String> index = new NodeIndex<String>();
+
+        assertEquals(0, index.intern("n1"));
+        assertEquals(1, index.intern("n2"));
+        assertEquals(2, index.intern("n3"));
+        assertEquals(3, index.size());
+        assertEquals("n2", index.nodeOf(1));
+        assertEquals(index.nodes().get(2), "n3");
+    }
+
+    @Test
+    public void testInternExistingNode() {
+        NodeIndex<String> index = new NodeIndex<String>();
+        index.intern("n1");
+        index.intern("n2");
+
+        assertEquals(0, index.intern("n1"));
+        assertEquals(2, index.size());
+        assertEquals(1, index.idOf("n2"));
+    }
+
+    @Test
+    public void testCopyIsIndependent() {
+        NodeIndex<String> index = new NodeIndex<String>();
+        index.intern("n1");
+        NodeIndex<String> copy = new NodeIndex<String>(index);
+        index.intern("n2");
+
+        assertEquals(1, copy.size());
+        assertEquals(0, copy.idOf("n1"));
+        assertFalse(copy.contains("n2"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNodeOfInvalidId() {
+        NodeIndex<String> index = new NodeIndex<String>();
+        index.intern("n1");
+
+        index.nodeOf(1);
+    }
+}
@@ -0,0 +1,73 @@
+package graph.junitTests;
+
+import graph.Graph;
+import graph.OffHeapGraph;
+import graph.WeightedGraph;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import static org.junit.Assert.*;
+
+/**
+ * OffHeapGraphTest is a test of the OffHeapGraph class
+ */
+public class OffHeapGraphTest {
+
+    @Rule public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    private static final double EPSILON = Math.pow(10.0D, -9.0D);
+
+    private static Graph<String, Double> createGraph() {
+        Graph<String, Double> graph = new Graph<String, Double>();
+        graph.addNode("n1");
+        graph.addNode("n2");
+        graph.addNode("n3");
+        graph.addEdge("n1", "n2", 1.0);
+        graph.addEdge("n1", "n3", 2.5);
+        graph.addEdge("n3", "n2", 0.5);
+        graph.addEdge("n3", "n3", 3.0);
+        return graph;
+    }
+
+    @Test
+    public void testEmptyGraph() {
+        OffHeapGraph<String> offHeap = OffHeapGraph.of(new Graph<String, Double>());
+
+        assertEquals(0, offHeap.size());
+        assertEquals(0, offHeap.edgeCount());
+        assertEquals(-1, offHeap.idOf("n1"));
+    }
+
+    @Test
+    public void testSameEdgesAsWeightedGraph() {
+        WeightedGraph<String> weighted = WeightedGraph.of(createGraph());
+        OffHeapGraph<String> offHeap = new OffHeapGraph<>(weighted);
+
+        assertEquals(weighted.size(), offHeap.size());
+        assertEquals(weighted.edgeCount(), offHeap.edgeCount());
+        for (int id = 0; id < weighted.size(); id++) {
+            assertEquals(weighted.nodeOf(id), offHeap.nodeOf(id));
+            assertEquals(id, offHeap.idOf(weighted.nodeOf(id)));
+            assertEquals(weighted.edgeStart(id), offHeap.edgeStart(id));
+            assertEquals(weighted.edgeEnd(id), offHeap.edgeEnd(id));
+            assertEquals(weighted.outDegree(id), offHeap.outDegree(id));
+        }
+        for (int edge = 0; edge < weighted.edgeCount(); edge++) {
+            assertEquals(weighted.targetAt(edge), offHeap.targetAt(edge));
+            assertEquals(weighted.weightAt(edge), offHeap.weightAt(edge), EPSILON);
+        }
+    }
+
+    @Test
+    public void testOffHeapBytes() {
+        OffHeapGraph<String> offHeap = OffHeapGraph.of(createGraph());
+
+        assertEquals(4 * 4 + 4 * 4 + 4 * 8, offHeap.offHeapBytes());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEdgeEndInvalidId() {
+        OffHeapGraph.of(createGraph()).edgeEnd(3);
+    }
+}
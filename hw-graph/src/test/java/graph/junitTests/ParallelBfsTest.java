@@ -0,0 +1,115 @@
+package graph.junitTests;
+
+import graph.FrozenGraph;
+import graph.Graph;
+import graph.ParallelBfs;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+/**
+ * ParallelBfsTest is a test of the ParallelBfs class
+ */
+public class ParallelBfsTest {
+
+    @Rule public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    private static Graph<Integer, String> createRandomGraph(int nodes, int edges, long seed) {
+        Random random = new Random(seed);
+        Graph<Integer, String> graph = new Graph<Integer, String>(nodes);
+        for (int i = 0; i < nodes; i++) {
+            graph.addNode(i);
+        }
+        for (int i = 0; i < edges; i++) {
+            graph.addEdge(random.nextInt(nodes), random.nextInt(nodes), "e");
+        }
+        return graph;
+    }
+
+    // Returns the hop distances from source found by a plain sequential breadth-first search
+    private static int[] sequentialHopDistances(FrozenGraph<Integer, String> graph, int source) {
+        int[] distances = new int[graph.size()];
+        Arrays.fill(distances, -1);
+        int sourceId = graph.idOf(source);
+        distances[sourceId] = 0;
+        Queue<Integer> queue = new ArrayDeque<>();
+        queue.add(sourceId);
+        while (!queue.isEmpty()) {
+            int parent = queue.remove();
+            for (int edge = graph.edgeStart(parent); edge < graph.edgeEnd(parent); edge++) {
+                int child = graph.childAt(edge);
+                if (distances[child] == -1) {
+                    distances[child] = distances[parent] + 1;
+                    queue.add(child);
+                }
+            }
+        }
+        return distances;
+    }
+
+    @Test
+    public void testSingleNode() {
+        Graph<String, String> graph = new Graph<String, String>();
+        graph.addNode("n1");
+
+        assertArrayEquals(new int[] {0}, ParallelBfs.hopDistances(graph.freeze(), "n1"));
+    }
+
+    @Test
+    public void testUnreachableNodes() {
+        Graph<String, String> graph = new Graph<String, String>();
+        graph.addNodes(Arrays.asList("n1", "n2", "n3", "n4"));
+        graph.addEdge("n1", "n2", "e1");
+        graph.addEdge("n2", "n3", "e2");
+        graph.addEdge("n4", "n1", "e3");
+        FrozenGraph<String, String> frozen = graph.freeze();
+
+        assertArrayEquals(new int[] {0, 1, 2, -1}, ParallelBfs.hopDistances(frozen, "n1"));
+        assertTrue(ParallelBfs.isReachable(frozen, "n4", "n3"));
+        assertFalse(ParallelBfs.isReachable(frozen, "n3", "n4"));
+    }
+
+    @Test
+    public void testMatchesSequentialSearch() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (long seed = 0; seed < 5; seed++) {
+                FrozenGraph<Integer, String> frozen = createRandomGraph(20000, 60000, seed).freeze();
+                assertArrayEquals(sequentialHopDistances(frozen, 0), ParallelBfs.hopDistances(frozen, 0, pool));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testWideFrontier() {
+        Graph<Integer, String> star = new Graph<Integer, String>();
+        for (int i = 0; i <= 10000; i++) {
+            star.addNode(i);
+        }
+        for (int i = 1; i <= 10000; i++) {
+            star.addEdge(0, i, "out");
+            star.addEdge(i, (i % 10000) + 1, "ring");
+        }
+        int[] distances = ParallelBfs.hopDistances(star.freeze(), 0);
+
+        assertEquals(0, distances[0]);
+        for (int i = 1; i <= 10000; i++) {
+            assertEquals(1, distances[i]);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSourceNotInGraph() {
+        ParallelBfs.hopDistances(new Graph<String, String>().freeze(), "n1");
+    }
+}
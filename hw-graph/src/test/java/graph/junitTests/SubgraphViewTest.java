@@ -0,0 +1,118 @@
+package graph.junitTests;
+
+import graph.Graph;
+import graph.SubgraphView;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * SubgraphViewTest is a test of the SubgraphView class
+ */
+public class SubgraphViewTest {
+
+    @Rule public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    private static Graph<String, Integer> createGraph() {
+        Graph<String, Integer> graph = new Graph<String, Integer>();
+        graph.addNode("n1");
+        graph.addNode("n2");
+        graph.addNode("n3");
+        graph.addEdge("n1", "n2", 1);
+        graph.addEdge("n1", "n3", 2);
+        graph.addEdge("n2", "n3", 3);
+        graph.addEdge("n3", "n1", 4);
+        return graph;
+    }
+
+    // Returns the children of the given parent in the given view
+    private static Set<String> childrenOf(SubgraphView<String, Integer> view, String parent) {
+        Set<String> children = new HashSet<>();
+        for (Graph.DirectedLabeledEdge<String, Integer> edge : view.childrenOf(parent)) {
+            children.add(edge.getChild());
+        }
+        return children;
+    }
+
+    @Test
+    public void testInducedSubgraph() {
+        SubgraphView<String, Integer> view = SubgraphView.induced(createGraph(), node -> !node.equals("n2"));
+
+        assertEquals(new HashSet<>(Arrays.asList("n1", "n3")), view.listNodes());
+        assertEquals(2, view.size());
+        assertFalse(view.containsNode("n2"));
+        assertEquals(Collections.singleton("n3"), childrenOf(view, "n1"));
+        assertEquals(1, view.childrenOf("n1").size());
+        assertFalse(view.childrenOf("n1").contains(new Graph.DirectedLabeledEdge<>("n2", 1)));
+        assertTrue(view.childrenOf("n1").contains(new Graph.DirectedLabeledEdge<>("n3", 2)));
+        assertTrue(view.containsEdge("n3", "n1", 4));
+    }
+
+    @Test
+    public void testEdgeFilter() {
+        SubgraphView<String, Integer> view = SubgraphView.withEdges(createGraph(),
+                                                                    (parent, child, label) -> label % 2 == 1);
+
+        assertEquals(3, view.size());
+        assertEquals(Collections.singleton("n2"), childrenOf(view, "n1"));
+        assertEquals(Collections.singleton("n3"), childrenOf(view, "n2"));
+        assertEquals(Collections.emptySet(), childrenOf(view, "n3"));
+        assertFalse(view.containsEdge("n1", "n3", 2));
+        assertTrue(view.containsEdge("n2", "n3", 3));
+    }
+
+    @Test
+    public void testNodeAndEdgeFilter() {
+        SubgraphView<String, Integer> view = SubgraphView.of(createGraph(), node -> !node.equals("n3"),
+                                                             (parent, child, label) -> !parent.equals("n1"));
+
+        assertEquals(Collections.emptySet(), childrenOf(view, "n1"));
+        assertEquals(Collections.emptySet(), childrenOf(view, "n2"));
+        assertFalse(view.isEmpty());
+    }
+
+    @Test
+    public void testViewReflectsChangesToGraph() {
+        Graph<String, Integer> graph = createGraph();
+        SubgraphView<String, Integer> view = SubgraphView.induced(graph, node -> !node.equals("n2"));
+        graph.addNode("n4");
+        graph.addEdge("n1", "n4", 5);
+
+        assertTrue(view.containsNode("n4"));
+        assertEquals(new HashSet<>(Arrays.asList("n3", "n4")), childrenOf(view, "n1"));
+    }
+
+    @Test
+    public void testEmptyView() {
+        SubgraphView<String, Integer> view = SubgraphView.induced(createGraph(), node -> false);
+
+        assertTrue(view.isEmpty());
+        assertEquals(0, view.size());
+        assertFalse(view.listNodes().iterator().hasNext());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testChildrenOfFilteredNode() {
+        SubgraphView.induced(createGraph(), node -> !node.equals("n2")).childrenOf("n2");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testContainsEdgeToFilteredNode() {
+        SubgraphView.induced(createGraph(), node -> !node.equals("n2")).containsEdge("n1", "n2", 1);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testViewIsUnmodifiable() {
+        SubgraphView.induced(createGraph(), node -> true).listNodes().add("n5");
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testIteratorPastEnd() {
+        Iterator<String> it = SubgraphView.induced(createGraph(), node -> false).listNodes().iterator();
+        it.next();
+    }
+}
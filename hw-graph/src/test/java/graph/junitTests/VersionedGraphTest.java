@@ -0,0 +1,186 @@
+package graph.junitTests;
+
+import graph.Graph;
+import graph.GraphVersion;
+import graph.VersionedGraph;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/**
+ * VersionedGraphTest is a test of the GraphVersion and VersionedGraph classes
+ */
+public class VersionedGraphTest {
+
+    @Rule public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    @Test
+    public void testEmptyVersion() {
+        GraphVersion<String, String> version = GraphVersion.empty();
+
+        assertTrue(version.isEmpty());
+        assertEquals(0, version.size());
+        assertEquals(0, version.revision());
+        assertTrue(version.listNodes().isEmpty());
+    }
+
+    @Test
+    public void testWithNodeAndEdgeLeaveOldVersionUnchanged() {
+        GraphVersion<String, String> v0 = GraphVersion.empty();
+        GraphVersion<String, String> v1 = v0.withNode("n1").withNode("n2");
+        GraphVersion<String, String> v2 = v1.withEdge("n1", "n2", "e1");
+
+        assertEquals(0, v0.size());
+        assertEquals(2, v1.size());
+        assertFalse(v1.containsEdge("n1", "n2", "e1"));
+        assertTrue(v2.containsEdge("n1", "n2", "e1"));
+        assertTrue(v1.childrenOf("n1").isEmpty());
+        assertEquals(1, v2.childrenOf("n1").size());
+        assertEquals(3, v2.revision());
+    }
+
+    @Test
+    public void testUnchangedVersionIsReturned() {
+        GraphVersion<String, String> v1 = GraphVersion.<String, String>empty().withNode("n1")
+                                                      .withEdge("n1", "n1", "e1");
+
+        assertSame(v1, v1.withNode("n1"));
+        assertSame(v1, v1.withEdge("n1", "n1", "e1"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWithEdgeChildNotInVersion() {
+        GraphVersion.<String, String>empty().withNode("n1").withEdge("n1", "n2", "e1");
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testChildrenOfIsUnmodifiable() {
+        GraphVersion<String, String> version = GraphVersion.<String, String>empty().withNode("n1");
+
+        version.childrenOf("n1").add(new Graph.DirectedLabeledEdge<String, String>("n1", "e1"));
+    }
+
+    @Test
+    public void testCopyOfGraph() {
+        Graph<String, String> graph = new Graph<String, String>();
+        graph.addNode("n1");
+        graph.addNode("n2");
+        graph.addEdge("n1", "n2", "e1");
+        GraphVersion<String, String> version = GraphVersion.of(graph);
+        graph.addEdge("n2", "n1", "e2");
+
+        assertEquals(graph.listNodes(), version.listNodes());
+        assertTrue(version.containsEdge("n1", "n2", "e1"));
+        assertFalse(version.containsEdge("n2", "n1", "e2"));
+    }
+
+    // Keys whose hash codes collide in groups of ten exercise every kind of trie node
+    @Test
+    public void testManyNodesWithCollidingHashes() {
+        GraphVersion<Colliding, Integer> version = GraphVersion.empty();
+        List<GraphVersion<Colliding, Integer>> history = new ArrayList<GraphVersion<Colliding, Integer>>();
+        for (int i = 0; i < 5000; i++) {
+            version = version.withNode(new Colliding(i));
+            if (i > 0) {
+                version = version.withEdge(new Colliding(i), new Colliding(i - 1), i);
+            }
+            history.add(version);
+        }
+
+        assertEquals(5000, version.size());
+        Set<Colliding> nodes = new HashSet<Colliding>(version.listNodes());
+        assertEquals(5000, nodes.size());
+        for (int i = 1; i < 5000; i++) {
+            assertTrue(version.containsEdge(new Colliding(i), new Colliding(i - 1), i));
+        }
+        for (int i = 0; i < 5000; i += 500) {
+            GraphVersion<Colliding, Integer> old = history.get(i);
+            assertEquals(i + 1, old.size());
+            assertFalse(old.containsNode(new Colliding(i + 1)));
+            assertTrue(old.containsNode(new Colliding(i)));
+        }
+    }
+
+    @Test
+    public void testPinnedVersionSurvivesUpdate() {
+        VersionedGraph<String, String> graph = new VersionedGraph<String, String>();
+        graph.update(v -> v.withNode("n1"));
+        GraphVersion<String, String> pinned = graph.current();
+        graph.update(v -> v.withNode("n2").withEdge("n1", "n2", "e1"));
+
+        assertEquals(1, pinned.size());
+        assertEquals(2, graph.current().size());
+        assertTrue(graph.current().containsEdge("n1", "n2", "e1"));
+    }
+
+    @Test
+    public void testPublishFailsOnStaleVersion() {
+        VersionedGraph<String, String> graph = new VersionedGraph<String, String>();
+        GraphVersion<String, String> stale = graph.current();
+        assertTrue(graph.publish(stale, stale.withNode("n1")));
+
+        assertFalse(graph.publish(stale, stale.withNode("n2")));
+        assertTrue(graph.current().containsNode("n1"));
+        assertFalse(graph.current().containsNode("n2"));
+    }
+
+    // Four writers race to add their own nodes, so every update must be retried until nothing is lost
+    @Test
+    public void testConcurrentUpdatesAreNotLost() throws InterruptedException {
+        VersionedGraph<Integer, Integer> graph = new VersionedGraph<Integer, Integer>();
+        AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+        List<Thread> writers = new ArrayList<Thread>();
+        for (int w = 0; w < 4; w++) {
+            int writer = w;
+            writers.add(new Thread(() -> {
+                try {
+                    for (int i = 0; i < 1000; i++) {
+                        int node = 4 * i + writer;
+                        graph.update(v -> v.withNode(node));
+                    }
+                } catch (Throwable t) {
+                    failure.compareAndSet(null, t);
+                }
+            }));
+        }
+        for (Thread writer : writers) {
+            writer.start();
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+
+        assertNull(failure.get());
+        assertEquals(4000, graph.current().size());
+    }
+
+    /**
+     * A node whose hash code is shared by ten values
+     */
+    private static final class Colliding {
+
+        private final int value;
+
+        Colliding(int value) {
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Colliding && ((Colliding) obj).value == value;
+        }
+
+        @Override
+        public int hashCode() {
+            return value / 10;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package graph.junitTests;
+
+import graph.Graph;
+import graph.WeightedGraph;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * WeightedGraphTest is a test of the WeightedGraph class
+ */
+public class WeightedGraphTest {
+
+    @Rule public Timeout globalTimeout = Timeout.seconds(10); // 10 seconds max per method tested
+
+    private static final double EPSILON = 1e-9;
+
+    private static Graph<String, Double> createGraph() {
+        Graph<String, Double> graph = new Graph<String, Double>();
+        graph.addNode("n1");
+        graph.addNode("n2");
+        graph.addNode("n3");
+        graph.addEdge("n1", "n2", 1.5);
+        graph.addEdge("n1", "n3", 2.0);
+        graph.addEdge("n1", "n3", 3.0);
+        graph.addEdge("n3", "n1", 0.5);
+        return graph;
+    }
+
+    @Test
+    public void testEmptyGraph() {
+        WeightedGraph<String> weighted = WeightedGraph.of(new Graph<String, Double>());
+
+        assertEquals(0, weighted.size());
+        assertEquals(0, weighted.edgeCount());
+        assertEquals(-1, weighted.idOf("n1"));
+    }
+
+    @Test
+    public void testSizeAndEdgeCount() {
+        WeightedGraph<String> weighted = WeightedGraph.of(createGraph());
+
+        assertEquals(3, weighted.size());
+        assertEquals(4, weighted.edgeCount());
+        assertTrue(weighted.containsNode("n2"));
+        assertFalse(weighted.containsNode("n4"));
+    }
+
+    @Test
+    public void testWeightsMatchLabels() {
+        Graph<String, Double> graph = createGraph();
+        WeightedGraph<String> weighted = WeightedGraph.of(graph);
+
+        double total = 0.0;
+        for (String node : graph.listNodes()) {
+            int id = weighted.idOf(node);
+            assertEquals(node, weighted.nodeOf(id));
+            assertEquals(graph.childrenOf(node).size(), weighted.outDegree(id));
+            for (int edge = weighted.edgeStart(id); edge < weighted.edgeEnd(id); edge++) {
+                String child = weighted.nodeOf(weighted.targetAt(edge));
+                assertTrue(graph.containsEdge(node, child, weighted.weightAt(edge)));
+                total += weighted.weightAt(edge);
+            }
+        }
+        assertEquals(7.0, total, EPSILON);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEdgeStartInvalidId() {
+        WeightedGraph.of(createGraph()).edgeStart(-1);
+    }
+
+    @Test
+    public void testReverse() {
+        WeightedGraph<String> weighted = WeightedGraph.of(createGraph());
+        WeightedGraph<String> reverse = weighted.reverse();
+        int n1 = weighted.idOf("n1");
+        int n3 = weighted.idOf("n3");
+
+        assertEquals(weighted.size(), reverse.size());
+        assertEquals(weighted.edgeCount(), reverse.edgeCount());
+        assertEquals(n3, reverse.idOf("n3"));
+        assertEquals(1, reverse.outDegree(n1));
+        assertEquals(n3, reverse.targetAt(reverse.edgeStart(n1)));
+        assertEquals(0.5, reverse.weightAt(reverse.edgeStart(n1)), EPSILON);
+        assertEquals(1, reverse.outDegree(reverse.idOf("n2")));
+        assertEquals(2, reverse.outDegree(n3));
+        double total = 0.0;
+        for (int edge = reverse.edgeStart(n3); edge < reverse.edgeEnd(n3); edge++) {
+            assertEquals(n1, reverse.targetAt(edge));
+            total += reverse.weightAt(edge);
+        }
+        assertEquals(5.0, total, EPSILON);
+    }
+
+    @Test
+    public void testReverseTwiceMatchesGraph() {
+        Graph<Integer, Double> graph = new Graph<>();
+        for (int i = 0; i < 20; i++) {
+            graph.addNode(i);
+        }
+        for (int i = 0; i < 20; i++) {
+            graph.addEdge(i, (i * 7) % 20, (double) i);
+            graph.addEdge(i, (i + 3) % 20, i + 0.5);
+        }
+        WeightedGraph<Integer> weighted = WeightedGraph.of(graph);
+        WeightedGraph<Integer> twice = weighted.reverse().reverse();
+
+        for (int id = 0; id < weighted.size(); id++) {
+            assertEquals(weighted.outDegree(id), twice.outDegree(id));
+            double expected = 0.0;
+            double actual = 0.0;
+            for (int edge = weighted.edgeStart(id); edge < weighted.edgeEnd(id); edge++) {
+                expected += weighted.targetAt(edge) * 1000 + weighted.weightAt(edge);
+            }
+            for (int edge = twice.edgeStart(id); edge < twice.edgeEnd(id); edge++) {
+                actual += twice.targetAt(edge) * 1000 + twice.weightAt(edge);
+            }
+            assertEquals(expected, actual, EPSILON);
+        }
+    }
+
+    @Test
+    public void testFromArrays() {
+        WeightedGraph<String> weighted = WeightedGraph.fromArrays(Arrays.asList("n1", "n2", "n3"),
+                                                                  new int[] {0, 2, 2, 3}, new int[] {1, 2, 0},
+                                                                  new double[] {1.0, 2.0, 3.0});
+
+        assertEquals(3, weighted.size());
+        assertEquals(3, weighted.edgeCount());
+        assertEquals(1, weighted.idOf("n2"));
+        assertEquals(2, weighted.outDegree(0));
+        assertEquals(0, weighted.outDegree(1));
+        assertEquals(0, weighted.targetAt(weighted.edgeStart(2)));
+        assertEquals(3.0, weighted.weightAt(weighted.edgeStart(2)), EPSILON);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFromArraysDuplicateNode() {
+        WeightedGraph.fromArrays(Arrays.asList("n1", "n1"), new int[] {0, 0, 0}, new int[0], new double[0]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFromArraysTargetOutOfRange() {
+        WeightedGraph.fromArrays(Arrays.asList("n1"), new int[] {0, 1}, new int[] {1}, new double[] {1.0});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFromArraysDecreasingOffsets() {
+        WeightedGraph.fromArrays(Arrays.asList("n1", "n2"), new int[] {0, 2, 1}, new int[] {0}, new double[] {1.0});
+    }
+}
@@ -0,0 +1,169 @@
+package pathfinder;
+
+import graph.IndexedWeightedGraph;
+import graph.LabeledGraph;
+import pathfinder.datastructures.IndexedMinHeap;
+import pathfinder.datastructures.Path;
+
+import java.util.*;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * A AStar class is a utility class which contains static methods aStar, which find the shortest path in a graph
+ * given the source and destination nodes like Dijkstra.dijkstra, but settles the nodes in order of their cost from the
+ * source plus a heuristic estimate of their cost to the destination. A good heuristic steers the search towards the
+ * destination, so it settles far fewer nodes than Dijkstra's algorithm before reaching it.
+ */
+public class AStar {
+
+    // This class does not represent an ADT
+
+    /**
+     * Returns the shortest path in the given primitive weighted graph from the source node to the destination node,
+     * directed by the given heuristic
+     *
+     * @spec.requires graph != null, src != null, dest != null and heuristic != null, and heuristic is consistent over
+     *              graph
+     *
+     * @param graph the graph to find the shortest path
+     * @param src the source node
+     * @param dest the destination node
+     * @param heuristic the estimate of the cost from every node to the destination
+     * @param <T> the type of the node
+     * @return a path representing the shortest path from the source node to the destination node, or a path with no
+     *          segments if the destination node cannot be reached from the source node
+     * @throws IllegalArgumentException if the source node is not in the graph
+     */
+    public static <T> Path<T> aStar(IndexedWeightedGraph<T> graph, T src, T dest, Heuristic heuristic) {
+        return aStar(graph, src, dest, heuristic, new SearchStatistics());
+    }
+
+    /**
+     * Returns the shortest path in the given primitive weighted graph from the source node to the destination node,
+     * directed by the given heuristic, and adds the work the search did to the given statistics
+     *
+     * @spec.requires graph != null, src != null, dest != null, heuristic != null and statistics != null, and heuristic
+     *              is consistent over graph
+     * @spec.modifies statistics
+     * @spec.effects adds the nodes settled and the edges relaxed by the search to statistics
+     *
+     * @param graph the graph to find the shortest path
+     * @param src the source node
+     * @param dest the destination node
+     * @param heuristic the estimate of the cost from every node to the destination
+     * @param statistics the record to add the work of the search to
+     * @param <T> the type of the node
+     * @return a path representing the shortest path from the source node to the destination node, or a path with no
+     *          segments if the destination node cannot be reached from the source node
+     * @throws IllegalArgumentException if the source node is not in the graph
+     */
+    public static <T> Path<T> aStar(IndexedWeightedGraph<T> graph, T src, T dest, Heuristic heuristic,
+                                    SearchStatistics statistics) {
+        int source = graph.idOf(src);
+        if (source == -1) {
+            throw new IllegalArgumentException();
+        }
+        int target = graph.idOf(dest);
+        int n = graph.size();
+        double[] costs = new double[n];
+        Arrays.fill(costs, Double.POSITIVE_INFINITY);
+        int[] backEdge = new int[n];
+        Arrays.fill(backEdge, -1);
+        int[] backRef = new int[n];
+        boolean[] known = new boolean[n];
+        IndexedMinHeap pq = new IndexedMinHeap(n);
+        if (target == -1) {
+            // Nothing can reach a node that is not in the graph, so there is nothing to search for
+            return new Path<T>(src);
+        }
+
+        costs[source] = 0.0;
+        pq.insertOrDecrease(source, heuristic.estimate(source, target));
+
+        // {{ Inv: every node in known has a fixed shortest path of cost costs[node], and every node in pq has a
+        //          best known path of cost costs[node] that only passes through known nodes, and is keyed by that cost
+        //          plus its estimated cost to the target }}
+        while (!pq.isEmpty()) {
+            int node = pq.pollMin();
+            if (node == target) {
+                statistics.settled(0);
+                break;
+            }
+            known[node] = true;
+            double cost = costs[node];
+            int end = graph.edgeEnd(node);
+            statistics.settled(end - graph.edgeStart(node));
+            for (int edge = graph.edgeStart(node); edge < end; edge++) {
+                int child = graph.targetAt(edge);
+                if (!known[child]) {
+                    double newCost = cost + graph.weightAt(edge);
+                    if (newCost < costs[child]) {
+                        costs[child] = newCost;
+                        backRef[child] = node;
+                        backEdge[child] = edge;
+                        pq.insertOrDecrease(child, newCost + heuristic.estimate(child, target));
+                    }
+                }
+            }
+        }
+        return Dijkstra.buildPath(graph, src, source, target, backRef, backEdge);
+    }
+
+    /**
+     * Returns the shortest path in the given graph from the source node to the destination node, directed by the given
+     * estimate of the cost from every node to the destination. It searches graphs whose nodes have no dense ids, such
+     * as a filtered view of a larger graph, whose heuristic can still be one over the larger graph.
+     *
+     * @spec.requires graph != null, src != null, dest != null and estimate != null, and estimate is a consistent
+     *              heuristic for dest over graph
+     *
+     * @param graph the graph to find the shortest path
+     * @param src the source node
+     * @param dest the destination node
+     * @param estimate the estimate of the cost from every node to the destination
+     * @param <T> the type of the node
+     * @return a path representing the shortest path from the source node to the destination node, whose segments cost
+     *          the labels of the edges of graph, or a path with no segments if the destination node cannot be reached
+     *          from the source node
+     * @throws IllegalArgumentException if the source node is not in the graph
+     */
+    public static <T> Path<T> aStar(LabeledGraph<T, Double> graph, T src, T dest,
+                                    ToDoubleFunction<? super T> estimate) {
+        return Dijkstra.search(graph, src, dest, estimate);
+    }
+
+    /**
+     * Returns whether the given heuristic is consistent over the given graph for the given destination, that is
+     * whether it estimates 0 for the destination and never estimates more for a node than the weight of an edge out of
+     * it plus the estimate for the child of the edge
+     *
+     * @spec.requires graph != null, dest != null and heuristic != null
+     *
+     * @param graph the graph the heuristic directs searches over
+     * @param dest the destination node to check the heuristic for
+     * @param heuristic the heuristic to check
+     * @param <T> the type of the node
+     * @return true if the heuristic is consistent for every edge of graph, allowing for rounding, false otherwise
+     * @throws IllegalArgumentException if the destination node is not in the graph
+     */
+    public static <T> boolean isConsistent(IndexedWeightedGraph<T> graph, T dest, Heuristic heuristic) {
+        int target = graph.idOf(dest);
+        if (target == -1) {
+            throw new IllegalArgumentException();
+        }
+        if (heuristic.estimate(target, target) != 0) {
+            return false;
+        }
+        for (int node = 0; node < graph.size(); node++) {
+            double estimate = heuristic.estimate(node, target);
+            for (int edge = graph.edgeStart(node); edge < graph.edgeEnd(node); edge++) {
+                double bound = graph.weightAt(edge) + heuristic.estimate(graph.targetAt(edge), target);
+                // Tolerate the rounding of computing the same distance along two different sums
+                if (estimate > bound + 1e-9 * Math.max(1, bound)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,164 @@
+package pathfinder;
+
+import graph.IndexedWeightedGraph;
+import pathfinder.datastructures.IndexedMinHeap;
+import pathfinder.datastructures.Path;
+
+import java.util.*;
+
+/**
+ * A BidirectionalDijkstra class is a utility class which contains static methods that find the shortest path in a
+ * graph given the source and destination nodes by running Dijkstra's algorithm forward from the source and backward
+ * from the destination at once, always advancing the search whose frontier is closer to its start. The searches stop
+ * as soon as the two frontiers together are at least as far apart as the shortest path seen through a node reached by
+ * both, so on a map each search only explores a ball of about half the radius that a one-way search explores.
+ *
+ * The backward search follows the edges of the graph against their direction, which it reads from a reverse graph
+ * with the same node ids, such as the one returned by WeightedGraph.reverse. A graph whose every edge comes with a
+ * twin of the same weight in the opposite direction, like a campus map of two-way paths, is its own reverse.
+ */
+public class BidirectionalDijkstra {
+
+    // This class does not represent an ADT
+
+    /**
+     * Returns the shortest path in the given primitive weighted graph from the source node to the destination node,
+     * searching backward through the given reverse graph
+     *
+     * @spec.requires graph != null, reverse != null, src != null and dest != null, and reverse has the same nodes and
+     *              ids as graph and an edge from v to u weighted w for every edge from u to v weighted w of graph
+     *
+     * @param graph the graph to find the shortest path
+     * @param reverse the reverse of graph
+     * @param src the source node
+     * @param dest the destination node
+     * @param <T> the type of the node
+     * @return a path representing the shortest path from the source node to the destination node, or a path with no
+     *          segments if the destination node cannot be reached from the source node
+     * @throws IllegalArgumentException if the source node is not in the graph
+     */
+    public static <T> Path<T> dijkstra(IndexedWeightedGraph<T> graph, IndexedWeightedGraph<T> reverse, T src, T dest) {
+        return dijkstra(graph, reverse, src, dest, new SearchStatistics());
+    }
+
+    /**
+     * Returns the shortest path in the given primitive weighted graph from the source node to the destination node,
+     * searching backward through the given reverse graph, and adds the work both searches did to the given statistics
+     *
+     * @spec.requires graph != null, reverse != null, src != null, dest != null and statistics != null, and reverse has
+     *              the same nodes and ids as graph and an edge from v to u weighted w for every edge from u to v
+     *              weighted w of graph
+     * @spec.modifies statistics
+     * @spec.effects adds the nodes settled and the edges relaxed by both searches to statistics
+     *
+     * @param graph the graph to find the shortest path
+     * @param reverse the reverse of graph
+     * @param src the source node
+     * @param dest the destination node
+     * @param statistics the record to add the work of the searches to
+     * @param <T> the type of the node
+     * @return a path representing the shortest path from the source node to the destination node, or a path with no
+     *          segments if the destination node cannot be reached from the source node
+     * @throws IllegalArgumentException if the source node is not in the graph
+     */
+    public static <T> Path<T> dijkstra(IndexedWeightedGraph<T> graph, IndexedWeightedGraph<T> reverse, T src, T dest,
+                                       SearchStatistics statistics) {
+        int source = graph.idOf(src);
+        if (source == -1) {
+            throw new IllegalArgumentException();
+        }
+        int target = graph.idOf(dest);
+        if (target == -1) {
+            return new Path<T>(src);
+        }
+        Search forward = new Search(graph, source);
+        Search backward = new Search(reverse, target);
+        // best is the cost of the shortest path found so far, which passes through meet
+        double best = source == target ? 0.0 : Double.POSITIVE_INFINITY;
+        int meet = source;
+
+        // {{ Inv: best is the smallest forward.costs[v] + backward.costs[v] over every node v reached by both searches,
+        //          and every path from the source to the destination not yet found costs at least
+        //          forward.frontier() + backward.frontier() }}
+        while (forward.frontier() + backward.frontier() < best) {
+            Search search = forward.frontier() <= backward.frontier() ? forward : backward;
+            Search other = search == forward ? backward : forward;
+            int node = search.pq.pollMin();
+            search.known[node] = true;
+            double cost = search.costs[node];
+            int end = search.graph.edgeEnd(node);
+            statistics.settled(end - search.graph.edgeStart(node));
+            for (int edge = search.graph.edgeStart(node); edge < end; edge++) {
+                int child = search.graph.targetAt(edge);
+                if (!search.known[child]) {
+                    double newCost = cost + search.graph.weightAt(edge);
+                    if (newCost < search.costs[child]) {
+                        search.costs[child] = newCost;
+                        search.backRef[child] = node;
+                        search.backWeight[child] = search.graph.weightAt(edge);
+                        search.pq.insertOrDecrease(child, newCost);
+                        if (newCost + other.costs[child] < best) {
+                            best = newCost + other.costs[child];
+                            meet = child;
+                        }
+                    }
+                }
+            }
+        }
+
+        // Splice the forward path from src to the meeting node onto the backward path from there to dest
+        Path<T> path = new Path<T>(src);
+        if (best == Double.POSITIVE_INFINITY) {
+            return path;
+        }
+        List<Integer> nodes = new ArrayList<>();
+        for (int node = meet; node != source; node = forward.backRef[node]) {
+            nodes.add(node);
+        }
+        Collections.reverse(nodes);
+        for (int node : nodes) {
+            path = path.extend(graph.nodeOf(node), forward.backWeight[node]);
+        }
+        for (int node = meet; node != target; node = backward.backRef[node]) {
+            path = path.extend(graph.nodeOf(backward.backRef[node]), backward.backWeight[node]);
+        }
+        return path;
+    }
+
+    /**
+     * The state of the search from one end of the path: the best known cost of every node, the last edge of the best
+     * known path to it as the node it comes from and its weight, the settled nodes, and the frontier.
+     */
+    private static final class Search {
+
+        private final IndexedWeightedGraph<?> graph;
+
+        private final double[] costs;
+
+        private final int[] backRef;
+
+        private final double[] backWeight;
+
+        private final boolean[] known;
+
+        private final IndexedMinHeap pq;
+
+        private Search(IndexedWeightedGraph<?> graph, int start) {
+            int n = graph.size();
+            this.graph = graph;
+            costs = new double[n];
+            Arrays.fill(costs, Double.POSITIVE_INFINITY);
+            backRef = new int[n];
+            backWeight = new double[n];
+            known = new boolean[n];
+            pq = new IndexedMinHeap(n);
+            costs[start] = 0.0;
+            pq.insertOrDecrease(start, 0.0);
+        }
+
+        // Returns the cost of the closest node on the frontier, or infinity if the search is exhausted
+        private double frontier() {
+            return pq.isEmpty() ? Double.POSITIVE_INFINITY : pq.minKey();
+        }
+    }
+}
@@ -11,46 +11,190 @@
 
 package pathfinder;
 
+import graph.ConnectivityIndex;
+import graph.EdgePredicate;
 import graph.Graph;
+import graph.GraphVersion;
+import graph.SubgraphView;
+import graph.VersionedGraph;
+import graph.WeightedGraph;
 import pathfinder.datastructures.Path;
 import pathfinder.datastructures.Point;
 import pathfinder.parser.CampusBuilding;
+import pathfinder.parser.CampusGraphFile;
 import pathfinder.parser.CampusPath;
 import pathfinder.parser.CampusPathsParser;
+import pathfinder.parser.CampusPathsParser.ParserException;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Predicate;
 
 /**
  * The CampusMap class represents a graph of campus paths in the UW campus.
  */
 public class CampusMap implements ModelAPI {
 
-    // RI: campusBuildings != null, campusPaths != null, campusGraph != null
-    // AF(this) = a campus map with all the campus buildings this.campusBuildings and all the campus paths this.campusPaths
-    //              and a graph which represents all the paths in the campus this.campusGraph
+    // RI: campusBuildings != null, campusPaths != null, campusGraph != null, connectivity != null, routing != null, and
+    //      routing.graph holds the same nodes and edges as routing.version, and connectivity holds the connected
+    //      components of campusGraph.current(), and two nodes of routing.graph have equal routing.components exactly
+    //      when they are connected in routing.version, and every edge of routing.graph has a reverse edge of the same
+    //      weight
+    // AF(this) = a campus map with all the campus buildings this.campusBuildings, the campus paths loaded from the data
+    //              file this.campusPaths, and a graph which represents all the paths in the campus, including the ones
+    //              added later, this.campusGraph.current()
     private List<CampusBuilding> campusBuildings;
     private List<CampusPath> campusPaths;
 
-    private Graph<Point, Double> campusGraph;
+    private VersionedGraph<Point, Double> campusGraph;
+
+    // The connected components of the campus graph, kept up to date by addPath. It is only touched while holding the
+    // lock on this, and each routing snapshot copies the components it needs.
+    private ConnectivityIndex<Point> connectivity;
+
+    // The current version of the campus graph together with a primitive weighted snapshot of it to search shortest
+    // paths on. It is replaced as a whole whenever a path is added, so a query that reads it once searches a single
+    // consistent version of the campus graph without taking any lock.
+    private volatile RoutingSnapshot routing;
 
     private static final boolean DEBUG = false;
 
+    // The number of landmarks that direct the searches for filtered paths
+    private static final int LANDMARKS = 16;
+
     public CampusMap() {
+        RoutingSnapshot snapshot = load();
+        snapshot.landmarks = LandmarkHeuristic.select(snapshot.graph, LANDMARKS);
+        routing = snapshot;
+        checkRep();
+    }
+
+    /**
+     * Creates the campus map, loading the landmark tables that direct the searches for filtered paths from the given
+     * file if it holds the tables of the campus graph, and otherwise picking the landmarks and writing their tables to
+     * the file for the next time. The tables are trusted to be those of the campus graph, so the file must be kept
+     * where only this program can write it, and not in a shared directory such as the temporary directory.
+     *
+     * @param landmarkFile The file the landmark tables are kept in.
+     * @throws IllegalArgumentException if {@code landmarkFile} is {@literal null}.
+     */
+    public CampusMap(java.nio.file.Path landmarkFile) {
+        if (landmarkFile == null) {
+            throw new IllegalArgumentException("The landmark file provided is not valid");
+        }
+        RoutingSnapshot snapshot = load();
+        try {
+            snapshot.landmarks = CampusGraphFile.readLandmarks(landmarkFile, snapshot.graph);
+        } catch (IOException | ParserException e) {
+            // The file is missing, damaged or left over from other campus data, so the tables are built again
+            snapshot.landmarks = LandmarkHeuristic.select(snapshot.graph, LANDMARKS);
+            try {
+                CampusGraphFile.writeLandmarks(snapshot.landmarks, snapshot.graph, landmarkFile);
+            } catch (IOException ignored) {
+                // The file only saves time at the next start, so the map works the same without it
+            }
+        }
+        routing = snapshot;
+        checkRep();
+    }
+
+    // Loads the campus buildings and paths, and returns the routing snapshot of the campus graph with its contraction
+    // hierarchy built, so the first query does not build it, but without its landmark tables
+    private RoutingSnapshot load() {
         campusBuildings = CampusPathsParser.parseCampusBuildings("campus_buildings.csv");
         campusPaths = CampusPathsParser.parseCampusPaths("campus_paths.csv");
 
-        campusGraph = new Graph<>();
+        List<Point> ends = new ArrayList<>(2 * campusPaths.size());
         for (CampusPath path : campusPaths) {
-            Point p1 = new Point(path.getX1(), path.getY1());
-            Point p2 = new Point(path.getX2(), path.getY2());
-            double distance = path.getDistance();
-            campusGraph.addNode(p1);
-            campusGraph.addNode(p2);
-            campusGraph.addEdge(p1, p2, distance);
-            campusGraph.addEdge(p2, p1, distance);
+            ends.add(start(path));
+            ends.add(end(path));
         }
+        Graph<Point, Double> graph = new Graph<>(ends.size());
+        graph.addNodes(ends);
+        graph.addEdges(campusPaths, CampusMap::start, CampusMap::end, CampusPath::getDistance);
+        graph.addEdges(campusPaths, CampusMap::end, CampusMap::start, CampusPath::getDistance);
+        campusGraph = new VersionedGraph<>(GraphVersion.of(graph));
+        connectivity = new ConnectivityIndex<>();
+        for (Point point : ends) {
+            connectivity.addNode(point);
+        }
+        for (CampusPath path : campusPaths) {
+            connectivity.union(start(path), end(path));
+        }
+        RoutingSnapshot snapshot = new RoutingSnapshot(campusGraph.current(), connectivity);
+        snapshot.hierarchy = ContractionHierarchy.of(snapshot.graph);
+        return snapshot;
+    }
+
+    /**
+     * Adds a two-way path between the given points to the campus map, adding the points if they are not already on
+     * the map. Queries already in progress keep using the version of the campus graph they started with, and queries
+     * started after this method returns see the new path. Safe to call while other threads are finding paths. Each
+     * call builds a new routing snapshot of the whole campus graph, so several paths should be added together with
+     * addPaths.
+     *
+     * @param p1       One end of the path.
+     * @param p2       The other end of the path.
+     * @param distance The length of the path.
+     * @throws IllegalArgumentException if {@code p1} or {@code p2} is {@literal null}, or {@code distance} is negative,
+     *                                  NaN or infinite.
+     */
+    public void addPath(Point p1, Point p2, double distance) {
+        if (p1 == null || p2 == null) {
+            throw new IllegalArgumentException("The path provided is not valid");
+        }
+        addPaths(Collections.singletonList(new CampusPath(p1.getX(), p1.getY(), p2.getX(), p2.getY(), distance)));
+    }
+
+    /**
+     * Adds a two-way path between the ends of each of the given paths to the campus map, adding the ends that are not
+     * already on the map, as a single edit. The routing snapshot of the campus graph is built once for the whole
+     * batch, and queries see either none or all of the new paths. Safe to call while other threads are finding paths:
+     * the new paths are published first, and this method then builds the contraction hierarchy and the landmark
+     * tables of the new campus graph before it returns, while the queries that start in between search the new graph
+     * without them.
+     *
+     * @param paths The paths to add.
+     * @throws IllegalArgumentException if {@code paths} or any of its elements is {@literal null}, or the distance of
+     *                                  any path is negative, NaN or infinite, in which case no path is added.
+     */
+    public synchronized void addPaths(Collection<CampusPath> paths) {
+        checkRep();
+        if (paths == null) {
+            throw new IllegalArgumentException("The paths provided are not valid");
+        }
+        for (CampusPath path : paths) {
+            if (path == null || !Double.isFinite(path.getDistance()) || path.getDistance() < 0) {
+                throw new IllegalArgumentException("The path provided is not valid");
+            }
+        }
+        if (paths.isEmpty()) {
+            return;
+        }
+        GraphVersion<Point, Double> version = campusGraph.update(v -> {
+            GraphVersion<Point, Double> next = v;
+            for (CampusPath path : paths) {
+                next = next.withNode(start(path)).withNode(end(path))
+                           .withEdge(start(path), end(path), path.getDistance())
+                           .withEdge(end(path), start(path), path.getDistance());
+            }
+            return next;
+        });
+        for (CampusPath path : paths) {
+            connectivity.addNode(start(path));
+            connectivity.addNode(end(path));
+            connectivity.union(start(path), end(path));
+        }
+        RoutingSnapshot snapshot = new RoutingSnapshot(version, connectivity);
+        routing = snapshot;
+        snapshot.hierarchy = ContractionHierarchy.of(snapshot.graph);
+        snapshot.landmarks = LandmarkHeuristic.select(snapshot.graph, LANDMARKS);
+        checkRep();
     }
 
     @Override
@@ -104,7 +248,85 @@ public class CampusMap implements ModelAPI {
             if (start != null && end != null) break;
         }
         checkRep();
-        return Dijkstra.dijkstra(campusGraph, start, end);
+        RoutingSnapshot snapshot = routing;
+        int startId = snapshot.graph.idOf(start);
+        int endId = snapshot.graph.idOf(end);
+        if (startId != -1 && endId != -1 && snapshot.components[startId] != snapshot.components[endId]) {
+            // The buildings are on separate islands of the campus map, so there is no path to search for
+            return new Path<>(start);
+        }
+        ContractionHierarchy<Point> hierarchy = snapshot.hierarchy;
+        if (hierarchy == null) {
+            // The hierarchy of a new version is still being built, so search it without one instead of waiting. Every
+            // path of the campus graph goes both ways, so the graph is its own reverse.
+            return BidirectionalDijkstra.dijkstra(snapshot.graph, snapshot.graph, start, end);
+        }
+        return hierarchy.shortestPath(start, end);
+    }
+
+    /**
+     * Finds the shortest path between the given buildings that only passes through the points and walks along the
+     * path segments of the campus map accepted by the given filters, such as a route that avoids a closed zone or
+     * keeps to accessible paths. The filters are applied to a view of the campus graph, so no part of the graph is
+     * copied for a query, and the search is directed by landmarks of the whole campus graph.
+     *
+     * @param startShortName The short name of the building at the beginning of the path.
+     * @param endShortName   The short name of the building at the end of the path.
+     * @param openPoints     The predicate accepting the points that the path may pass through.
+     * @param openPaths      The predicate accepting the path segments, given by their ends and length, that the path
+     *                       may walk along.
+     * @return The shortest path from the start to the end building using only accepted points and path segments, or a
+     *         path with no segments if there is no such path.
+     * @throws IllegalArgumentException if either building name is {@literal null} or does not exist, or either filter
+     *                                  is {@literal null}.
+     */
+    public Path<Point> findShortestPath(String startShortName, String endShortName, Predicate<? super Point> openPoints,
+                                        EdgePredicate<? super Point, ? super Double> openPaths) {
+        checkRep();
+        if (startShortName == null || endShortName == null ||
+                !shortNameExists(startShortName) || !shortNameExists(endShortName)) {
+            throw new IllegalArgumentException("The building names provided is not valid or do not exist in campus map");
+        }
+        if (openPoints == null || openPaths == null) {
+            throw new IllegalArgumentException("The filters provided are not valid");
+        }
+        Point start = locationOf(startShortName);
+        Point end = locationOf(endShortName);
+        RoutingSnapshot snapshot = routing;
+        SubgraphView<Point, Double> view = SubgraphView.of(snapshot.version, openPoints, openPaths);
+        if (!view.containsNode(start) || !view.containsNode(end)) {
+            return new Path<>(start);
+        }
+        if (snapshot.components[snapshot.graph.idOf(start)] != snapshot.components[snapshot.graph.idOf(end)]) {
+            // Filtering only removes paths, so buildings on separate islands of the campus map stay unreachable
+            return new Path<>(start);
+        }
+        // Filtering only makes paths longer, so the bounds of the whole campus graph still hold on the view. The
+        // landmark tables of a new version are still being picked, so direct the search by distance instead of waiting.
+        LandmarkHeuristic landmarks = snapshot.landmarks;
+        Heuristic heuristic = landmarks != null ? landmarks : snapshot.euclidean;
+        int target = snapshot.graph.idOf(end);
+        return AStar.aStar(view, start, end, point -> heuristic.estimate(snapshot.graph.idOf(point), target));
+    }
+
+    // Returns the location of the building with the given short name, which must exist
+    private Point locationOf(String shortName) {
+        for (CampusBuilding building : campusBuildings) {
+            if (building.getShortName().equals(shortName)) {
+                return new Point(building.getX(), building.getY());
+            }
+        }
+        throw new IllegalArgumentException("The short name provided does not exist");
+    }
+
+    // Returns the first end of the given path
+    private static Point start(CampusPath path) {
+        return new Point(path.getX1(), path.getY1());
+    }
+
+    // Returns the second end of the given path
+    private static Point end(CampusPath path) {
+        return new Point(path.getX2(), path.getY2());
     }
 
     private void checkRep() {
@@ -112,6 +334,44 @@ public class CampusMap implements ModelAPI {
             assert campusBuildings != null;
             assert campusPaths != null;
             assert campusGraph != null;
+            assert routing != null;
+            assert connectivity != null;
+            assert routing.graph.size() == routing.version.size();
+            assert routing.components.length == routing.graph.size();
+        }
+    }
+
+    /**
+     * A version of the campus graph paired with the primitive weighted snapshot that shortest paths are searched on,
+     * the connected component of every node of the snapshot, the Euclidean heuristic over the snapshot, and the
+     * contraction hierarchy and the landmark tables of the snapshot, which are each set once they have been built.
+     */
+    private static final class RoutingSnapshot {
+
+        private final GraphVersion<Point, Double> version;
+
+        private final WeightedGraph<Point> graph;
+
+        // components[id] identifies the connected component of the node with the given id in graph
+        private final int[] components;
+
+        // The tightest consistent Euclidean heuristic over graph, which directs filtered searches until landmarks is set
+        private final EuclideanHeuristic euclidean;
+
+        // The contraction hierarchy of graph, or null until it has been built
+        private volatile ContractionHierarchy<Point> hierarchy;
+
+        // The landmark heuristic over graph, or null until its landmarks have been picked
+        private volatile LandmarkHeuristic landmarks;
+
+        private RoutingSnapshot(GraphVersion<Point, Double> version, ConnectivityIndex<Point> connectivity) {
+            this.version = version;
+            this.graph = WeightedGraph.of(version);
+            this.components = new int[graph.size()];
+            for (int id = 0; id < graph.size(); id++) {
+                components[id] = connectivity.componentOf(graph.nodeOf(id));
+            }
+            this.euclidean = EuclideanHeuristic.calibrated(graph);
         }
     }
 
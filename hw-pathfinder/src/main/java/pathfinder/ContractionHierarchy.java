@@ -0,0 +1,642 @@
+package pathfinder;
+
+import graph.IndexedWeightedGraph;
+import pathfinder.datastructures.IndexedMinHeap;
+import pathfinder.datastructures.Path;
+
+import java.util.*;
+
+/**
+ * This class represents a contraction hierarchy over a snapshot of a primitive weighted graph, which answers shortest
+ * path queries by searching only a small part of the graph around each end.
+ *
+ * It is built by contracting the nodes one at a time, least important first: a node is removed from the graph, and a
+ * shortcut edge is added from each remaining node before it to each remaining node after it whenever the path through
+ * the removed node is the only shortest one between them, which a local witness search decides. The importance of a
+ * node is its edge difference, the number of shortcuts its contraction adds minus the number of edges it removes, plus
+ * the number of its neighbors already contracted so that the contracted nodes spread evenly over the graph. Every
+ * shortcut remembers the two edges it replaces, so a path of shortcuts unpacks back into the edges of the graph.
+ *
+ * A query runs Dijkstra's algorithm forward from the source and backward from the destination, each following only
+ * the edges that lead to a node contracted later. Every shortest path climbs to its most important node and falls from
+ * there, so the two searches meet at that node after settling only the nodes above their ends in the hierarchy, which
+ * on a map is a few hundred nodes however large the map is. Building the hierarchy takes time proportional to the
+ * size of the graph times the cost of the witness searches, which is well under a second on the campus map.
+ *
+ * The hierarchy never changes once built, and each thread that queries it reuses a workspace of its own, so a query
+ * does not allocate anything proportional to the size of the graph and any number of threads may query at once.
+ */
+public final class ContractionHierarchy<T> {
+
+    private static final boolean DEBUG = false;
+
+    // The most nodes a witness search settles before it gives up. Giving up only adds a shortcut that is not needed,
+    // which makes queries search a little more but never changes their answers.
+    private static final int WITNESS_SETTLE_LIMIT = 500;
+
+    // RI: graph != null, rank != null, sources != null, targets != null, weights != null, lower != null,
+    //      upper != null, upOffsets != null, upEdges != null, downOffsets != null, downEdges != null, and
+    //      rank.length == graph.size() and rank is a permutation of [0, graph.size()), and sources, targets, weights,
+    //      lower and upper have the same length, and every edge e has lower[e] == upper[e] == -1 and is an edge of
+    //      graph, or is a shortcut with sources[e] == sources[lower[e]], targets[lower[e]] == sources[upper[e]],
+    //      targets[upper[e]] == targets[e] and weights[e] == weights[lower[e]] + weights[upper[e]], and every edge e
+    //      is in upEdges[upOffsets[sources[e]], upOffsets[sources[e] + 1]) if rank[sources[e]] < rank[targets[e]], or
+    //      in downEdges[downOffsets[targets[e]], downOffsets[targets[e] + 1]) otherwise
+    // AF(this) = the contraction hierarchy of this.graph that contracts the node with id v as the this.rank[v]-th,
+    //              with an edge e from this.sources[e] to this.targets[e] weighted this.weights[e] that stands for
+    //              the edges this.lower[e] and this.upper[e] if it is a shortcut
+    private final IndexedWeightedGraph<T> graph;
+
+    private final int[] rank;
+
+    private final int[] sources;
+
+    private final int[] targets;
+
+    private final double[] weights;
+
+    private final int[] lower;
+
+    private final int[] upper;
+
+    // The edges that leave every node towards a node contracted later, which the forward search follows
+    private final int[] upOffsets;
+
+    private final int[] upEdges;
+
+    // The edges that enter every node from a node contracted later, which the backward search follows against their
+    // direction
+    private final int[] downOffsets;
+
+    private final int[] downEdges;
+
+    private final int shortcuts;
+
+    private final ThreadLocal<Search> searches;
+
+    // Builds the hierarchy of the given graph from the result of contracting it
+    private ContractionHierarchy(IndexedWeightedGraph<T> graph, Contractor contractor) {
+        int n = graph.size();
+        this.graph = graph;
+        rank = contractor.rank;
+
+        // Renumber the edges still held by some node, dropping the ones replaced by a cheaper edge, which no shortcut
+        // stands for since the edges of a node are only replaced before it is contracted. Every edge left is held by
+        // the end contracted first, in its outgoing edges if that is the source and its incoming edges otherwise.
+        int[] ids = new int[contractor.edgeCount];
+        Arrays.fill(ids, -1);
+        int edgeCount = 0;
+        for (int v = 0; v < n; v++) {
+            for (int i = 0; i < contractor.outSize[v]; i++) {
+                if (rank[contractor.targets[contractor.out[v][i]]] > rank[v]) {
+                    ids[contractor.out[v][i]] = edgeCount++;
+                }
+            }
+            for (int i = 0; i < contractor.inSize[v]; i++) {
+                if (rank[contractor.sources[contractor.in[v][i]]] > rank[v]) {
+                    ids[contractor.in[v][i]] = edgeCount++;
+                }
+            }
+        }
+        sources = new int[edgeCount];
+        targets = new int[edgeCount];
+        weights = new double[edgeCount];
+        lower = new int[edgeCount];
+        upper = new int[edgeCount];
+        int shortcutCount = 0;
+        for (int old = 0; old < contractor.edgeCount; old++) {
+            int edge = ids[old];
+            if (edge != -1) {
+                sources[edge] = contractor.sources[old];
+                targets[edge] = contractor.targets[old];
+                weights[edge] = contractor.weights[old];
+                lower[edge] = contractor.lower[old] == -1 ? -1 : ids[contractor.lower[old]];
+                upper[edge] = contractor.upper[old] == -1 ? -1 : ids[contractor.upper[old]];
+                if (lower[edge] != -1) {
+                    shortcutCount++;
+                }
+            }
+        }
+        shortcuts = shortcutCount;
+
+        // Split the edges by the direction they lead in the hierarchy, grouped by the node a search reaches them from
+        upOffsets = new int[n + 1];
+        downOffsets = new int[n + 1];
+        for (int edge = 0; edge < edgeCount; edge++) {
+            if (rank[sources[edge]] < rank[targets[edge]]) {
+                upOffsets[sources[edge] + 1]++;
+            } else {
+                downOffsets[targets[edge] + 1]++;
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            upOffsets[v + 1] += upOffsets[v];
+            downOffsets[v + 1] += downOffsets[v];
+        }
+        upEdges = new int[upOffsets[n]];
+        downEdges = new int[downOffsets[n]];
+        int[] nextUp = Arrays.copyOf(upOffsets, n);
+        int[] nextDown = Arrays.copyOf(downOffsets, n);
+        for (int edge = 0; edge < edgeCount; edge++) {
+            if (rank[sources[edge]] < rank[targets[edge]]) {
+                upEdges[nextUp[sources[edge]]++] = edge;
+            } else {
+                downEdges[nextDown[targets[edge]]++] = edge;
+            }
+        }
+        searches = ThreadLocal.withInitial(() -> new Search(n));
+        checkRep();
+    }
+
+    /**
+     * Returns the contraction hierarchy of the given primitive weighted graph
+     *
+     * @spec.requires graph != null and every weight of graph is non-negative, and graph does not change while the
+     *              returned hierarchy is in use
+     *
+     * @param graph the graph to build the hierarchy of
+     * @param <T> the type of the node
+     * @return a new contraction hierarchy that finds the shortest paths of graph
+     */
+    public static <T> ContractionHierarchy<T> of(IndexedWeightedGraph<T> graph) {
+        Contractor contractor = new Contractor(graph);
+        contractor.contractAll();
+        return new ContractionHierarchy<>(graph, contractor);
+    }
+
+    /**
+     * Returns the number of nodes in this hierarchy
+     *
+     * @return the number of nodes of the graph this hierarchy was built from
+     */
+    public int size() {
+        return rank.length;
+    }
+
+    /**
+     * Returns the number of shortcuts added while building this hierarchy
+     *
+     * @return the number of edges of this hierarchy that stand for a path of two or more edges of the graph
+     */
+    public int shortcutCount() {
+        return shortcuts;
+    }
+
+    /**
+     * Returns the shortest path in the graph of this hierarchy from the source node to the destination node
+     *
+     * @spec.requires src != null and dest != null
+     *
+     * @param src the source node
+     * @param dest the destination node
+     * @return a path representing the shortest path from the source node to the destination node, made of the edges
+     *          of the graph, or a path with no segments if the destination node cannot be reached from the source node
+     * @throws IllegalArgumentException if the source node is not in the graph
+     */
+    public Path<T> shortestPath(T src, T dest) {
+        return shortestPath(src, dest, new SearchStatistics());
+    }
+
+    /**
+     * Returns the shortest path in the graph of this hierarchy from the source node to the destination node, and adds
+     * the work both searches did to the given statistics
+     *
+     * @spec.requires src != null, dest != null and statistics != null
+     * @spec.modifies statistics
+     * @spec.effects adds the nodes settled and the edges relaxed by both searches to statistics
+     *
+     * @param src the source node
+     * @param dest the destination node
+     * @param statistics the record to add the work of the searches to
+     * @return a path representing the shortest path from the source node to the destination node, made of the edges
+     *          of the graph, or a path with no segments if the destination node cannot be reached from the source node
+     * @throws IllegalArgumentException if the source node is not in the graph
+     */
+    public Path<T> shortestPath(T src, T dest, SearchStatistics statistics) {
+        int source = graph.idOf(src);
+        if (source == -1) {
+            throw new IllegalArgumentException();
+        }
+        int target = graph.idOf(dest);
+        if (target == -1) {
+            return new Path<T>(src);
+        }
+        Search search = searches.get();
+        try {
+            search.reach(true, source, 0.0, -1);
+            search.reach(false, target, 0.0, -1);
+            // best is the cost of the shortest path found so far, which passes through meet
+            double best = source == target ? 0.0 : Double.POSITIVE_INFINITY;
+            int meet = source;
+
+            // {{ Inv: best is the smallest forwardCosts[v] + backwardCosts[v] over every node v reached by both
+            //          searches, and a search whose closest frontier node costs at least best can not improve it }}
+            while (true) {
+                boolean forwardOpen = !search.forward.isEmpty() && search.forward.minKey() < best;
+                boolean backwardOpen = !search.backward.isEmpty() && search.backward.minKey() < best;
+                if (!forwardOpen && !backwardOpen) {
+                    break;
+                }
+                boolean forward = forwardOpen && (!backwardOpen
+                        || search.forward.minKey() <= search.backward.minKey());
+                int node = forward ? search.forward.pollMin() : search.backward.pollMin();
+                double cost = forward ? search.forwardCosts[node] : search.backwardCosts[node];
+                int[] offsets = forward ? upOffsets : downOffsets;
+                int[] edges = forward ? upEdges : downEdges;
+                int[] ends = forward ? targets : sources;
+                double[] otherCosts = forward ? search.backwardCosts : search.forwardCosts;
+                statistics.settled(offsets[node + 1] - offsets[node]);
+                for (int i = offsets[node]; i < offsets[node + 1]; i++) {
+                    int edge = edges[i];
+                    int child = ends[edge];
+                    double newCost = cost + weights[edge];
+                    if (search.reach(forward, child, newCost, edge) && newCost + otherCosts[child] < best) {
+                        best = newCost + otherCosts[child];
+                        meet = child;
+                    }
+                }
+            }
+            if (best == Double.POSITIVE_INFINITY) {
+                return new Path<T>(src);
+            }
+
+            // The edges of the hierarchy from src up to the meeting node and from there down to dest
+            List<Integer> route = new ArrayList<>();
+            for (int node = meet; node != source; node = sources[search.forwardEdges[node]]) {
+                route.add(search.forwardEdges[node]);
+            }
+            Collections.reverse(route);
+            for (int node = meet; node != target; node = targets[search.backwardEdges[node]]) {
+                route.add(search.backwardEdges[node]);
+            }
+            return unpack(src, route);
+        } finally {
+            search.reset();
+        }
+    }
+
+    // Returns the path from src along the edges of the graph that the given edges of this hierarchy stand for
+    private Path<T> unpack(T src, List<Integer> route) {
+        Path<T> path = new Path<T>(src);
+        int[] stack = new int[16];
+        for (int edge : route) {
+            int size = 0;
+            stack[size++] = edge;
+            while (size > 0) {
+                int top = stack[--size];
+                if (lower[top] == -1) {
+                    path = path.extend(graph.nodeOf(targets[top]), weights[top]);
+                } else {
+                    if (size + 2 > stack.length) {
+                        stack = Arrays.copyOf(stack, 2 * stack.length);
+                    }
+                    // The upper half is walked after the lower half, so it goes under it on the stack
+                    stack[size++] = upper[top];
+                    stack[size++] = lower[top];
+                }
+            }
+        }
+        return path;
+    }
+
+    private void checkRep() {
+        assert graph != null && rank != null && rank.length == graph.size();
+        assert sources != null && targets != null && weights != null && lower != null && upper != null;
+        assert targets.length == sources.length && weights.length == sources.length;
+        assert lower.length == sources.length && upper.length == sources.length;
+        assert upOffsets != null && upEdges != null && downOffsets != null && downEdges != null;
+        assert upOffsets.length == rank.length + 1 && downOffsets.length == rank.length + 1;
+        assert upEdges.length + downEdges.length == sources.length;
+        if (DEBUG) {
+            boolean[] ranked = new boolean[rank.length];
+            for (int r : rank) {
+                assert !ranked[r];
+                ranked[r] = true;
+            }
+            for (int edge = 0; edge < sources.length; edge++) {
+                if (lower[edge] != -1) {
+                    assert sources[lower[edge]] == sources[edge] && targets[upper[edge]] == targets[edge];
+                    assert targets[lower[edge]] == sources[upper[edge]];
+                    assert weights[edge] == weights[lower[edge]] + weights[upper[edge]];
+                }
+            }
+        }
+    }
+
+    /**
+     * The workspace of the queries of one thread: the best known cost of every node from each end, the edge of the
+     * hierarchy that reached it, the frontier of each search, and the nodes touched, which are all that has to be
+     * reset after a query.
+     */
+    private static final class Search {
+
+        private final double[] forwardCosts;
+
+        private final double[] backwardCosts;
+
+        private final int[] forwardEdges;
+
+        private final int[] backwardEdges;
+
+        private final IndexedMinHeap forward;
+
+        private final IndexedMinHeap backward;
+
+        private final int[] touched;
+
+        private int touchedCount;
+
+        private Search(int n) {
+            forwardCosts = new double[n];
+            backwardCosts = new double[n];
+            Arrays.fill(forwardCosts, Double.POSITIVE_INFINITY);
+            Arrays.fill(backwardCosts, Double.POSITIVE_INFINITY);
+            forwardEdges = new int[n];
+            backwardEdges = new int[n];
+            forward = new IndexedMinHeap(n);
+            backward = new IndexedMinHeap(n);
+            touched = new int[n];
+        }
+
+        // Lowers the cost of the given node from one end to the given cost, reached by the given edge, and returns
+        // whether the cost was lowered
+        private boolean reach(boolean fromSource, int node, double cost, int edge) {
+            double[] costs = fromSource ? forwardCosts : backwardCosts;
+            if (cost >= costs[node]) {
+                return false;
+            }
+            if (forwardCosts[node] == Double.POSITIVE_INFINITY && backwardCosts[node] == Double.POSITIVE_INFINITY) {
+                touched[touchedCount++] = node;
+            }
+            costs[node] = cost;
+            if (fromSource) {
+                forwardEdges[node] = edge;
+                forward.insertOrDecrease(node, cost);
+            } else {
+                backwardEdges[node] = edge;
+                backward.insertOrDecrease(node, cost);
+            }
+            return true;
+        }
+
+        private void reset() {
+            for (int i = 0; i < touchedCount; i++) {
+                forwardCosts[touched[i]] = Double.POSITIVE_INFINITY;
+                backwardCosts[touched[i]] = Double.POSITIVE_INFINITY;
+            }
+            touchedCount = 0;
+            forward.clear();
+            backward.clear();
+        }
+    }
+
+    /**
+     * The graph being contracted: every edge added so far, original or shortcut, and the incoming and outgoing edges
+     * of every node. The edges of a node that has not been contracted all lead to or from other such nodes, and only
+     * the cheapest edge from one node to another is kept. Once a node is contracted its edges are dropped by its
+     * neighbors, so every edge ends up held only by the node at its end that was contracted first.
+     */
+    private static final class Contractor {
+
+        private final int n;
+
+        private int[] sources;
+
+        private int[] targets;
+
+        private double[] weights;
+
+        private int[] lower;
+
+        private int[] upper;
+
+        private int edgeCount;
+
+        private final int[][] out;
+
+        private final int[] outSize;
+
+        private final int[][] in;
+
+        private final int[] inSize;
+
+        private final int[] contractedNeighbors;
+
+        // rank[v] is the position of v in the order of contraction, or -1 if v has not been contracted yet
+        private final int[] rank;
+
+        // The workspace of the witness searches
+        private final double[] costs;
+
+        private final int[] touched;
+
+        private int touchedCount;
+
+        private final IndexedMinHeap witnesses;
+
+        // The last node that marked every node as its neighbor, so that each neighbor is visited once
+        private final int[] seen;
+
+        private Contractor(IndexedWeightedGraph<?> graph) {
+            n = graph.size();
+            int capacity = Math.max(16, 2 * graph.edgeCount());
+            sources = new int[capacity];
+            targets = new int[capacity];
+            weights = new double[capacity];
+            lower = new int[capacity];
+            upper = new int[capacity];
+            out = new int[n][];
+            outSize = new int[n];
+            in = new int[n][];
+            inSize = new int[n];
+            for (int v = 0; v < n; v++) {
+                out[v] = new int[Math.max(4, graph.outDegree(v))];
+                in[v] = new int[4];
+            }
+            contractedNeighbors = new int[n];
+            rank = new int[n];
+            Arrays.fill(rank, -1);
+            costs = new double[n];
+            Arrays.fill(costs, Double.POSITIVE_INFINITY);
+            touched = new int[n];
+            witnesses = new IndexedMinHeap(n);
+            seen = new int[n];
+            Arrays.fill(seen, -1);
+            for (int v = 0; v < n; v++) {
+                for (int edge = graph.edgeStart(v); edge < graph.edgeEnd(v); edge++) {
+                    // A loop is never part of a shortest path
+                    if (graph.targetAt(edge) != v) {
+                        addEdge(v, graph.targetAt(edge), graph.weightAt(edge), -1, -1);
+                    }
+                }
+            }
+        }
+
+        // Contracts every node in order of importance, ranking them in the order they are contracted
+        private void contractAll() {
+            IndexedMinHeap queue = new IndexedMinHeap(n);
+            for (int v = 0; v < n; v++) {
+                queue.insertOrDecrease(v, priority(v));
+            }
+            int next = 0;
+            while (!queue.isEmpty()) {
+                int v = queue.pollMin();
+                // Contracting a neighbor may have made v more important than its key says, so it is checked lazily
+                double priority = priority(v);
+                if (!queue.isEmpty() && priority > queue.minKey()) {
+                    queue.insertOrDecrease(v, priority);
+                    continue;
+                }
+                contract(v, false);
+                rank[v] = next++;
+                for (int i = 0; i < inSize[v]; i++) {
+                    int u = sources[in[v][i]];
+                    outSize[u] = drop(out[u], outSize[u], v, targets);
+                }
+                for (int i = 0; i < outSize[v]; i++) {
+                    int w = targets[out[v][i]];
+                    inSize[w] = drop(in[w], inSize[w], v, sources);
+                }
+                for (int i = 0; i < inSize[v] + outSize[v]; i++) {
+                    int neighbor = i < inSize[v] ? sources[in[v][i]] : targets[out[v][i - inSize[v]]];
+                    if (seen[neighbor] != v) {
+                        seen[neighbor] = v;
+                        contractedNeighbors[neighbor]++;
+                        queue.insertOrDecrease(neighbor, priority(neighbor));
+                    }
+                }
+            }
+        }
+
+        // Removes the edges whose end in the given array of ends is the given node from the first size edges of the
+        // given list, and returns the number of edges left
+        private static int drop(int[] edges, int size, int node, int[] ends) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (ends[edges[i]] != node) {
+                    edges[kept++] = edges[i];
+                }
+            }
+            return kept;
+        }
+
+        // Returns the importance of the given node, which is contracted earlier the smaller it is
+        private double priority(int v) {
+            return contract(v, true) - inSize[v] - outSize[v] + contractedNeighbors[v];
+        }
+
+        // Finds the shortcuts that contracting the given node needs, adds them unless simulate is true, and returns
+        // how many there are
+        private int contract(int v, boolean simulate) {
+            int count = 0;
+            for (int i = 0; i < inSize[v]; i++) {
+                int inEdge = in[v][i];
+                int u = sources[inEdge];
+                double maxCost = -1.0;
+                for (int j = 0; j < outSize[v]; j++) {
+                    if (targets[out[v][j]] != u) {
+                        maxCost = Math.max(maxCost, weights[inEdge] + weights[out[v][j]]);
+                    }
+                }
+                if (maxCost < 0) {
+                    continue;
+                }
+                witnessSearch(u, v, maxCost);
+                for (int j = 0; j < outSize[v]; j++) {
+                    int outEdge = out[v][j];
+                    int w = targets[outEdge];
+                    double cost = weights[inEdge] + weights[outEdge];
+                    if (w != u && costs[w] > cost) {
+                        count++;
+                        if (!simulate) {
+                            addEdge(u, w, cost, inEdge, outEdge);
+                        }
+                    }
+                }
+                clearWitnesses();
+            }
+            return count;
+        }
+
+        // Finds the costs of the paths from the given node that avoid the excluded node, as far as the given cost or
+        // the settle limit
+        private void witnessSearch(int source, int excluded, double maxCost) {
+            costs[source] = 0.0;
+            touched[touchedCount++] = source;
+            witnesses.insertOrDecrease(source, 0.0);
+            int settled = 0;
+            while (!witnesses.isEmpty() && witnesses.minKey() <= maxCost && settled < WITNESS_SETTLE_LIMIT) {
+                int node = witnesses.pollMin();
+                settled++;
+                for (int i = 0; i < outSize[node]; i++) {
+                    int edge = out[node][i];
+                    int child = targets[edge];
+                    if (child == excluded) {
+                        continue;
+                    }
+                    double newCost = costs[node] + weights[edge];
+                    if (newCost < costs[child]) {
+                        if (costs[child] == Double.POSITIVE_INFINITY) {
+                            touched[touchedCount++] = child;
+                        }
+                        costs[child] = newCost;
+                        witnesses.insertOrDecrease(child, newCost);
+                    }
+                }
+            }
+        }
+
+        private void clearWitnesses() {
+            for (int i = 0; i < touchedCount; i++) {
+                costs[touched[i]] = Double.POSITIVE_INFINITY;
+            }
+            touchedCount = 0;
+            witnesses.clear();
+        }
+
+        // Adds an edge from u to w unless there already is one as cheap, replacing a more expensive one
+        private void addEdge(int u, int w, double weight, int lowerEdge, int upperEdge) {
+            int existing = -1;
+            for (int i = 0; i < outSize[u]; i++) {
+                if (targets[out[u][i]] == w) {
+                    existing = i;
+                    break;
+                }
+            }
+            if (existing != -1 && weights[out[u][existing]] <= weight) {
+                return;
+            }
+            if (edgeCount == sources.length) {
+                sources = Arrays.copyOf(sources, 2 * edgeCount);
+                targets = Arrays.copyOf(targets, 2 * edgeCount);
+                weights = Arrays.copyOf(weights, 2 * edgeCount);
+                lower = Arrays.copyOf(lower, 2 * edgeCount);
+                upper = Arrays.copyOf(upper, 2 * edgeCount);
+            }
+            int edge = edgeCount++;
+            sources[edge] = u;
+            targets[edge] = w;
+            weights[edge] = weight;
+            lower[edge] = lowerEdge;
+            upper[edge] = upperEdge;
+            if (existing != -1) {
+                int replaced = out[u][existing];
+                out[u][existing] = edge;
+                for (int i = 0; i < inSize[w]; i++) {
+                    if (in[w][i] == replaced) {
+                        in[w][i] = edge;
+                    }
+                }
+                return;
+            }
+            if (outSize[u] == out[u].length) {
+                out[u] = Arrays.copyOf(out[u], 2 * outSize[u]);
+            }
+            out[u][outSize[u]++] = edge;
+            if (inSize[w] == in[w].length) {
+                in[w] = Arrays.copyOf(in[w], 2 * inSize[w]);
+            }
+            in[w][inSize[w]++] = edge;
+        }
+    }
+}
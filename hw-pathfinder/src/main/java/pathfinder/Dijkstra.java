@@ -1,20 +1,31 @@
 package pathfinder;
 
 import graph.Graph;
+import graph.IndexedWeightedGraph;
+import graph.LabeledGraph;
+import pathfinder.datastructures.IndexedMinHeap;
+import pathfinder.datastructures.IndexedPriorityQueue;
 import pathfinder.datastructures.Path;
 
 import java.util.*;
+import java.util.function.ToDoubleFunction;
 
 /**
- * A Dijkstra class is a utility class which contains a static method dijkstra, which finds the shortest path in a graph
+ * A Dijkstra class is a utility class which contains static methods dijkstra, which find the shortest path in a graph
  * given the source and destination nodes.
  */
 public class Dijkstra {
 
     // This class does not represent an ADT
 
+    // The number of nodes a search over a LabeledGraph makes room for before it doubles its arrays
+    private static final int INITIAL_CAPACITY = 16;
+
     /**
-     * Returns the shortest path in the given graph from the source node to the destination node.
+     * Returns the shortest path in the given graph from the source node to the destination node. The nodes are given
+     * dense ids in the order the search reaches them, so the frontier is an indexed heap with decrease-key that holds
+     * every node at most once, keyed by the cost of the whole path to it. It always keeps its frontier in a binary heap;
+     * only the overloads over an IndexedWeightedGraph take a QueueStrategy.
      *
      * @spec.requires graph != null, src != null and dest != null
      *
@@ -23,69 +34,220 @@ public class Dijkstra {
      * @param dest the destination nodee
      * @param <T> the type of the node
      * @return a path representing the shortest path from the source node to the destination node
+     * @throws IllegalArgumentException if the source node is not in the graph
      */
     // Output: src.next, ..., dest
-    public static <T> Path<T> dijkstra(Graph<T, Double> graph, T src, T dest) {
-        Map<T, T> backRef = new HashMap<>();
-        Map<T, Double> costs = new HashMap<>();
-        // Initialize costs to be all infinity
-        for (T node : graph.listNodes()) {
-            costs.put(node, Double.MAX_VALUE);
+    public static <T> Path<T> dijkstra(LabeledGraph<T, Double> graph, T src, T dest) {
+        return search(graph, src, dest, node -> 0.0);
+    }
+
+    /**
+     * Returns the shortest path in the given primitive weighted graph from the source node to the destination node.
+     * Costs are kept in flat arrays indexed by node id and the frontier is an indexed heap with decrease-key, so
+     * relaxing an edge neither boxes a weight nor allocates.
+     *
+     * @spec.requires graph != null, src != null and dest != null
+     *
+     * @param graph the graph to find the shortest path
+     * @param src the source node
+     * @param dest the destination node
+     * @param <T> the type of the node
+     * @return a path representing the shortest path from the source node to the destination node, or a path with no
+     *          segments if the destination node cannot be reached from the source node
+     * @throws IllegalArgumentException if the source node is not in the graph
+     */
+    public static <T> Path<T> dijkstra(IndexedWeightedGraph<T> graph, T src, T dest) {
+        return dijkstra(graph, src, dest, QueueStrategy.BINARY_HEAP, new SearchStatistics());
+    }
+
+    /**
+     * Returns the shortest path in the given primitive weighted graph from the source node to the destination node,
+     * keeping the frontier in a queue of the given kind, and adds the work the search did to the given statistics
+     *
+     * @spec.requires graph != null, src != null, dest != null, strategy != null and statistics != null
+     * @spec.modifies statistics
+     * @spec.effects adds the nodes settled and the edges relaxed by the search to statistics
+     *
+     * @param graph the graph to find the shortest path
+     * @param src the source node
+     * @param dest the destination node
+     * @param strategy the kind of queue to keep the frontier in
+     * @param statistics the record to add the work of the search to
+     * @param <T> the type of the node
+     * @return a path representing the shortest path from the source node to the destination node, or a path with no
+     *          segments if the destination node cannot be reached from the source node
+     * @throws IllegalArgumentException if the source node is not in the graph
+     */
+    public static <T> Path<T> dijkstra(IndexedWeightedGraph<T> graph, T src, T dest, QueueStrategy strategy,
+                                       SearchStatistics statistics) {
+        int source = graph.idOf(src);
+        if (source == -1) {
+            throw new IllegalArgumentException();
+        }
+        int target = graph.idOf(dest);
+        int n = graph.size();
+        double[] costs = new double[n];
+        Arrays.fill(costs, Double.POSITIVE_INFINITY);
+        // backEdge[node] is the index of the last edge on the best known path to node, or -1 if there is none
+        int[] backEdge = new int[n];
+        Arrays.fill(backEdge, -1);
+        int[] backRef = new int[n];
+        boolean[] known = new boolean[n];
+        IndexedPriorityQueue pq = strategy.create(n);
+
+        costs[source] = 0.0;
+        pq.insertOrDecrease(source, 0.0);
+
+        // {{ Inv: every node in known has a fixed shortest path of cost costs[node], and every node in pq has a
+        //          best known path of cost costs[node] that only passes through known nodes }}
+        while (!pq.isEmpty()) {
+            int node = pq.pollMin();
+            if (node == target) {
+                statistics.settled(0);
+                break;
+            }
+            known[node] = true;
+            double cost = costs[node];
+            int end = graph.edgeEnd(node);
+            statistics.settled(end - graph.edgeStart(node));
+            for (int edge = graph.edgeStart(node); edge < end; edge++) {
+                int child = graph.targetAt(edge);
+                if (!known[child]) {
+                    double newCost = cost + graph.weightAt(edge);
+                    if (newCost < costs[child]) {
+                        costs[child] = newCost;
+                        backRef[child] = node;
+                        backEdge[child] = edge;
+                        pq.insertOrDecrease(child, newCost);
+                    }
+                }
+            }
         }
-        Set<T> known = new HashSet<>();
-        PriorityQueue<Graph.DirectedLabeledEdge<T, Double>> pq = new PriorityQueue<>(new Comparator<Graph.DirectedLabeledEdge<T, Double>>() {
-            @Override
-            public int compare(Graph.DirectedLabeledEdge<T, Double> o1, Graph.DirectedLabeledEdge<T, Double> o2) {
-                return o1.getLabel().compareTo(o2.getLabel());
+
+        return buildPath(graph, src, source, target, backRef, backEdge);
+    }
+
+    // Returns the cost of the shortest path from the node with id source to every node of the given graph, indexed by
+    // id, which is infinity for the nodes that cannot be reached
+    static double[] costsFrom(IndexedWeightedGraph<?> graph, int source) {
+        int n = graph.size();
+        double[] costs = new double[n];
+        Arrays.fill(costs, Double.POSITIVE_INFINITY);
+        boolean[] known = new boolean[n];
+        IndexedMinHeap pq = new IndexedMinHeap(n);
+        costs[source] = 0.0;
+        pq.insertOrDecrease(source, 0.0);
+        while (!pq.isEmpty()) {
+            int node = pq.pollMin();
+            known[node] = true;
+            for (int edge = graph.edgeStart(node); edge < graph.edgeEnd(node); edge++) {
+                int child = graph.targetAt(edge);
+                double newCost = costs[node] + graph.weightAt(edge);
+                if (!known[child] && newCost < costs[child]) {
+                    costs[child] = newCost;
+                    pq.insertOrDecrease(child, newCost);
+                }
             }
-        });
+        }
+        return costs;
+    }
 
-        pq.add(new Graph.DirectedLabeledEdge<T, Double>(src, 0.0));
-        costs.put(src, 0.0);
+    // Returns the shortest path in graph from src to dest, settling the nodes in order of their cost plus their
+    // estimate, which must be a consistent heuristic for dest over graph. The nodes are given dense ids in the order the
+    // search reaches them, and the arrays indexed by id double whenever a new id would not fit, so they never scan the
+    // graph for its size and keep up with a graph that grows during the search. Throws IllegalArgumentException if src
+    // is not in graph.
+    static <T> Path<T> search(LabeledGraph<T, Double> graph, T src, T dest, ToDoubleFunction<? super T> estimate) {
+        if (!graph.containsNode(src)) {
+            throw new IllegalArgumentException();
+        }
+        // ids maps every reached node to its id, and nodes is its inverse
+        Map<T, Integer> ids = new HashMap<>();
+        List<T> nodes = new ArrayList<>();
+        int capacity = INITIAL_CAPACITY;
+        double[] costs = new double[capacity];
+        // backRef and backWeight hold the parent of every reached node on its best known path and the label of the
+        // edge from that parent, so the path keeps the exact labels rather than differences of costs
+        int[] backRef = new int[capacity];
+        double[] backWeight = new double[capacity];
+        boolean[] known = new boolean[capacity];
+        IndexedMinHeap pq = new IndexedMinHeap(capacity);
+
+        ids.put(src, 0);
+        nodes.add(src);
+        backRef[0] = -1;
+        pq.insertOrDecrease(0, estimate.applyAsDouble(src));
 
-        // {{ Inv: the nodes being removed from pq has a fixed shortest path. There might exist repeated nodes
-        //          if the "after node" has a shorter cost than the "prev node" }}
+        // {{ Inv: every node in known has a fixed shortest path of cost costs[id], and every node in pq has a best
+        //          known path of cost costs[id] that only passes through known nodes, and is keyed by that cost plus
+        //          its estimate }}
+        int target = -1;
         while (!pq.isEmpty()) {
-            Graph.DirectedLabeledEdge<T, Double> minEdge = pq.remove();
-            T node = minEdge.getChild();
+            int id = pq.pollMin();
+            T node = nodes.get(id);
             if (node.equals(dest)) {
+                target = id;
                 break;
             }
-            if (known.contains(node)) {
-                continue;
-            }
+            known[id] = true;
 
             for (Graph.DirectedLabeledEdge<T, Double> edge : graph.childrenOf(node)) {
                 T child = edge.getChild();
-                Double label = edge.getLabel();
-                if (!known.contains(child)) {
-                    if (costs.get(node) + label < costs.get(child)) {
-                        pq.add(edge);
-                        costs.put(child, costs.get(node) + label);
-                        backRef.put(child, node);
+                Integer childId = ids.get(child);
+                double newCost = costs[id] + edge.getLabel();
+                if (childId == null) {
+                    childId = nodes.size();
+                    if (childId == capacity) {
+                        capacity *= 2;
+                        costs = Arrays.copyOf(costs, capacity);
+                        backRef = Arrays.copyOf(backRef, capacity);
+                        backWeight = Arrays.copyOf(backWeight, capacity);
+                        known = Arrays.copyOf(known, capacity);
+                        pq.grow(capacity);
                     }
+                    ids.put(child, childId);
+                    nodes.add(child);
+                } else if (known[childId] || newCost >= costs[childId]) {
+                    continue;
                 }
+                costs[childId] = newCost;
+                backRef[childId] = id;
+                backWeight[childId] = edge.getLabel();
+                pq.insertOrDecrease(childId, newCost + estimate.applyAsDouble(child));
             }
-
-            known.add(node);
         }
 
         // Process & construct the shortest path from src to dest
-        List<Graph.DirectedLabeledEdge<T, Double>> list = new ArrayList<>();
-        T node = dest;
-        T prev = backRef.get(node);
-        while (prev != null) {//node != src) {
-            double cost = costs.get(node) - costs.get(prev);
-            list.add(new Graph.DirectedLabeledEdge<>(node, cost));
-            node = prev;
-            prev = backRef.get(prev);
+        List<Integer> list = new ArrayList<>();
+        if (target != -1) {
+            for (int id = target; backRef[id] != -1; id = backRef[id]) {
+                list.add(id);
+            }
         }
         Collections.reverse(list);
+        Path<T> path = new Path<T>(src);
+        for (int id : list) {
+            path = path.extend(nodes.get(id), backWeight[id]);
+        }
+        return path;
+    }
 
+    // Returns the path from src, whose id is source, to the node with id target by following the given back edges of a
+    // search, or a path with no segments if target is -1 or was not reached
+    static <T> Path<T> buildPath(IndexedWeightedGraph<T> graph, T src, int source, int target, int[] backRef,
+                                 int[] backEdge) {
+        // Process & construct the shortest path from src to dest
         Path<T> path = new Path<T>(src);
-        for (int i = 0; i < list.size(); i++) {
-            Graph.DirectedLabeledEdge<T, Double> edge = list.get(i);
-            path = path.extend(edge.getChild(), edge.getLabel());
+        if (target == -1 || backEdge[target] == -1) {
+            return path;
+        }
+        List<Integer> edges = new ArrayList<>();
+        for (int node = target; node != source; node = backRef[node]) {
+            edges.add(backEdge[node]);
+        }
+        Collections.reverse(edges);
+        for (int edge : edges) {
+            path = path.extend(graph.nodeOf(graph.targetAt(edge)), graph.weightAt(edge));
         }
         return path;
     }
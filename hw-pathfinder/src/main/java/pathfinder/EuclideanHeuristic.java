@@ -0,0 +1,116 @@
+package pathfinder;
+
+import graph.IndexedWeightedGraph;
+import pathfinder.datastructures.Point;
+
+/**
+ * A EuclideanHeuristic estimates the cost of the shortest path between two points of a map as the straight-line
+ * distance between them times a fixed scale. The scale converts map coordinates into the unit of the edge weights:
+ * the heuristic is consistent, and so admissible, exactly when no edge weighs less than the scale times the distance
+ * between its ends, so the largest usable scale is the smallest ratio of an edge's weight to its length.
+ *
+ * CampusMap directs its filtered queries by a LandmarkHeuristic, which settles far fewer nodes, and only falls back
+ * to this heuristic while the landmarks of a new version of the campus graph are still being picked. It is also a
+ * heuristic for maps whose landmark tables would be too big to keep, and the baseline the other heuristics are
+ * measured against.
+ */
+public final class EuclideanHeuristic implements Heuristic {
+
+    // Shrinks a calibrated scale by a few ulps, so that rounding never makes an estimate exceed an edge weight
+    private static final double SAFETY = 1 - 1e-12;
+
+    // RI: xs != null, ys != null, xs.length == ys.length, scale >= 0 and finite
+    // AF(this) = the heuristic estimating the cost from node i to node j as this.scale times the distance between
+    //              (this.xs[i], this.ys[i]) and (this.xs[j], this.ys[j])
+    private final double[] xs;
+
+    private final double[] ys;
+
+    private final double scale;
+
+    /**
+     * Creates a new Euclidean heuristic over the given graph with the given scale
+     *
+     * @spec.requires graph != null
+     * @spec.effects creates a new heuristic estimating scale times the distance between the points of two nodes
+     *
+     * @param graph the map that the heuristic directs searches over
+     * @param scale the factor converting distances between points into edge weights
+     * @throws IllegalArgumentException if scale is negative or not finite, or the heuristic is not consistent because
+     *                                  some edge of graph weighs less than scale times the distance between its ends
+     */
+    public EuclideanHeuristic(IndexedWeightedGraph<Point> graph, double scale) {
+        if (!(scale >= 0 && scale < Double.POSITIVE_INFINITY)) {
+            throw new IllegalArgumentException("Invalid scale " + scale);
+        }
+        int n = graph.size();
+        xs = new double[n];
+        ys = new double[n];
+        for (int id = 0; id < n; id++) {
+            Point point = graph.nodeOf(id);
+            xs[id] = point.getX();
+            ys[id] = point.getY();
+        }
+        this.scale = scale;
+        for (int id = 0; id < n; id++) {
+            for (int edge = graph.edgeStart(id); edge < graph.edgeEnd(id); edge++) {
+                int target = graph.targetAt(edge);
+                if (estimate(id, target) > graph.weightAt(edge)) {
+                    throw new IllegalArgumentException("Scale " + scale + " overestimates the edge from "
+                                                       + graph.nodeOf(id) + " to " + graph.nodeOf(target));
+                }
+            }
+        }
+        checkRep();
+    }
+
+    /**
+     * Returns the Euclidean heuristic over the given graph with the largest scale that keeps it consistent, which is
+     * the smallest ratio of the weight of an edge to the distance between its ends
+     *
+     * @spec.requires graph != null
+     *
+     * @param graph the map that the heuristic directs searches over
+     * @return the tightest consistent Euclidean heuristic over graph, whose scale is 0 if graph has no edge between
+     *          distinct points
+     */
+    public static EuclideanHeuristic calibrated(IndexedWeightedGraph<Point> graph) {
+        double scale = Double.POSITIVE_INFINITY;
+        for (int id = 0; id < graph.size(); id++) {
+            Point from = graph.nodeOf(id);
+            for (int edge = graph.edgeStart(id); edge < graph.edgeEnd(id); edge++) {
+                Point to = graph.nodeOf(graph.targetAt(edge));
+                double distance = distance(from.getX(), from.getY(), to.getX(), to.getY());
+                if (distance > 0) {
+                    scale = Math.min(scale, graph.weightAt(edge) / distance);
+                }
+            }
+        }
+        return new EuclideanHeuristic(graph, scale == Double.POSITIVE_INFINITY ? 0 : scale * SAFETY);
+    }
+
+    /**
+     * Returns the factor converting distances between points into edge weights
+     *
+     * @return the scale of this heuristic
+     */
+    public double scale() {
+        return scale;
+    }
+
+    @Override
+    public double estimate(int node, int target) {
+        return scale * distance(xs[node], ys[node], xs[target], ys[target]);
+    }
+
+    private static double distance(double x1, double y1, double x2, double y2) {
+        double dx = x1 - x2;
+        double dy = y1 - y2;
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+
+    private void checkRep() {
+        assert xs != null && ys != null && xs.length == ys.length;
+        assert scale >= 0 && scale < Double.POSITIVE_INFINITY;
+    }
+}
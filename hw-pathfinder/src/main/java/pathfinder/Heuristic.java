@@ -0,0 +1,33 @@
+package pathfinder;
+
+/**
+ * A Heuristic estimates the cost of the shortest path between two nodes of a graph whose nodes have dense integer ids,
+ * to direct a goal-directed search such as {@link AStar} towards the destination. A heuristic must be admissible,
+ * never estimating more than the true cost, for the search to find a shortest path, and consistent, never estimating
+ * more for a node than the weight of an edge out of it plus the estimate for the child of the edge, for the search to
+ * settle every node at most once.
+ */
+@FunctionalInterface
+public interface Heuristic {
+
+    /**
+     * Returns an estimate of the cost of the shortest path from one node to another
+     *
+     * @spec.requires node and target are valid node ids of the graph this heuristic was made for
+     *
+     * @param node the id of the node to estimate from
+     * @param target the id of the destination node
+     * @return a non-negative lower bound on the cost of any path from node to target, which is 0 if node == target
+     */
+    double estimate(int node, int target);
+
+    /**
+     * Returns the heuristic that estimates every cost as 0, with which A* settles nodes in the same order as Dijkstra's
+     * algorithm
+     *
+     * @return a heuristic that always returns 0
+     */
+    static Heuristic none() {
+        return (node, target) -> 0.0;
+    }
+}
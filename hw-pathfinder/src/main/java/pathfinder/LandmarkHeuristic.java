@@ -0,0 +1,209 @@
+package pathfinder;
+
+import graph.WeightedGraph;
+
+import java.util.*;
+
+/**
+ * A LandmarkHeuristic estimates the cost of the shortest path between two nodes from the costs of the shortest paths
+ * between every node and a few landmark nodes, by the triangle inequality: no path from u to v costs less than
+ * d(L, v) - d(L, u), or less than d(u, L) - d(v, L), for any landmark L. This is the ALT heuristic (A*, landmarks and
+ * the triangle inequality). Unlike a straight-line heuristic, it follows the actual costs of the graph, so it stays
+ * tight where paths wind around obstacles and weigh much more than the distance between their ends.
+ *
+ * The landmarks are picked by farthest-point selection: each landmark is the node farthest from every landmark picked
+ * before it, which spreads them around the edge of the map where they give the best bounds. The costs are kept for
+ * every node in a row of its own, so an estimate reads two short runs of memory. Every edge removed from the graph
+ * only makes paths longer, so the heuristic stays admissible and consistent on any subgraph of the graph it was
+ * built for.
+ */
+public final class LandmarkHeuristic implements Heuristic {
+
+    // RI: landmarks != null, fromLandmarks != null, toLandmarks != null, and
+    //      fromLandmarks.length == toLandmarks.length == size * landmarks.length, and every landmark is in [0, size),
+    //      and no cost is negative or NaN
+    // AF(this) = the heuristic over a graph of this.size nodes with the landmarks this.landmarks, in which the cost of
+    //              the shortest path from the i-th landmark to the node with id v is this.fromLandmarks[v * k + i], and
+    //              from v to the i-th landmark is this.toLandmarks[v * k + i], where k = this.landmarks.length
+    private final int[] landmarks;
+
+    private final int size;
+
+    private final double[] fromLandmarks;
+
+    private final double[] toLandmarks;
+
+    // Creates a new heuristic over the given tables, which it takes ownership of
+    private LandmarkHeuristic(int[] landmarks, int size, double[] fromLandmarks, double[] toLandmarks) {
+        this.landmarks = landmarks;
+        this.size = size;
+        this.fromLandmarks = fromLandmarks;
+        this.toLandmarks = toLandmarks;
+        checkRep();
+    }
+
+    /**
+     * Picks the given number of landmarks of the given graph by farthest-point selection, and returns the heuristic
+     * over the costs of the shortest paths to and from them. The first landmark is the node farthest from the node
+     * with id 0, and each landmark after it is the node whose closest landmark is the farthest, where a node that no
+     * landmark reaches counts as the farthest of all, so that every part of a disconnected graph gets a landmark.
+     *
+     * @spec.requires graph != null and every weight of graph is non-negative
+     *
+     * @param graph the graph that the heuristic directs searches over
+     * @param count the number of landmarks to pick
+     * @param <T> the type of the node
+     * @return the heuristic over min(count, graph.size()) landmarks of graph, which runs two searches over the whole
+     *          graph per landmark
+     * @throws IllegalArgumentException if count is negative
+     */
+    public static <T> LandmarkHeuristic select(WeightedGraph<T> graph, int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Invalid number of landmarks " + count);
+        }
+        int n = graph.size();
+        int k = Math.min(count, n);
+        WeightedGraph<T> reverse = graph.reverse();
+        int[] landmarks = new int[k];
+        double[] fromLandmarks = new double[n * k];
+        double[] toLandmarks = new double[n * k];
+        // closest[v] is the cost from the landmark closest to v, or from the node with id 0 before any is picked
+        double[] closest = k == 0 ? new double[0] : Dijkstra.costsFrom(graph, 0);
+        for (int i = 0; i < k; i++) {
+            int farthest = 0;
+            for (int v = 1; v < n; v++) {
+                if (closest[v] > closest[farthest]) {
+                    farthest = v;
+                }
+            }
+            landmarks[i] = farthest;
+            double[] from = Dijkstra.costsFrom(graph, farthest);
+            double[] to = Dijkstra.costsFrom(reverse, farthest);
+            for (int v = 0; v < n; v++) {
+                fromLandmarks[v * k + i] = from[v];
+                toLandmarks[v * k + i] = to[v];
+                closest[v] = i == 0 ? from[v] : Math.min(closest[v], from[v]);
+            }
+        }
+        return new LandmarkHeuristic(landmarks, n, fromLandmarks, toLandmarks);
+    }
+
+    /**
+     * Returns the heuristic over the given landmarks and costs, such as ones read back from a file
+     *
+     * @spec.requires landmarks != null, fromLandmarks != null and toLandmarks != null, and the costs are those of the
+     *              shortest paths of the graph the heuristic directs searches over
+     *
+     * @param landmarks the ids of the landmarks
+     * @param fromLandmarks the cost of the shortest path from the i-th landmark to the node with id v at index
+     *                      v * landmarks.length + i, or infinity if there is no such path
+     * @param toLandmarks the cost of the shortest path from the node with id v to the i-th landmark at index
+     *                    v * landmarks.length + i, or infinity if there is no such path
+     * @return a new heuristic over copies of the given tables
+     * @throws IllegalArgumentException if the tables have different lengths, or a length that is not a multiple of the
+     *                                  number of landmarks, or a landmark is not a node of the tables, or a cost is
+     *                                  negative or NaN
+     */
+    public static LandmarkHeuristic fromTables(int[] landmarks, double[] fromLandmarks, double[] toLandmarks) {
+        int k = landmarks.length;
+        if (fromLandmarks.length != toLandmarks.length || (k == 0 ? fromLandmarks.length != 0
+                                                                  : fromLandmarks.length % k != 0)) {
+            throw new IllegalArgumentException("Tables of " + fromLandmarks.length + " and " + toLandmarks.length
+                                               + " costs do not fit " + k + " landmarks");
+        }
+        int size = k == 0 ? 0 : fromLandmarks.length / k;
+        for (int landmark : landmarks) {
+            if (landmark < 0 || landmark >= size) {
+                throw new IllegalArgumentException("No node with id " + landmark);
+            }
+        }
+        for (int i = 0; i < fromLandmarks.length; i++) {
+            if (!(fromLandmarks[i] >= 0) || !(toLandmarks[i] >= 0)) {
+                throw new IllegalArgumentException("Invalid cost at index " + i);
+            }
+        }
+        return new LandmarkHeuristic(landmarks.clone(), size, fromLandmarks.clone(), toLandmarks.clone());
+    }
+
+    /**
+     * Returns a lower bound on the cost of the shortest path from one node to another, which is the largest bound the
+     * triangle inequality gives over every landmark that reaches, or is reached by, both nodes
+     *
+     * @spec.requires node and target are in the range [0, size())
+     *
+     * @param node the id of the node to estimate from
+     * @param target the id of the destination node
+     * @return a non-negative lower bound on the cost of any path from node to target, which is 0 if node == target
+     */
+    @Override
+    public double estimate(int node, int target) {
+        int k = landmarks.length;
+        int u = node * k;
+        int v = target * k;
+        double best = 0.0;
+        for (int i = 0; i < k; i++) {
+            // A landmark that cannot reach, or be reached from, either node gives no bound through that direction
+            double from = fromLandmarks[v + i] - fromLandmarks[u + i];
+            if (from > best && fromLandmarks[v + i] != Double.POSITIVE_INFINITY) {
+                best = from;
+            }
+            double to = toLandmarks[u + i] - toLandmarks[v + i];
+            if (to > best && toLandmarks[u + i] != Double.POSITIVE_INFINITY) {
+                best = to;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Returns the number of nodes this heuristic has costs for
+     *
+     * @return the number of nodes of the graph this heuristic was built for
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of landmarks
+     *
+     * @return the number of landmarks this heuristic bounds costs through
+     */
+    public int landmarkCount() {
+        return landmarks.length;
+    }
+
+    /**
+     * Returns the ids of the landmarks
+     *
+     * @return a new array holding the id of every landmark, in the order they were picked
+     */
+    public int[] landmarks() {
+        return landmarks.clone();
+    }
+
+    /**
+     * Returns the costs of the shortest paths from every landmark to every node
+     *
+     * @return a new array holding the cost from the i-th landmark to the node with id v at index
+     *          v * landmarkCount() + i, which is infinity if there is no such path
+     */
+    public double[] fromLandmarks() {
+        return fromLandmarks.clone();
+    }
+
+    /**
+     * Returns the costs of the shortest paths from every node to every landmark
+     *
+     * @return a new array holding the cost from the node with id v to the i-th landmark at index
+     *          v * landmarkCount() + i, which is infinity if there is no such path
+     */
+    public double[] toLandmarks() {
+        return toLandmarks.clone();
+    }
+
+    private void checkRep() {
+        assert landmarks != null && fromLandmarks != null && toLandmarks != null;
+        assert fromLandmarks.length == (long) size * landmarks.length && toLandmarks.length == fromLandmarks.length;
+    }
+}
@@ -0,0 +1,53 @@
+package pathfinder;
+
+import pathfinder.datastructures.IndexedDaryHeap;
+import pathfinder.datastructures.IndexedMinHeap;
+import pathfinder.datastructures.IndexedPairingHeap;
+import pathfinder.datastructures.IndexedPriorityQueue;
+
+/**
+ * A QueueStrategy is the kind of indexed priority queue a search keeps its frontier in. Every strategy settles the
+ * nodes in the same order up to ties between equal costs, so they find paths of the same cost and differ only in
+ * how fast they run.
+ */
+public enum QueueStrategy {
+
+    /**
+     * A binary heap with decrease-key, the default of every search.
+     */
+    BINARY_HEAP {
+        @Override
+        public IndexedPriorityQueue create(int capacity) {
+            return new IndexedMinHeap(capacity);
+        }
+    },
+
+    /**
+     * A 4-ary heap with decrease-key, which is half as deep as the binary heap.
+     */
+    FOUR_ARY_HEAP {
+        @Override
+        public IndexedPriorityQueue create(int capacity) {
+            return new IndexedDaryHeap(capacity, 4);
+        }
+    },
+
+    /**
+     * A pairing heap, whose decrease-key takes constant time.
+     */
+    PAIRING_HEAP {
+        @Override
+        public IndexedPriorityQueue create(int capacity) {
+            return new IndexedPairingHeap(capacity);
+        }
+    };
+
+    /**
+     * Returns a new, empty queue of this kind
+     *
+     * @param capacity the number of distinct ids the queue can hold
+     * @return a new, empty queue that can hold the ids [0, capacity)
+     * @throws IllegalArgumentException if capacity is negative
+     */
+    public abstract IndexedPriorityQueue create(int capacity);
+}
@@ -0,0 +1,68 @@
+package pathfinder;
+
+/**
+ * A SearchStatistics accumulates how much work shortest path searches did: the number of nodes they settled and the
+ * number of edges they relaxed. Passing the same instance to several searches sums their work. It is not thread-safe.
+ */
+public final class SearchStatistics {
+
+    // RI: settledNodes >= 0 and relaxedEdges >= 0
+    // AF(this) = the total work of the searches recorded in this, which settled this.settledNodes nodes and relaxed
+    //              this.relaxedEdges edges
+    private long settledNodes;
+
+    private long relaxedEdges;
+
+    /**
+     * Creates a new record of no work
+     *
+     * @spec.effects creates a new record with no settled nodes and no relaxed edges
+     */
+    public SearchStatistics() {
+        checkRep();
+    }
+
+    /**
+     * Returns the number of nodes settled, that is removed from the frontier with their shortest path cost fixed
+     *
+     * @return the total number of settled nodes
+     */
+    public long getSettledNodes() {
+        return settledNodes;
+    }
+
+    /**
+     * Returns the number of edges relaxed, that is scanned out of a settled node
+     *
+     * @return the total number of relaxed edges
+     */
+    public long getRelaxedEdges() {
+        return relaxedEdges;
+    }
+
+    /**
+     * Resets the counts to zero
+     *
+     * @spec.modifies this
+     * @spec.effects sets the number of settled nodes and of relaxed edges to 0
+     */
+    public void reset() {
+        settledNodes = 0;
+        relaxedEdges = 0;
+    }
+
+    // Records that a search settled a node and relaxed the given number of edges out of it
+    void settled(int edges) {
+        settledNodes++;
+        relaxedEdges += edges;
+    }
+
+    @Override
+    public String toString() {
+        return "SearchStatistics{settled=" + settledNodes + ", relaxed=" + relaxedEdges + "}";
+    }
+
+    private void checkRep() {
+        assert settledNodes >= 0 && relaxedEdges >= 0;
+    }
+}
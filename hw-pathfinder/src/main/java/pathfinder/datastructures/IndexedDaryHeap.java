@@ -0,0 +1,206 @@
+package pathfinder.datastructures;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Represents a mutable d-ary min-heap over the dense integer ids [0, capacity), each keyed by a primitive double, with
+ * decrease-key like IndexedMinHeap. Every node has up to arity children instead of two, so the heap is shallower:
+ * inserting and lowering a key, which only sift up, take fewer steps, while removing the minimum compares more
+ * children per level. Shortest path searches lower keys far more often than they remove them, and the children of a
+ * node sit next to each other in memory, so an arity of 4 usually beats the binary heap.
+ */
+public class IndexedDaryHeap implements IndexedPriorityQueue {
+
+    // AF(this) = the set of ids {heap[0], ..., heap[size - 1]}, where the id heap[i] has the key keys[heap[i]]
+
+    // Rep Invariant:
+    //      heap != null && keys != null && positions != null &&
+    //      heap.length == keys.length == positions.length &&
+    //      arity >= 2 && 0 <= size <= heap.length &&
+    //      positions[heap[i]] == i for every 0 <= i < size &&
+    //      positions[id] == -1 for every id not in heap[0 .. size - 1] &&
+    //      keys[heap[(i - 1) / arity]] <= keys[heap[i]] for every 0 < i < size
+
+    private static final boolean DEBUG = false;
+
+    /**
+     * The greatest number of children of a node.
+     */
+    private final int arity;
+
+    /**
+     * The ids in the heap, in heap order.
+     */
+    private final int[] heap;
+
+    /**
+     * The key of each id, indexed by id.
+     */
+    private final double[] keys;
+
+    /**
+     * The index of each id in heap, or -1 if the id is not in the heap, indexed by id.
+     */
+    private final int[] positions;
+
+    /**
+     * The number of ids currently in the heap.
+     */
+    private int size;
+
+    /**
+     * Creates a new, empty heap that can hold the ids [0, capacity), whose nodes have up to the given number of
+     * children.
+     *
+     * @param capacity the number of distinct ids this heap can hold
+     * @param arity    the greatest number of children of a node
+     * @throws IllegalArgumentException if capacity is negative or arity is less than 2
+     */
+    public IndexedDaryHeap(int capacity, int arity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative.");
+        }
+        if (arity < 2) {
+            throw new IllegalArgumentException("Arity must be at least 2.");
+        }
+        this.arity = arity;
+        heap = new int[capacity];
+        keys = new double[capacity];
+        positions = new int[capacity];
+        Arrays.fill(positions, -1);
+        size = 0;
+        checkRep();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean contains(int id) {
+        return positions[id] != -1;
+    }
+
+    @Override
+    public boolean insertOrDecrease(int id, double key) {
+        int position = positions[id];
+        if (position == -1) {
+            position = size++;
+            heap[position] = id;
+            positions[id] = position;
+        } else if (key >= keys[id]) {
+            return false;
+        }
+        keys[id] = key;
+        siftUp(position);
+        checkRep();
+        return true;
+    }
+
+    @Override
+    public double minKey() {
+        if (size == 0) {
+            throw new NoSuchElementException("The heap is empty.");
+        }
+        return keys[heap[0]];
+    }
+
+    @Override
+    public int pollMin() {
+        if (size == 0) {
+            throw new NoSuchElementException("The heap is empty.");
+        }
+        int min = heap[0];
+        positions[min] = -1;
+        size--;
+        if (size > 0) {
+            int last = heap[size];
+            heap[0] = last;
+            positions[last] = 0;
+            siftDown(0);
+        }
+        checkRep();
+        return min;
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[heap[i]] = -1;
+        }
+        size = 0;
+        checkRep();
+    }
+
+    private void siftUp(int position) {
+        int id = heap[position];
+        double key = keys[id];
+        while (position > 0) {
+            int parent = (position - 1) / arity;
+            int parentId = heap[parent];
+            if (keys[parentId] <= key) {
+                break;
+            }
+            heap[position] = parentId;
+            positions[parentId] = position;
+            position = parent;
+        }
+        heap[position] = id;
+        positions[id] = position;
+    }
+
+    private void siftDown(int position) {
+        int id = heap[position];
+        double key = keys[id];
+        while (true) {
+            int first = arity * position + 1;
+            if (first >= size) {
+                break;
+            }
+            // Find the child with the smallest key
+            int child = first;
+            double childKey = keys[heap[first]];
+            int end = Math.min(first + arity, size);
+            for (int i = first + 1; i < end; i++) {
+                double k = keys[heap[i]];
+                if (k < childKey) {
+                    child = i;
+                    childKey = k;
+                }
+            }
+            if (key <= childKey) {
+                break;
+            }
+            int childId = heap[child];
+            heap[position] = childId;
+            positions[childId] = position;
+            position = child;
+        }
+        heap[position] = id;
+        positions[id] = position;
+    }
+
+    /**
+     * Ensures that the representation invariant has not been violated. Returns normally if
+     * there is no violation.
+     */
+    private void checkRep() {
+        assert heap != null && keys != null && positions != null;
+        assert arity >= 2 && 0 <= size && size <= heap.length;
+        if (DEBUG) {
+            for (int i = 0; i < size; i++) {
+                assert positions[heap[i]] == i;
+                if (i > 0) {
+                    assert keys[heap[(i - 1) / arity]] <= keys[heap[i]];
+                }
+            }
+        }
+    }
+}
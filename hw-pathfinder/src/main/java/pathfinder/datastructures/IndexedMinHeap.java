@@ -0,0 +1,227 @@
+package pathfinder.datastructures;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Represents a mutable binary min-heap over the dense integer ids [0, capacity), each keyed by a primitive double.
+ * An id is held at most once, and its key can be lowered in place (decrease-key), so the heap never holds stale
+ * duplicates. All storage is allocated up front, so no operation but grow allocates.
+ */
+public class IndexedMinHeap implements IndexedPriorityQueue {
+
+    // AF(this) = the set of ids {heap[0], ..., heap[size - 1]}, where the id heap[i] has the key keys[heap[i]]
+
+    // Rep Invariant:
+    //      heap != null && keys != null && positions != null &&
+    //      heap.length == keys.length == positions.length &&
+    //      0 <= size <= heap.length &&
+    //      positions[heap[i]] == i for every 0 <= i < size &&
+    //      positions[id] == -1 for every id not in heap[0 .. size - 1] &&
+    //      keys[heap[(i - 1) / 2]] <= keys[heap[i]] for every 0 < i < size
+
+    private static final boolean DEBUG = false;
+
+    /**
+     * The ids in the heap, in heap order.
+     */
+    private int[] heap;
+
+    /**
+     * The key of each id, indexed by id.
+     */
+    private double[] keys;
+
+    /**
+     * The index of each id in heap, or -1 if the id is not in the heap, indexed by id.
+     */
+    private int[] positions;
+
+    /**
+     * The number of ids currently in the heap.
+     */
+    private int size;
+
+    /**
+     * Creates a new, empty heap that can hold the ids [0, capacity).
+     *
+     * @param capacity the number of distinct ids this heap can hold
+     * @throws IllegalArgumentException if capacity is negative
+     */
+    public IndexedMinHeap(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative.");
+        }
+        heap = new int[capacity];
+        keys = new double[capacity];
+        positions = new int[capacity];
+        Arrays.fill(positions, -1);
+        size = 0;
+        checkRep();
+    }
+
+    /**
+     * Raises the capacity of this heap to at least the given capacity, keeping every id it holds and its key. Has no
+     * effect if this heap can already hold the ids [0, capacity).
+     *
+     * @param capacity The number of distinct ids this heap must be able to hold.
+     */
+    public void grow(int capacity) {
+        int oldCapacity = positions.length;
+        if (capacity <= oldCapacity) {
+            return;
+        }
+        heap = Arrays.copyOf(heap, capacity);
+        keys = Arrays.copyOf(keys, capacity);
+        positions = Arrays.copyOf(positions, capacity);
+        Arrays.fill(positions, oldCapacity, capacity, -1);
+        checkRep();
+    }
+
+    /**
+     * @return {@literal true} if and only if this heap holds no ids.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return The number of ids in this heap.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param id The id to look up.
+     * @return {@literal true} if and only if {@code id} is in this heap.
+     */
+    public boolean contains(int id) {
+        return positions[id] != -1;
+    }
+
+    /**
+     * Inserts {@code id} with the given key, or lowers the key of {@code id} if it is already in this heap with a
+     * greater key. Has no effect if {@code id} is already in this heap with a key no greater than {@code key}.
+     *
+     * @param id  The id to insert or update, in the range [0, capacity).
+     * @param key The new key of {@code id}.
+     * @return {@literal true} if and only if this heap was changed.
+     */
+    public boolean insertOrDecrease(int id, double key) {
+        int position = positions[id];
+        if (position == -1) {
+            position = size++;
+            heap[position] = id;
+            positions[id] = position;
+        } else if (key >= keys[id]) {
+            return false;
+        }
+        keys[id] = key;
+        siftUp(position);
+        checkRep();
+        return true;
+    }
+
+    /**
+     * @return The smallest key in this heap.
+     * @throws NoSuchElementException if this heap is empty.
+     */
+    public double minKey() {
+        if (size == 0) {
+            throw new NoSuchElementException("The heap is empty.");
+        }
+        return keys[heap[0]];
+    }
+
+    /**
+     * Removes and returns the id with the smallest key in this heap.
+     *
+     * @return The id with the smallest key.
+     * @throws NoSuchElementException if this heap is empty.
+     */
+    public int pollMin() {
+        if (size == 0) {
+            throw new NoSuchElementException("The heap is empty.");
+        }
+        int min = heap[0];
+        positions[min] = -1;
+        size--;
+        if (size > 0) {
+            int last = heap[size];
+            heap[0] = last;
+            positions[last] = 0;
+            siftDown(0);
+        }
+        checkRep();
+        return min;
+    }
+
+    /**
+     * Removes every id from this heap, in time proportional to the number of ids removed.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[heap[i]] = -1;
+        }
+        size = 0;
+        checkRep();
+    }
+
+    private void siftUp(int position) {
+        int id = heap[position];
+        double key = keys[id];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            int parentId = heap[parent];
+            if (keys[parentId] <= key) {
+                break;
+            }
+            heap[position] = parentId;
+            positions[parentId] = position;
+            position = parent;
+        }
+        heap[position] = id;
+        positions[id] = position;
+    }
+
+    private void siftDown(int position) {
+        int id = heap[position];
+        double key = keys[id];
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && keys[heap[child + 1]] < keys[heap[child]]) {
+                child++;
+            }
+            int childId = heap[child];
+            if (key <= keys[childId]) {
+                break;
+            }
+            heap[position] = childId;
+            positions[childId] = position;
+            position = child;
+        }
+        heap[position] = id;
+        positions[id] = position;
+    }
+
+    /**
+     * Ensures that the representation invariant has not been violated. Returns normally if
+     * there is no violation.
+     */
+    private void checkRep() {
+        assert heap != null && keys != null && positions != null;
+        assert 0 <= size && size <= heap.length;
+        if (DEBUG) {
+            for (int i = 0; i < size; i++) {
+                assert positions[heap[i]] == i;
+                if (i > 0) {
+                    assert keys[heap[(i - 1) / 2]] <= keys[heap[i]];
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package pathfinder.datastructures;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Represents a mutable pairing heap over the dense integer ids [0, capacity), each keyed by a primitive double, with
+ * decrease-key like IndexedMinHeap. The heap is a tree whose root has the smallest key: inserting an id or lowering
+ * its key cuts it loose and links it with the root in constant time, and removing the minimum pairs up the children
+ * of the root, left to right, then merges the pairs right to left. That makes decrease-key, which shortest path
+ * searches call far more often than they remove the minimum, cheaper than in a binary heap, at the price of chasing
+ * pointers instead of reading one array. The tree is kept in flat arrays indexed by id, so no operation allocates.
+ */
+public class IndexedPairingHeap implements IndexedPriorityQueue {
+
+    // AF(this) = the set of ids in the tree rooted at root, where the id i has the key keys[i], the first child
+    //              child[i] and the next sibling sibling[i]
+
+    // Rep Invariant:
+    //      keys != null && child != null && sibling != null && previous != null && scratch != null &&
+    //      all of the arrays have the same length &&
+    //      0 <= size <= keys.length && (root == -1 if and only if size == 0) &&
+    //      previous[id] == ABSENT if and only if id is not in the tree &&
+    //      previous[root] == -1 && sibling[root] == -1 &&
+    //      for every id in the tree other than root, previous[id] is its parent if it is the first child, or its
+    //          previous sibling otherwise &&
+    //      keys[parent] <= keys[id] for every id in the tree and its parent
+
+    private static final boolean DEBUG = false;
+
+    /**
+     * The value of previous for the ids that are not in the heap.
+     */
+    private static final int ABSENT = -2;
+
+    /**
+     * The key of each id, indexed by id.
+     */
+    private final double[] keys;
+
+    /**
+     * The first child of each id, or -1 if it has none, indexed by id.
+     */
+    private final int[] child;
+
+    /**
+     * The next sibling of each id, or -1 if it has none, indexed by id.
+     */
+    private final int[] sibling;
+
+    /**
+     * The parent of each id that is a first child, the previous sibling of every other id in the heap, -1 for the
+     * root, or ABSENT for the ids that are not in the heap, indexed by id.
+     */
+    private final int[] previous;
+
+    /**
+     * Room for the children of the root while it is removed, and for the ids being cleared.
+     */
+    private final int[] scratch;
+
+    /**
+     * The id with the smallest key, or -1 if the heap is empty.
+     */
+    private int root;
+
+    /**
+     * The number of ids currently in the heap.
+     */
+    private int size;
+
+    /**
+     * Creates a new, empty heap that can hold the ids [0, capacity).
+     *
+     * @param capacity the number of distinct ids this heap can hold
+     * @throws IllegalArgumentException if capacity is negative
+     */
+    public IndexedPairingHeap(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative.");
+        }
+        keys = new double[capacity];
+        child = new int[capacity];
+        sibling = new int[capacity];
+        previous = new int[capacity];
+        scratch = new int[capacity];
+        Arrays.fill(previous, ABSENT);
+        root = -1;
+        size = 0;
+        checkRep();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean contains(int id) {
+        return previous[id] != ABSENT;
+    }
+
+    @Override
+    public boolean insertOrDecrease(int id, double key) {
+        if (previous[id] == ABSENT) {
+            keys[id] = key;
+            child[id] = -1;
+            size++;
+            root = root == -1 ? id : link(root, id);
+        } else if (key >= keys[id]) {
+            return false;
+        } else {
+            keys[id] = key;
+            if (id != root) {
+                cut(id);
+                root = link(root, id);
+            }
+        }
+        previous[root] = -1;
+        sibling[root] = -1;
+        checkRep();
+        return true;
+    }
+
+    @Override
+    public double minKey() {
+        if (size == 0) {
+            throw new NoSuchElementException("The heap is empty.");
+        }
+        return keys[root];
+    }
+
+    @Override
+    public int pollMin() {
+        if (size == 0) {
+            throw new NoSuchElementException("The heap is empty.");
+        }
+        int min = root;
+        int count = 0;
+        for (int c = child[min]; c != -1; c = sibling[c]) {
+            scratch[count++] = c;
+        }
+        previous[min] = ABSENT;
+        size--;
+        if (count == 0) {
+            root = -1;
+        } else {
+            // Link the children in pairs from left to right, then merge the pairs from right to left
+            int pairs = 0;
+            for (int i = 0; i + 1 < count; i += 2) {
+                scratch[pairs++] = link(scratch[i], scratch[i + 1]);
+            }
+            if (count % 2 == 1) {
+                scratch[pairs++] = scratch[count - 1];
+            }
+            int merged = scratch[pairs - 1];
+            for (int i = pairs - 2; i >= 0; i--) {
+                merged = link(scratch[i], merged);
+            }
+            root = merged;
+            previous[root] = -1;
+            sibling[root] = -1;
+        }
+        checkRep();
+        return min;
+    }
+
+    @Override
+    public void clear() {
+        if (root != -1) {
+            int count = 0;
+            scratch[count++] = root;
+            while (count > 0) {
+                int id = scratch[--count];
+                for (int c = child[id]; c != -1; c = sibling[c]) {
+                    scratch[count++] = c;
+                }
+                previous[id] = ABSENT;
+            }
+        }
+        root = -1;
+        size = 0;
+        checkRep();
+    }
+
+    // Makes the tree rooted at the id with the greater key the first child of the other, and returns the other
+    private int link(int a, int b) {
+        if (keys[b] < keys[a]) {
+            int t = a;
+            a = b;
+            b = t;
+        }
+        int first = child[a];
+        sibling[b] = first;
+        if (first != -1) {
+            previous[first] = b;
+        }
+        previous[b] = a;
+        child[a] = b;
+        sibling[a] = -1;
+        previous[a] = -1;
+        return a;
+    }
+
+    // Detaches the tree rooted at id, which is not the root, from its parent and siblings
+    private void cut(int id) {
+        int before = previous[id];
+        int after = sibling[id];
+        if (child[before] == id) {
+            child[before] = after;
+        } else {
+            sibling[before] = after;
+        }
+        if (after != -1) {
+            previous[after] = before;
+        }
+        sibling[id] = -1;
+        previous[id] = -1;
+    }
+
+    /**
+     * Ensures that the representation invariant has not been violated. Returns normally if
+     * there is no violation.
+     */
+    private void checkRep() {
+        assert keys != null && child != null && sibling != null && previous != null && scratch != null;
+        assert 0 <= size && size <= keys.length && (root == -1) == (size == 0);
+        if (DEBUG && root != -1) {
+            assert previous[root] == -1 && sibling[root] == -1;
+            int[] stack = new int[size];
+            int count = 0;
+            int seen = 0;
+            stack[count++] = root;
+            while (count > 0) {
+                int id = stack[--count];
+                seen++;
+                int before = id;
+                for (int c = child[id]; c != -1; c = sibling[c]) {
+                    assert previous[c] == before && keys[id] <= keys[c];
+                    before = c;
+                    stack[count++] = c;
+                }
+            }
+            assert seen == size;
+        }
+    }
+}
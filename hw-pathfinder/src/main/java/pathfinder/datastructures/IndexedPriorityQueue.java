@@ -0,0 +1,57 @@
+package pathfinder.datastructures;
+
+import java.util.NoSuchElementException;
+
+/**
+ * An IndexedPriorityQueue is a mutable min-priority queue over the dense integer ids [0, capacity), each keyed by a
+ * primitive double. An id is held at most once, and its key can be lowered in place (decrease-key), so a search that
+ * finds a cheaper path to a queued node updates it instead of queueing a stale duplicate. Implementations differ only
+ * in the cost of each operation, so a search can be handed any of them.
+ */
+public interface IndexedPriorityQueue {
+
+    /**
+     * @return {@literal true} if and only if this queue holds no ids.
+     */
+    boolean isEmpty();
+
+    /**
+     * @return The number of ids in this queue.
+     */
+    int size();
+
+    /**
+     * @param id The id to look up, in the range [0, capacity).
+     * @return {@literal true} if and only if {@code id} is in this queue.
+     */
+    boolean contains(int id);
+
+    /**
+     * Inserts {@code id} with the given key, or lowers the key of {@code id} if it is already in this queue with a
+     * greater key. Has no effect if {@code id} is already in this queue with a key no greater than {@code key}.
+     *
+     * @param id  The id to insert or update, in the range [0, capacity).
+     * @param key The new key of {@code id}.
+     * @return {@literal true} if and only if this queue was changed.
+     */
+    boolean insertOrDecrease(int id, double key);
+
+    /**
+     * @return The smallest key in this queue.
+     * @throws NoSuchElementException if this queue is empty.
+     */
+    double minKey();
+
+    /**
+     * Removes and returns the id with the smallest key in this queue.
+     *
+     * @return The id with the smallest key.
+     * @throws NoSuchElementException if this queue is empty.
+     */
+    int pollMin();
+
+    /**
+     * Removes every id from this queue, in time proportional to the number of ids removed.
+     */
+    void clear();
+}
@@ -0,0 +1,436 @@
+package pathfinder.parser;
+
+import graph.CompressedGraph;
+import graph.LabeledGraph;
+import graph.WeightedGraph;
+import pathfinder.LandmarkHeuristic;
+import pathfinder.datastructures.Point;
+import pathfinder.parser.CampusPathsParser.ParserException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * A utility class capable of writing a campus graph to a compact binary file and loading it back by memory-mapping
+ * the file, which is much faster than parsing campus_paths.csv and rebuilding the graph from it. CampusMap still
+ * builds the campus graph from campus_paths.csv: a file records no fingerprint of the CSV it was written from, so a
+ * map loaded from it could not tell that the campus data has changed since.
+ *
+ * A file holds a header followed by a payload, all in big-endian byte order:
+ * <pre>
+ *   header:  int magic ("HMG1"), int format version, int node count n, int edge count m, long CRC32 of the payload
+ *   payload: n pairs of doubles (x, y), the coordinates of the node with each id
+ *            n + 1 ints, the index of the first outgoing edge of every node followed by m
+ *            m ints, the id of the target node of every edge
+ *            m doubles, the weight of every edge
+ * </pre>
+ *
+ * A compressed campus graph is written to a file of its own, which keeps the edges in the encoding of
+ * {@link CompressedGraph}:
+ * <pre>
+ *   header:  int magic ("HMC1"), int format version, int node count n, int edge count m, double quantum,
+ *            long CRC32 of the payload
+ *   payload: n pairs of doubles (x, y), the coordinates of the node with each id
+ *            the encoded edges of every node, up to the end of the file
+ * </pre>
+ *
+ * The landmark tables of a {@link LandmarkHeuristic} over a campus graph are written to a file of their own, together
+ * with the CRC32 of the payload of the graph file of that graph, so that tables left over from another graph are
+ * rejected instead of misdirecting searches:
+ * <pre>
+ *   header:  int magic ("HML1"), int format version, int node count n, int landmark count k, long CRC32 of the graph,
+ *            long CRC32 of the payload
+ *   payload: k ints, the id of every landmark
+ *            n * k doubles, the cost from every landmark to every node, in rows of k costs per node
+ *            n * k doubles, the cost from every node to every landmark, in rows of k costs per node
+ * </pre>
+ */
+public final class CampusGraphFile {
+
+    private static final int MAGIC = 0x484D4731;
+
+    private static final int VERSION = 1;
+
+    private static final int HEADER_BYTES = 4 + 4 + 4 + 4 + 8;
+
+    private static final int COMPRESSED_MAGIC = 0x484D4331;
+
+    private static final int COMPRESSED_VERSION = 1;
+
+    private static final int COMPRESSED_HEADER_BYTES = 4 + 4 + 4 + 4 + 8 + 8;
+
+    private static final int LANDMARK_MAGIC = 0x484D4C31;
+
+    private static final int LANDMARK_VERSION = 1;
+
+    private static final int LANDMARK_HEADER_BYTES = 4 + 4 + 4 + 4 + 8 + 8;
+
+    private CampusGraphFile() {
+    }
+
+    /**
+     * Writes the given campus graph to the given file, replacing the file if it already exists
+     *
+     * @param graph The campus graph to write, whose labels are the lengths of the paths.
+     * @param file  The file to write the graph to.
+     * @throws IOException              if the file cannot be written
+     * @throws IllegalArgumentException if the graph is too large to be held in one file
+     */
+    public static void write(LabeledGraph<Point, Double> graph, Path file) throws IOException {
+        write(WeightedGraph.of(graph), file);
+    }
+
+    /**
+     * Writes the given primitive weighted campus graph to the given file, replacing the file if it already exists.
+     * Loading the file with {@link #read(Path)} gives every node the same id it has in {@code graph}.
+     *
+     * @param graph The campus graph to write.
+     * @param file  The file to write the graph to.
+     * @throws IOException              if the file cannot be written
+     * @throws IllegalArgumentException if the graph is too large to be held in one file
+     */
+    public static void write(WeightedGraph<Point> graph, Path file) throws IOException {
+        int nodes = graph.size();
+        int edges = graph.edgeCount();
+        long length = HEADER_BYTES + payloadBytes(nodes, edges);
+        if (length > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Graph too large to write: " + length + " bytes");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate((int) length);
+        buffer.position(HEADER_BYTES);
+        putGraph(buffer, graph);
+        buffer.flip();
+        buffer.position(HEADER_BYTES);
+        CRC32 crc = new CRC32();
+        crc.update(buffer);
+        buffer.rewind();
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(nodes).putInt(edges).putLong(crc.getValue());
+        buffer.rewind();
+        replace(file, buffer);
+    }
+
+    // Puts the payload of a file holding the given graph into the given buffer at its position
+    private static void putGraph(ByteBuffer buffer, WeightedGraph<Point> graph) {
+        int nodes = graph.size();
+        int edges = graph.edgeCount();
+        for (int id = 0; id < nodes; id++) {
+            Point point = graph.nodeOf(id);
+            buffer.putDouble(point.getX());
+            buffer.putDouble(point.getY());
+        }
+        for (int id = 0; id < nodes; id++) {
+            buffer.putInt(graph.edgeStart(id));
+        }
+        buffer.putInt(edges);
+        for (int edge = 0; edge < edges; edge++) {
+            buffer.putInt(graph.targetAt(edge));
+        }
+        for (int edge = 0; edge < edges; edge++) {
+            buffer.putDouble(graph.weightAt(edge));
+        }
+    }
+
+    /**
+     * Loads a campus graph written by {@link #write(WeightedGraph, Path)} by memory-mapping the given file
+     *
+     * @param file The file to load the graph from.
+     * @return A primitive weighted graph holding the nodes, ids and edges of the graph that was written.
+     * @throws IOException     if the file cannot be read
+     * @throws ParserException if the file is not a campus graph file, was written by an unknown format version, is
+     *                         truncated, or fails its checksum
+     */
+    public static WeightedGraph<Point> read(Path file) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES || channel.size() > Integer.MAX_VALUE) {
+                throw new ParserException("Not a campus graph file: " + file);
+            }
+            // The mapping stays valid after the channel is closed
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.getInt() != MAGIC) {
+            throw new ParserException("Not a campus graph file: " + file);
+        }
+        int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new ParserException("Unknown campus graph file version " + version);
+        }
+        int nodes = buffer.getInt();
+        int edges = buffer.getInt();
+        long checksum = buffer.getLong();
+        if (nodes < 0 || edges < 0 || buffer.remaining() != payloadBytes(nodes, edges)) {
+            throw new ParserException("Truncated campus graph file: " + file);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate());
+        if (crc.getValue() != checksum) {
+            throw new ParserException("Checksum mismatch in campus graph file: " + file);
+        }
+
+        List<Point> points = new ArrayList<>(nodes);
+        for (int id = 0; id < nodes; id++) {
+            points.add(new Point(buffer.getDouble(), buffer.getDouble()));
+        }
+        int[] offsets = new int[nodes + 1];
+        int[] targets = new int[edges];
+        double[] weights = new double[edges];
+        buffer.asIntBuffer().get(offsets);
+        buffer.position(buffer.position() + 4 * offsets.length);
+        buffer.asIntBuffer().get(targets);
+        buffer.position(buffer.position() + 4 * targets.length);
+        buffer.asDoubleBuffer().get(weights);
+        try {
+            return WeightedGraph.fromArrays(points, offsets, targets, weights);
+        } catch (IllegalArgumentException e) {
+            throw new ParserException("Malformed campus graph file: " + file, e);
+        }
+    }
+
+    /**
+     * Writes the given compressed campus graph to the given file, replacing the file if it already exists. Loading the
+     * file with {@link #readCompressed(Path)} gives every node the same id it has in {@code graph}.
+     *
+     * @param graph The compressed campus graph to write.
+     * @param file  The file to write the graph to.
+     * @throws IOException              if the file cannot be written
+     * @throws IllegalArgumentException if the graph is too large to be held in one file
+     */
+    public static void writeCompressed(CompressedGraph<Point> graph, Path file) throws IOException {
+        int nodes = graph.size();
+        byte[] encoding = graph.encoding();
+        long length = COMPRESSED_HEADER_BYTES + 16L * nodes + encoding.length;
+        if (length > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Graph too large to write: " + length + " bytes");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate((int) length);
+        buffer.position(COMPRESSED_HEADER_BYTES);
+        for (int id = 0; id < nodes; id++) {
+            Point point = graph.nodeOf(id);
+            buffer.putDouble(point.getX());
+            buffer.putDouble(point.getY());
+        }
+        buffer.put(encoding);
+        buffer.flip();
+        buffer.position(COMPRESSED_HEADER_BYTES);
+        CRC32 crc = new CRC32();
+        crc.update(buffer);
+        buffer.rewind();
+        buffer.putInt(COMPRESSED_MAGIC).putInt(COMPRESSED_VERSION).putInt(nodes).putInt(graph.edgeCount())
+              .putDouble(graph.quantum()).putLong(crc.getValue());
+        buffer.rewind();
+        replace(file, buffer);
+    }
+
+    /**
+     * Loads a compressed campus graph written by {@link #writeCompressed(CompressedGraph, Path)} by memory-mapping the
+     * given file
+     *
+     * @param file The file to load the graph from.
+     * @return A compressed graph holding the nodes, ids and edges of the graph that was written.
+     * @throws IOException     if the file cannot be read
+     * @throws ParserException if the file is not a compressed campus graph file, was written by an unknown format
+     *                         version, is truncated, or fails its checksum
+     */
+    public static CompressedGraph<Point> readCompressed(Path file) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < COMPRESSED_HEADER_BYTES || channel.size() > Integer.MAX_VALUE) {
+                throw new ParserException("Not a compressed campus graph file: " + file);
+            }
+            // The mapping stays valid after the channel is closed
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.getInt() != COMPRESSED_MAGIC) {
+            throw new ParserException("Not a compressed campus graph file: " + file);
+        }
+        int version = buffer.getInt();
+        if (version != COMPRESSED_VERSION) {
+            throw new ParserException("Unknown compressed campus graph file version " + version);
+        }
+        int nodes = buffer.getInt();
+        int edges = buffer.getInt();
+        double quantum = buffer.getDouble();
+        long checksum = buffer.getLong();
+        if (nodes < 0 || edges < 0 || buffer.remaining() < 16L * nodes) {
+            throw new ParserException("Truncated compressed campus graph file: " + file);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate());
+        if (crc.getValue() != checksum) {
+            throw new ParserException("Checksum mismatch in compressed campus graph file: " + file);
+        }
+
+        List<Point> points = new ArrayList<>(nodes);
+        for (int id = 0; id < nodes; id++) {
+            points.add(new Point(buffer.getDouble(), buffer.getDouble()));
+        }
+        byte[] encoding = new byte[buffer.remaining()];
+        buffer.get(encoding);
+        CompressedGraph<Point> graph;
+        try {
+            graph = CompressedGraph.fromEncoding(points, encoding, quantum);
+        } catch (IllegalArgumentException e) {
+            throw new ParserException("Malformed compressed campus graph file: " + file, e);
+        }
+        if (graph.edgeCount() != edges) {
+            throw new ParserException("Malformed compressed campus graph file: " + file);
+        }
+        return graph;
+    }
+
+    /**
+     * Writes the landmark tables of the given heuristic over the given campus graph to the given file, replacing the
+     * file if it already exists
+     *
+     * @param landmarks The heuristic to write the tables of.
+     * @param graph     The campus graph the heuristic was built for.
+     * @param file      The file to write the tables to.
+     * @throws IOException              if the file cannot be written
+     * @throws IllegalArgumentException if the heuristic was not built for a graph of the size of {@code graph}, or
+     *                                  the tables are too large to be held in one file
+     */
+    public static void writeLandmarks(LandmarkHeuristic landmarks, WeightedGraph<Point> graph, Path file)
+            throws IOException {
+        int nodes = landmarks.size();
+        int count = landmarks.landmarkCount();
+        if (nodes != graph.size()) {
+            throw new IllegalArgumentException("Landmarks of " + nodes + " nodes do not fit a graph of "
+                                               + graph.size());
+        }
+        long length = LANDMARK_HEADER_BYTES + landmarkPayloadBytes(nodes, count);
+        if (length > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Landmarks too large to write: " + length + " bytes");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate((int) length);
+        buffer.position(LANDMARK_HEADER_BYTES);
+        for (int landmark : landmarks.landmarks()) {
+            buffer.putInt(landmark);
+        }
+        for (double cost : landmarks.fromLandmarks()) {
+            buffer.putDouble(cost);
+        }
+        for (double cost : landmarks.toLandmarks()) {
+            buffer.putDouble(cost);
+        }
+        buffer.flip();
+        buffer.position(LANDMARK_HEADER_BYTES);
+        CRC32 crc = new CRC32();
+        crc.update(buffer);
+        buffer.rewind();
+        buffer.putInt(LANDMARK_MAGIC).putInt(LANDMARK_VERSION).putInt(nodes).putInt(count).putLong(checksum(graph))
+              .putLong(crc.getValue());
+        buffer.rewind();
+        replace(file, buffer);
+    }
+
+    /**
+     * Loads the landmark tables written by {@link #writeLandmarks(LandmarkHeuristic, WeightedGraph, Path)} for the
+     * given campus graph by memory-mapping the given file
+     *
+     * @param file  The file to load the tables from.
+     * @param graph The campus graph the tables must have been written for.
+     * @return A heuristic over the landmarks and costs that were written.
+     * @throws IOException     if the file cannot be read
+     * @throws ParserException if the file is not a landmark file, was written by an unknown format version, is
+     *                         truncated, fails its checksum, or was written for a graph other than {@code graph}
+     */
+    public static LandmarkHeuristic readLandmarks(Path file, WeightedGraph<Point> graph) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < LANDMARK_HEADER_BYTES || channel.size() > Integer.MAX_VALUE) {
+                throw new ParserException("Not a landmark file: " + file);
+            }
+            // The mapping stays valid after the channel is closed
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.getInt() != LANDMARK_MAGIC) {
+            throw new ParserException("Not a landmark file: " + file);
+        }
+        int version = buffer.getInt();
+        if (version != LANDMARK_VERSION) {
+            throw new ParserException("Unknown landmark file version " + version);
+        }
+        int nodes = buffer.getInt();
+        int count = buffer.getInt();
+        long graphChecksum = buffer.getLong();
+        long checksum = buffer.getLong();
+        if (nodes < 0 || count < 0 || buffer.remaining() != landmarkPayloadBytes(nodes, count)) {
+            throw new ParserException("Truncated landmark file: " + file);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate());
+        if (crc.getValue() != checksum) {
+            throw new ParserException("Checksum mismatch in landmark file: " + file);
+        }
+        if (nodes != graph.size() || graphChecksum != checksum(graph)) {
+            throw new ParserException("Landmark file written for another graph: " + file);
+        }
+
+        int[] landmarks = new int[count];
+        double[] fromLandmarks = new double[nodes * count];
+        double[] toLandmarks = new double[nodes * count];
+        buffer.asIntBuffer().get(landmarks);
+        buffer.position(buffer.position() + 4 * landmarks.length);
+        buffer.asDoubleBuffer().get(fromLandmarks);
+        buffer.position(buffer.position() + 8 * fromLandmarks.length);
+        buffer.asDoubleBuffer().get(toLandmarks);
+        try {
+            return LandmarkHeuristic.fromTables(landmarks, fromLandmarks, toLandmarks);
+        } catch (IllegalArgumentException e) {
+            throw new ParserException("Malformed landmark file: " + file, e);
+        }
+    }
+
+    // Returns the CRC32 of the payload of a file holding the given graph
+    private static long checksum(WeightedGraph<Point> graph) {
+        long length = payloadBytes(graph.size(), graph.edgeCount());
+        if (length > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Graph too large to write: " + length + " bytes");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate((int) length);
+        putGraph(buffer, graph);
+        buffer.flip();
+        CRC32 crc = new CRC32();
+        crc.update(buffer);
+        return crc.getValue();
+    }
+
+    // Returns the number of bytes in the payload of a landmark file holding the given numbers of nodes and landmarks
+    private static long landmarkPayloadBytes(int nodes, int count) {
+        return 4L * count + 16L * nodes * count;
+    }
+
+    // Returns the number of bytes in the payload of a file holding the given numbers of nodes and edges
+    private static long payloadBytes(int nodes, int edges) {
+        return 16L * nodes + 4L * (nodes + 1) + 4L * edges + 8L * edges;
+    }
+
+    // Replaces the given file with the remaining bytes of the given buffer. The bytes are written to a new file of
+    // their own in the same directory, which is then renamed over the given file, so that a reader never sees a
+    // partly written file, and a symbolic link at the given file is replaced rather than followed.
+    private static void replace(Path file, ByteBuffer buffer) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, LinkOption.NOFOLLOW_LINKS)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, LinkOption.NOFOLLOW_LINKS);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package pathfinder.junitTests;
+
+import graph.Graph;
+import graph.WeightedGraph;
+import org.junit.Test;
+import pathfinder.AStar;
+import pathfinder.Dijkstra;
+import pathfinder.EuclideanHeuristic;
+import pathfinder.Heuristic;
+import pathfinder.SearchStatistics;
+import pathfinder.datastructures.Path;
+import pathfinder.datastructures.Point;
+import pathfinder.fixtures.GraphFixtures;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class TestAStar {
+
+    private static final double EPSILON = Math.pow(10.0D, -9.0D); // Accuracy required to 1 PPB
+
+    @Test
+    public void testMatchesDijkstraOnGrid() {
+        WeightedGraph<Point> graph = GraphFixtures.gridGraph(30, 10, 0.5, 331);
+        EuclideanHeuristic heuristic = EuclideanHeuristic.calibrated(graph);
+        Random random = new Random(332);
+        for (int i = 0; i < 50; i++) {
+            Point src = graph.nodeOf(random.nextInt(graph.size()));
+            Point dest = graph.nodeOf(random.nextInt(graph.size()));
+            Path<Point> expected = Dijkstra.dijkstra(graph, src, dest);
+            Path<Point> actual = AStar.aStar(graph, src, dest, heuristic);
+            assertEquals(expected.getCost(), actual.getCost(), EPSILON);
+            assertEquals(dest, actual.getEnd());
+        }
+    }
+
+    @Test
+    public void testSettlesFewerNodesThanDijkstra() {
+        WeightedGraph<Point> graph = GraphFixtures.gridGraph(50, 10, 0.5, 333);
+        EuclideanHeuristic heuristic = EuclideanHeuristic.calibrated(graph);
+        SearchStatistics dijkstra = new SearchStatistics();
+        SearchStatistics aStar = new SearchStatistics();
+        Point src = new Point(100, 100);
+        Point dest = new Point(300, 300);
+        AStar.aStar(graph, src, dest, Heuristic.none(), dijkstra);
+        AStar.aStar(graph, src, dest, heuristic, aStar);
+
+        assertTrue(aStar.getSettledNodes() * 2 < dijkstra.getSettledNodes());
+        assertTrue(aStar.getRelaxedEdges() < dijkstra.getRelaxedEdges());
+    }
+
+    @Test
+    public void testNoHeuristicFindsSamePathAsDijkstra() {
+        WeightedGraph<Point> graph = GraphFixtures.gridGraph(10, 10, 0.5, 334);
+        Path<Point> expected = Dijkstra.dijkstra(graph, new Point(0, 0), new Point(90, 40));
+        Path<Point> actual = AStar.aStar(graph, new Point(0, 0), new Point(90, 40), Heuristic.none());
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void testSameNode() {
+        WeightedGraph<Point> graph = GraphFixtures.gridGraph(5, 10, 0.5, 335);
+        Path<Point> path = AStar.aStar(graph, new Point(0, 0), new Point(0, 0), EuclideanHeuristic.calibrated(graph));
+
+        assertEquals(0.0, path.getCost(), EPSILON);
+        assertFalse(path.iterator().hasNext());
+    }
+
+    @Test
+    public void testUnreachable() {
+        Graph<Point, Double> graph = new Graph<>();
+        graph.addNode(new Point(0, 0));
+        graph.addNode(new Point(3, 4));
+        graph.addNode(new Point(6, 8));
+        graph.addEdge(new Point(0, 0), new Point(3, 4), 5.0);
+        WeightedGraph<Point> weighted = WeightedGraph.of(graph);
+        Path<Point> path = AStar.aStar(weighted, new Point(0, 0), new Point(6, 8),
+                                       EuclideanHeuristic.calibrated(weighted));
+
+        assertEquals(new Point(0, 0), path.getEnd());
+        assertFalse(path.iterator().hasNext());
+        Iterator<Path<Point>.Segment> itr = AStar.aStar(weighted, new Point(0, 0), new Point(3, 4),
+                                                        Heuristic.none()).iterator();
+        assertEquals(new Point(3, 4), itr.next().getEnd());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownSource() {
+        WeightedGraph<Point> graph = GraphFixtures.gridGraph(3, 10, 0.5, 336);
+        AStar.aStar(graph, new Point(-1, -1), new Point(0, 0), Heuristic.none());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownSourceOfLabeledGraph() {
+        Graph<Point, Double> graph = new Graph<>();
+        graph.addNode(new Point(0, 0));
+        AStar.aStar(graph, new Point(-1, -1), new Point(0, 0), point -> 0.0);
+    }
+
+    @Test
+    public void testLabeledGraphKeepsEdgeLabels() {
+        Graph<Point, Double> graph = new Graph<>();
+        graph.addNodes(Arrays.asList(new Point(0, 0), new Point(1, 0), new Point(2, 0), new Point(3, 0)));
+        graph.addEdge(new Point(0, 0), new Point(1, 0), 0.1);
+        graph.addEdge(new Point(1, 0), new Point(2, 0), 0.2);
+        graph.addEdge(new Point(0, 0), new Point(2, 0), 0.4);
+        graph.addEdge(new Point(2, 0), new Point(3, 0), 0.7);
+        Path<Point> path = AStar.aStar(graph, new Point(0, 0), new Point(3, 0), point -> 0.0);
+
+        Iterator<Path<Point>.Segment> itr = path.iterator();
+        assertEquals(0.1, itr.next().getCost(), 0.0);
+        assertEquals(0.2, itr.next().getCost(), 0.0);
+        assertEquals(0.7, itr.next().getCost(), 0.0);
+        assertFalse(itr.hasNext());
+    }
+
+    @Test
+    public void testCalibratedHeuristicIsConsistentOnCampus() {
+        WeightedGraph<Point> graph = WeightedGraph.of(GraphFixtures.campusGraph());
+        EuclideanHeuristic heuristic = EuclideanHeuristic.calibrated(graph);
+
+        assertTrue(heuristic.scale() > 0);
+        for (int id = 0; id < graph.size(); id += 211) {
+            assertTrue(AStar.isConsistent(graph, graph.nodeOf(id), heuristic));
+        }
+    }
+
+    @Test
+    public void testOverestimatingHeuristicIsNotConsistent() {
+        WeightedGraph<Point> graph = WeightedGraph.of(GraphFixtures.campusGraph());
+        double scale = EuclideanHeuristic.calibrated(graph).scale();
+
+        assertFalse(AStar.isConsistent(graph, graph.nodeOf(0), (node, target) -> {
+            Point p = graph.nodeOf(node);
+            Point q = graph.nodeOf(target);
+            return 2 * scale * Math.hypot(p.getX() - q.getX(), p.getY() - q.getY());
+        }));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testScaleTooLargeForCampus() {
+        WeightedGraph<Point> graph = WeightedGraph.of(GraphFixtures.campusGraph());
+        new EuclideanHeuristic(graph, 1.01 * EuclideanHeuristic.calibrated(graph).scale());
+    }
+
+    @Test
+    public void testStatisticsAccumulate() {
+        WeightedGraph<Point> graph = GraphFixtures.gridGraph(5, 10, 0.5, 337);
+        SearchStatistics statistics = new SearchStatistics();
+        AStar.aStar(graph, new Point(0, 0), new Point(40, 40), Heuristic.none(), statistics);
+        long once = statistics.getSettledNodes();
+        AStar.aStar(graph, new Point(0, 0), new Point(40, 40), Heuristic.none(), statistics);
+
+        assertEquals(2 * once, statistics.getSettledNodes());
+        statistics.reset();
+        assertEquals(0, statistics.getSettledNodes());
+        assertEquals(0, statistics.getRelaxedEdges());
+    }
+}
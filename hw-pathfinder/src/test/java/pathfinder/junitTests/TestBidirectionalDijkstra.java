@@ -0,0 +1,141 @@
+package pathfinder.junitTests;
+
+import graph.Graph;
+import graph.WeightedGraph;
+import org.junit.Test;
+import pathfinder.AStar;
+import pathfinder.BidirectionalDijkstra;
+import pathfinder.Dijkstra;
+import pathfinder.Heuristic;
+import pathfinder.SearchStatistics;
+import pathfinder.datastructures.Path;
+import pathfinder.datastructures.Point;
+import pathfinder.fixtures.GraphFixtures;
+
+import java.util.Iterator;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class TestBidirectionalDijkstra {
+
+    private static final double EPSILON = Math.pow(10.0D, -9.0D); // Accuracy required to 1 PPB
+
+    // Asserts that the given path is a chain of edges of the graph from src to dest whose weights add up to its cost
+    private static <T> void assertValidPath(WeightedGraph<T> graph, T src, T dest, Path<T> path) {
+        T current = src;
+        double total = 0.0;
+        for (Path<T>.Segment segment : path) {
+            assertEquals(current, segment.getStart());
+            int id = graph.idOf(current);
+            boolean found = false;
+            for (int edge = graph.edgeStart(id); edge < graph.edgeEnd(id); edge++) {
+                found |= graph.nodeOf(graph.targetAt(edge)).equals(segment.getEnd())
+                        && Math.abs(graph.weightAt(edge) - segment.getCost()) < EPSILON;
+            }
+            assertTrue(found);
+            total += segment.getCost();
+            current = segment.getEnd();
+        }
+        assertEquals(dest, current);
+        assertEquals(total, path.getCost(), EPSILON);
+    }
+
+    @Test
+    public void testMatchesDijkstraOnDirectedGraph() {
+        WeightedGraph<Integer> graph = GraphFixtures.randomGraph(300, 1200, 401);
+        WeightedGraph<Integer> reverse = graph.reverse();
+        Random random = new Random(402);
+        for (int i = 0; i < 200; i++) {
+            int src = random.nextInt(300);
+            int dest = random.nextInt(300);
+            Path<Integer> expected = Dijkstra.dijkstra(graph, src, dest);
+            Path<Integer> actual = BidirectionalDijkstra.dijkstra(graph, reverse, src, dest);
+            assertEquals(expected.getCost(), actual.getCost(), EPSILON);
+            if (expected.iterator().hasNext() || src == dest) {
+                assertValidPath(graph, src, dest, actual);
+            } else {
+                assertFalse(actual.iterator().hasNext());
+            }
+        }
+    }
+
+    @Test
+    public void testMatchesDijkstraOnGrid() {
+        WeightedGraph<Point> graph = GraphFixtures.gridGraph(30, 1, 1, 403);
+        Random random = new Random(404);
+        for (int i = 0; i < 50; i++) {
+            Point src = graph.nodeOf(random.nextInt(graph.size()));
+            Point dest = graph.nodeOf(random.nextInt(graph.size()));
+            Path<Point> actual = BidirectionalDijkstra.dijkstra(graph, graph, src, dest);
+            assertEquals(Dijkstra.dijkstra(graph, src, dest).getCost(), actual.getCost(), EPSILON);
+            assertValidPath(graph, src, dest, actual);
+        }
+    }
+
+    @Test
+    public void testSettlesFewerNodesThanDijkstra() {
+        // Each search explores a ball of half the radius around its end, which on a grid holds a quarter of the nodes
+        WeightedGraph<Point> graph = GraphFixtures.gridGraph(100, 1, 1, 405);
+        SearchStatistics dijkstra = new SearchStatistics();
+        SearchStatistics bidirectional = new SearchStatistics();
+        Point src = new Point(30, 50);
+        Point dest = new Point(70, 50);
+        AStar.aStar(graph, src, dest, Heuristic.none(), dijkstra);
+        BidirectionalDijkstra.dijkstra(graph, graph, src, dest, bidirectional);
+
+        assertTrue(bidirectional.getSettledNodes() * 3 < dijkstra.getSettledNodes() * 2);
+        assertTrue(bidirectional.getRelaxedEdges() < dijkstra.getRelaxedEdges());
+    }
+
+    @Test
+    public void testSameNode() {
+        WeightedGraph<Point> graph = GraphFixtures.gridGraph(5, 1, 1, 406);
+        SearchStatistics statistics = new SearchStatistics();
+        Path<Point> path = BidirectionalDijkstra.dijkstra(graph, graph, new Point(2, 2), new Point(2, 2),
+                                                          statistics);
+
+        assertEquals(0.0, path.getCost(), EPSILON);
+        assertFalse(path.iterator().hasNext());
+        assertEquals(0, statistics.getSettledNodes());
+    }
+
+    @Test
+    public void testOneWayEdge() {
+        Graph<String, Double> graph = new Graph<>();
+        graph.addNode("a");
+        graph.addNode("b");
+        graph.addNode("c");
+        graph.addEdge("a", "b", 1.0);
+        graph.addEdge("b", "c", 2.0);
+        graph.addEdge("c", "a", 0.5);
+        WeightedGraph<String> weighted = WeightedGraph.of(graph);
+        WeightedGraph<String> reverse = weighted.reverse();
+
+        Iterator<Path<String>.Segment> itr = BidirectionalDijkstra.dijkstra(weighted, reverse, "c", "b").iterator();
+        assertEquals("a", itr.next().getEnd());
+        assertEquals("b", itr.next().getEnd());
+        assertFalse(itr.hasNext());
+        assertEquals(3.0, BidirectionalDijkstra.dijkstra(weighted, reverse, "a", "c").getCost(), EPSILON);
+    }
+
+    @Test
+    public void testUnreachable() {
+        Graph<String, Double> graph = new Graph<>();
+        graph.addNode("a");
+        graph.addNode("b");
+        graph.addEdge("b", "a", 1.0);
+        WeightedGraph<String> weighted = WeightedGraph.of(graph);
+        Path<String> path = BidirectionalDijkstra.dijkstra(weighted, weighted.reverse(), "a", "b");
+
+        assertEquals("a", path.getEnd());
+        assertFalse(path.iterator().hasNext());
+        assertFalse(BidirectionalDijkstra.dijkstra(weighted, weighted.reverse(), "a", "z").iterator().hasNext());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownSource() {
+        WeightedGraph<Point> graph = GraphFixtures.gridGraph(3, 1, 1, 407);
+        BidirectionalDijkstra.dijkstra(graph, graph, new Point(-1, -1), new Point(0, 0));
+    }
+}
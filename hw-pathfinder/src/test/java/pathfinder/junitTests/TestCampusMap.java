@@ -0,0 +1,218 @@
+package pathfinder.junitTests;
+
+import org.junit.Test;
+import pathfinder.CampusMap;
+import pathfinder.datastructures.Path;
+import pathfinder.datastructures.Point;
+import pathfinder.parser.CampusPath;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Iterator;
+
+import static org.junit.Assert.*;
+
+public class TestCampusMap {
+
+    private static final double EPSILON = Math.pow(10.0D, -9.0D); // Accuracy required to 1 PPB
+
+    @Test
+    public void testFindShortestPathEndpoints() {
+        CampusMap map = new CampusMap();
+        Path<Point> path = map.findShortestPath("BAG", "CSE");
+        assertEquals(new Point(1914.5103, 1709.8816), path.getStart());
+        assertTrue(path.getCost() > 0);
+    }
+
+    @Test
+    public void testAddPathIsUsedByLaterQueries() {
+        CampusMap map = new CampusMap();
+        Path<Point> before = map.findShortestPath("BAG", "CSE");
+        map.addPath(before.getStart(), before.getEnd(), 1.0);
+        Path<Point> after = map.findShortestPath("BAG", "CSE");
+
+        assertTrue(before.getCost() > 1.0);
+        assertEquals(1.0, after.getCost(), EPSILON);
+        Iterator<Path<Point>.Segment> itr = after.iterator();
+        assertEquals(before.getEnd(), itr.next().getEnd());
+        assertFalse(itr.hasNext());
+    }
+
+    @Test
+    public void testAddPathOnSeparateIsland() {
+        CampusMap map = new CampusMap();
+        Path<Point> before = map.findShortestPath("BAG", "CSE");
+        map.addPath(new Point(-10, -10), new Point(-20, -20), 5.0);
+        Path<Point> after = map.findShortestPath("BAG", "CSE");
+
+        assertEquals(before, after);
+    }
+
+    @Test
+    public void testAddPathJoiningIslandToCampus() {
+        CampusMap map = new CampusMap();
+        Path<Point> before = map.findShortestPath("BAG", "CSE");
+        map.addPath(new Point(-10, -10), new Point(-20, -20), 5.0);
+        map.addPath(before.getEnd(), new Point(-10, -10), 1.0);
+        map.addPath(new Point(-20, -20), before.getStart(), 1.0);
+        Path<Point> after = map.findShortestPath("BAG", "CSE");
+
+        assertEquals(Math.min(before.getCost(), 7.0), after.getCost(), EPSILON);
+    }
+
+    @Test
+    public void testFilteredPathWithEverythingOpen() {
+        CampusMap map = new CampusMap();
+        Path<Point> expected = map.findShortestPath("BAG", "CSE");
+        Path<Point> actual = map.findShortestPath("BAG", "CSE", point -> true, (p1, p2, distance) -> true);
+
+        assertEquals(expected.getCost(), actual.getCost(), EPSILON);
+        Iterator<Path<Point>.Segment> itr = actual.iterator();
+        for (Path<Point>.Segment segment : expected) {
+            assertEquals(segment.getEnd(), itr.next().getEnd());
+        }
+        assertFalse(itr.hasNext());
+    }
+
+    @Test
+    public void testFilteredPathAvoidsClosedPoint() {
+        CampusMap map = new CampusMap();
+        Path<Point> open = map.findShortestPath("BAG", "CSE");
+        Iterator<Path<Point>.Segment> itr = open.iterator();
+        for (int i = 0; i < 5; i++) {
+            itr.next();
+        }
+        // A point halfway along the path, which can be walked around
+        Point closed = itr.next().getEnd();
+        Path<Point> detour = map.findShortestPath("BAG", "CSE", point -> !point.equals(closed),
+                                                  (p1, p2, distance) -> true);
+
+        assertEquals(open.getEnd(), detour.getEnd());
+        assertTrue(detour.getCost() > open.getCost());
+        for (Path<Point>.Segment segment : detour) {
+            assertNotEquals(closed, segment.getEnd());
+        }
+    }
+
+    @Test
+    public void testFilteredPathWithClosedEnd() {
+        CampusMap map = new CampusMap();
+        Point end = map.findShortestPath("BAG", "CSE").getEnd();
+        Path<Point> path = map.findShortestPath("BAG", "CSE", point -> !point.equals(end),
+                                                (p1, p2, distance) -> true);
+
+        assertFalse(path.iterator().hasNext());
+    }
+
+    @Test
+    public void testFilteredPathWithOnlyShortSegments() {
+        CampusMap map = new CampusMap();
+        Path<Point> path = map.findShortestPath("BAG", "CSE", point -> true, (p1, p2, distance) -> distance < 100);
+
+        for (Path<Point>.Segment segment : path) {
+            assertTrue(segment.getCost() < 100);
+        }
+    }
+
+    @Test
+    public void testLandmarkFileIsWrittenAndReused() throws IOException {
+        java.nio.file.Path file = Files.createTempFile("campus", ".landmarks");
+        try {
+            // An empty file is not a landmark file, so the first map picks the landmarks and writes them over it
+            Path<Point> written = new CampusMap(file).findShortestPath("BAG", "CSE", point -> true,
+                                                                       (p1, p2, distance) -> distance < 100);
+            assertTrue(Files.size(file) > 0);
+            Path<Point> read = new CampusMap(file).findShortestPath("BAG", "CSE", point -> true,
+                                                                    (p1, p2, distance) -> distance < 100);
+
+            assertEquals(written.getCost(), read.getCost(), EPSILON);
+            Iterator<Path<Point>.Segment> itr = read.iterator();
+            for (Path<Point>.Segment segment : written) {
+                assertEquals(segment.getEnd(), itr.next().getEnd());
+            }
+            assertFalse(itr.hasNext());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullLandmarkFile() {
+        new CampusMap(null);
+    }
+
+    @Test
+    public void testAddPathsAsOneEdit() {
+        CampusMap map = new CampusMap();
+        Path<Point> before = map.findShortestPath("BAG", "CSE");
+        Point start = before.getStart();
+        Point end = before.getEnd();
+        Point middle = new Point(-100, -100);
+        map.addPaths(Arrays.asList(new CampusPath(start.getX(), start.getY(), middle.getX(), middle.getY(), 1.0),
+                                   new CampusPath(middle.getX(), middle.getY(), end.getX(), end.getY(), 2.0)));
+        Path<Point> after = map.findShortestPath("BAG", "CSE");
+
+        assertEquals(3.0, after.getCost(), EPSILON);
+        Iterator<Path<Point>.Segment> itr = after.iterator();
+        assertEquals(middle, itr.next().getEnd());
+        assertEquals(end, itr.next().getEnd());
+        assertFalse(itr.hasNext());
+    }
+
+    @Test
+    public void testAddPathsWithOneInvalidAddsNone() {
+        CampusMap map = new CampusMap();
+        Path<Point> before = map.findShortestPath("BAG", "CSE");
+        Point start = before.getStart();
+        Point end = before.getEnd();
+        try {
+            map.addPaths(Arrays.asList(new CampusPath(start.getX(), start.getY(), end.getX(), end.getY(), 1.0),
+                                       new CampusPath(0, 0, 1, 1, -1.0)));
+            fail();
+        } catch (IllegalArgumentException e) {
+            // The batch is rejected as a whole
+        }
+
+        assertEquals(before.getCost(), map.findShortestPath("BAG", "CSE").getCost(), EPSILON);
+    }
+
+    @Test
+    public void testQueriesWhileAddingPath() throws InterruptedException {
+        CampusMap map = new CampusMap();
+        Path<Point> before = map.findShortestPath("BAG", "CSE");
+        Thread editor = new Thread(() -> map.addPath(before.getStart(), before.getEnd(), 1.0));
+        editor.start();
+        // Every query sees the campus map either before or after the new path, whether or not its hierarchy is ready
+        while (editor.isAlive()) {
+            double cost = map.findShortestPath("BAG", "CSE").getCost();
+            assertTrue(Math.abs(cost - before.getCost()) < EPSILON || Math.abs(cost - 1.0) < EPSILON);
+        }
+        editor.join();
+
+        assertEquals(1.0, map.findShortestPath("BAG", "CSE").getCost(), EPSILON);
+    }
+
+    @Test
+    public void testFilteredQueriesWhileAddingPath() throws InterruptedException {
+        CampusMap map = new CampusMap();
+        Path<Point> before = map.findShortestPath("BAG", "CSE", point -> true, (p1, p2, distance) -> true);
+        Thread editor = new Thread(() -> map.addPath(before.getStart(), before.getEnd(), 1.0));
+        editor.start();
+        // Every filtered query sees the campus map either before or after the new path, whether or not its landmarks
+        // have been picked
+        while (editor.isAlive()) {
+            double cost = map.findShortestPath("BAG", "CSE", point -> true, (p1, p2, distance) -> true).getCost();
+            assertTrue(Math.abs(cost - before.getCost()) < EPSILON || Math.abs(cost - 1.0) < EPSILON);
+        }
+        editor.join();
+
+        assertEquals(1.0, map.findShortestPath("BAG", "CSE", point -> true, (p1, p2, distance) -> true).getCost(),
+                     EPSILON);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAddPathWithNegativeDistance() {
+        new CampusMap().addPath(new Point(0, 0), new Point(1, 1), -1.0);
+    }
+}
@@ -0,0 +1,183 @@
+package pathfinder.junitTests;
+
+import graph.Graph;
+import graph.WeightedGraph;
+import org.junit.Test;
+import pathfinder.BidirectionalDijkstra;
+import pathfinder.ContractionHierarchy;
+import pathfinder.Dijkstra;
+import pathfinder.SearchStatistics;
+import pathfinder.datastructures.Path;
+import pathfinder.datastructures.Point;
+import pathfinder.fixtures.GraphFixtures;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+public class TestContractionHierarchy {
+
+    private static final double EPSILON = Math.pow(10.0D, -9.0D); // Accuracy required to 1 PPB
+
+    @Test
+    public void testMatchesDijkstraOnDirectedGraph() {
+        WeightedGraph<Integer> graph = GraphFixtures.randomGraph(300, 1200, 501);
+        ContractionHierarchy<Integer> hierarchy = ContractionHierarchy.of(graph);
+        Random random = new Random(502);
+        for (int i = 0; i < 300; i++) {
+            int src = random.nextInt(300);
+            int dest = random.nextInt(300);
+            Path<Integer> expected = Dijkstra.dijkstra(graph, src, dest);
+            Path<Integer> actual = hierarchy.shortestPath(src, dest);
+            assertEquals(expected.getCost(), actual.getCost(), EPSILON);
+            assertEquals(expected.iterator().hasNext(), actual.iterator().hasNext());
+        }
+    }
+
+    @Test
+    public void testUnpacksIntoEdgesOfGrid() {
+        WeightedGraph<Point> graph = GraphFixtures.gridGraph(30, 1, 1, 503);
+        ContractionHierarchy<Point> hierarchy = ContractionHierarchy.of(graph);
+        Random random = new Random(504);
+
+        assertEquals(graph.size(), hierarchy.size());
+        assertTrue(hierarchy.shortcutCount() > 0);
+        for (int i = 0; i < 50; i++) {
+            Point src = graph.nodeOf(random.nextInt(graph.size()));
+            Point dest = graph.nodeOf(random.nextInt(graph.size()));
+            Path<Point> actual = hierarchy.shortestPath(src, dest);
+            assertEquals(Dijkstra.dijkstra(graph, src, dest).getCost(), actual.getCost(), EPSILON);
+            // Every segment is a single edge of the grid, not a shortcut
+            Point current = src;
+            for (Path<Point>.Segment segment : actual) {
+                assertEquals(current, segment.getStart());
+                double dx = segment.getEnd().getX() - current.getX();
+                double dy = segment.getEnd().getY() - current.getY();
+                assertEquals(1.0, Math.abs(dx) + Math.abs(dy), EPSILON);
+                current = segment.getEnd();
+            }
+            assertEquals(dest, current);
+        }
+    }
+
+    @Test
+    public void testSamePathsAsDijkstraOnCampus() {
+        WeightedGraph<Point> graph = WeightedGraph.of(GraphFixtures.campusGraph());
+        ContractionHierarchy<Point> hierarchy = ContractionHierarchy.of(graph);
+        List<Point> buildings = GraphFixtures.buildings();
+        for (Point src : buildings) {
+            for (Point dest : buildings) {
+                assertEquals(Dijkstra.dijkstra(graph, src, dest), hierarchy.shortestPath(src, dest));
+            }
+        }
+    }
+
+    @Test
+    public void testSettlesFewerNodesThanBidirectionalDijkstra() {
+        WeightedGraph<Point> graph = GraphFixtures.gridGraph(60, 1, 1, 505);
+        ContractionHierarchy<Point> hierarchy = ContractionHierarchy.of(graph);
+        SearchStatistics bidirectional = new SearchStatistics();
+        SearchStatistics contracted = new SearchStatistics();
+        Random random = new Random(506);
+        for (int i = 0; i < 20; i++) {
+            Point src = graph.nodeOf(random.nextInt(graph.size()));
+            Point dest = graph.nodeOf(random.nextInt(graph.size()));
+            BidirectionalDijkstra.dijkstra(graph, graph, src, dest, bidirectional);
+            hierarchy.shortestPath(src, dest, contracted);
+        }
+
+        assertTrue(contracted.getSettledNodes() * 4 < bidirectional.getSettledNodes());
+    }
+
+    @Test
+    public void testKeepsCheapestParallelEdge() {
+        Graph<String, Double> graph = new Graph<>();
+        graph.addNode("a");
+        graph.addNode("b");
+        graph.addNode("c");
+        graph.addEdge("a", "b", 3.0);
+        graph.addEdge("a", "b", 1.0);
+        graph.addEdge("b", "c", 1.0);
+        graph.addEdge("a", "c", 5.0);
+        graph.addEdge("b", "b", 0.0);
+        ContractionHierarchy<String> hierarchy = ContractionHierarchy.of(WeightedGraph.of(graph));
+
+        Iterator<Path<String>.Segment> itr = hierarchy.shortestPath("a", "c").iterator();
+        Path<String>.Segment first = itr.next();
+        assertEquals("b", first.getEnd());
+        assertEquals(1.0, first.getCost(), EPSILON);
+        assertEquals("c", itr.next().getEnd());
+        assertFalse(itr.hasNext());
+    }
+
+    @Test
+    public void testSameNode() {
+        ContractionHierarchy<Point> hierarchy = ContractionHierarchy.of(GraphFixtures.gridGraph(5, 1, 1, 507));
+        Path<Point> path = hierarchy.shortestPath(new Point(2, 2), new Point(2, 2));
+
+        assertEquals(0.0, path.getCost(), EPSILON);
+        assertFalse(path.iterator().hasNext());
+    }
+
+    @Test
+    public void testUnreachable() {
+        Graph<String, Double> graph = new Graph<>();
+        graph.addNode("a");
+        graph.addNode("b");
+        graph.addEdge("b", "a", 1.0);
+        ContractionHierarchy<String> hierarchy = ContractionHierarchy.of(WeightedGraph.of(graph));
+
+        assertFalse(hierarchy.shortestPath("a", "b").iterator().hasNext());
+        assertEquals(1.0, hierarchy.shortestPath("b", "a").getCost(), EPSILON);
+        assertFalse(hierarchy.shortestPath("a", "z").iterator().hasNext());
+    }
+
+    @Test
+    public void testEmptyGraph() {
+        ContractionHierarchy<String> hierarchy = ContractionHierarchy.of(WeightedGraph.of(new Graph<String, Double>()));
+
+        assertEquals(0, hierarchy.size());
+        assertEquals(0, hierarchy.shortcutCount());
+    }
+
+    // Four threads query one hierarchy at the same time, each with its own workspace
+    @Test
+    public void testConcurrentQueries() throws InterruptedException {
+        WeightedGraph<Point> graph = GraphFixtures.gridGraph(20, 1, 1, 508);
+        ContractionHierarchy<Point> hierarchy = ContractionHierarchy.of(graph);
+        AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+        List<Thread> threads = new ArrayList<Thread>();
+        for (int t = 0; t < 4; t++) {
+            long seed = 509 + t;
+            threads.add(new Thread(() -> {
+                try {
+                    Random random = new Random(seed);
+                    for (int i = 0; i < 200; i++) {
+                        Point src = graph.nodeOf(random.nextInt(graph.size()));
+                        Point dest = graph.nodeOf(random.nextInt(graph.size()));
+                        assertEquals(Dijkstra.dijkstra(graph, src, dest).getCost(),
+                                     hierarchy.shortestPath(src, dest).getCost(), EPSILON);
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertNull(failure.get());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownSource() {
+        ContractionHierarchy.of(GraphFixtures.gridGraph(3, 1, 1, 510)).shortestPath(new Point(-1, -1), new Point(0, 0));
+    }
+}
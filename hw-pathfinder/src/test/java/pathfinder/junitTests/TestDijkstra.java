@@ -0,0 +1,231 @@
+package pathfinder.junitTests;
+
+import graph.ConcurrentGraph;
+import graph.Graph;
+import graph.OffHeapGraph;
+import graph.SubgraphView;
+import graph.WeightedGraph;
+import org.junit.Test;
+import pathfinder.Dijkstra;
+import pathfinder.QueueStrategy;
+import pathfinder.SearchStatistics;
+import pathfinder.datastructures.Path;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+public class TestDijkstra {
+
+    private static final double EPSILON = Math.pow(10.0D, -9.0D); // Accuracy required to 1 PPB
+
+    private static Graph<String, Double> createGraph() {
+        Graph<String, Double> graph = new Graph<String, Double>();
+        for (String node : new String[] {"a", "b", "c", "d", "e"}) {
+            graph.addNode(node);
+        }
+        graph.addEdge("a", "b", 4.0);
+        graph.addEdge("a", "c", 1.0);
+        graph.addEdge("c", "b", 2.0);
+        graph.addEdge("b", "d", 1.0);
+        graph.addEdge("c", "d", 5.0);
+        graph.addEdge("d", "a", 1.0);
+        return graph;
+    }
+
+    @Test
+    public void testWeightedShortestPath() {
+        Path<String> path = Dijkstra.dijkstra(WeightedGraph.of(createGraph()), "a", "d");
+        assertEquals(4.0, path.getCost(), EPSILON);
+        Iterator<Path<String>.Segment> itr = path.iterator();
+        assertEquals("c", itr.next().getEnd());
+        assertEquals("b", itr.next().getEnd());
+        assertEquals("d", itr.next().getEnd());
+        assertFalse(itr.hasNext());
+    }
+
+    @Test
+    public void testWeightedSameNode() {
+        Path<String> path = Dijkstra.dijkstra(WeightedGraph.of(createGraph()), "a", "a");
+        assertEquals("a", path.getEnd());
+        assertEquals(0.0, path.getCost(), EPSILON);
+    }
+
+    @Test
+    public void testWeightedUnreachable() {
+        Path<String> path = Dijkstra.dijkstra(WeightedGraph.of(createGraph()), "a", "e");
+        assertEquals("a", path.getEnd());
+        assertFalse(path.iterator().hasNext());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWeightedUnknownSource() {
+        Dijkstra.dijkstra(WeightedGraph.of(createGraph()), "f", "a");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownSource() {
+        Dijkstra.dijkstra(createGraph(), "f", "f");
+    }
+
+    @Test
+    public void testOffHeapShortestPath() {
+        Path<String> expected = Dijkstra.dijkstra(WeightedGraph.of(createGraph()), "a", "d");
+        Path<String> actual = Dijkstra.dijkstra(OffHeapGraph.of(createGraph()), "a", "d");
+        assertEquals(expected, actual);
+        assertEquals(4.0, actual.getCost(), EPSILON);
+    }
+
+    // A reader searches a ConcurrentGraph while a writer grows a chain 0 -> 1 -> ... with a shortcut back from every
+    // node to its half, so nodes are added in the middle of searches. The shortest path to every node on the chain
+    // follows the chain, whatever part of it the search saw.
+    @Test
+    public void testConcurrentGraphGrowsDuringSearch() throws InterruptedException {
+        ConcurrentGraph<Integer, Double> graph = new ConcurrentGraph<Integer, Double>();
+        graph.addNode(0);
+        int nodes = 20000;
+        AtomicBoolean done = new AtomicBoolean(false);
+        AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+
+        Thread writer = new Thread(() -> {
+            try {
+                for (int i = 1; i < nodes; i++) {
+                    graph.addNode(i);
+                    graph.addEdge(i - 1, i, 1.0);
+                    graph.addEdge(i, i / 2, 2.0);
+                }
+            } catch (Throwable t) {
+                failure.compareAndSet(null, t);
+            } finally {
+                done.set(true);
+            }
+        });
+        Thread reader = new Thread(() -> {
+            try {
+                while (!done.get()) {
+                    int dest = graph.size() - 1;
+                    Path<Integer> path = Dijkstra.dijkstra(graph, 0, dest);
+                    if (path.iterator().hasNext()) {
+                        assertEquals(dest, (int) path.getEnd());
+                        assertEquals(dest, path.getCost(), EPSILON);
+                    }
+                    assertFalse(Dijkstra.dijkstra(graph, 0, -1).iterator().hasNext());
+                }
+            } catch (Throwable t) {
+                failure.compareAndSet(null, t);
+            }
+        });
+        reader.start();
+        writer.start();
+        writer.join();
+        reader.join();
+
+        assertNull(failure.get());
+        assertEquals(nodes - 1, Dijkstra.dijkstra(graph, 0, nodes - 1).getCost(), EPSILON);
+    }
+
+    @Test
+    public void testWeightedMatchesBellmanFord() {
+        Random random = new Random(331);
+        Graph<Integer, Double> graph = new Graph<Integer, Double>();
+        for (int i = 0; i < 200; i++) {
+            graph.addNode(i);
+        }
+        for (int i = 0; i < 1000; i++) {
+            graph.addEdge(random.nextInt(200), random.nextInt(200), (double) (1 + random.nextInt(20)));
+        }
+        double[] expected = bellmanFord(graph, 0, 200);
+        WeightedGraph<Integer> weighted = WeightedGraph.of(graph);
+        for (int dest = 1; dest < 200; dest++) {
+            Path<Integer> path = Dijkstra.dijkstra(weighted, 0, dest);
+            if (expected[dest] == Double.POSITIVE_INFINITY) {
+                assertFalse(path.iterator().hasNext());
+            } else {
+                assertEquals(dest, (int) path.getEnd());
+                assertEquals(expected[dest], path.getCost(), EPSILON);
+            }
+        }
+    }
+
+    @Test
+    public void testViewMatchesBellmanFord() {
+        Random random = new Random(332);
+        Graph<Integer, Double> graph = new Graph<Integer, Double>();
+        Graph<Integer, Double> copy = new Graph<Integer, Double>();
+        for (int i = 0; i < 200; i++) {
+            graph.addNode(i);
+            copy.addNode(i);
+        }
+        for (int i = 0; i < 1000; i++) {
+            int parent = random.nextInt(200);
+            int child = random.nextInt(200);
+            double label = 1 + random.nextInt(20);
+            graph.addEdge(parent, child, label);
+            // The copy only holds the edges that the view keeps
+            if (child % 7 != 3 && parent % 7 != 3 && label < 15) {
+                copy.addEdge(parent, child, label);
+            }
+        }
+        SubgraphView<Integer, Double> view = SubgraphView.of(graph, node -> node % 7 != 3,
+                                                             (parent, child, label) -> label < 15);
+        double[] expected = bellmanFord(copy, 0, 200);
+        for (int dest = 1; dest < 200; dest++) {
+            if (dest % 7 == 3) {
+                continue;
+            }
+            Path<Integer> path = Dijkstra.dijkstra(view, 0, dest);
+            if (expected[dest] == Double.POSITIVE_INFINITY) {
+                assertFalse(path.iterator().hasNext());
+            } else {
+                assertEquals(dest, (int) path.getEnd());
+                assertEquals(expected[dest], path.getCost(), EPSILON);
+            }
+        }
+    }
+
+    @Test
+    public void testEveryQueueStrategyMatchesBellmanFord() {
+        Random random = new Random(334);
+        Graph<Integer, Double> graph = new Graph<Integer, Double>();
+        for (int i = 0; i < 200; i++) {
+            graph.addNode(i);
+        }
+        for (int i = 0; i < 1000; i++) {
+            graph.addEdge(random.nextInt(200), random.nextInt(200), random.nextDouble() * 20);
+        }
+        WeightedGraph<Integer> weighted = WeightedGraph.of(graph);
+        double[] expected = bellmanFord(graph, 0, 200);
+        for (QueueStrategy strategy : QueueStrategy.values()) {
+            SearchStatistics statistics = new SearchStatistics();
+            for (int dest = 1; dest < 200; dest++) {
+                Path<Integer> path = Dijkstra.dijkstra(weighted, 0, dest, strategy, statistics);
+                if (expected[dest] == Double.POSITIVE_INFINITY) {
+                    assertFalse(path.iterator().hasNext());
+                } else {
+                    assertEquals(dest, (int) path.getEnd());
+                    assertEquals(expected[dest], path.getCost(), EPSILON);
+                }
+            }
+            assertTrue(statistics.getSettledNodes() > 0);
+        }
+    }
+
+    // Computes the cost of the shortest path from src to each of the nodes 0 .. n - 1 by relaxing every edge n times
+    private static double[] bellmanFord(Graph<Integer, Double> graph, int src, int n) {
+        double[] costs = new double[n];
+        Arrays.fill(costs, Double.POSITIVE_INFINITY);
+        costs[src] = 0.0;
+        for (int round = 0; round < n; round++) {
+            for (int node = 0; node < n; node++) {
+                for (Graph.DirectedLabeledEdge<Integer, Double> edge : graph.childrenOf(node)) {
+                    costs[edge.getChild()] = Math.min(costs[edge.getChild()], costs[node] + edge.getLabel());
+                }
+            }
+        }
+        return costs;
+    }
+}
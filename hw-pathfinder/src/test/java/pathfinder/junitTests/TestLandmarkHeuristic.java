@@ -0,0 +1,171 @@
+package pathfinder.junitTests;
+
+import graph.Graph;
+import graph.SubgraphView;
+import graph.WeightedGraph;
+import org.junit.Test;
+import pathfinder.AStar;
+import pathfinder.Dijkstra;
+import pathfinder.EuclideanHeuristic;
+import pathfinder.LandmarkHeuristic;
+import pathfinder.SearchStatistics;
+import pathfinder.datastructures.Path;
+import pathfinder.datastructures.Point;
+import pathfinder.fixtures.GraphFixtures;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class TestLandmarkHeuristic {
+
+    private static final double EPSILON = Math.pow(10.0D, -9.0D); // Accuracy required to 1 PPB
+
+    @Test
+    public void testSamePathsAsDijkstraOnCampus() {
+        WeightedGraph<Point> graph = WeightedGraph.of(GraphFixtures.campusGraph());
+        LandmarkHeuristic landmarks = LandmarkHeuristic.select(graph, 8);
+        List<Point> buildings = GraphFixtures.buildings();
+        for (int i = 0; i < buildings.size(); i += 3) {
+            for (Point dest : buildings) {
+                Point src = buildings.get(i);
+                assertEquals(Dijkstra.dijkstra(graph, src, dest), AStar.aStar(graph, src, dest, landmarks));
+            }
+        }
+    }
+
+    @Test
+    public void testConsistentOnCampus() {
+        WeightedGraph<Point> graph = WeightedGraph.of(GraphFixtures.campusGraph());
+        LandmarkHeuristic landmarks = LandmarkHeuristic.select(graph, 8);
+
+        assertEquals(8, landmarks.landmarkCount());
+        for (int id = 0; id < graph.size(); id += 211) {
+            assertTrue(AStar.isConsistent(graph, graph.nodeOf(id), landmarks));
+        }
+    }
+
+    @Test
+    public void testSettlesFewerNodesThanEuclideanOnCampus() {
+        WeightedGraph<Point> graph = WeightedGraph.of(GraphFixtures.campusGraph());
+        EuclideanHeuristic euclidean = EuclideanHeuristic.calibrated(graph);
+        LandmarkHeuristic landmarks = LandmarkHeuristic.select(graph, 16);
+        SearchStatistics straightLine = new SearchStatistics();
+        SearchStatistics alt = new SearchStatistics();
+        List<Point> buildings = GraphFixtures.buildings();
+        for (int i = 0; i < buildings.size(); i += 5) {
+            for (Point dest : buildings) {
+                AStar.aStar(graph, buildings.get(i), dest, euclidean, straightLine);
+                AStar.aStar(graph, buildings.get(i), dest, landmarks, alt);
+            }
+        }
+
+        assertTrue(alt.getSettledNodes() * 3 < straightLine.getSettledNodes());
+    }
+
+    @Test
+    public void testMatchesDijkstraOnDirectedGraph() {
+        WeightedGraph<Integer> graph = GraphFixtures.randomGraph(300, 900, 601);
+        LandmarkHeuristic landmarks = LandmarkHeuristic.select(graph, 6);
+        Random random = new Random(602);
+        for (int i = 0; i < 300; i++) {
+            int src = random.nextInt(300);
+            int dest = random.nextInt(300);
+            Path<Integer> expected = Dijkstra.dijkstra(graph, src, dest);
+            Path<Integer> actual = AStar.aStar(graph, src, dest, landmarks);
+            assertEquals(expected.getCost(), actual.getCost(), EPSILON);
+            assertEquals(expected.iterator().hasNext(), actual.iterator().hasNext());
+            assertTrue(landmarks.estimate(src, dest) <= expected.getCost() + EPSILON
+                       || !expected.iterator().hasNext());
+        }
+    }
+
+    @Test
+    public void testBoundsHoldOnFilteredView() {
+        Graph<Point, Double> graph = GraphFixtures.campusGraph();
+        WeightedGraph<Point> weighted = WeightedGraph.of(graph);
+        LandmarkHeuristic landmarks = LandmarkHeuristic.select(weighted, 8);
+        // Close every path segment longer than 150, which makes many routes wind around
+        SubgraphView<Point, Double> view = SubgraphView.withEdges(graph, (p1, p2, distance) -> distance <= 150);
+        List<Point> buildings = GraphFixtures.buildings();
+        for (int i = 0; i < buildings.size(); i += 7) {
+            Point src = buildings.get(i);
+            for (int j = 0; j < buildings.size(); j += 3) {
+                Point dest = buildings.get(j);
+                int target = weighted.idOf(dest);
+                Path<Point> expected = Dijkstra.dijkstra(view, src, dest);
+                Path<Point> actual = AStar.aStar(view, src, dest,
+                                                 point -> landmarks.estimate(weighted.idOf(point), target));
+                assertEquals(expected.getCost(), actual.getCost(), EPSILON);
+            }
+        }
+    }
+
+    @Test
+    public void testLandmarkInEveryComponent() {
+        Graph<String, Double> graph = new Graph<>();
+        for (String node : Arrays.asList("a", "b", "c", "x", "y")) {
+            graph.addNode(node);
+        }
+        graph.addEdge("a", "b", 1.0);
+        graph.addEdge("b", "c", 1.0);
+        graph.addEdge("x", "y", 2.0);
+        WeightedGraph<String> weighted = WeightedGraph.of(graph);
+        LandmarkHeuristic landmarks = LandmarkHeuristic.select(weighted, 2);
+
+        List<String> picked = new ArrayList<>();
+        for (int landmark : landmarks.landmarks()) {
+            picked.add(weighted.nodeOf(landmark));
+        }
+        assertTrue(picked.contains("x") || picked.contains("y"));
+        assertTrue(picked.contains("a") || picked.contains("b") || picked.contains("c"));
+        assertEquals(2.0, landmarks.estimate(weighted.idOf("a"), weighted.idOf("c")), EPSILON);
+        assertEquals(0.0, landmarks.estimate(weighted.idOf("a"), weighted.idOf("x")), EPSILON);
+    }
+
+    @Test
+    public void testMoreLandmarksThanNodes() {
+        Graph<String, Double> graph = new Graph<>();
+        graph.addNode("a");
+        graph.addNode("b");
+        graph.addEdge("a", "b", 3.0);
+        LandmarkHeuristic landmarks = LandmarkHeuristic.select(WeightedGraph.of(graph), 5);
+
+        assertEquals(2, landmarks.landmarkCount());
+        assertEquals(2, landmarks.size());
+        assertEquals(0.0, LandmarkHeuristic.select(WeightedGraph.of(graph), 0).estimate(0, 1), EPSILON);
+    }
+
+    @Test
+    public void testFromTablesMatchesSelected() {
+        WeightedGraph<Integer> graph = GraphFixtures.randomGraph(50, 200, 603);
+        LandmarkHeuristic selected = LandmarkHeuristic.select(graph, 4);
+        LandmarkHeuristic copy = LandmarkHeuristic.fromTables(selected.landmarks(), selected.fromLandmarks(),
+                                                              selected.toLandmarks());
+
+        assertEquals(selected.size(), copy.size());
+        for (int u = 0; u < 50; u++) {
+            for (int v = 0; v < 50; v++) {
+                assertEquals(selected.estimate(u, v), copy.estimate(u, v), 0);
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFromTablesWithMismatchedLengths() {
+        LandmarkHeuristic.fromTables(new int[] {0}, new double[] {0.0, 1.0}, new double[] {0.0});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFromTablesWithNegativeCost() {
+        LandmarkHeuristic.fromTables(new int[] {0}, new double[] {0.0, -1.0}, new double[] {0.0, 1.0});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeCount() {
+        LandmarkHeuristic.select(GraphFixtures.randomGraph(5, 5, 604), -1);
+    }
+}
@@ -0,0 +1,135 @@
+package pathfinder.junitTests.datastructures;
+
+import org.junit.Test;
+import pathfinder.datastructures.IndexedDaryHeap;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class TestIndexedDaryHeap {
+
+    private static final double EPSILON = Math.pow(10.0D, -9.0D); // Accuracy required to 1 PPB
+
+    private static IndexedDaryHeap create(int capacity) {
+        return new IndexedDaryHeap(capacity, 4);
+    }
+
+    @Test
+    public void testNewHeapIsEmpty() {
+        IndexedDaryHeap heap = create(4);
+        assertTrue(heap.isEmpty());
+        assertEquals(0, heap.size());
+        assertFalse(heap.contains(0));
+    }
+
+    @Test
+    public void testPollInKeyOrder() {
+        IndexedDaryHeap heap = create(6);
+        heap.insertOrDecrease(3, 3.0);
+        heap.insertOrDecrease(0, 5.0);
+        heap.insertOrDecrease(4, 1.0);
+        heap.insertOrDecrease(1, 4.0);
+        heap.insertOrDecrease(2, 2.0);
+        heap.insertOrDecrease(5, 6.0);
+        assertEquals(1.0, heap.minKey(), EPSILON);
+        assertEquals(4, heap.pollMin());
+        assertEquals(2, heap.pollMin());
+        assertEquals(3, heap.pollMin());
+        assertEquals(1, heap.pollMin());
+        assertEquals(0, heap.pollMin());
+        assertEquals(5, heap.pollMin());
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    public void testDecreaseKeyDoesNotDuplicate() {
+        IndexedDaryHeap heap = create(3);
+        heap.insertOrDecrease(0, 5.0);
+        heap.insertOrDecrease(1, 3.0);
+        assertTrue(heap.insertOrDecrease(0, 1.0));
+        assertFalse(heap.insertOrDecrease(1, 4.0));
+        assertEquals(2, heap.size());
+        assertEquals(0, heap.pollMin());
+        assertEquals(3.0, heap.minKey(), EPSILON);
+        assertEquals(1, heap.pollMin());
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    public void testClear() {
+        IndexedDaryHeap heap = create(3);
+        heap.insertOrDecrease(0, 1.0);
+        heap.insertOrDecrease(2, 2.0);
+        heap.pollMin();
+        heap.insertOrDecrease(1, 3.0);
+        heap.clear();
+        assertTrue(heap.isEmpty());
+        assertFalse(heap.contains(1));
+        assertFalse(heap.contains(2));
+        heap.insertOrDecrease(2, 7.0);
+        assertEquals(2, heap.pollMin());
+    }
+
+    @Test
+    public void testRandomOperationsMatchKeys() {
+        Random random = new Random(333);
+        IndexedDaryHeap heap = create(500);
+        // keys[id] is the key of id while it is in the heap, or NaN otherwise
+        double[] keys = new double[500];
+        Arrays.fill(keys, Double.NaN);
+        for (int i = 0; i < 20000; i++) {
+            int id = random.nextInt(500);
+            if (random.nextInt(3) == 0 && !heap.isEmpty()) {
+                double min = heap.minKey();
+                int polled = heap.pollMin();
+                assertEquals(keys[polled], min, 0);
+                for (double key : keys) {
+                    assertFalse(key < min);
+                }
+                keys[polled] = Double.NaN;
+            } else {
+                double key = random.nextDouble();
+                boolean changed = heap.insertOrDecrease(id, key);
+                assertEquals(Double.isNaN(keys[id]) || key < keys[id], changed);
+                if (changed) {
+                    keys[id] = key;
+                }
+            }
+            assertEquals(!Double.isNaN(keys[id]), heap.contains(id));
+        }
+        int size = 0;
+        for (double key : keys) {
+            size += Double.isNaN(key) ? 0 : 1;
+        }
+        assertEquals(size, heap.size());
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testPollEmptyHeap() {
+        create(1).pollMin();
+    }
+
+    @Test
+    public void testBinaryArity() {
+        IndexedDaryHeap heap = new IndexedDaryHeap(3, 2);
+        heap.insertOrDecrease(1, 2.0);
+        heap.insertOrDecrease(2, 1.0);
+        heap.insertOrDecrease(0, 3.0);
+        assertEquals(2, heap.pollMin());
+        assertEquals(1, heap.pollMin());
+        assertEquals(0, heap.pollMin());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testArityOfOne() {
+        new IndexedDaryHeap(4, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeCapacity() {
+        create(-1);
+    }
+}
@@ -0,0 +1,112 @@
+package pathfinder.junitTests.datastructures;
+
+import org.junit.Test;
+import pathfinder.datastructures.IndexedMinHeap;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class TestIndexedMinHeap {
+
+    private static final double EPSILON = Math.pow(10.0D, -9.0D); // Accuracy required to 1 PPB
+
+    @Test
+    public void testNewHeapIsEmpty() {
+        IndexedMinHeap heap = new IndexedMinHeap(4);
+        assertTrue(heap.isEmpty());
+        assertEquals(0, heap.size());
+        assertFalse(heap.contains(0));
+    }
+
+    @Test
+    public void testPollInKeyOrder() {
+        IndexedMinHeap heap = new IndexedMinHeap(5);
+        heap.insertOrDecrease(3, 3.0);
+        heap.insertOrDecrease(0, 5.0);
+        heap.insertOrDecrease(4, 1.0);
+        heap.insertOrDecrease(1, 4.0);
+        heap.insertOrDecrease(2, 2.0);
+        assertEquals(1.0, heap.minKey(), EPSILON);
+        assertEquals(4, heap.pollMin());
+        assertEquals(2, heap.pollMin());
+        assertEquals(3, heap.pollMin());
+        assertEquals(1, heap.pollMin());
+        assertEquals(0, heap.pollMin());
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    public void testDecreaseKeyDoesNotDuplicate() {
+        IndexedMinHeap heap = new IndexedMinHeap(3);
+        heap.insertOrDecrease(0, 5.0);
+        heap.insertOrDecrease(1, 3.0);
+        assertTrue(heap.insertOrDecrease(0, 1.0));
+        assertFalse(heap.insertOrDecrease(1, 4.0));
+        assertEquals(2, heap.size());
+        assertEquals(0, heap.pollMin());
+        assertEquals(3.0, heap.minKey(), EPSILON);
+        assertEquals(1, heap.pollMin());
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    public void testClear() {
+        IndexedMinHeap heap = new IndexedMinHeap(3);
+        heap.insertOrDecrease(0, 1.0);
+        heap.insertOrDecrease(2, 2.0);
+        heap.clear();
+        assertTrue(heap.isEmpty());
+        assertFalse(heap.contains(0));
+        assertFalse(heap.contains(2));
+        heap.insertOrDecrease(2, 7.0);
+        assertEquals(2, heap.pollMin());
+    }
+
+    @Test
+    public void testRandomKeys() {
+        Random random = new Random(331);
+        IndexedMinHeap heap = new IndexedMinHeap(1000);
+        for (int id = 0; id < 1000; id++) {
+            heap.insertOrDecrease(id, random.nextDouble());
+        }
+        for (int id = 0; id < 1000; id += 3) {
+            heap.insertOrDecrease(id, random.nextDouble() / 2);
+        }
+        double previous = Double.NEGATIVE_INFINITY;
+        while (!heap.isEmpty()) {
+            double key = heap.minKey();
+            assertTrue(key >= previous);
+            previous = key;
+            heap.pollMin();
+        }
+    }
+
+    @Test
+    public void testGrowKeepsIdsAndKeys() {
+        IndexedMinHeap heap = new IndexedMinHeap(2);
+        heap.insertOrDecrease(0, 4.0);
+        heap.insertOrDecrease(1, 2.0);
+        heap.grow(5);
+        heap.insertOrDecrease(4, 3.0);
+        heap.insertOrDecrease(0, 1.0);
+
+        assertEquals(3, heap.size());
+        assertFalse(heap.contains(2));
+        assertEquals(0, heap.pollMin());
+        assertEquals(1, heap.pollMin());
+        assertEquals(4, heap.pollMin());
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testPollEmptyHeap() {
+        new IndexedMinHeap(1).pollMin();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeCapacity() {
+        new IndexedMinHeap(-1);
+    }
+}
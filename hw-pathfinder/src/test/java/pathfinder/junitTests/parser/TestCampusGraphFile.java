@@ -0,0 +1,218 @@
+package pathfinder.junitTests.parser;
+
+import graph.CompressedGraph;
+import graph.Graph;
+import graph.WeightedGraph;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import pathfinder.Dijkstra;
+import pathfinder.LandmarkHeuristic;
+import pathfinder.datastructures.Path;
+import pathfinder.datastructures.Point;
+import pathfinder.fixtures.GraphFixtures;
+import pathfinder.parser.CampusGraphFile;
+import pathfinder.parser.CampusPathsParser;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class TestCampusGraphFile {
+
+    private java.nio.file.Path file;
+
+    @Before
+    public void createFile() throws IOException {
+        file = Files.createTempFile("campus", ".graph");
+    }
+
+    @After
+    public void deleteFile() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void testRoundTripKeepsIdsAndEdges() throws IOException {
+        WeightedGraph<Point> written = WeightedGraph.of(GraphFixtures.campusGraph());
+        CampusGraphFile.write(written, file);
+        WeightedGraph<Point> read = CampusGraphFile.read(file);
+
+        assertEquals(written.size(), read.size());
+        assertEquals(written.edgeCount(), read.edgeCount());
+        for (int id = 0; id < written.size(); id++) {
+            assertEquals(written.nodeOf(id), read.nodeOf(id));
+            assertEquals(written.edgeStart(id), read.edgeStart(id));
+            assertEquals(written.edgeEnd(id), read.edgeEnd(id));
+        }
+        for (int edge = 0; edge < written.edgeCount(); edge++) {
+            assertEquals(written.targetAt(edge), read.targetAt(edge));
+            assertEquals(written.weightAt(edge), read.weightAt(edge), 0);
+        }
+    }
+
+    @Test
+    public void testShortestPathsAfterRoundTrip() throws IOException {
+        Graph<Point, Double> graph = GraphFixtures.campusGraph();
+        CampusGraphFile.write(graph, file);
+        WeightedGraph<Point> before = WeightedGraph.of(graph);
+        WeightedGraph<Point> after = CampusGraphFile.read(file);
+
+        Point src = before.nodeOf(0);
+        for (int id = 0; id < before.size(); id += 97) {
+            Path<Point> expected = Dijkstra.dijkstra(before, src, before.nodeOf(id));
+            Path<Point> actual = Dijkstra.dijkstra(after, src, before.nodeOf(id));
+            assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    public void testEmptyGraph() throws IOException {
+        CampusGraphFile.write(new Graph<Point, Double>(), file);
+
+        assertEquals(0, CampusGraphFile.read(file).size());
+    }
+
+    @Test(expected = CampusPathsParser.ParserException.class)
+    public void testCorruptedPayloadFailsChecksum() throws IOException {
+        Graph<Point, Double> graph = new Graph<>();
+        graph.addNode(new Point(1, 2));
+        graph.addNode(new Point(3, 4));
+        graph.addEdge(new Point(1, 2), new Point(3, 4), 5.0);
+        CampusGraphFile.write(graph, file);
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(file, bytes);
+
+        CampusGraphFile.read(file);
+    }
+
+    @Test(expected = CampusPathsParser.ParserException.class)
+    public void testTruncatedFile() throws IOException {
+        CampusGraphFile.write(GraphFixtures.campusGraph(), file);
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 8));
+
+        CampusGraphFile.read(file);
+    }
+
+    @Test
+    public void testCompressedRoundTripKeepsIdsAndEdges() throws IOException {
+        CompressedGraph<Point> written = CompressedGraph.of(GraphFixtures.campusGraph(), 0.001);
+        CampusGraphFile.writeCompressed(written, file);
+        CompressedGraph<Point> read = CampusGraphFile.readCompressed(file);
+
+        assertEquals(written.size(), read.size());
+        assertEquals(written.edgeCount(), read.edgeCount());
+        assertEquals(written.quantum(), read.quantum(), 0);
+        assertArrayEquals(written.encoding(), read.encoding());
+        for (int id = 0; id < written.size(); id++) {
+            assertEquals(written.nodeOf(id), read.nodeOf(id));
+        }
+    }
+
+    @Test
+    public void testCompressedFileSmallerWithCloseShortestPaths() throws IOException {
+        Graph<Point, Double> graph = GraphFixtures.campusGraph();
+        CampusGraphFile.write(graph, file);
+        long uncompressedBytes = Files.size(file);
+        CampusGraphFile.writeCompressed(CompressedGraph.of(graph, 0.001), file);
+        WeightedGraph<Point> before = WeightedGraph.of(graph);
+        WeightedGraph<Point> after = CampusGraphFile.readCompressed(file).decompress();
+
+        assertTrue(Files.size(file) * 3 < uncompressedBytes * 2);
+        Point src = before.nodeOf(0);
+        for (int id = 0; id < before.size(); id += 97) {
+            Path<Point> expected = Dijkstra.dijkstra(before, src, before.nodeOf(id));
+            Path<Point> actual = Dijkstra.dijkstra(after, src, before.nodeOf(id));
+            // Every weight is off by at most half a quantum, so the cost of every path is off by at most a little
+            assertEquals(expected.getCost(), actual.getCost(), 0.001 * graph.listNodes().size());
+        }
+    }
+
+    @Test(expected = CampusPathsParser.ParserException.class)
+    public void testCorruptedCompressedFile() throws IOException {
+        CampusGraphFile.writeCompressed(CompressedGraph.of(GraphFixtures.campusGraph(), 0.001), file);
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(file, bytes);
+
+        CampusGraphFile.readCompressed(file);
+    }
+
+    @Test(expected = CampusPathsParser.ParserException.class)
+    public void testUncompressedFileIsNotCompressed() throws IOException {
+        CampusGraphFile.write(GraphFixtures.campusGraph(), file);
+
+        CampusGraphFile.readCompressed(file);
+    }
+
+    @Test(expected = CampusPathsParser.ParserException.class)
+    public void testNotAGraphFile() throws IOException {
+        Files.write(file, "x1,y1,x2,y2,distance\n1,2,3,4,5\n".getBytes());
+
+        CampusGraphFile.read(file);
+    }
+
+    @Test
+    public void testLandmarkRoundTrip() throws IOException {
+        WeightedGraph<Point> graph = WeightedGraph.of(GraphFixtures.campusGraph());
+        LandmarkHeuristic written = LandmarkHeuristic.select(graph, 4);
+        CampusGraphFile.writeLandmarks(written, graph, file);
+        LandmarkHeuristic read = CampusGraphFile.readLandmarks(file, graph);
+
+        assertArrayEquals(written.landmarks(), read.landmarks());
+        assertArrayEquals(written.fromLandmarks(), read.fromLandmarks(), 0);
+        assertArrayEquals(written.toLandmarks(), read.toLandmarks(), 0);
+    }
+
+    @Test(expected = CampusPathsParser.ParserException.class)
+    public void testLandmarksOfAnotherGraph() throws IOException {
+        Graph<Point, Double> graph = GraphFixtures.campusGraph();
+        WeightedGraph<Point> before = WeightedGraph.of(graph);
+        CampusGraphFile.writeLandmarks(LandmarkHeuristic.select(before, 2), before, file);
+        Point node = before.nodeOf(0);
+        graph.addEdge(node, before.nodeOf(1), 1.0);
+
+        CampusGraphFile.readLandmarks(file, WeightedGraph.of(graph));
+    }
+
+    @Test(expected = CampusPathsParser.ParserException.class)
+    public void testCorruptedLandmarkFile() throws IOException {
+        WeightedGraph<Point> graph = WeightedGraph.of(GraphFixtures.campusGraph());
+        CampusGraphFile.writeLandmarks(LandmarkHeuristic.select(graph, 2), graph, file);
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 3] ^= 1;
+        Files.write(file, bytes);
+
+        CampusGraphFile.readLandmarks(file, graph);
+    }
+
+    @Test
+    public void testWriteReplacesSymbolicLink() throws IOException {
+        java.nio.file.Path target = Files.createTempFile("campus", ".target");
+        try {
+            Files.write(target, new byte[] {1, 2, 3});
+            Files.delete(file);
+            Files.createSymbolicLink(file, target);
+            WeightedGraph<Point> graph = WeightedGraph.of(GraphFixtures.campusGraph());
+            CampusGraphFile.writeLandmarks(LandmarkHeuristic.select(graph, 2), graph, file);
+
+            assertFalse(Files.isSymbolicLink(file));
+            assertArrayEquals(new byte[] {1, 2, 3}, Files.readAllBytes(target));
+            assertEquals(2, CampusGraphFile.readLandmarks(file, graph).landmarkCount());
+        } finally {
+            Files.deleteIfExists(target);
+        }
+    }
+
+    @Test(expected = CampusPathsParser.ParserException.class)
+    public void testGraphFileIsNotALandmarkFile() throws IOException {
+        WeightedGraph<Point> graph = WeightedGraph.of(GraphFixtures.campusGraph());
+        CampusGraphFile.write(graph, file);
+
+        CampusGraphFile.readLandmarks(file, graph);
+    }
+}
@@ -0,0 +1,115 @@
+package pathfinder.fixtures;
+
+import graph.Graph;
+import graph.WeightedGraph;
+import pathfinder.datastructures.Point;
+import pathfinder.parser.CampusBuilding;
+import pathfinder.parser.CampusPath;
+import pathfinder.parser.CampusPathsParser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * GraphFixtures builds the graphs that the tests of the shortest path searches, and the benchmarks of hw-bench, run
+ * on: the campus graph, random directed graphs and weighted grids. The same seed always builds the same graph.
+ */
+public final class GraphFixtures {
+
+    // This class does not represent an ADT
+
+    private GraphFixtures() {
+    }
+
+    /**
+     * Returns the campus graph of campus_paths.csv, with an edge each way along every path, labeled with its length
+     *
+     * @return a new graph of the campus paths
+     */
+    public static Graph<Point, Double> campusGraph() {
+        Graph<Point, Double> graph = new Graph<>();
+        for (CampusPath path : CampusPathsParser.parseCampusPaths("campus_paths.csv")) {
+            Point p1 = new Point(path.getX1(), path.getY1());
+            Point p2 = new Point(path.getX2(), path.getY2());
+            graph.addNode(p1);
+            graph.addNode(p2);
+            graph.addEdge(p1, p2, path.getDistance());
+            graph.addEdge(p2, p1, path.getDistance());
+        }
+        return graph;
+    }
+
+    /**
+     * Returns the locations of the buildings of campus_buildings.csv
+     *
+     * @return a new list of the location of every building, in the order of the file
+     */
+    public static List<Point> buildings() {
+        List<Point> buildings = new ArrayList<>();
+        for (CampusBuilding building : CampusPathsParser.parseCampusBuildings("campus_buildings.csv")) {
+            buildings.add(new Point(building.getX(), building.getY()));
+        }
+        return buildings;
+    }
+
+    /**
+     * Returns a graph of the nodes 0 .. nodes - 1 with random one-way edges, so that its reverse differs from it
+     *
+     * @spec.requires nodes > 0 and edges >= 0
+     *
+     * @param nodes the number of nodes
+     * @param edges the number of edges to add, each between two random nodes and weighing a random integer in [0, 100)
+     * @param seed the seed of the random edges
+     * @return a new weighted graph with random edges
+     */
+    public static WeightedGraph<Integer> randomGraph(int nodes, int edges, long seed) {
+        Random random = new Random(seed);
+        Graph<Integer, Double> graph = new Graph<>();
+        for (int i = 0; i < nodes; i++) {
+            graph.addNode(i);
+        }
+        for (int i = 0; i < edges; i++) {
+            graph.addEdge(random.nextInt(nodes), random.nextInt(nodes), (double) random.nextInt(100));
+        }
+        return WeightedGraph.of(graph);
+    }
+
+    /**
+     * Returns a grid of side * side points with two-way edges between neighbors, which is its own reverse
+     *
+     * @spec.requires side > 0, spacing > 0 and stretch >= 0
+     *
+     * @param side the number of points along each side of the grid
+     * @param spacing the distance between neighboring points
+     * @param stretch the most that an edge weighs beyond the distance between its ends, as a fraction of it
+     * @param seed the seed of the random weights
+     * @return a new weighted graph of the points (spacing * x, spacing * y) for x and y in [0, side), in which every
+     *          edge weighs between 1 and 1 + stretch times the distance between its ends
+     */
+    public static WeightedGraph<Point> gridGraph(int side, double spacing, double stretch, long seed) {
+        Random random = new Random(seed);
+        Graph<Point, Double> graph = new Graph<>();
+        for (int x = 0; x < side; x++) {
+            for (int y = 0; y < side; y++) {
+                graph.addNode(new Point(spacing * x, spacing * y));
+            }
+        }
+        for (int x = 0; x < side; x++) {
+            for (int y = 0; y < side; y++) {
+                Point p = new Point(spacing * x, spacing * y);
+                if (x + 1 < side) {
+                    double weight = spacing * (1 + random.nextDouble() * stretch);
+                    graph.addEdge(p, new Point(spacing * (x + 1), spacing * y), weight);
+                    graph.addEdge(new Point(spacing * (x + 1), spacing * y), p, weight);
+                }
+                if (y + 1 < side) {
+                    double weight = spacing * (1 + random.nextDouble() * stretch);
+                    graph.addEdge(p, new Point(spacing * x, spacing * (y + 1)), weight);
+                    graph.addEdge(new Point(spacing * x, spacing * (y + 1)), p, weight);
+                }
+            }
+        }
+        return WeightedGraph.of(graph);
+    }
+}
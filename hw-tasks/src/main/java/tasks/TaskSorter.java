@@ -83,6 +83,24 @@ public class TaskSorter {
         return dependencies;
     }
 
+    /**
+     * Given a Task, finds the dependencies that have the given task as a
+     * follow-up (the "after" task of the dependency).
+     *
+     * @param t the task to search for in the dependencies
+     * @spec.requires t != null and t has already been added as a task
+     * @return set of dependencies with {@code t} as the "after" task
+     */
+    public Set<Dependency> getIncomingDependencies(Task t) {
+        Set<Dependency> dependencies = new HashSet<>();
+        Set<Graph.DirectedLabeledEdge<Task, Dependency>> incomingEdges = graph.parentsOf(t);
+        for (Graph.DirectedLabeledEdge<Task, Dependency> edge : incomingEdges) {
+            Dependency dependency = edge.getLabel();
+            dependencies.add(dependency);
+        }
+        return dependencies;
+    }
+
     /**
      * Returns a list of the dependencies in an order that has the "before"
      * task of any dependency appearing before the "after" task.  If multiple
@@ -110,6 +128,24 @@ public class TaskSorter {
         return sortedTasks;
     }
 
+    /**
+     * Returns every cycle of dependencies, that is every largest group of
+     * tasks in which each task depends, directly or indirectly, on every
+     * other task of the group. A task that depends on itself forms a cycle
+     * on its own. Unlike sortTasks, this finds all the cycles in one pass
+     * over the dependencies rather than stopping at the first one.
+     *
+     * @return List of the sets of tasks of every cycle, which is empty if
+     *     the tasks can be sorted.
+     */
+    public List<Set<Task>> findCycles() {
+        List<Set<Task>> cycles = new ArrayList<>();
+        for (List<Task> cycle : Condensation.of(graph).cycles()) {
+            cycles.add(new HashSet<>(cycle));
+        }
+        return cycles;
+    }
+
     // Helper function for sortTasks, given a "start" task, set of visited tasks, adds to a stack
     // of tasks in reverse topological order (https://en.wikipedia.org/wiki/Topological_sorting) if such
     // an order is possible. If different Tasks can be done in any order and still satisfy the dependencies,
@@ -137,6 +137,50 @@ public class TaskSorterTest {
             sorter.getOutgoingDependencies(t11));
     }
 
+    @Test
+    public void testIncomingDependencies() {
+        addTasks();
+
+        assertEquals(new HashSet<Dependency>(),
+            sorter.getIncomingDependencies(t11));
+
+        addDependencies();
+
+        assertEquals(new HashSet<Dependency>(),
+            sorter.getIncomingDependencies(t3));
+        assertEquals(new HashSet<Dependency>(),
+            sorter.getIncomingDependencies(t5));
+        assertEquals(new HashSet<Dependency>(),
+            sorter.getIncomingDependencies(t7));
+        assertEquals(new HashSet<>(Arrays.asList(dep_11_2)),
+            sorter.getIncomingDependencies(t2));
+        assertEquals(new HashSet<>(Arrays.asList(dep_7_8, dep_3_8)),
+            sorter.getIncomingDependencies(t8));
+        assertEquals(new HashSet<>(Arrays.asList(dep_11_9, dep_8_9)),
+            sorter.getIncomingDependencies(t9));
+        assertEquals(new HashSet<>(Arrays.asList(dep_11_10, dep_3_10)),
+            sorter.getIncomingDependencies(t10));
+        assertEquals(new HashSet<>(Arrays.asList(dep_5_11, dep_7_11)),
+            sorter.getIncomingDependencies(t11));
+    }
+
+    @Test
+    public void testFindCycles() {
+        assertEquals(new ArrayList<>(), sorter.findCycles());
+
+        addTasks();
+        addDependencies();
+        assertEquals(new ArrayList<>(), sorter.findCycles());
+
+        sorter.addDependency(new Dependency(t9, t7));
+        sorter.addDependency(new Dependency(t10, t10));
+        assertEquals(
+            new HashSet<>(Arrays.asList(
+                new HashSet<>(Arrays.asList(t7, t8, t9, t11)),
+                new HashSet<>(Arrays.asList(t10)))),
+            new HashSet<>(sorter.findCycles()));
+    }
+
     @Test
     public void testSortTasks() {
         // empty graph